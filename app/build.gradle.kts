@@ -4,6 +4,9 @@ plugins {
     id("jacoco")
 }
 
+// Asset generators from the tools module.
+val assetTools: Configuration by configurations.creating
+
 android {
     namespace = "com.soen345.project"
     compileSdk {
@@ -36,6 +39,10 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    androidResources {
+        // Lookup tables in assets are memory-mapped with openFd, which only works on uncompressed assets.
+        noCompress += "bin"
+    }
 }
 
 dependencies {
@@ -43,6 +50,7 @@ dependencies {
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    implementation(libs.recyclerview)
     implementation(libs.firebase.firestore)
     implementation(libs.firebase.auth)
     testImplementation(libs.junit)
@@ -52,6 +60,53 @@ dependencies {
 
     implementation(platform("com.google.firebase:firebase-bom:34.9.0"))
     implementation("com.google.firebase:firebase-analytics")
+
+    assetTools(project(":tools"))
+}
+
+// ./gradlew :app:breachedPasswordSet -PbreachedPasswordList=10-million-password-list-top-100000.txt
+// Rewrites the checked-in asset from a most-common-first list, so ordinary builds never need the list.
+tasks.register<JavaExec>("breachedPasswordSet") {
+    group = "build"
+    description = "Compiles the top breachedPasswordCount (default 100000) entries of breachedPasswordList into the breached-password asset."
+    classpath = assetTools
+    mainClass = "com.soen345.project.tools.BreachedPasswordSetTool"
+    val list = project.findProperty("breachedPasswordList")?.toString()
+    val count = project.findProperty("breachedPasswordCount")?.toString() ?: "100000"
+    doFirst {
+        require(list != null) { "Pass the source list with -PbreachedPasswordList=<file>" }
+    }
+    args(list?.let { file(it).absolutePath } ?: "", count, file("src/main/assets/breached_passwords.bin").absolutePath)
+}
+
+// The catalog bundle is exported from live Firestore by :tools:eventCatalogBundle, never at build time, so a
+// release cannot ship without one or with sample data standing in for real events.
+val catalogBundle = file("src/release/assets/event_catalog.bundle")
+// The checked-in breached-password asset starts as a small seed for development; a release must ship the
+// set compiled from a real top list. The entry count sits at byte 8 of the set's header.
+val breachedPasswordAsset = file("src/main/assets/breached_passwords.bin")
+val minimumBreachedPasswords = 90_000
+tasks.matching { it.name == "preReleaseBuild" }.configureEach {
+    doFirst {
+        require(catalogBundle.isFile) { "Run ./gradlew :tools:eventCatalogBundle -PfirebaseProjectId=<id> first" }
+        val breachedPasswords = java.nio.ByteBuffer.wrap(breachedPasswordAsset.readBytes()).getInt(8)
+        require(breachedPasswords >= minimumBreachedPasswords) {
+            "breached_passwords.bin holds $breachedPasswords passwords; run ./gradlew :app:breachedPasswordSet " +
+                "-PbreachedPasswordList=<top-100k list> before a release build"
+        }
+    }
+}
+
+// ./gradlew :app:benchmarkTest runs the unit tests including the long JIT-warmed benchmarks, which
+// skip themselves in a plain test run.
+val benchmarksRequested = gradle.startParameter.taskNames.any { it.substringAfterLast(':') == "benchmarkTest" }
+tasks.withType<Test>().configureEach {
+    systemProperty("benchmarks", benchmarksRequested.toString())
+}
+tasks.register("benchmarkTest") {
+    group = "verification"
+    description = "Runs the debug unit tests with the long benchmarks enabled."
+    dependsOn("testDebugUnitTest")
 }
 
 // ─────────────────────────────────────────────────────────────────
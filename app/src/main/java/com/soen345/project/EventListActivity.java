@@ -0,0 +1,103 @@
+package com.soen345.project;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.activity.EdgeToEdge;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.soen345.project.events.EventDocuments;
+import com.soen345.project.realtime.SnapshotListenerRegistry;
+import com.soen345.project.realtime.SnapshotListenerRegistryProvider;
+import com.soen345.project.ui.ChoreographerFrameScheduler;
+import com.soen345.project.ui.EventListAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class EventListActivity extends AppCompatActivity {
+    private static final String EVENTS_BY_START_TIME = "events-by-start-time";
+
+    private ExecutorService diffExecutor;
+    private EventListAdapter adapter;
+    private TextView statusText;
+    private SnapshotListenerRegistry.Subscription subscription;
+
+    public static Intent newIntent(Context context) {
+        return new Intent(context, EventListActivity.class);
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        EdgeToEdge.enable(this);
+        setContentView(R.layout.activity_event_list);
+
+        diffExecutor = Executors.newSingleThreadExecutor();
+        adapter = new EventListAdapter(diffExecutor, ContextCompat.getMainExecutor(this), new ChoreographerFrameScheduler());
+        statusText = findViewById(R.id.eventListStatusText);
+        RecyclerView recyclerView = findViewById(R.id.eventListRecycler);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.setAdapter(adapter);
+
+        ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.eventListRoot), (v, insets) -> {
+            Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
+            v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
+            return insets;
+        });
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        subscription = SnapshotListenerRegistryProvider.getRegistry().subscribeQuery(
+                EVENTS_BY_START_TIME,
+                FirebaseFirestore.getInstance()
+                        .collection(EventDocuments.EVENTS_COLLECTION)
+                        .orderBy(EventDocuments.FIELD_START_TIME),
+                new SnapshotListenerRegistry.Subscriber<QuerySnapshot>() {
+                    // Runs on the registry's delivery thread, so mapping documents stays off the main thread.
+                    @Override
+                    public void onSnapshot(QuerySnapshot snapshot) {
+                        adapter.submit(EventDocuments.listItemsFromSnapshot(snapshot));
+                        runOnUiThread(() -> statusText.setVisibility(View.GONE));
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        runOnUiThread(() -> {
+                            statusText.setText(errorMessage);
+                            statusText.setVisibility(View.VISIBLE);
+                        });
+                    }
+                });
+    }
+
+    @Override
+    protected void onStop() {
+        if (subscription != null) {
+            subscription.unsubscribe();
+            subscription = null;
+        }
+        super.onStop();
+    }
+
+    @Override
+    protected void onDestroy() {
+        // A queued frame or a late snapshot would otherwise hand work to the shut-down executor.
+        adapter.dispose();
+        diffExecutor.shutdown();
+        super.onDestroy();
+    }
+}
@@ -12,17 +12,47 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
+import com.google.firebase.firestore.FirebaseFirestore;
 import com.soen345.project.auth.AuthService;
 import com.soen345.project.auth.AuthServiceProvider;
+import com.soen345.project.auth.RoleListener;
 import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.events.Event;
+import com.soen345.project.events.catalog.AssetBundleSource;
+import com.soen345.project.events.catalog.EventCatalogBootstrapper;
+import com.soen345.project.reservations.ReservationSyncEngine;
+import com.soen345.project.reservations.ReservationSyncProvider;
+import com.soen345.project.reservations.SyncResult;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class HomeActivity extends AppCompatActivity {
     public static final String EXTRA_USER_EMAIL = "extra_user_email";
     public static final String EXTRA_USER_ROLE = "extra_user_role";
 
     private AuthService authService;
+    private ReservationSyncEngine reservationSync;
+    private ExecutorService catalogExecutor;
+    private EventCatalogBootstrapper catalogBootstrapper;
     private TextView homeUserEmailText;
     private TextView homeRoleText;
+    private TextView homeReservationsText;
+    private TextView homeEventsText;
+    // A role change pushed while signed in: re-render it, or leave if the profile lost its role.
+    private final RoleListener roleListener = role -> runOnUiThread(() -> {
+        if (isFinishing()) {
+            return;
+        }
+        if (role == null) {
+            signOut();
+        } else {
+            getIntent().putExtra(EXTRA_USER_ROLE, role.value());
+            showRole(role);
+        }
+    });
 
     public static Intent newIntent(Context context, String userEmail, UserRole role) {
         Intent intent = new Intent(context, HomeActivity.class);
@@ -39,12 +69,24 @@ public class HomeActivity extends AppCompatActivity {
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_home);
         authService = AuthServiceProvider.getAuthService();
+        reservationSync = ReservationSyncProvider.getSyncEngine(this);
+        catalogExecutor = Executors.newSingleThreadExecutor();
+        catalogBootstrapper = new EventCatalogBootstrapper(
+                FirebaseFirestore.getInstance(),
+                new AssetBundleSource(this, AssetBundleSource.DEFAULT_ASSET),
+                catalogExecutor,
+                Clock.SYSTEM
+        );
 
         homeUserEmailText = findViewById(R.id.homeUserEmailText);
         homeRoleText = findViewById(R.id.homeRoleText);
+        homeReservationsText = findViewById(R.id.homeReservationsText);
+        homeEventsText = findViewById(R.id.homeEventsText);
+        Button browseEventsButton = findViewById(R.id.homeBrowseEventsButton);
         Button signOutButton = findViewById(R.id.homeSignOutButton);
 
         showSignedInEmail();
+        browseEventsButton.setOnClickListener(v -> startActivity(EventListActivity.newIntent(this)));
         signOutButton.setOnClickListener(v -> signOut());
 
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.homeRoot), (v, insets) -> {
@@ -59,7 +101,59 @@ public class HomeActivity extends AppCompatActivity {
         super.onStart();
         if (!authService.isSignedIn()) {
             goToAuth();
+            return;
+        }
+        authService.addRoleListener(roleListener);
+        // The cached role may have changed while this screen was stopped.
+        UserRole cachedRole = authService.getSignedInRole();
+        if (cachedRole != null) {
+            getIntent().putExtra(EXTRA_USER_ROLE, cachedRole.value());
+            showRole(cachedRole);
+        }
+        syncReservations();
+        catalogBootstrapper.start(new EventCatalogBootstrapper.CatalogListener() {
+            @Override
+            public void onCatalog(List<Event> events, boolean fromCache) {
+                homeEventsText.setText(getString(R.string.home_events_count, events.size()));
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                homeEventsText.setText(errorMessage);
+            }
+        });
+    }
+
+    @Override
+    protected void onStop() {
+        authService.removeRoleListener(roleListener);
+        catalogBootstrapper.stop();
+        super.onStop();
+    }
+
+    @Override
+    protected void onDestroy() {
+        catalogExecutor.shutdown();
+        super.onDestroy();
+    }
+
+    private void syncReservations() {
+        String email = authService.getSignedInEmail();
+        if (isNullOrBlank(email)) {
+            return;
         }
+        reservationSync.sync(email, new ReservationSyncEngine.SyncCallback() {
+            @Override
+            public void onSuccess(SyncResult result) {
+                runOnUiThread(() -> homeReservationsText.setText(
+                        getString(R.string.home_reservations_count, result.getActiveReservations().size())));
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                runOnUiThread(() -> homeReservationsText.setText(errorMessage));
+            }
+        });
     }
 
     private void showSignedInEmail() {
@@ -78,6 +172,10 @@ public class HomeActivity extends AppCompatActivity {
         if (role == null) {
             role = authService.getSignedInRole();
         }
+        showRole(role);
+    }
+
+    private void showRole(UserRole role) {
         String roleLabel;
         if (role == UserRole.ADMIN) {
             roleLabel = getString(R.string.role_administrator);
@@ -95,6 +193,7 @@ public class HomeActivity extends AppCompatActivity {
 
     private void signOut() {
         authService.signOut();
+        reservationSync.reset();
         goToAuth();
     }
 
@@ -18,7 +18,10 @@ import com.soen345.project.auth.AuthCallback;
 import com.soen345.project.auth.AuthSession;
 import com.soen345.project.auth.AuthServiceProvider;
 import com.soen345.project.auth.AuthService;
+import com.soen345.project.auth.DisposableDomainProvider;
 import com.soen345.project.auth.UserRole;
+import com.soen345.project.tracing.Span;
+import com.soen345.project.tracing.TracingProvider;
 
 public class MainActivity extends AppCompatActivity {
 
@@ -41,6 +44,7 @@ public class MainActivity extends AppCompatActivity {
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_main);
         authService = AuthServiceProvider.getAuthService();
+        DisposableDomainProvider.refreshInBackground(this);
 
         bindViews();
         setupListeners();
@@ -108,10 +112,12 @@ public class MainActivity extends AppCompatActivity {
         String confirmPassword = confirmPasswordInput.getText().toString();
 
         setLoading(true);
+        Span trace = TracingProvider.getTracer(this).startTrace(isRegisterMode ? "submitAuth.register" : "submitAuth.signIn");
 
         AuthCallback callback = new AuthCallback() {
             @Override
             public void onSuccess(AuthSession session) {
+                trace.setAttribute("outcome", "success").end();
                 setLoading(false);
                 statusText.setVisibility(View.GONE);
                 Toast.makeText(MainActivity.this, R.string.auth_success, Toast.LENGTH_SHORT).show();
@@ -120,16 +126,19 @@ public class MainActivity extends AppCompatActivity {
 
             @Override
             public void onError(String errorMessage) {
+                trace.setAttribute("outcome", "error").end();
                 setLoading(false);
                 statusText.setText(errorMessage);
                 statusText.setVisibility(View.VISIBLE);
             }
         };
 
-        if (isRegisterMode) {
-            authService.register(email, phone, password, confirmPassword, callback);
-        } else {
-            authService.signIn(email, password, callback);
+        try (Span.Scope scope = trace.activate()) {
+            if (isRegisterMode) {
+                authService.register(email, phone, password, confirmPassword, callback);
+            } else {
+                authService.signIn(email, password, callback);
+            }
         }
     }
 
@@ -0,0 +1,109 @@
+package com.soen345.project.admin;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.soen345.project.auth.UserProfile;
+import com.soen345.project.auth.UserProfileCodec;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Role-filtered searches need composite indexes on (role, email, __name__) and (role, phone, __name__).
+public class FirestoreUserDirectorySource implements UserDirectorySource {
+    // Firestore caps the number of values in a single whereIn clause.
+    static final int WHERE_IN_LIMIT = 30;
+
+    private static final String DIRECTORY_ERROR = "Could not load users.";
+    private static final String USERS_COLLECTION = "users";
+    private static final String PREFIX_END = "\uf8ff";
+    private static final UserProfileCodec CODEC = new UserProfileCodec();
+
+    private final FirebaseFirestore firestore;
+
+    public FirestoreUserDirectorySource(FirebaseFirestore firestore) {
+        this.firestore = firestore;
+    }
+
+    @Override
+    public void fetchPage(UserDirectoryQuery query, String afterValue, String afterDocumentId, int limit, ProfilesCallback callback) {
+        Query request = firestore.collection(USERS_COLLECTION);
+        if (query.getRole() != null) {
+            request = request.whereEqualTo(UserProfileCodec.FIELD_ROLE, query.getRole().value());
+        }
+        request = request
+                .orderBy(query.getField())
+                .orderBy(FieldPath.documentId());
+        if (afterDocumentId != null) {
+            request = request.startAfter(afterValue, afterDocumentId);
+        } else if (!query.getPrefix().isEmpty()) {
+            request = request.startAt(query.getPrefix());
+        }
+        if (!query.getPrefix().isEmpty()) {
+            request = request.endAt(query.getPrefix() + PREFIX_END);
+        }
+        request
+                .limit(limit)
+                .get()
+                .addOnSuccessListener(snapshot -> callback.onSuccess(decode(snapshot)))
+                .addOnFailureListener(e -> callback.onError(DIRECTORY_ERROR));
+    }
+
+    // Queries users by its phone field directly rather than going through phone_index, so each batch of
+    // numbers is one round trip instead of an index lookup followed by a profile read per number.
+    @Override
+    public void fetchByPhones(List<String> phones, ProfilesCallback callback) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(phones));
+        if (distinct.isEmpty()) {
+            callback.onSuccess(new ArrayList<>());
+            return;
+        }
+        List<UserProfile> results = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        int[] pending = {(distinct.size() + WHERE_IN_LIMIT - 1) / WHERE_IN_LIMIT};
+        boolean[] failed = {false};
+
+        for (int start = 0; start < distinct.size(); start += WHERE_IN_LIMIT) {
+            List<String> batch = distinct.subList(start, Math.min(distinct.size(), start + WHERE_IN_LIMIT));
+            firestore
+                    .collection(USERS_COLLECTION)
+                    .whereIn(UserProfileCodec.FIELD_PHONE, new ArrayList<>(batch))
+                    .get()
+                    .addOnSuccessListener(snapshot -> {
+                        if (failed[0]) {
+                            return;
+                        }
+                        for (UserProfile profile : decode(snapshot)) {
+                            if (seenIds.add(profile.getUserId())) {
+                                results.add(profile);
+                            }
+                        }
+                        if (--pending[0] == 0) {
+                            callback.onSuccess(results);
+                        }
+                    })
+                    .addOnFailureListener(e -> {
+                        if (!failed[0]) {
+                            failed[0] = true;
+                            callback.onError(DIRECTORY_ERROR);
+                        }
+                    });
+        }
+    }
+
+    private static List<UserProfile> decode(QuerySnapshot snapshot) {
+        List<UserProfile> profiles = new ArrayList<>();
+        for (DocumentSnapshot document : snapshot.getDocuments()) {
+            UserProfile profile = CODEC.decode(document.getId(), document.getData());
+            if (profile != null) {
+                profiles.add(profile);
+            }
+        }
+        return profiles;
+    }
+}
@@ -0,0 +1,181 @@
+package com.soen345.project.admin;
+
+import com.soen345.project.auth.UserProfile;
+import com.soen345.project.auth.UserRole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Admin user browser. Each search pages through Firestore with a (value, document id) cursor and feeds the
+// pages into a local prefix index. A search that narrows one already fetched to its last page, such as the
+// admin typing another character, is answered from the index without a query. One directory lives for one
+// admin screen, so that cached completeness is never older than the screen.
+public class UserDirectory {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int DEFAULT_MAX_CACHED_PROFILES = 5_000;
+
+    private final UserDirectorySource source;
+    private final UserPrefixIndex index;
+    private final int pageSize;
+
+    private UserDirectoryQuery current;
+    private long generation;
+    private String cursorValue;
+    private String cursorDocumentId;
+    private boolean loading;
+    private boolean exhausted;
+    private long evictionsAtSearch;
+    private UserDirectoryQuery completeQuery;
+    private long evictionsAtComplete;
+
+    public UserDirectory(UserDirectorySource source) {
+        this(source, DEFAULT_PAGE_SIZE, DEFAULT_MAX_CACHED_PROFILES);
+    }
+
+    public UserDirectory(UserDirectorySource source, int pageSize, int maxCachedProfiles) {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.index = new UserPrefixIndex(maxCachedProfiles);
+    }
+
+    // Starts a new search; results of any earlier search still in flight are dropped.
+    public void search(String text, UserRole role, PageCallback callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("callback cannot be null");
+        }
+        UserDirectoryQuery query = UserDirectoryQuery.of(text, role);
+        List<UserProfile> local = null;
+        synchronized (this) {
+            generation++;
+            current = query;
+            cursorValue = null;
+            cursorDocumentId = null;
+            loading = false;
+            exhausted = false;
+            evictionsAtSearch = index.getEvictionCount();
+            if (completeQuery != null && query.narrows(completeQuery) && index.getEvictionCount() == evictionsAtComplete) {
+                exhausted = true;
+                local = index.find(query, Integer.MAX_VALUE);
+            }
+        }
+        if (local != null) {
+            callback.onPage(local, false);
+            return;
+        }
+        fetchNext(callback);
+    }
+
+    public void loadMore(PageCallback callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("callback cannot be null");
+        }
+        synchronized (this) {
+            if (current == null) {
+                throw new IllegalStateException("search must be called before loadMore");
+            }
+            if (loading) {
+                // The page already in flight delivers the next rows through its own callback.
+                return;
+            }
+        }
+        if (isExhausted()) {
+            callback.onPage(new ArrayList<>(), false);
+            return;
+        }
+        fetchNext(callback);
+    }
+
+    // Type-ahead from pages already on the device; may miss users until the matching search returns.
+    public synchronized List<UserProfile> preview(String text, UserRole role, int limit) {
+        return index.find(UserDirectoryQuery.of(text, role), limit);
+    }
+
+    public void resolvePhones(List<String> phones, UserDirectorySource.ProfilesCallback callback) {
+        if (phones == null || callback == null) {
+            throw new IllegalArgumentException("phones and callback are required");
+        }
+        source.fetchByPhones(phones, new UserDirectorySource.ProfilesCallback() {
+            @Override
+            public void onSuccess(List<UserProfile> profiles) {
+                synchronized (UserDirectory.this) {
+                    index.addAll(profiles);
+                }
+                callback.onSuccess(profiles);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
+            }
+        });
+    }
+
+    public synchronized boolean isExhausted() {
+        return exhausted;
+    }
+
+    public synchronized int getCachedProfileCount() {
+        return index.size();
+    }
+
+    private void fetchNext(PageCallback callback) {
+        UserDirectoryQuery query;
+        long requested;
+        String afterValue;
+        String afterDocumentId;
+        synchronized (this) {
+            query = current;
+            requested = generation;
+            afterValue = cursorValue;
+            afterDocumentId = cursorDocumentId;
+            loading = true;
+        }
+        source.fetchPage(query, afterValue, afterDocumentId, pageSize, new UserDirectorySource.ProfilesCallback() {
+            @Override
+            public void onSuccess(List<UserProfile> profiles) {
+                synchronized (UserDirectory.this) {
+                    if (requested != generation) {
+                        return;
+                    }
+                    loading = false;
+                    index.addAll(profiles);
+                    if (!profiles.isEmpty()) {
+                        UserProfile last = profiles.get(profiles.size() - 1);
+                        cursorValue = query.sortValue(last);
+                        cursorDocumentId = last.getUserId();
+                    }
+                    exhausted = profiles.size() < pageSize;
+                    // Only a run from the first page to the last with nothing evicted on the way is complete.
+                    if (exhausted && index.getEvictionCount() == evictionsAtSearch) {
+                        completeQuery = query;
+                        evictionsAtComplete = evictionsAtSearch;
+                    }
+                }
+                callback.onPage(profiles, profiles.size() >= pageSize);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                synchronized (UserDirectory.this) {
+                    if (requested != generation) {
+                        return;
+                    }
+                    loading = false;
+                }
+                callback.onError(errorMessage);
+            }
+        });
+    }
+
+    public interface PageCallback {
+        void onPage(List<UserProfile> users, boolean hasMore);
+
+        void onError(String errorMessage);
+    }
+}
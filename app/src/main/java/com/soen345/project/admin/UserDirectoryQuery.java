@@ -0,0 +1,84 @@
+package com.soen345.project.admin;
+
+import com.soen345.project.auth.AuthRules;
+import com.soen345.project.auth.UserProfile;
+import com.soen345.project.auth.UserProfileCodec;
+import com.soen345.project.auth.UserRole;
+
+// What an admin typed, resolved to one indexed users field: text with a letter or '@' is an email prefix,
+// anything else is a phone prefix in the stored E.164 form, and blank text browses everyone by email.
+public final class UserDirectoryQuery {
+    private final UserRole role;
+    private final String field;
+    private final String prefix;
+
+    UserDirectoryQuery(UserRole role, String field, String prefix) {
+        this.role = role;
+        this.field = field;
+        this.prefix = prefix;
+    }
+
+    public static UserDirectoryQuery of(String text, UserRole role) {
+        String trimmed = text == null ? "" : text.trim();
+        if (trimmed.isEmpty()) {
+            return new UserDirectoryQuery(role, UserProfileCodec.FIELD_EMAIL, "");
+        }
+        if (trimmed.indexOf('@') >= 0 || containsLetter(trimmed)) {
+            return new UserDirectoryQuery(role, UserProfileCodec.FIELD_EMAIL, AuthRules.normalizeEmail(trimmed));
+        }
+        StringBuilder phone = new StringBuilder("+");
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                phone.append(c);
+            }
+        }
+        return new UserDirectoryQuery(role, UserProfileCodec.FIELD_PHONE, phone.toString());
+    }
+
+    // Null means every role.
+    public UserRole getRole() {
+        return role;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public boolean isPhoneSearch() {
+        return UserProfileCodec.FIELD_PHONE.equals(field);
+    }
+
+    public String sortValue(UserProfile profile) {
+        return isPhoneSearch() ? profile.getPhone() : profile.getEmail();
+    }
+
+    public boolean matches(UserProfile profile) {
+        if (role != null && role != profile.getRole()) {
+            return false;
+        }
+        String value = sortValue(profile);
+        return value != null && value.startsWith(prefix);
+    }
+
+    // Every user matching this query also matches the broader one, so a complete result for the broader
+    // query already contains this one's answer.
+    public boolean narrows(UserDirectoryQuery broader) {
+        return field.equals(broader.field)
+                && prefix.startsWith(broader.prefix)
+                && (broader.role == null || broader.role == role);
+    }
+
+    private static boolean containsLetter(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetter(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
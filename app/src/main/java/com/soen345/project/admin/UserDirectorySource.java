@@ -0,0 +1,20 @@
+package com.soen345.project.admin;
+
+import com.soen345.project.auth.UserProfile;
+
+import java.util.List;
+
+public interface UserDirectorySource {
+    // Users matching the query ordered by (searched field, document id), strictly after the cursor. A null
+    // afterDocumentId starts from the first match.
+    void fetchPage(UserDirectoryQuery query, String afterValue, String afterDocumentId, int limit, ProfilesCallback callback);
+
+    // Profiles whose stored phone is one of the given E.164 numbers, in no particular order.
+    void fetchByPhones(List<String> phones, ProfilesCallback callback);
+
+    interface ProfilesCallback {
+        void onSuccess(List<UserProfile> profiles);
+
+        void onError(String errorMessage);
+    }
+}
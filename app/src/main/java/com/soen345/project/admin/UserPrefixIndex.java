@@ -0,0 +1,98 @@
+package com.soen345.project.admin;
+
+import com.soen345.project.auth.UserProfile;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Profiles from pages already fetched, searchable by email or phone prefix without another query. Keys are
+// value + separator + uid, so a prefix range comes back in the same (value, document id) order Firestore
+// uses. Holds at most maxEntries profiles and evicts the earliest fetched first, so browsing a huge
+// directory keeps a bounded window instead of every page ever seen.
+public class UserPrefixIndex {
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, UserProfile> byId = new LinkedHashMap<>();
+    private final TreeMap<String, UserProfile> byEmail = new TreeMap<>();
+    private final TreeMap<String, UserProfile> byPhone = new TreeMap<>();
+    private long evictionCount;
+
+    public UserPrefixIndex(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public void addAll(List<UserProfile> profiles) {
+        for (UserProfile profile : profiles) {
+            // Re-adding moves the profile to the newest end and replaces keys from a stale copy.
+            remove(profile.getUserId());
+            byId.put(profile.getUserId(), profile);
+            if (profile.getEmail() != null) {
+                byEmail.put(key(profile.getEmail(), profile), profile);
+            }
+            if (profile.getPhone() != null) {
+                byPhone.put(key(profile.getPhone(), profile), profile);
+            }
+        }
+        Iterator<String> oldest = byId.keySet().iterator();
+        while (byId.size() > maxEntries) {
+            String userId = oldest.next();
+            UserProfile evicted = byId.get(userId);
+            oldest.remove();
+            removeKeys(evicted);
+            evictionCount++;
+        }
+    }
+
+    public List<UserProfile> find(UserDirectoryQuery query, int limit) {
+        TreeMap<String, UserProfile> keys = query.isPhoneSearch() ? byPhone : byEmail;
+        String prefix = query.getPrefix();
+        List<UserProfile> matches = new ArrayList<>();
+        for (Map.Entry<String, UserProfile> entry : keys.tailMap(prefix, true).entrySet()) {
+            if (matches.size() >= limit || !entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            if (query.getRole() == null || query.getRole() == entry.getValue().getRole()) {
+                matches.add(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Grows whenever a profile is dropped for space; a result known to be complete stays complete only
+    // while this has not moved.
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private void remove(String userId) {
+        UserProfile previous = byId.remove(userId);
+        if (previous != null) {
+            removeKeys(previous);
+        }
+    }
+
+    private void removeKeys(UserProfile profile) {
+        if (profile.getEmail() != null) {
+            byEmail.remove(key(profile.getEmail(), profile));
+        }
+        if (profile.getPhone() != null) {
+            byPhone.remove(key(profile.getPhone(), profile));
+        }
+    }
+
+    private static String key(String value, UserProfile profile) {
+        return value + KEY_SEPARATOR + profile.getUserId();
+    }
+}
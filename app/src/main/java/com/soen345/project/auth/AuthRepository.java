@@ -1,6 +1,8 @@
 package com.soen345.project.auth;
 
 public interface AuthRepository {
+    String INVALID_CREDENTIALS_ERROR = "Wrong email or password. Please try again.";
+
     void signIn(String identifier, String password, AuthCallback callback);
 
     void register(String email, String phoneE164, String password, AuthCallback callback);
@@ -12,4 +14,11 @@ public interface AuthRepository {
     UserRole getSignedInRole();
 
     void signOut();
+
+    // Live role changes for the signed-in user. Repositories without a live source never report any.
+    default void addRoleListener(RoleListener listener) {
+    }
+
+    default void removeRoleListener(RoleListener listener) {
+    }
 }
@@ -0,0 +1,30 @@
+package com.soen345.project.auth;
+
+import java.util.regex.Pattern;
+
+// Account rules shared by the app and the reservation server; keep this free of Android and Firebase.
+public final class AuthRules {
+    public static final int MIN_PASSWORD_LENGTH = 6;
+
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+
+    private AuthRules() {
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
+    }
+
+    public static boolean isValidEmail(String email) {
+        return email != null && EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    public static boolean isLongEnough(String password) {
+        return password != null && password.length() >= MIN_PASSWORD_LENGTH;
+    }
+
+    public static boolean canManageInventory(UserRole role) {
+        return role == UserRole.ADMIN;
+    }
+}
@@ -1,31 +1,96 @@
 package com.soen345.project.auth;
 
-import java.util.regex.Pattern;
+import com.soen345.project.tracing.Span;
 
 public class AuthService {
-    private static final int MIN_PASSWORD_LENGTH = 6;
-    private static final Pattern EMAIL_PATTERN =
-            Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
-    private static final Pattern DIGITS_PATTERN = Pattern.compile("^\\d+$");
-
     private final AuthRepository authRepository;
+    private final PhoneNormalizer phoneNormalizer;
+    private final EmailDomainPolicy emailDomainPolicy;
+    private final PasswordPolicy passwordPolicy;
+    private final SignInLimiter signInLimiter;
 
     public AuthService(AuthRepository authRepository) {
+        this(authRepository, new NanpPhoneNormalizer());
+    }
+
+    public AuthService(AuthRepository authRepository, PhoneNormalizer phoneNormalizer) {
+        this(authRepository, phoneNormalizer, EmailDomainPolicy.ALLOW_ALL);
+    }
+
+    public AuthService(AuthRepository authRepository, PhoneNormalizer phoneNormalizer, EmailDomainPolicy emailDomainPolicy) {
+        this(authRepository, phoneNormalizer, emailDomainPolicy, PasswordPolicy.ALLOW_ALL);
+    }
+
+    public AuthService(AuthRepository authRepository,
+                       PhoneNormalizer phoneNormalizer,
+                       EmailDomainPolicy emailDomainPolicy,
+                       PasswordPolicy passwordPolicy) {
+        this(authRepository, phoneNormalizer, emailDomainPolicy, passwordPolicy, SignInLimiter.UNLIMITED);
+    }
+
+    public AuthService(AuthRepository authRepository,
+                       PhoneNormalizer phoneNormalizer,
+                       EmailDomainPolicy emailDomainPolicy,
+                       PasswordPolicy passwordPolicy,
+                       SignInLimiter signInLimiter) {
         if (authRepository == null) {
             throw new IllegalArgumentException("authRepository cannot be null");
         }
+        if (phoneNormalizer == null) {
+            throw new IllegalArgumentException("phoneNormalizer cannot be null");
+        }
+        if (emailDomainPolicy == null) {
+            throw new IllegalArgumentException("emailDomainPolicy cannot be null");
+        }
+        if (passwordPolicy == null) {
+            throw new IllegalArgumentException("passwordPolicy cannot be null");
+        }
+        if (signInLimiter == null) {
+            throw new IllegalArgumentException("signInLimiter cannot be null");
+        }
         this.authRepository = authRepository;
+        this.phoneNormalizer = phoneNormalizer;
+        this.emailDomainPolicy = emailDomainPolicy;
+        this.passwordPolicy = passwordPolicy;
+        this.signInLimiter = signInLimiter;
     }
 
     public void signIn(String identifier, String password, AuthCallback callback) {
         validateCallback(callback);
         String normalizedIdentifier = normalizeSignInIdentifier(identifier);
+        Span span = Span.current().startChild("AuthService.signIn")
+                .setAttribute("identifier", normalizedIdentifier.contains("@") ? "email" : "phone");
         ValidationResult validationResult = validateSignIn(normalizedIdentifier, password);
         if (!validationResult.isValid) {
+            span.setAttribute("outcome", "invalid").end();
             callback.onError(validationResult.errorMessage);
             return;
         }
-        authRepository.signIn(normalizedIdentifier, password, callback);
+        long retryAfterMillis = signInLimiter.acquire(normalizedIdentifier);
+        if (retryAfterMillis > 0) {
+            span.setAttribute("outcome", "throttled").end();
+            callback.onError(retryAfterMessage(retryAfterMillis));
+            return;
+        }
+        try (Span.Scope scope = span.activate()) {
+            authRepository.signIn(normalizedIdentifier, password, new AuthCallback() {
+                @Override
+                public void onSuccess(AuthSession session) {
+                    span.setAttribute("outcome", "success").end();
+                    signInLimiter.onSuccess(normalizedIdentifier);
+                    callback.onSuccess(session);
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    span.setAttribute("outcome", "error").setAttribute("error", errorMessage).end();
+                    if (AuthRepository.INVALID_CREDENTIALS_ERROR.equals(errorMessage)) {
+                        signInLimiter.onInvalidCredentials(normalizedIdentifier);
+                    }
+                    callback.onError(errorMessage);
+                }
+            });
+        }
     }
 
     public void register(String email, String phone, String password, String confirmPassword, AuthCallback callback) {
@@ -33,11 +98,27 @@ public class AuthService {
         String normalizedEmail = normalizeEmail(email);
         String normalizedPhone = normalizePhone(phone);
         ValidationResult validationResult = validateRegistration(normalizedEmail, normalizedPhone, password, confirmPassword);
+        Span span = Span.current().startChild("AuthService.register");
         if (!validationResult.isValid) {
+            span.setAttribute("outcome", "invalid").end();
             callback.onError(validationResult.errorMessage);
             return;
         }
-        authRepository.register(normalizedEmail, normalizedPhone, password, callback);
+        try (Span.Scope scope = span.activate()) {
+            authRepository.register(normalizedEmail, normalizedPhone, password, new AuthCallback() {
+                @Override
+                public void onSuccess(AuthSession session) {
+                    span.setAttribute("outcome", "success").end();
+                    callback.onSuccess(session);
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    span.setAttribute("outcome", "error").setAttribute("error", errorMessage).end();
+                    callback.onError(errorMessage);
+                }
+            });
+        }
     }
 
     public boolean isSignedIn() {
@@ -56,12 +137,23 @@ public class AuthService {
         authRepository.signOut();
     }
 
+    public void addRoleListener(RoleListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener cannot be null");
+        }
+        authRepository.addRoleListener(listener);
+    }
+
+    public void removeRoleListener(RoleListener listener) {
+        authRepository.removeRoleListener(listener);
+    }
+
     private ValidationResult validateSignIn(String identifier, String password) {
         if (identifier.isEmpty()) {
             return ValidationResult.error("Email or phone is required");
         }
         if (identifier.contains("@")) {
-            if (!EMAIL_PATTERN.matcher(identifier).matches()) {
+            if (!AuthRules.isValidEmail(identifier)) {
                 return ValidationResult.error("Please enter a valid email");
             }
         } else if (normalizePhone(identifier) == null) {
@@ -77,9 +169,13 @@ public class AuthService {
         if (email.isEmpty()) {
             return ValidationResult.error("Email is required");
         }
-        if (!EMAIL_PATTERN.matcher(email).matches()) {
+        if (!AuthRules.isValidEmail(email)) {
             return ValidationResult.error("Please enter a valid email");
         }
+        // Checked before any write so throwaway sign-ups never create users or phone_index documents.
+        if (emailDomainPolicy.isBlocked(email.substring(email.lastIndexOf('@') + 1))) {
+            return ValidationResult.error("Please use a permanent email address");
+        }
         if (phoneE164 == null || phoneE164.isEmpty()) {
             return ValidationResult.error("Phone number is required");
         }
@@ -90,7 +186,7 @@ public class AuthService {
         if (!signInValidation.isValid) {
             return signInValidation;
         }
-        if (password.length() < MIN_PASSWORD_LENGTH) {
+        if (!AuthRules.isLongEnough(password)) {
             return ValidationResult.error("Password must be at least 6 characters");
         }
         if (confirmPassword == null || confirmPassword.isEmpty()) {
@@ -99,9 +195,21 @@ public class AuthService {
         if (!password.equals(confirmPassword)) {
             return ValidationResult.error("Passwords do not match");
         }
+        if (passwordPolicy.isCompromised(password)) {
+            return ValidationResult.error("This password has appeared in a data breach. Please choose another.");
+        }
         return ValidationResult.ok();
     }
 
+    static String retryAfterMessage(long retryAfterMillis) {
+        long seconds = (retryAfterMillis + 999) / 1000;
+        if (seconds < 60) {
+            return "Too many sign-in attempts. Try again in " + seconds + (seconds == 1 ? " second." : " seconds.");
+        }
+        long minutes = (seconds + 59) / 60;
+        return "Too many sign-in attempts. Try again in " + minutes + (minutes == 1 ? " minute." : " minutes.");
+    }
+
     private void validateCallback(AuthCallback callback) {
         if (callback == null) {
             throw new IllegalArgumentException("callback cannot be null");
@@ -116,7 +224,7 @@ public class AuthService {
     }
 
     private String normalizeEmail(String email) {
-        return normalize(email).toLowerCase();
+        return AuthRules.normalizeEmail(email);
     }
 
     private String normalizeSignInIdentifier(String identifier) {
@@ -130,36 +238,7 @@ public class AuthService {
 
     private String normalizePhone(String phone) {
         String value = normalize(phone);
-        if (value.isEmpty()) {
-            return null;
-        }
-
-        String cleaned = value
-                .replace(" ", "")
-                .replace("-", "")
-                .replace("(", "")
-                .replace(")", "");
-
-        if (cleaned.startsWith("+")) {
-            String digits = cleaned.substring(1);
-            if (digits.length() < 8 || digits.length() > 15 || !DIGITS_PATTERN.matcher(digits).matches()) {
-                return null;
-            }
-            return "+" + digits;
-        }
-
-        if (!DIGITS_PATTERN.matcher(cleaned).matches()) {
-            return null;
-        }
-
-        if (cleaned.length() == 10) {
-            return "+1" + cleaned;
-        }
-        if (cleaned.length() == 11 && cleaned.startsWith("1")) {
-            return "+" + cleaned;
-        }
-
-        return null;
+        return value.isEmpty() ? null : phoneNormalizer.normalize(value);
     }
 
     private static class ValidationResult {
@@ -1,7 +1,25 @@
 package com.soen345.project.auth;
 
+import android.content.Context;
+
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.soen345.project.auth.phone.AssetPhoneMetadataSource;
+import com.soen345.project.auth.phone.DeviceRegions;
+import com.soen345.project.auth.phone.PhoneNumberEngine;
+import com.soen345.project.common.Clock;
+import com.soen345.project.common.MappedAssets;
+import com.soen345.project.common.Scheduler;
+
+import java.util.concurrent.Executors;
+
 public final class AuthServiceProvider {
     private static volatile AuthService overrideService;
+    private static volatile PhoneNormalizer phoneNormalizer;
+    private static volatile PasswordPolicy passwordPolicy;
+    private static RoleWatcher roleWatcher;
+    // Shared across AuthService instances; a limiter per screen would forget every failed attempt.
+    private static final SignInLimiter SIGN_IN_LIMITER = TokenBucketSignInLimiter.withDefaults(Clock.SYSTEM);
 
     private AuthServiceProvider() {
     }
@@ -11,7 +29,14 @@ public final class AuthServiceProvider {
         if (service != null) {
             return service;
         }
-        return new AuthService(new FirebaseAuthRepository());
+        Context context = FirebaseApp.getInstance().getApplicationContext();
+        return new AuthService(
+                new FirebaseAuthRepository(getRoleWatcher(context)),
+                getPhoneNormalizer(context),
+                DisposableDomainProvider.getFilter(context),
+                getPasswordPolicy(context),
+                SIGN_IN_LIMITER
+        );
     }
 
     public static void setAuthServiceForTesting(AuthService authService) {
@@ -21,4 +46,39 @@ public final class AuthServiceProvider {
     public static void clearAuthServiceForTesting() {
         overrideService = null;
     }
+
+    // One engine per process so the metadata is mapped once, on the first phone number it sees.
+    private static PhoneNormalizer getPhoneNormalizer(Context context) {
+        PhoneNormalizer normalizer = phoneNormalizer;
+        if (normalizer == null) {
+            normalizer = new PhoneNumberEngine(
+                    new AssetPhoneMetadataSource(context, AssetPhoneMetadataSource.DEFAULT_ASSET),
+                    DeviceRegions.preference(context),
+                    new NanpPhoneNormalizer()
+            );
+            phoneNormalizer = normalizer;
+        }
+        return normalizer;
+    }
+
+    // One listener on the user's profile per process, however many screens ask for an AuthService.
+    private static synchronized RoleWatcher getRoleWatcher(Context context) {
+        if (roleWatcher == null) {
+            roleWatcher = new RoleWatcher(
+                    FirebaseAuthRepository.usersProfileSource(FirebaseFirestore.getInstance()),
+                    new PreferencesRoleCache(context.getSharedPreferences(PreferencesRoleCache.PREFS_NAME, Context.MODE_PRIVATE)),
+                    Scheduler.from(Executors.newSingleThreadScheduledExecutor())
+            );
+        }
+        return roleWatcher;
+    }
+
+    private static PasswordPolicy getPasswordPolicy(Context context) {
+        PasswordPolicy policy = passwordPolicy;
+        if (policy == null) {
+            policy = new BreachedPasswordPolicy(() -> MappedAssets.map(context, BreachedPasswordPolicy.DEFAULT_ASSET));
+            passwordPolicy = policy;
+        }
+        return policy;
+    }
 }
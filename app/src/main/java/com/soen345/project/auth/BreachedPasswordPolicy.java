@@ -0,0 +1,51 @@
+package com.soen345.project.auth;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Screens new passwords against the bundled breached-password set, entirely on the device. The set is
+// mapped on first use; if it cannot be read, registration is not blocked on it.
+public class BreachedPasswordPolicy implements PasswordPolicy {
+    public static final String DEFAULT_ASSET = "breached_passwords.bin";
+
+    private final Source source;
+    private volatile BreachedPasswordSet passwords;
+    private volatile boolean loaded;
+
+    public BreachedPasswordPolicy(Source source) {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        this.source = source;
+    }
+
+    @Override
+    public boolean isCompromised(String password) {
+        BreachedPasswordSet current = current();
+        return current != null && current.contains(password);
+    }
+
+    private BreachedPasswordSet current() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    passwords = open();
+                    loaded = true;
+                }
+            }
+        }
+        return passwords;
+    }
+
+    private BreachedPasswordSet open() {
+        try {
+            return BreachedPasswordSet.read(source.open());
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public interface Source {
+        ByteBuffer open() throws IOException;
+    }
+}
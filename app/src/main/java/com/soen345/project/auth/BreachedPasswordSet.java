@@ -0,0 +1,234 @@
+package com.soen345.project.auth;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+
+// Top breached passwords as the first 40 bits of their SHA-1, sorted and Rice-coded in blocks of 64.
+// A block index (first prefix + bit offset) is binary searched, then at most one block is decoded, so
+// a lookup reads a few hundred bytes of the mapped file. 100k passwords take about 330 KB; a 40-bit
+// prefix keeps accidental matches for a strong password near one in ten million.
+public final class BreachedPasswordSet {
+    private static final int MAGIC = 0x42505331;
+    private static final int FORMAT_VERSION = 1;
+    private static final int PREFIX_BITS = 40;
+    private static final int BLOCK_SIZE = 64;
+    private static final int HEADER_BYTES = 24;
+    private static final int INDEX_ENTRY_BYTES = 12;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int riceBits;
+    private final int blockCount;
+    private final int dataOffset;
+
+    private BreachedPasswordSet(ByteBuffer buffer, int count, int riceBits, int blockCount) {
+        this.buffer = buffer;
+        this.count = count;
+        this.riceBits = riceBits;
+        this.blockCount = blockCount;
+        this.dataOffset = HEADER_BYTES + blockCount * INDEX_ENTRY_BYTES;
+    }
+
+    public static void write(Collection<String> passwords, OutputStream outputStream) throws IOException {
+        if (passwords == null) {
+            throw new IllegalArgumentException("passwords cannot be null");
+        }
+        long[] prefixes = new long[passwords.size()];
+        int count = 0;
+        for (String password : passwords) {
+            if (password != null && !password.isEmpty()) {
+                prefixes[count++] = prefix(password);
+            }
+        }
+        Arrays.sort(prefixes, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || prefixes[unique - 1] != prefixes[i]) {
+                prefixes[unique++] = prefixes[i];
+            }
+        }
+        // Gaps between sorted uniform values are roughly geometric; a Rice parameter near log2(mean gap) is optimal.
+        long meanGap = unique == 0 ? 1 : Math.max(1, (1L << PREFIX_BITS) / unique);
+        int riceBits = Math.min(PREFIX_BITS - 1, 63 - Long.numberOfLeadingZeros(meanGap));
+        int blockCount = (unique + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        BitWriter bits = new BitWriter();
+        long[] blockFirst = new long[blockCount];
+        int[] blockOffset = new int[blockCount];
+        for (int i = 0; i < unique; i++) {
+            if (i % BLOCK_SIZE == 0) {
+                blockFirst[i / BLOCK_SIZE] = prefixes[i];
+                blockOffset[i / BLOCK_SIZE] = bits.position();
+                continue;
+            }
+            long gap = prefixes[i] - prefixes[i - 1];
+            bits.writeUnary(gap >>> riceBits);
+            bits.write(gap, riceBits);
+        }
+
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(unique);
+        out.writeInt(BLOCK_SIZE);
+        out.writeInt(riceBits);
+        out.writeInt(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            out.writeLong(blockFirst[i]);
+            out.writeInt(blockOffset[i]);
+        }
+        out.write(bits.toByteArray());
+        out.flush();
+    }
+
+    public static BreachedPasswordSet read(ByteBuffer source) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        ByteBuffer buffer = source.slice();
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a breached password set");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION || buffer.getInt(12) != BLOCK_SIZE) {
+            throw new IOException("Unsupported breached password set");
+        }
+        int count = buffer.getInt(8);
+        int riceBits = buffer.getInt(16);
+        int blockCount = buffer.getInt(20);
+        if (count < 0 || riceBits < 0 || riceBits >= PREFIX_BITS
+                || blockCount != (count + BLOCK_SIZE - 1) / BLOCK_SIZE
+                || buffer.remaining() < HEADER_BYTES + (long) blockCount * INDEX_ENTRY_BYTES) {
+            throw new IOException("Corrupt breached password set");
+        }
+        return new BreachedPasswordSet(buffer, count, riceBits, blockCount);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean contains(String password) {
+        if (password == null || password.isEmpty() || blockCount == 0) {
+            return false;
+        }
+        long target = prefix(password);
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (blockFirst(mid) <= target) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        long value = blockFirst(low);
+        if (value >= target) {
+            return value == target;
+        }
+        int entries = Math.min(BLOCK_SIZE, count - low * BLOCK_SIZE);
+        long bitPosition = buffer.getInt(HEADER_BYTES + low * INDEX_ENTRY_BYTES + 8);
+        for (int i = 1; i < entries; i++) {
+            long quotient = 0;
+            while (bit(bitPosition++) == 1) {
+                quotient++;
+            }
+            value += (quotient << riceBits) | bits(bitPosition, riceBits);
+            bitPosition += riceBits;
+            if (value >= target) {
+                return value == target;
+            }
+        }
+        return false;
+    }
+
+    private long blockFirst(int block) {
+        return buffer.getLong(HEADER_BYTES + block * INDEX_ENTRY_BYTES);
+    }
+
+    // Reads up to 56 bits MSB-first from an eight-byte window instead of one bit at a time.
+    private long bits(long position, int bitCount) {
+        if (bitCount == 0) {
+            return 0;
+        }
+        int index = dataOffset + (int) (position >>> 3);
+        long window = 0;
+        for (int i = 0; i < 8; i++) {
+            window = (window << 8) | (index + i < buffer.limit() ? buffer.get(index + i) & 0xFF : 0);
+        }
+        return (window << (position & 7)) >>> (64 - bitCount);
+    }
+
+    private int bit(long position) {
+        int index = dataOffset + (int) (position >>> 3);
+        if (index >= buffer.limit()) {
+            return 0;
+        }
+        return (buffer.get(index) >>> (7 - (int) (position & 7))) & 1;
+    }
+
+    static long prefix(String password) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+            long value = 0;
+            for (int i = 0; i < PREFIX_BITS / 8; i++) {
+                value = (value << 8) | (digest[i] & 0xFF);
+            }
+            return value;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    private static final class BitWriter {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int current;
+        private int used;
+        private int position;
+
+        int position() {
+            return position;
+        }
+
+        void writeUnary(long ones) {
+            for (long i = 0; i < ones; i++) {
+                writeBit(1);
+            }
+            writeBit(0);
+        }
+
+        void write(long value, int bitCount) {
+            for (int b = bitCount - 1; b >= 0; b--) {
+                writeBit((int) (value >>> b) & 1);
+            }
+        }
+
+        private void writeBit(int bit) {
+            current = (current << 1) | bit;
+            used++;
+            position++;
+            if (used == 8) {
+                bytes.write(current);
+                current = 0;
+                used = 0;
+            }
+        }
+
+        byte[] toByteArray() {
+            if (used > 0) {
+                bytes.write(current << (8 - used));
+                current = 0;
+                used = 0;
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.soen345.project.auth;
+
+import com.soen345.project.waitingroom.Hex;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// Registration-time policy backed by the downloaded disposable-domain list. Until a list has been
+// downloaded (or if the stored one is unreadable) nothing is blocked.
+public class DisposableDomainFilter implements EmailDomainPolicy {
+    private final File file;
+    private volatile DisposableDomainList list;
+    private volatile boolean loaded;
+
+    public DisposableDomainFilter(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("file cannot be null");
+        }
+        this.file = file;
+    }
+
+    @Override
+    public boolean isBlocked(String domain) {
+        DisposableDomainList current = current();
+        return current != null && current.contains(domain);
+    }
+
+    public long getVersion() {
+        DisposableDomainList current = current();
+        return current == null ? 0 : current.getVersion();
+    }
+
+    // Maps the stored list now. Call it off the main thread so the first isBlocked does not touch disk.
+    public void load() {
+        current();
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    // The download lands next to the live file and replaces it only once its SHA-256 matches the published
+    // one and it parses as the advertised version.
+    public synchronized void install(InputStream in, long expectedVersion, String expectedSha256) throws IOException {
+        if (expectedSha256 == null) {
+            throw new IllegalArgumentException("expectedSha256 cannot be null");
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp))) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (!Hex.encode(digest.digest()).equalsIgnoreCase(expectedSha256)) {
+                throw new IOException("Downloaded list does not match its published SHA-256");
+            }
+            DisposableDomainList candidate = map(temp);
+            if (candidate.getVersion() != expectedVersion) {
+                throw new IOException("Downloaded list is version " + candidate.getVersion() + ", not " + expectedVersion);
+            }
+            if (!temp.renameTo(file)) {
+                throw new IOException("Could not replace " + file);
+            }
+            // The mapping follows the file through the rename, so the candidate stays valid.
+            list = candidate;
+            loaded = true;
+        } finally {
+            // Gone after a successful rename; otherwise a rejected download must not be left behind.
+            temp.delete();
+        }
+    }
+
+    private DisposableDomainList current() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    list = loadStored();
+                    loaded = true;
+                }
+            }
+        }
+        return list;
+    }
+
+    private DisposableDomainList loadStored() {
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            return map(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static MessageDigest sha256() throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static DisposableDomainList map(File source) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(source, "r");
+             FileChannel channel = in.getChannel()) {
+            return DisposableDomainList.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.soen345.project.auth;
+
+import com.soen345.project.common.BloomFilter;
+import com.soen345.project.common.Fingerprints;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+// Disposable email domains as a Bloom filter in front of sorted 32-bit fingerprints. Every section is
+// fixed-width, so a memory-mapped file is read in place: most lookups stop after a few bit probes and
+// the rest cost one binary search. 100k domains take about 520 KB.
+public final class DisposableDomainList {
+    private static final int MAGIC = 0x44444c31;
+    private static final int FORMAT_VERSION = 1;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int HEADER_BYTES = 20;
+
+    private final long version;
+    private final LongBuffer bloomWords;
+    private final int hashCount;
+    private final IntBuffer fingerprints;
+
+    private DisposableDomainList(long version, LongBuffer bloomWords, int hashCount, IntBuffer fingerprints) {
+        this.version = version;
+        this.bloomWords = bloomWords;
+        this.hashCount = hashCount;
+        this.fingerprints = fingerprints;
+    }
+
+    public static void write(long version, Collection<String> domains, OutputStream outputStream) throws IOException {
+        if (domains == null) {
+            throw new IllegalArgumentException("domains cannot be null");
+        }
+        long[] hashes = new long[domains.size()];
+        int count = 0;
+        for (String domain : domains) {
+            String normalized = normalize(domain);
+            if (!normalized.isEmpty()) {
+                hashes[count++] = Fingerprints.fingerprint64(normalized);
+            }
+        }
+        BloomFilter bloomFilter = new BloomFilter(Math.max(1, count), FALSE_POSITIVE_RATE);
+        int[] shortFingerprints = new int[count];
+        for (int i = 0; i < count; i++) {
+            bloomFilter.put(hashes[i]);
+            shortFingerprints[i] = (int) (hashes[i] >>> 32);
+        }
+        Arrays.sort(shortFingerprints);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || shortFingerprints[unique - 1] != shortFingerprints[i]) {
+                shortFingerprints[unique++] = shortFingerprints[i];
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(version);
+        out.writeInt(unique);
+        bloomFilter.writeTo(out);
+        for (int i = 0; i < unique; i++) {
+            out.writeInt(shortFingerprints[i]);
+        }
+        out.flush();
+    }
+
+    public static DisposableDomainList read(ByteBuffer source) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        ByteBuffer buffer = source.slice();
+        if (buffer.remaining() < HEADER_BYTES + 8 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a disposable domain list");
+        }
+        int formatVersion = buffer.getInt(4);
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported disposable domain list version " + formatVersion);
+        }
+        long version = buffer.getLong(8);
+        int count = buffer.getInt(16);
+        int hashCount = buffer.getInt(HEADER_BYTES);
+        int wordCount = buffer.getInt(HEADER_BYTES + 4);
+        int wordsOffset = HEADER_BYTES + 8;
+        long fingerprintsOffset = wordsOffset + (long) wordCount * 8;
+        if (count < 0 || hashCount <= 0 || wordCount <= 0
+                || buffer.remaining() != fingerprintsOffset + (long) count * 4) {
+            throw new IOException("Corrupt disposable domain list");
+        }
+        buffer.position(wordsOffset).limit((int) fingerprintsOffset);
+        LongBuffer words = buffer.slice().asLongBuffer();
+        buffer.limit(buffer.capacity()).position((int) fingerprintsOffset);
+        IntBuffer fingerprints = buffer.slice().asIntBuffer();
+        return new DisposableDomainList(version, words, hashCount, fingerprints);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return fingerprints.limit();
+    }
+
+    // Subdomains of a listed domain count too, so a.b.mailinator.com is caught by mailinator.com.
+    public boolean contains(String domain) {
+        String normalized = normalize(domain);
+        int start = 0;
+        int dot = normalized.indexOf('.');
+        while (dot > start) {
+            if (containsExact(normalized, start)) {
+                return true;
+            }
+            start = dot + 1;
+            dot = normalized.indexOf('.', start);
+        }
+        return false;
+    }
+
+    private boolean containsExact(String domain, int start) {
+        long hash = Fingerprints.fingerprint64(start == 0 ? domain : domain.substring(start));
+        if (!BloomFilter.mightContain(bloomWords, hashCount, hash)) {
+            return false;
+        }
+        int key = (int) (hash >>> 32);
+        int low = 0;
+        int high = fingerprints.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = fingerprints.get(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String domain) {
+        if (domain == null) {
+            return "";
+        }
+        String trimmed = domain.trim().toLowerCase(Locale.ROOT);
+        return trimmed.endsWith(".") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
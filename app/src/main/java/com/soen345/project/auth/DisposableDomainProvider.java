@@ -0,0 +1,46 @@
+package com.soen345.project.auth;
+
+import android.content.Context;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.io.File;
+import java.util.concurrent.Executors;
+
+public final class DisposableDomainProvider {
+    private static final String LIST_FILE_NAME = "disposable_domains.bin";
+
+    private static DisposableDomainFilter filter;
+    private static DisposableDomainUpdater updater;
+
+    private DisposableDomainProvider() {
+    }
+
+    public static synchronized DisposableDomainFilter getFilter(Context context) {
+        if (filter == null) {
+            filter = new DisposableDomainFilter(new File(context.getApplicationContext().getFilesDir(), LIST_FILE_NAME));
+        }
+        return filter;
+    }
+
+    // Best effort: a failed refresh leaves the current list (or no list) in place until the next launch.
+    public static synchronized void refreshInBackground(Context context) {
+        if (updater == null) {
+            updater = new DisposableDomainUpdater(
+                    FirebaseFirestore.getInstance(),
+                    getFilter(context),
+                    DisposableDomainUpdater.HTTP_DOWNLOADER,
+                    Executors.newSingleThreadExecutor()
+            );
+        }
+        updater.refresh(new DisposableDomainUpdater.UpdateCallback() {
+            @Override
+            public void onSuccess(boolean updated) {
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+            }
+        });
+    }
+}
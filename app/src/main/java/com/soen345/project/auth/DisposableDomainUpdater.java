@@ -0,0 +1,91 @@
+package com.soen345.project.auth;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.Executor;
+
+// config/disposable_domains advertises the latest list as {version, url, sha256}. Publishing a new list is an
+// upload plus a version and hash update on that document; clients pick it up on their next refresh.
+public class DisposableDomainUpdater {
+    private static final String UPDATE_ERROR = "Could not update the disposable email list.";
+    private static final String CONFIG_COLLECTION = "config";
+    private static final String LIST_DOCUMENT = "disposable_domains";
+    private static final String FIELD_VERSION = "version";
+    private static final String FIELD_URL = "url";
+    private static final String FIELD_SHA256 = "sha256";
+    private static final int TIMEOUT_MILLIS = 15_000;
+
+    public static final Downloader HTTP_DOWNLOADER = url -> {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            connection.disconnect();
+            throw new IOException("Unexpected status " + status);
+        }
+        return connection.getInputStream();
+    };
+
+    private final FirebaseFirestore firestore;
+    private final DisposableDomainFilter filter;
+    private final Downloader downloader;
+    private final Executor ioExecutor;
+
+    public DisposableDomainUpdater(FirebaseFirestore firestore, DisposableDomainFilter filter, Downloader downloader, Executor ioExecutor) {
+        if (firestore == null || filter == null || downloader == null || ioExecutor == null) {
+            throw new IllegalArgumentException("firestore, filter, downloader and ioExecutor are required");
+        }
+        this.firestore = firestore;
+        this.filter = filter;
+        this.downloader = downloader;
+        this.ioExecutor = ioExecutor;
+    }
+
+    public void refresh(UpdateCallback callback) {
+        // Maps the stored list while the config is fetched, so registration never does it on the main thread.
+        ioExecutor.execute(filter::load);
+        firestore
+                .collection(CONFIG_COLLECTION)
+                .document(LIST_DOCUMENT)
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    Long version = snapshot.getLong(FIELD_VERSION);
+                    String url = snapshot.getString(FIELD_URL);
+                    String sha256 = snapshot.getString(FIELD_SHA256);
+                    if (version == null || url == null || url.isEmpty() || sha256 == null || sha256.isEmpty()) {
+                        callback.onSuccess(false);
+                        return;
+                    }
+                    ioExecutor.execute(() -> download(version, url, sha256, callback));
+                })
+                .addOnFailureListener(e -> callback.onError(UPDATE_ERROR));
+    }
+
+    private void download(long version, String url, String sha256, UpdateCallback callback) {
+        if (version <= filter.getVersion()) {
+            callback.onSuccess(false);
+            return;
+        }
+        try (InputStream in = downloader.open(url)) {
+            filter.install(in, version, sha256);
+            callback.onSuccess(true);
+        } catch (IOException e) {
+            callback.onError(UPDATE_ERROR);
+        }
+    }
+
+    public interface Downloader {
+        InputStream open(String url) throws IOException;
+    }
+
+    public interface UpdateCallback {
+        void onSuccess(boolean updated);
+
+        void onError(String errorMessage);
+    }
+}
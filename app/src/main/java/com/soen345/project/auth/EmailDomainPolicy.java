@@ -0,0 +1,7 @@
+package com.soen345.project.auth;
+
+public interface EmailDomainPolicy {
+    EmailDomainPolicy ALLOW_ALL = domain -> false;
+
+    boolean isBlocked(String domain);
+}
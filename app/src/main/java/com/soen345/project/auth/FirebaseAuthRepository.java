@@ -9,85 +9,146 @@ import com.google.firebase.auth.FirebaseAuthInvalidUserException;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.soen345.project.metering.FirestoreUsage;
+import com.soen345.project.metering.FlowBudget;
+import com.soen345.project.metering.FlowRun;
+import com.soen345.project.metering.MeteredFirestore;
+import com.soen345.project.tracing.Span;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public class FirebaseAuthRepository implements AuthRepository {
+    public static final String FLOW_SIGN_IN_EMAIL = "signIn.email";
+    public static final String FLOW_SIGN_IN_PHONE = "signIn.phone";
+    public static final String FLOW_REGISTER = "register";
+    // Firestore cost per run of each flow. Raise one only on purpose: tests fail when a flow exceeds it. Each
+    // includes the read billed for attaching the role listener on success.
+    public static final FlowBudget SIGN_IN_EMAIL_BUDGET = new FlowBudget(2, 0, 1);
+    public static final FlowBudget SIGN_IN_PHONE_BUDGET = new FlowBudget(3, 0, 2);
+    public static final FlowBudget REGISTER_BUDGET = new FlowBudget(2, 2, 2);
+
     private static final String DEFAULT_SIGN_IN_ERROR = "Sign in failed";
     private static final String DEFAULT_REGISTER_ERROR = "Registration failed";
-    private static final String INVALID_CREDENTIALS_ERROR = "Wrong email or password. Please try again.";
     private static final String INVALID_USER_ERROR = "No account found for this account.";
     private static final String PHONE_ALREADY_IN_USE_ERROR = "Phone number is already in use.";
     private static final String MISSING_ROLE_ERROR = "No role assigned to this account. Please contact support.";
     private static final String PROFILE_SAVE_ERROR = "Account created, but role setup failed. Please try again.";
     private static final String USERS_COLLECTION = "users";
     private static final String PHONE_INDEX_COLLECTION = "phone_index";
-    private static final String FIELD_USER_ID = "userId";
-    private static final String FIELD_EMAIL = "email";
-    private static final String FIELD_PHONE = "phone";
-    private static final String FIELD_ROLE = "role";
-    private static final String FIELD_PREFERRED_CHANNEL = "preferredChannel";
-    private static final String PREFS_NAME = "auth_prefs";
-    private static final String KEY_SIGNED_IN_ROLE = "signed_in_role";
+    private static final UserProfileCodec PROFILE_CODEC = new UserProfileCodec();
+    private static final PhoneIndexCodec PHONE_INDEX_CODEC = new PhoneIndexCodec();
 
     private final FirebaseAuth firebaseAuth;
-    private final FirebaseFirestore firestore;
-    private final SharedPreferences sharedPreferences;
+    private final MeteredFirestore firestore;
+    private final RoleCache roleCache;
+    private final FirestoreUsage usage;
+    private final RoleWatcher roleWatcher;
 
-    public FirebaseAuthRepository() {
+    public FirebaseAuthRepository(RoleWatcher roleWatcher) {
         this(
                 FirebaseAuth.getInstance(),
                 FirebaseFirestore.getInstance(),
-                getAppContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+                getAppContext().getSharedPreferences(PreferencesRoleCache.PREFS_NAME, Context.MODE_PRIVATE),
+                FirestoreUsage.SHARED,
+                roleWatcher
         );
     }
 
     public FirebaseAuthRepository(FirebaseAuth firebaseAuth, FirebaseFirestore firestore, SharedPreferences sharedPreferences) {
+        this(firebaseAuth, firestore, sharedPreferences, FirestoreUsage.SHARED);
+    }
+
+    public FirebaseAuthRepository(FirebaseAuth firebaseAuth,
+                                  FirebaseFirestore firestore,
+                                  SharedPreferences sharedPreferences,
+                                  FirestoreUsage usage) {
+        this(firebaseAuth, firestore, sharedPreferences, usage, null);
+    }
+
+    // Without a role watcher the cached role only changes at sign-in and registration.
+    public FirebaseAuthRepository(FirebaseAuth firebaseAuth,
+                                  FirebaseFirestore firestore,
+                                  SharedPreferences sharedPreferences,
+                                  FirestoreUsage usage,
+                                  RoleWatcher roleWatcher) {
+        if (usage == null) {
+            throw new IllegalArgumentException("usage cannot be null");
+        }
         this.firebaseAuth = firebaseAuth;
-        this.firestore = firestore;
-        this.sharedPreferences = sharedPreferences;
+        this.firestore = new MeteredFirestore(firestore);
+        this.roleCache = new PreferencesRoleCache(sharedPreferences);
+        this.usage = usage;
+        this.roleWatcher = roleWatcher;
+    }
+
+    public static RoleWatcher.ProfileSource usersProfileSource(FirebaseFirestore firestore) {
+        return (userId, listener) -> firestore.collection(USERS_COLLECTION).document(userId).addSnapshotListener(listener);
     }
 
     @Override
     public void signIn(String identifier, String password, AuthCallback callback) {
+        // Captured here because the listeners below run later, outside the caller's active span.
+        Span trace = Span.current();
         if (identifier.contains("@")) {
-            signInWithEmail(identifier, password, callback);
+            FlowRun run = usage.start(FLOW_SIGN_IN_EMAIL, SIGN_IN_EMAIL_BUDGET);
+            signInWithEmail(identifier, password, finishing(run, callback), trace, run);
             return;
         }
 
-        signInWithPhone(identifier, password, callback);
+        FlowRun run = usage.start(FLOW_SIGN_IN_PHONE, SIGN_IN_PHONE_BUDGET);
+        signInWithPhone(identifier, password, finishing(run, callback), trace, run);
     }
 
     @Override
     public void register(String email, String phoneE164, String password, AuthCallback callback) {
+        Span trace = Span.current();
+        FlowRun run = usage.start(FLOW_REGISTER, REGISTER_BUDGET);
+        AuthCallback finishingCallback = finishing(run, callback);
+        Span span = trace.startChild("auth.createUser");
         firebaseAuth
                 .createUserWithEmailAndPassword(email, password)
-                .addOnSuccessListener(result -> onRegistrationSucceeded(result.getUser(), email, phoneE164, callback))
-                .addOnFailureListener(e -> callback.onError(getErrorMessage(e, DEFAULT_REGISTER_ERROR)));
+                .addOnSuccessListener(result -> {
+                    span.end();
+                    onRegistrationSucceeded(result.getUser(), email, phoneE164, finishingCallback, trace, run);
+                })
+                .addOnFailureListener(e -> {
+                    endWithError(span, e);
+                    finishingCallback.onError(getErrorMessage(e, DEFAULT_REGISTER_ERROR));
+                });
     }
 
-    private void signInWithEmail(String email, String password, AuthCallback callback) {
+    private void signInWithEmail(String email, String password, AuthCallback callback, Span trace, FlowRun run) {
+        Span span = trace.startChild("auth.signInWithEmail");
         firebaseAuth
                 .signInWithEmailAndPassword(email, password)
-                .addOnSuccessListener(result -> onSignInSucceeded(result.getUser(), email, callback))
-                .addOnFailureListener(e -> callback.onError(getErrorMessage(e, DEFAULT_SIGN_IN_ERROR)));
+                .addOnSuccessListener(result -> {
+                    span.end();
+                    onSignInSucceeded(result.getUser(), email, callback, trace, run);
+                })
+                .addOnFailureListener(e -> {
+                    endWithError(span, e);
+                    callback.onError(getErrorMessage(e, DEFAULT_SIGN_IN_ERROR));
+                });
     }
 
-    private void signInWithPhone(String phoneE164, String password, AuthCallback callback) {
+    private void signInWithPhone(String phoneE164, String password, AuthCallback callback, Span trace, FlowRun run) {
+        Span span = trace.startChild("firestore.phone_index.get");
         firestore
-                .collection(PHONE_INDEX_COLLECTION)
-                .document(phoneE164)
-                .get()
+                .get(run, firestore.document(PHONE_INDEX_COLLECTION, phoneE164))
                 .addOnSuccessListener(snapshot -> {
-                    String email = snapshot.getString(FIELD_EMAIL);
+                    PhoneIndexEntry entry = PHONE_INDEX_CODEC.decode(phoneE164, snapshot.getData());
+                    String email = entry == null ? null : entry.getEmail();
+                    span.setAttribute("found", String.valueOf(email != null && !email.isBlank())).end();
                     if (email == null || email.isBlank()) {
                         callback.onError(INVALID_USER_ERROR);
                         return;
                     }
-                    signInWithEmail(email, password, callback);
+                    signInWithEmail(email, password, callback, trace, run);
                 })
-                .addOnFailureListener(e -> callback.onError(DEFAULT_SIGN_IN_ERROR));
+                .addOnFailureListener(e -> {
+                    endWithError(span, e);
+                    callback.onError(DEFAULT_SIGN_IN_ERROR);
+                });
     }
 
     @Override
@@ -103,16 +164,44 @@ public class FirebaseAuthRepository implements AuthRepository {
 
     @Override
     public UserRole getSignedInRole() {
-        return UserRole.fromValue(sharedPreferences.getString(KEY_SIGNED_IN_ROLE, null));
+        return roleCache.get();
     }
 
     @Override
     public void signOut() {
+        if (roleWatcher != null) {
+            roleWatcher.stop();
+        }
         firebaseAuth.signOut();
         clearStoredRole();
     }
 
-    private void onRegistrationSucceeded(FirebaseUser user, String fallbackEmail, String phoneE164, AuthCallback callback) {
+    // Also covers a session restored at launch, where no sign-in ran to start the watcher.
+    @Override
+    public void addRoleListener(RoleListener listener) {
+        if (roleWatcher == null) {
+            return;
+        }
+        roleWatcher.addListener(listener);
+        FirebaseUser user = firebaseAuth.getCurrentUser();
+        if (user != null) {
+            roleWatcher.watch(user.getUid());
+        }
+    }
+
+    @Override
+    public void removeRoleListener(RoleListener listener) {
+        if (roleWatcher != null) {
+            roleWatcher.removeListener(listener);
+        }
+    }
+
+    private void onRegistrationSucceeded(FirebaseUser user,
+                                         String fallbackEmail,
+                                         String phoneE164,
+                                         AuthCallback callback,
+                                         Span trace,
+                                         FlowRun run) {
         if (user == null) {
             callback.onError(DEFAULT_REGISTER_ERROR);
             return;
@@ -121,31 +210,28 @@ public class FirebaseAuthRepository implements AuthRepository {
         String safeEmail = getUserEmail(user, fallbackEmail);
         UserRole selectedRole = UserRole.CUSTOMER;
 
-        Map<String, Object> profileData = new HashMap<>();
-        profileData.put(FIELD_USER_ID, uid);
-        profileData.put(FIELD_EMAIL, safeEmail);
-        profileData.put(FIELD_PHONE, phoneE164);
-        profileData.put(FIELD_ROLE, selectedRole.value());
-        profileData.put(FIELD_PREFERRED_CHANNEL, PreferredChannel.EMAIL.value());
-
-        Map<String, Object> phoneIndexData = new HashMap<>();
-        phoneIndexData.put(FIELD_USER_ID, uid);
-        phoneIndexData.put(FIELD_EMAIL, safeEmail);
+        Map<String, Object> profileData = PROFILE_CODEC.encode(
+                new UserProfile(uid, safeEmail, phoneE164, selectedRole, PreferredChannel.EMAIL));
+        Map<String, Object> phoneIndexData = PHONE_INDEX_CODEC.encode(new PhoneIndexEntry(uid, safeEmail));
 
+        Span span = trace.startChild("firestore.register.transaction");
         firestore
-                .runTransaction(transaction -> {
-                    if (transaction.get(firestore.collection(PHONE_INDEX_COLLECTION).document(phoneE164)).exists()) {
+                .runTransaction(run, transaction -> {
+                    if (transaction.get(firestore.document(PHONE_INDEX_COLLECTION, phoneE164)).exists()) {
                         throw new FirebaseFirestoreException(PHONE_ALREADY_IN_USE_ERROR, FirebaseFirestoreException.Code.ALREADY_EXISTS);
                     }
-                    transaction.set(firestore.collection(USERS_COLLECTION).document(uid), profileData);
-                    transaction.set(firestore.collection(PHONE_INDEX_COLLECTION).document(phoneE164), phoneIndexData);
+                    transaction.set(firestore.document(USERS_COLLECTION, uid), profileData);
+                    transaction.set(firestore.document(PHONE_INDEX_COLLECTION, phoneE164), phoneIndexData);
                     return null;
                 })
                 .addOnSuccessListener(unused -> {
+                    span.end();
                     storeRole(selectedRole);
+                    watchRole(uid, run);
                     callback.onSuccess(new AuthSession(safeEmail, selectedRole));
                 })
                 .addOnFailureListener(e -> {
+                    endWithError(span, e);
                     user.delete();
                     firebaseAuth.signOut();
                     clearStoredRole();
@@ -158,7 +244,7 @@ public class FirebaseAuthRepository implements AuthRepository {
                 });
     }
 
-    private void onSignInSucceeded(FirebaseUser user, String fallbackEmail, AuthCallback callback) {
+    private void onSignInSucceeded(FirebaseUser user, String fallbackEmail, AuthCallback callback, Span trace, FlowRun run) {
         if (user == null) {
             callback.onError(DEFAULT_SIGN_IN_ERROR);
             return;
@@ -166,13 +252,13 @@ public class FirebaseAuthRepository implements AuthRepository {
         String uid = user.getUid();
         String safeEmail = getUserEmail(user, fallbackEmail);
 
+        Span span = trace.startChild("firestore.users.get");
         firestore
-                .collection(USERS_COLLECTION)
-                .document(uid)
-                .get()
+                .get(run, firestore.document(USERS_COLLECTION, uid))
                 .addOnSuccessListener(snapshot -> {
-                    String storedRoleRaw = snapshot.getString(FIELD_ROLE);
-                    UserRole storedRole = UserRole.fromValue(storedRoleRaw);
+                    span.end();
+                    UserProfile profile = PROFILE_CODEC.decode(uid, snapshot.getData());
+                    UserRole storedRole = profile == null ? null : profile.getRole();
                     if (storedRole == null) {
                         firebaseAuth.signOut();
                         clearStoredRole();
@@ -180,9 +266,11 @@ public class FirebaseAuthRepository implements AuthRepository {
                         return;
                     }
                     storeRole(storedRole);
+                    watchRole(uid, run);
                     callback.onSuccess(new AuthSession(safeEmail, storedRole));
                 })
                 .addOnFailureListener(e -> {
+                    endWithError(span, e);
                     firebaseAuth.signOut();
                     clearStoredRole();
                     callback.onError(DEFAULT_SIGN_IN_ERROR);
@@ -202,12 +290,39 @@ public class FirebaseAuthRepository implements AuthRepository {
         return e.getMessage();
     }
 
+    // Ends the run at the flow's single exit, whichever path produced the outcome.
+    private static AuthCallback finishing(FlowRun run, AuthCallback callback) {
+        return new AuthCallback() {
+            @Override
+            public void onSuccess(AuthSession session) {
+                run.finish();
+                callback.onSuccess(session);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                run.finish();
+                callback.onError(errorMessage);
+            }
+        };
+    }
+
+    private static void endWithError(Span span, Exception e) {
+        span.setAttribute("error", e == null ? "unknown" : e.getClass().getSimpleName()).end();
+    }
+
     private void storeRole(UserRole role) {
-        sharedPreferences.edit().putString(KEY_SIGNED_IN_ROLE, role.value()).apply();
+        roleCache.store(role);
     }
 
     private void clearStoredRole() {
-        sharedPreferences.edit().remove(KEY_SIGNED_IN_ROLE).apply();
+        roleCache.clear();
+    }
+
+    private void watchRole(String uid, FlowRun run) {
+        if (roleWatcher != null && roleWatcher.watch(uid)) {
+            firestore.recordListenerAttached(run);
+        }
     }
 
     private String getUserEmail(FirebaseUser user, String fallbackEmail) {
@@ -0,0 +1,43 @@
+package com.soen345.project.auth;
+
+import java.util.regex.Pattern;
+
+// The original rules: anything with a leading + is taken as-is, everything else must be a NANP number.
+public class NanpPhoneNormalizer implements PhoneNormalizer {
+    private static final Pattern DIGITS_PATTERN = Pattern.compile("^\\d+$");
+
+    @Override
+    public String normalize(String rawPhone) {
+        String value = rawPhone == null ? "" : rawPhone.trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+
+        String cleaned = value
+                .replace(" ", "")
+                .replace("-", "")
+                .replace("(", "")
+                .replace(")", "");
+
+        if (cleaned.startsWith("+")) {
+            String digits = cleaned.substring(1);
+            if (digits.length() < 8 || digits.length() > 15 || !DIGITS_PATTERN.matcher(digits).matches()) {
+                return null;
+            }
+            return "+" + digits;
+        }
+
+        if (!DIGITS_PATTERN.matcher(cleaned).matches()) {
+            return null;
+        }
+
+        if (cleaned.length() == 10) {
+            return "+1" + cleaned;
+        }
+        if (cleaned.length() == 11 && cleaned.startsWith("1")) {
+            return "+" + cleaned;
+        }
+
+        return null;
+    }
+}
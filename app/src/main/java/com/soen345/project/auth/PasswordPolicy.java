@@ -0,0 +1,7 @@
+package com.soen345.project.auth;
+
+public interface PasswordPolicy {
+    PasswordPolicy ALLOW_ALL = password -> false;
+
+    boolean isCompromised(String password);
+}
@@ -0,0 +1,30 @@
+package com.soen345.project.auth;
+
+import com.soen345.project.common.DocumentCodec;
+import com.soen345.project.common.FieldTable;
+
+import java.util.Map;
+
+// phone_index/{E.164 number}, the lookup that lets a phone number sign in with its account's email.
+public final class PhoneIndexCodec implements DocumentCodec<PhoneIndexEntry> {
+    public static final String FIELD_USER_ID = "userId";
+    public static final String FIELD_EMAIL = "email";
+
+    private static final FieldTable<PhoneIndexEntry> FIELDS = FieldTable.<PhoneIndexEntry>builder()
+            .field(FIELD_USER_ID, PhoneIndexEntry::getUserId)
+            .field(FIELD_EMAIL, PhoneIndexEntry::getEmail)
+            .build();
+
+    @Override
+    public Map<String, Object> encode(PhoneIndexEntry entry) {
+        return FIELDS.encode(entry);
+    }
+
+    @Override
+    public PhoneIndexEntry decode(String documentId, Map<String, Object> data) {
+        if (data == null) {
+            return null;
+        }
+        return new PhoneIndexEntry(FieldTable.readString(data, FIELD_USER_ID), FieldTable.readString(data, FIELD_EMAIL));
+    }
+}
@@ -0,0 +1,19 @@
+package com.soen345.project.auth;
+
+public class PhoneIndexEntry {
+    private final String userId;
+    private final String email;
+
+    public PhoneIndexEntry(String userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,6 @@
+package com.soen345.project.auth;
+
+// Turns whatever a user typed into an E.164 number (+ and up to 15 digits), or null when it is not a phone number.
+public interface PhoneNormalizer {
+    String normalize(String rawPhone);
+}
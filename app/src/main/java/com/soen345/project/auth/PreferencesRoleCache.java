@@ -0,0 +1,30 @@
+package com.soen345.project.auth;
+
+import android.content.SharedPreferences;
+
+public class PreferencesRoleCache implements RoleCache {
+    static final String PREFS_NAME = "auth_prefs";
+
+    private static final String KEY_SIGNED_IN_ROLE = "signed_in_role";
+
+    private final SharedPreferences sharedPreferences;
+
+    public PreferencesRoleCache(SharedPreferences sharedPreferences) {
+        this.sharedPreferences = sharedPreferences;
+    }
+
+    @Override
+    public UserRole get() {
+        return UserRole.fromValue(sharedPreferences.getString(KEY_SIGNED_IN_ROLE, null));
+    }
+
+    @Override
+    public void store(UserRole role) {
+        sharedPreferences.edit().putString(KEY_SIGNED_IN_ROLE, role.value()).apply();
+    }
+
+    @Override
+    public void clear() {
+        sharedPreferences.edit().remove(KEY_SIGNED_IN_ROLE).apply();
+    }
+}
@@ -1,11 +1,22 @@
 package com.soen345.project.auth;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum PreferredChannel {
     EMAIL("EMAIL"),
     SMS("SMS");
 
     private final String value;
 
+    private static final Map<String, PreferredChannel> BY_VALUE = new HashMap<>();
+
+    static {
+        for (PreferredChannel constant : values()) {
+            BY_VALUE.put(constant.value, constant);
+        }
+    }
+
     PreferredChannel(String value) {
         this.value = value;
     }
@@ -18,13 +29,11 @@ public enum PreferredChannel {
         if (rawValue == null) {
             return null;
         }
-        String normalized = rawValue.trim().toUpperCase();
-        if ("EMAIL".equals(normalized)) {
-            return EMAIL;
-        }
-        if ("SMS".equals(normalized)) {
-            return SMS;
+        PreferredChannel exact = BY_VALUE.get(rawValue);
+        if (exact != null) {
+            return exact;
         }
-        return null;
+        // Stored values are canonical, so only hand-entered input pays for normalizing.
+        return BY_VALUE.get(rawValue.trim().toUpperCase());
     }
 }
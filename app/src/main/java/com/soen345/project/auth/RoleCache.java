@@ -0,0 +1,10 @@
+package com.soen345.project.auth;
+
+// The role last confirmed for the signed-in user, kept across launches so screens never wait on Firestore.
+public interface RoleCache {
+    UserRole get();
+
+    void store(UserRole role);
+
+    void clear();
+}
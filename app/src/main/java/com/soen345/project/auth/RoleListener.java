@@ -0,0 +1,6 @@
+package com.soen345.project.auth;
+
+public interface RoleListener {
+    // A null role means the profile lost its role and the session can no longer be trusted.
+    void onRoleChanged(UserRole role);
+}
@@ -0,0 +1,170 @@
+package com.soen345.project.auth;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.soen345.project.common.Scheduler;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// One live listener on the signed-in user's users/{uid} document for the whole process. Role changes
+// update the cached role and reach every registered screen; after an error the listener is re-attached
+// with jittered exponential backoff rather than in a tight loop.
+public class RoleWatcher {
+    public static final long INITIAL_BACKOFF_MILLIS = 1_000L;
+    public static final long MAX_BACKOFF_MILLIS = 60_000L;
+
+    private static final UserProfileCodec PROFILE_CODEC = new UserProfileCodec();
+
+    private final ProfileSource source;
+    private final RoleCache roleCache;
+    private final Scheduler scheduler;
+    private final Random random;
+    private final List<RoleListener> listeners = new CopyOnWriteArrayList<>();
+
+    private String uid;
+    private long attachment;
+    private ListenerRegistration registration;
+    private Scheduler.Cancellable pendingReconnect;
+    private long backoffMillis = INITIAL_BACKOFF_MILLIS;
+    private long reconnectCount;
+
+    public RoleWatcher(ProfileSource source, RoleCache roleCache, Scheduler scheduler) {
+        this(source, roleCache, scheduler, new Random());
+    }
+
+    RoleWatcher(ProfileSource source, RoleCache roleCache, Scheduler scheduler, Random random) {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        if (roleCache == null) {
+            throw new IllegalArgumentException("roleCache cannot be null");
+        }
+        if (scheduler == null) {
+            throw new IllegalArgumentException("scheduler cannot be null");
+        }
+        this.source = source;
+        this.roleCache = roleCache;
+        this.scheduler = scheduler;
+        this.random = random;
+    }
+
+    // Returns whether a new listener was attached, which Firestore bills as one read for its first snapshot.
+    public synchronized boolean watch(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("userId cannot be empty");
+        }
+        if (userId.equals(uid)) {
+            return false;
+        }
+        stop();
+        uid = userId;
+        backoffMillis = INITIAL_BACKOFF_MILLIS;
+        attach();
+        return true;
+    }
+
+    public synchronized void stop() {
+        uid = null;
+        attachment++;
+        if (pendingReconnect != null) {
+            pendingReconnect.cancel();
+            pendingReconnect = null;
+        }
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+    }
+
+    public void addListener(RoleListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    public void removeListener(RoleListener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized boolean isWatching() {
+        return uid != null;
+    }
+
+    public synchronized long getReconnectCount() {
+        return reconnectCount;
+    }
+
+    // Called with the lock held.
+    private void attach() {
+        long current = ++attachment;
+        ListenerRegistration attached = source.listen(uid, (snapshot, error) -> onEvent(current, snapshot, error));
+        if (attachment == current) {
+            registration = attached;
+        } else if (attached != null) {
+            // The listener failed synchronously while attaching and a reconnect is already scheduled.
+            attached.remove();
+        }
+    }
+
+    private void onEvent(long eventAttachment, DocumentSnapshot snapshot, Exception error) {
+        UserRole role;
+        synchronized (this) {
+            if (eventAttachment != attachment || uid == null) {
+                return;
+            }
+            if (error != null || snapshot == null) {
+                // Firestore ends a listener after an error, so it has to be attached again.
+                if (registration != null) {
+                    registration.remove();
+                    registration = null;
+                }
+                attachment++;
+                scheduleReconnect();
+                return;
+            }
+            backoffMillis = INITIAL_BACKOFF_MILLIS;
+            // Offline, a document the cache has never seen also reads as missing; only the server can say
+            // the profile is gone, so that snapshot must not sign the user out.
+            if (!snapshot.exists() && snapshot.getMetadata().isFromCache()) {
+                return;
+            }
+            UserProfile profile = PROFILE_CODEC.decode(snapshot.getId(), snapshot.getData());
+            role = profile == null ? null : profile.getRole();
+            if (role == roleCache.get()) {
+                return;
+            }
+            if (role == null) {
+                roleCache.clear();
+            } else {
+                roleCache.store(role);
+            }
+        }
+        for (RoleListener listener : listeners) {
+            listener.onRoleChanged(role);
+        }
+    }
+
+    private void scheduleReconnect() {
+        long delay = backoffMillis / 2 + (long) (random.nextDouble() * (backoffMillis / 2 + 1));
+        backoffMillis = Math.min(MAX_BACKOFF_MILLIS, backoffMillis * 2);
+        String watchedUid = uid;
+        pendingReconnect = scheduler.schedule(() -> {
+            synchronized (RoleWatcher.this) {
+                if (!watchedUid.equals(uid) || registration != null) {
+                    return;
+                }
+                pendingReconnect = null;
+                reconnectCount++;
+                attach();
+            }
+        }, delay);
+    }
+
+    public interface ProfileSource {
+        ListenerRegistration listen(String userId, EventListener<DocumentSnapshot> listener);
+    }
+}
@@ -0,0 +1,25 @@
+package com.soen345.project.auth;
+
+public interface SignInLimiter {
+    SignInLimiter UNLIMITED = new SignInLimiter() {
+        @Override
+        public long acquire(String identifier) {
+            return 0;
+        }
+
+        @Override
+        public void onInvalidCredentials(String identifier) {
+        }
+
+        @Override
+        public void onSuccess(String identifier) {
+        }
+    };
+
+    // 0 when the attempt may go ahead, otherwise how many milliseconds the caller must wait.
+    long acquire(String identifier);
+
+    void onInvalidCredentials(String identifier);
+
+    void onSuccess(String identifier);
+}
@@ -0,0 +1,193 @@
+package com.soen345.project.auth;
+
+import com.soen345.project.common.Clock;
+import com.soen345.project.common.CountMinSketch;
+import com.soen345.project.common.Fingerprints;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Throttles sign-in per normalized identifier before any phone_index read or FirebaseAuth call.
+// Tracked identifiers get a token bucket plus an exponential cool-down after repeated wrong passwords.
+// Once the tracked set is full, further identifiers only have their failures counted, approximately,
+// in a fixed-size sketch that is cleared every maxCooldownMillis. Nothing here touches Android: the
+// server module compiles this class in and throttles bad bearer tokens per client address with it.
+public class TokenBucketSignInLimiter implements SignInLimiter {
+    private static final int SKETCH_DEPTH = 4;
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000;
+
+    private final Clock clock;
+    private final long refillMillis;
+    private final long burstMillis;
+    private final int freeFailures;
+    private final long baseCooldownMillis;
+    private final long maxCooldownMillis;
+    private final int maxTracked;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final CountMinSketch tailFailures;
+    private final AtomicLong tailWindowStart;
+    private final AtomicLong lastSweepMillis;
+
+    public TokenBucketSignInLimiter(Clock clock,
+                                    int capacity,
+                                    long refillMillis,
+                                    int freeFailures,
+                                    long baseCooldownMillis,
+                                    long maxCooldownMillis,
+                                    int maxTracked,
+                                    int sketchWidth) {
+        if (clock == null) {
+            throw new IllegalArgumentException("clock cannot be null");
+        }
+        if (capacity <= 0 || refillMillis <= 0) {
+            throw new IllegalArgumentException("capacity and refillMillis must be positive");
+        }
+        if (freeFailures < 0 || baseCooldownMillis <= 0 || maxCooldownMillis < baseCooldownMillis) {
+            throw new IllegalArgumentException("cool-down settings are invalid");
+        }
+        if (maxTracked <= 0) {
+            throw new IllegalArgumentException("maxTracked must be positive");
+        }
+        this.clock = clock;
+        this.refillMillis = refillMillis;
+        this.burstMillis = (capacity - 1) * refillMillis;
+        this.freeFailures = freeFailures;
+        this.baseCooldownMillis = baseCooldownMillis;
+        this.maxCooldownMillis = maxCooldownMillis;
+        this.maxTracked = maxTracked;
+        this.tailFailures = new CountMinSketch(SKETCH_DEPTH, sketchWidth);
+        this.tailWindowStart = new AtomicLong(clock.nowMillis());
+        this.lastSweepMillis = new AtomicLong(clock.nowMillis() - SWEEP_INTERVAL_MILLIS);
+    }
+
+    // Five quick tries, then one every 30 seconds; after three wrong passwords in a row the cool-down
+    // starts at 30 seconds and doubles up to 15 minutes.
+    public static TokenBucketSignInLimiter withDefaults(Clock clock) {
+        return new TokenBucketSignInLimiter(clock, 5, 30_000, 3, 30_000, 15 * 60_000, 1_024, 4_096);
+    }
+
+    @Override
+    public long acquire(String identifier) {
+        long now = clock.nowMillis();
+        Bucket bucket = bucketFor(identifier, now);
+        if (bucket == null) {
+            return tailRetryAfter(identifier, now);
+        }
+        long blockedUntil = bucket.blockedUntil.get();
+        if (blockedUntil > now) {
+            return blockedUntil - now;
+        }
+        // Token bucket kept as a single theoretical arrival time (GCRA), so one CAS takes a token.
+        while (true) {
+            long arrival = bucket.arrival.get();
+            long next = Math.max(arrival, now) + refillMillis;
+            long wait = next - now - refillMillis - burstMillis;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.arrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void onInvalidCredentials(String identifier) {
+        long now = clock.nowMillis();
+        Bucket bucket = buckets.get(identifier);
+        if (bucket == null) {
+            rollTailWindow(now);
+            tailFailures.add(Fingerprints.fingerprint64(identifier));
+            return;
+        }
+        bucket.lastFailureMillis = now;
+        int failures = bucket.failures.incrementAndGet();
+        if (failures > freeFailures) {
+            long until = now + cooldownMillis(failures - freeFailures);
+            bucket.blockedUntil.accumulateAndGet(until, Math::max);
+        }
+    }
+
+    @Override
+    public void onSuccess(String identifier) {
+        Bucket bucket = buckets.get(identifier);
+        if (bucket != null) {
+            bucket.failures.set(0);
+        }
+    }
+
+    public int trackedCount() {
+        return buckets.size();
+    }
+
+    public int sketchMemoryBytes() {
+        return tailFailures.memoryBytes();
+    }
+
+    private long cooldownMillis(int excessFailures) {
+        int doublings = Math.min(excessFailures - 1, 30);
+        return Math.min(maxCooldownMillis, baseCooldownMillis << doublings);
+    }
+
+    private Bucket bucketFor(String identifier, long now) {
+        Bucket bucket = buckets.get(identifier);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxTracked) {
+            sweep(now);
+            if (buckets.size() >= maxTracked) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(identifier, key -> new Bucket(now));
+    }
+
+    // Drops identifiers whose bucket has refilled and that have been quiet for the longest cool-down
+    // since their last failure or block; evicting earlier would hand a blocked attacker fresh free tries.
+    // At most one sweep per second so a flood of new identifiers cannot make it O(n) per call.
+    private void sweep(long now) {
+        long last = lastSweepMillis.get();
+        if (now - last < SWEEP_INTERVAL_MILLIS || !lastSweepMillis.compareAndSet(last, now)) {
+            return;
+        }
+        Iterator<Bucket> iterator = buckets.values().iterator();
+        while (iterator.hasNext()) {
+            Bucket bucket = iterator.next();
+            long quietSince = Math.max(bucket.blockedUntil.get(), bucket.lastFailureMillis);
+            if (bucket.arrival.get() <= now
+                    && (bucket.failures.get() == 0 ? bucket.blockedUntil.get() <= now : now - quietSince >= maxCooldownMillis)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private long tailRetryAfter(String identifier, long now) {
+        long windowEnd = rollTailWindow(now) + maxCooldownMillis;
+        int failures = tailFailures.estimate(Fingerprints.fingerprint64(identifier));
+        // The sketch cannot say when each failure happened, so a blocked tail identifier waits out the window.
+        return failures > freeFailures ? windowEnd - now : 0;
+    }
+
+    private long rollTailWindow(long now) {
+        long start = tailWindowStart.get();
+        if (now - start >= maxCooldownMillis && tailWindowStart.compareAndSet(start, now)) {
+            tailFailures.clear();
+            return now;
+        }
+        return tailWindowStart.get();
+    }
+
+    private static final class Bucket {
+        private final AtomicLong arrival;
+        private final AtomicLong blockedUntil = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile long lastFailureMillis;
+
+        private Bucket(long now) {
+            this.arrival = new AtomicLong(now);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.soen345.project.auth;
+
+public class UserProfile {
+    private final String userId;
+    private final String email;
+    private final String phone;
+    private final UserRole role;
+    private final PreferredChannel preferredChannel;
+
+    public UserProfile(String userId, String email, String phone, UserRole role, PreferredChannel preferredChannel) {
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("userId cannot be empty");
+        }
+        this.userId = userId;
+        this.email = email;
+        this.phone = phone;
+        this.role = role;
+        this.preferredChannel = preferredChannel;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public PreferredChannel getPreferredChannel() {
+        return preferredChannel;
+    }
+}
@@ -0,0 +1,49 @@
+package com.soen345.project.auth;
+
+import com.soen345.project.common.DocumentCodec;
+import com.soen345.project.common.FieldTable;
+
+import java.util.Map;
+
+// users/{uid}. An unknown role decodes to null so sign-in can report it rather than guess.
+public final class UserProfileCodec implements DocumentCodec<UserProfile> {
+    public static final String FIELD_USER_ID = "userId";
+    public static final String FIELD_EMAIL = "email";
+    public static final String FIELD_PHONE = "phone";
+    public static final String FIELD_ROLE = "role";
+    public static final String FIELD_PREFERRED_CHANNEL = "preferredChannel";
+
+    private static final FieldTable<UserProfile> FIELDS = FieldTable.<UserProfile>builder()
+            .field(FIELD_USER_ID, UserProfile::getUserId)
+            .field(FIELD_EMAIL, UserProfile::getEmail)
+            .field(FIELD_PHONE, UserProfile::getPhone)
+            .field(FIELD_ROLE, profile -> profile.getRole() == null ? null : profile.getRole().value())
+            .field(FIELD_PREFERRED_CHANNEL, profile -> profile.getPreferredChannel() == null ? null : profile.getPreferredChannel().value())
+            .build();
+
+    @Override
+    public Map<String, Object> encode(UserProfile profile) {
+        return FIELDS.encode(profile);
+    }
+
+    @Override
+    public UserProfile decode(String documentId, Map<String, Object> data) {
+        if (data == null) {
+            return null;
+        }
+        String userId = FieldTable.readString(data, FIELD_USER_ID);
+        if (userId == null || userId.isEmpty()) {
+            userId = documentId;
+        }
+        if (userId == null || userId.isEmpty()) {
+            return null;
+        }
+        return new UserProfile(
+                userId,
+                FieldTable.readString(data, FIELD_EMAIL),
+                FieldTable.readString(data, FIELD_PHONE),
+                UserRole.fromValue(FieldTable.readString(data, FIELD_ROLE)),
+                PreferredChannel.fromValue(FieldTable.readString(data, FIELD_PREFERRED_CHANNEL))
+        );
+    }
+}
@@ -1,11 +1,23 @@
 package com.soen345.project.auth;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum UserRole {
     CUSTOMER("CUSTOMER"),
     ADMIN("ADMIN");
 
     private final String value;
 
+    private static final Map<String, UserRole> BY_VALUE = new HashMap<>();
+
+    static {
+        for (UserRole constant : values()) {
+            BY_VALUE.put(constant.value, constant);
+        }
+        BY_VALUE.put("ADMINISTRATOR", ADMIN);
+    }
+
     UserRole(String value) {
         this.value = value;
     }
@@ -18,13 +30,11 @@ public enum UserRole {
         if (rawValue == null) {
             return null;
         }
-        String normalized = rawValue.trim().toUpperCase();
-        if ("CUSTOMER".equals(normalized)) {
-            return CUSTOMER;
-        }
-        if ("ADMIN".equals(normalized) || "ADMINISTRATOR".equals(normalized)) {
-            return ADMIN;
+        UserRole exact = BY_VALUE.get(rawValue);
+        if (exact != null) {
+            return exact;
         }
-        return null;
+        // Stored values are canonical, so only hand-entered input pays for normalizing.
+        return BY_VALUE.get(rawValue.trim().toUpperCase());
     }
 }
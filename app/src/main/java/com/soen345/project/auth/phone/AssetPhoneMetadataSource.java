@@ -0,0 +1,28 @@
+package com.soen345.project.auth.phone;
+
+import android.content.Context;
+
+import com.soen345.project.common.MappedAssets;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class AssetPhoneMetadataSource implements PhoneMetadataSource {
+    public static final String DEFAULT_ASSET = "phone_metadata.bin";
+
+    private final Context context;
+    private final String assetName;
+
+    public AssetPhoneMetadataSource(Context context, String assetName) {
+        if (context == null) {
+            throw new IllegalArgumentException("context cannot be null");
+        }
+        this.context = context.getApplicationContext();
+        this.assetName = assetName;
+    }
+
+    @Override
+    public ByteBuffer open() throws IOException {
+        return MappedAssets.map(context, assetName);
+    }
+}
@@ -0,0 +1,39 @@
+package com.soen345.project.auth.phone;
+
+import android.content.Context;
+import android.telephony.TelephonyManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Regions to read national numbers in, most telling first: the SIM's country is where the number was
+// issued, the network's is where the phone is now, and the locale is all a Wi-Fi-only tablet has.
+public final class DeviceRegions {
+    private DeviceRegions() {
+    }
+
+    public static List<String> preference(Context context) {
+        List<String> regions = new ArrayList<>();
+        Object service = context.getSystemService(Context.TELEPHONY_SERVICE);
+        if (service instanceof TelephonyManager) {
+            TelephonyManager telephony = (TelephonyManager) service;
+            add(regions, telephony.getSimCountryIso());
+            add(regions, telephony.getNetworkCountryIso());
+        }
+        add(regions, Locale.getDefault().getCountry());
+        add(regions, PhoneNumberEngine.DEFAULT_REGION);
+        return regions;
+    }
+
+    // Telephony reports lower-case ISO codes, and an empty string when there is no SIM or network.
+    private static void add(List<String> regions, String countryIso) {
+        if (countryIso == null || countryIso.length() != 2) {
+            return;
+        }
+        String region = countryIso.toUpperCase(Locale.ROOT);
+        if (!regions.contains(region)) {
+            regions.add(region);
+        }
+    }
+}
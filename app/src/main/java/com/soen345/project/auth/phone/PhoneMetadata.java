@@ -0,0 +1,124 @@
+package com.soen345.project.auth.phone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Read-only view over the compiled phone metadata. Regions that share a calling code sit next to each
+// other, and a 1000-slot table maps every calling code straight to its first region, so lookups are
+// array reads against the (usually memory-mapped) buffer and nothing is copied onto the heap.
+public final class PhoneMetadata {
+    public static final int MAGIC = 0x50484E31;
+    public static final int VERSION = 1;
+    public static final int CODE_SLOTS = 1000;
+    public static final int HEADER_BYTES = 8;
+    public static final int RECORD_BYTES = 20;
+    public static final int MAX_NATIONAL_PREFIX_DIGITS = 3;
+    public static final int MAX_INTERNATIONAL_PREFIX_DIGITS = 5;
+
+    // Record layout: region code (2 ASCII bytes), calling code (short), valid national number lengths
+    // (int bitmask), national prefix (length byte + 3 digit bytes), international prefix (length byte + 5).
+    static final int REGION_OFFSET = 0;
+    static final int CALLING_CODE_OFFSET = 2;
+    static final int LENGTH_MASK_OFFSET = 4;
+    static final int NATIONAL_PREFIX_OFFSET = 8;
+    static final int INTERNATIONAL_PREFIX_OFFSET = 12;
+
+    private static final int NO_REGION = -1;
+
+    private final ByteBuffer buffer;
+    private final int regionCount;
+    private final int recordsOffset;
+
+    private PhoneMetadata(ByteBuffer buffer, int regionCount) {
+        this.buffer = buffer;
+        this.regionCount = regionCount;
+        this.recordsOffset = HEADER_BYTES + CODE_SLOTS * 2;
+    }
+
+    public static PhoneMetadata read(ByteBuffer source) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        ByteBuffer buffer = source.slice();
+        if (buffer.remaining() < HEADER_BYTES + CODE_SLOTS * 2
+                || buffer.getInt(0) != MAGIC
+                || buffer.getShort(4) != VERSION) {
+            throw new IOException("Unrecognized phone metadata");
+        }
+        int regionCount = buffer.getShort(6) & 0xFFFF;
+        if (buffer.remaining() < HEADER_BYTES + CODE_SLOTS * 2 + regionCount * RECORD_BYTES) {
+            throw new IOException("Truncated phone metadata");
+        }
+        return new PhoneMetadata(buffer, regionCount);
+    }
+
+    public int getRegionCount() {
+        return regionCount;
+    }
+
+    public int firstRegionFor(int callingCode) {
+        if (callingCode <= 0 || callingCode >= CODE_SLOTS) {
+            return NO_REGION;
+        }
+        return buffer.getShort(HEADER_BYTES + callingCode * 2) - 1;
+    }
+
+    public int findRegion(String regionCode) {
+        if (regionCode == null || regionCode.length() != 2) {
+            return NO_REGION;
+        }
+        for (int region = 0; region < regionCount; region++) {
+            int record = record(region);
+            if (buffer.get(record + REGION_OFFSET) == regionCode.charAt(0)
+                    && buffer.get(record + REGION_OFFSET + 1) == regionCode.charAt(1)) {
+                return region;
+            }
+        }
+        return NO_REGION;
+    }
+
+    public String regionCode(int region) {
+        int record = record(region);
+        return new String(new char[]{(char) buffer.get(record + REGION_OFFSET), (char) buffer.get(record + REGION_OFFSET + 1)});
+    }
+
+    public int callingCode(int region) {
+        return buffer.getShort(record(region) + CALLING_CODE_OFFSET);
+    }
+
+    public boolean isValidLength(int region, int nationalNumberLength) {
+        return nationalNumberLength > 0
+                && nationalNumberLength < 32
+                && (buffer.getInt(record(region) + LENGTH_MASK_OFFSET) & (1 << nationalNumberLength)) != 0;
+    }
+
+    // Length of the region's trunk prefix (the 0 in 020 ...) at digits[from], or 0 if it is not there.
+    public int matchNationalPrefix(int region, char[] digits, int from, int to) {
+        return matchPrefix(record(region) + NATIONAL_PREFIX_OFFSET, digits, from, to);
+    }
+
+    // Length of the region's international dialling prefix (00, 011, ...) at digits[from], or 0.
+    public int matchInternationalPrefix(int region, char[] digits, int from, int to) {
+        return matchPrefix(record(region) + INTERNATIONAL_PREFIX_OFFSET, digits, from, to);
+    }
+
+    private int matchPrefix(int offset, char[] digits, int from, int to) {
+        int length = buffer.get(offset);
+        if (length == 0 || to - from < length) {
+            return 0;
+        }
+        for (int i = 0; i < length; i++) {
+            if (digits[from + i] != buffer.get(offset + 1 + i)) {
+                return 0;
+            }
+        }
+        return length;
+    }
+
+    private int record(int region) {
+        if (region < 0 || region >= regionCount) {
+            throw new IllegalArgumentException("region out of range");
+        }
+        return recordsOffset + region * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,8 @@
+package com.soen345.project.auth.phone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public interface PhoneMetadataSource {
+    ByteBuffer open() throws IOException;
+}
@@ -0,0 +1,221 @@
+package com.soen345.project.auth.phone;
+
+import com.soen345.project.auth.PhoneNormalizer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Table-driven normalizer: calling codes, trunk prefixes, international dialling prefixes and valid
+// national number lengths all come from compiled metadata. The metadata is opened on first use, and if
+// it cannot be read the engine hands off to the fallback so phone sign-in keeps working.
+public class PhoneNumberEngine implements PhoneNormalizer {
+    public static final String DEFAULT_REGION = "CA";
+
+    // E.164 allows 15 digits; leave room for a dialled international prefix in front of them.
+    private static final int MAX_DIGITS = 20;
+    private static final int MAX_CALLING_CODE_DIGITS = 3;
+    // The metadata covers the regions we sell in, not every country; a + number under a calling code it
+    // does not know keeps the original rule of 8-15 digits instead of being rejected.
+    private static final int MIN_UNKNOWN_CODE_DIGITS = 8;
+    private static final int MAX_UNKNOWN_CODE_DIGITS = 15;
+
+    private final PhoneMetadataSource source;
+    private final List<String> regionPreference;
+    private final PhoneNormalizer fallback;
+    private volatile Loaded loaded;
+
+    public PhoneNumberEngine(PhoneMetadataSource source, String defaultRegion, PhoneNormalizer fallback) {
+        this(source, Collections.singletonList(defaultRegion), fallback);
+    }
+
+    // National numbers are read in the first region of regionPreference that the metadata covers; if it
+    // covers none of them the engine hands off to the fallback.
+    public PhoneNumberEngine(PhoneMetadataSource source, List<String> regionPreference, PhoneNormalizer fallback) {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        if (regionPreference == null || regionPreference.isEmpty()) {
+            throw new IllegalArgumentException("regionPreference cannot be empty");
+        }
+        for (String region : regionPreference) {
+            if (region == null || region.length() != 2) {
+                throw new IllegalArgumentException("regions must be two-letter region codes");
+            }
+        }
+        if (fallback == null) {
+            throw new IllegalArgumentException("fallback cannot be null");
+        }
+        this.source = source;
+        this.regionPreference = new ArrayList<>(regionPreference);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String normalize(String rawPhone) {
+        if (rawPhone == null) {
+            return null;
+        }
+        Loaded state = load();
+        if (state.metadata == null) {
+            return fallback.normalize(rawPhone);
+        }
+
+        char[] digits = new char[MAX_DIGITS];
+        int count = 0;
+        boolean international = false;
+        for (int i = 0; i < rawPhone.length(); i++) {
+            char c = rawPhone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (count == MAX_DIGITS) {
+                    return null;
+                }
+                digits[count++] = c;
+            } else if (c == '+' && count == 0 && !international) {
+                international = true;
+            } else if (!isSeparator(c)) {
+                return null;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        PhoneMetadata metadata = state.metadata;
+        if (international) {
+            return fromCallingCode(metadata, digits, 0, count, true);
+        }
+        int home = state.defaultRegion;
+        int dialled = metadata.matchInternationalPrefix(home, digits, 0, count);
+        if (dialled > 0) {
+            String result = fromCallingCode(metadata, digits, dialled, count, false);
+            if (result != null) {
+                return result;
+            }
+        }
+        return fromNationalNumber(metadata, home, digits, count);
+    }
+
+    // Digits after a + or an international prefix: calling codes are prefix-free, so the first 1-3 digit
+    // prefix with an entry in the table is the only possible reading.
+    private static String fromCallingCode(PhoneMetadata metadata, char[] digits, int from, int to, boolean acceptUnknownCode) {
+        if (digits[from] == '0') {
+            return null;
+        }
+        int callingCode = 0;
+        for (int length = 1; length <= MAX_CALLING_CODE_DIGITS && from + length < to; length++) {
+            callingCode = callingCode * 10 + (digits[from + length - 1] - '0');
+            int region = metadata.firstRegionFor(callingCode);
+            if (region < 0) {
+                continue;
+            }
+            int start = from + length;
+            if (isValidForCallingCode(metadata, region, start, to)) {
+                return format(callingCode, digits, start, to);
+            }
+            // "+44 (0)20 ..." keeps the trunk prefix after the calling code; drop it if that makes the number valid.
+            int trunk = metadata.matchNationalPrefix(region, digits, start, to);
+            if (trunk > 0 && isValidForCallingCode(metadata, region, start + trunk, to)) {
+                return format(callingCode, digits, start + trunk, to);
+            }
+            return null;
+        }
+        int length = to - from;
+        if (acceptUnknownCode && length >= MIN_UNKNOWN_CODE_DIGITS && length <= MAX_UNKNOWN_CODE_DIGITS) {
+            return new StringBuilder(1 + length).append('+').append(digits, from, length).toString();
+        }
+        return null;
+    }
+
+    private static String fromNationalNumber(PhoneMetadata metadata, int home, char[] digits, int to) {
+        int callingCode = metadata.callingCode(home);
+        if (metadata.isValidLength(home, to)) {
+            return format(callingCode, digits, 0, to);
+        }
+        int trunk = metadata.matchNationalPrefix(home, digits, 0, to);
+        if (trunk > 0 && metadata.isValidLength(home, to - trunk)) {
+            return format(callingCode, digits, trunk, to);
+        }
+        // The home calling code typed without a plus, e.g. 33 6 12 34 56 78 in France.
+        int codeLength = startsWithNumber(digits, to, callingCode);
+        if (codeLength > 0 && metadata.isValidLength(home, to - codeLength)) {
+            return format(callingCode, digits, codeLength, to);
+        }
+        return null;
+    }
+
+    private static boolean isValidForCallingCode(PhoneMetadata metadata, int firstRegion, int from, int to) {
+        int callingCode = metadata.callingCode(firstRegion);
+        for (int region = firstRegion; region < metadata.getRegionCount() && metadata.callingCode(region) == callingCode; region++) {
+            if (metadata.isValidLength(region, to - from)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int startsWithNumber(char[] digits, int to, int number) {
+        int length = number < 10 ? 1 : number < 100 ? 2 : 3;
+        if (to <= length) {
+            return 0;
+        }
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            value = value * 10 + (digits[i] - '0');
+        }
+        return value == number ? length : 0;
+    }
+
+    private static String format(int callingCode, char[] digits, int from, int to) {
+        return new StringBuilder(1 + MAX_CALLING_CODE_DIGITS + to - from)
+                .append('+')
+                .append(callingCode)
+                .append(digits, from, to - from)
+                .toString();
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '-' || c == '(' || c == ')' || c == '.' || c == '/' || c == '\t';
+    }
+
+    private Loaded load() {
+        Loaded state = loaded;
+        if (state != null) {
+            return state;
+        }
+        synchronized (this) {
+            if (loaded == null) {
+                loaded = open();
+            }
+            return loaded;
+        }
+    }
+
+    private Loaded open() {
+        try {
+            PhoneMetadata metadata = PhoneMetadata.read(source.open());
+            for (String region : regionPreference) {
+                int home = metadata.findRegion(region);
+                if (home >= 0) {
+                    return new Loaded(metadata, home);
+                }
+            }
+            return Loaded.UNAVAILABLE;
+        } catch (IOException | RuntimeException e) {
+            return Loaded.UNAVAILABLE;
+        }
+    }
+
+    private static final class Loaded {
+        private static final Loaded UNAVAILABLE = new Loaded(null, -1);
+
+        private final PhoneMetadata metadata;
+        private final int defaultRegion;
+
+        private Loaded(PhoneMetadata metadata, int defaultRegion) {
+            this.metadata = metadata;
+            this.defaultRegion = defaultRegion;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.soen345.project.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+// Coalesces bursts of list submissions into at most one diff per frame. Diffs run on a background
+// executor against the last dispatched list; results are applied on the main executor.
+public class BatchingListDiffer<T> {
+    private final ListDiff.ItemIdentity<T> identity;
+    private final Executor backgroundExecutor;
+    private final Executor mainExecutor;
+    private final FrameScheduler frameScheduler;
+    private final ListDiff.UpdateCallback target;
+    private final Runnable frameTask = this::startDiff;
+
+    private volatile List<T> currentList = Collections.emptyList();
+    private List<T> pendingList;
+    private boolean busy;
+    private boolean disposed;
+    private long submitted;
+    private long diffed;
+
+    public BatchingListDiffer(ListDiff.ItemIdentity<T> identity,
+                              Executor backgroundExecutor,
+                              Executor mainExecutor,
+                              FrameScheduler frameScheduler,
+                              ListDiff.UpdateCallback target) {
+        if (identity == null || backgroundExecutor == null || mainExecutor == null
+                || frameScheduler == null || target == null) {
+            throw new IllegalArgumentException("identity, executors, frameScheduler and target are required");
+        }
+        this.identity = identity;
+        this.backgroundExecutor = backgroundExecutor;
+        this.mainExecutor = mainExecutor;
+        this.frameScheduler = frameScheduler;
+        this.target = target;
+    }
+
+    // Safe from any thread; only the newest list submitted before the next frame is diffed.
+    public void submit(List<T> newList) {
+        if (newList == null) {
+            throw new IllegalArgumentException("newList cannot be null");
+        }
+        List<T> copy = Collections.unmodifiableList(new ArrayList<>(newList));
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            pendingList = copy;
+            submitted++;
+            if (busy) {
+                return;
+            }
+            busy = true;
+        }
+        frameScheduler.postFrame(frameTask);
+    }
+
+    // Call on the main thread before shutting down the background executor. A frame that still fires,
+    // a late submit and a diff already in flight are then all dropped instead of reaching the executor.
+    public void dispose() {
+        synchronized (this) {
+            disposed = true;
+            pendingList = null;
+        }
+        frameScheduler.cancelFrame(frameTask);
+    }
+
+    public List<T> getCurrentList() {
+        return currentList;
+    }
+
+    public synchronized long getSubmittedCount() {
+        return submitted;
+    }
+
+    public synchronized long getDiffCount() {
+        return diffed;
+    }
+
+    private void startDiff() {
+        List<T> next;
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            next = pendingList;
+            pendingList = null;
+            diffed++;
+        }
+        List<T> previous = currentList;
+        backgroundExecutor.execute(() -> {
+            ListDiff diff = ListDiff.compute(previous, next, identity);
+            mainExecutor.execute(() -> apply(next, diff));
+        });
+    }
+
+    private void apply(List<T> next, ListDiff diff) {
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+        }
+        currentList = next;
+        diff.dispatchTo(target);
+        synchronized (this) {
+            if (pendingList == null) {
+                busy = false;
+                return;
+            }
+        }
+        frameScheduler.postFrame(frameTask);
+    }
+}
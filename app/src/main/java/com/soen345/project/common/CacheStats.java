@@ -0,0 +1,64 @@
+package com.soen345.project.common;
+
+public final class CacheStats {
+    private final long hits;
+    private final long staleHits;
+    private final long misses;
+    private final long loads;
+    private final long loadFailures;
+    private final long coalesced;
+    private final long evictions;
+
+    CacheStats(long hits, long staleHits, long misses, long loads, long loadFailures, long coalesced, long evictions) {
+        this.hits = hits;
+        this.staleHits = staleHits;
+        this.misses = misses;
+        this.loads = loads;
+        this.loadFailures = loadFailures;
+        this.coalesced = coalesced;
+        this.evictions = evictions;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getStaleHits() {
+        return staleHits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getLoads() {
+        return loads;
+    }
+
+    public long getLoadFailures() {
+        return loadFailures;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getRequests() {
+        return hits + staleHits + misses;
+    }
+
+    // Stale hits are answered from the cache too, so they count towards the hit rate.
+    public double getHitRate() {
+        long requests = getRequests();
+        return requests == 0 ? 0.0 : (double) (hits + staleHits) / requests;
+    }
+
+    public double getStaleRate() {
+        long requests = getRequests();
+        return requests == 0 ? 0.0 : (double) staleHits / requests;
+    }
+}
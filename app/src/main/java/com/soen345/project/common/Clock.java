@@ -0,0 +1,7 @@
+package com.soen345.project.common;
+
+public interface Clock {
+    Clock SYSTEM = System::currentTimeMillis;
+
+    long nowMillis();
+}
@@ -0,0 +1,61 @@
+package com.soen345.project.common;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Approximate per-key counts in fixed memory. Estimates never undercount; conservative updates only
+// raise the counters that hold the current minimum, which keeps overcounting for rare keys low.
+// Counters are atomics, so concurrent adds need no lock.
+public final class CountMinSketch {
+    private final int depth;
+    private final int mask;
+    private final AtomicIntegerArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth must be positive");
+        }
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two");
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counters = new AtomicIntegerArray(depth * width);
+    }
+
+    // Returns the estimate after the increment.
+    public int add(long fingerprint) {
+        int target = estimate(fingerprint) + 1;
+        long hash2 = Fingerprints.mix(fingerprint) | 1;
+        for (int row = 0; row < depth; row++) {
+            int index = slot(row, fingerprint, hash2);
+            int current;
+            do {
+                current = counters.get(index);
+            } while (current < target && !counters.compareAndSet(index, current, target));
+        }
+        return target;
+    }
+
+    public int estimate(long fingerprint) {
+        long hash2 = Fingerprints.mix(fingerprint) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(slot(row, fingerprint, hash2)));
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    public int memoryBytes() {
+        return counters.length() * Integer.BYTES;
+    }
+
+    private int slot(int row, long hash1, long hash2) {
+        return row * (mask + 1) + (int) ((hash1 + row * hash2) >>> 32 & mask);
+    }
+}
@@ -0,0 +1,11 @@
+package com.soen345.project.common;
+
+import java.util.Map;
+
+// Typed mapping between a model and its Firestore field map. Decoding returns null for documents
+// that are missing or lack a required field, so callers can skip them instead of failing a page.
+public interface DocumentCodec<T> {
+    Map<String, Object> encode(T value);
+
+    T decode(String documentId, Map<String, Object> data);
+}
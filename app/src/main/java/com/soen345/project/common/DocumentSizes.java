@@ -0,0 +1,58 @@
+package com.soen345.project.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+// Firestore's documented storage-size rules: a document is its name, plus every field name and value,
+// plus 32 bytes. Used to compare how much different write or read strategies put on the wire.
+public final class DocumentSizes {
+    private static final int DOCUMENT_OVERHEAD_BYTES = 32;
+    private static final int NAME_OVERHEAD_BYTES = 16;
+    private static final int NUMBER_BYTES = 8;
+    private static final int BOOLEAN_BYTES = 1;
+    private static final int NULL_BYTES = 1;
+
+    private DocumentSizes() {
+    }
+
+    public static long document(String collection, String documentId, Map<String, Object> fields) {
+        return name(collection, documentId) + fields(fields) + DOCUMENT_OVERHEAD_BYTES;
+    }
+
+    public static long name(String collection, String documentId) {
+        return stringBytes(collection) + stringBytes(documentId) + NAME_OVERHEAD_BYTES;
+    }
+
+    public static long fields(Map<String, Object> fields) {
+        long size = 0;
+        if (fields == null) {
+            return size;
+        }
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            size += stringBytes(field.getKey()) + value(field.getValue());
+        }
+        return size;
+    }
+
+    private static long value(Object value) {
+        if (value == null) {
+            return NULL_BYTES;
+        }
+        if (value instanceof String) {
+            return stringBytes((String) value);
+        }
+        if (value instanceof Boolean) {
+            return BOOLEAN_BYTES;
+        }
+        if (value instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> nested = (Map<String, Object>) value;
+            return fields(nested);
+        }
+        return NUMBER_BYTES;
+    }
+
+    private static long stringBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length + 1;
+    }
+}
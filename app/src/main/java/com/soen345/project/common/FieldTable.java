@@ -0,0 +1,85 @@
+package com.soen345.project.common;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Field names and getters resolved once per document type, so encoding is a loop over two arrays
+// instead of the per-call bean introspection that toObject() and set(Object) perform.
+public final class FieldTable<T> {
+    private final String[] names;
+    private final Function<T, Object>[] getters;
+    private final int capacity;
+
+    @SuppressWarnings("unchecked")
+    private FieldTable(List<String> names, List<Function<T, Object>> getters) {
+        this.names = names.toArray(new String[0]);
+        this.getters = getters.toArray(new Function[0]);
+        // Sized so the map never rehashes; insertion order keeps diffs and bundles in field-table order.
+        this.capacity = (int) Math.ceil(this.names.length / 0.75);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public Map<String, Object> encode(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value cannot be null");
+        }
+        Map<String, Object> fields = new LinkedHashMap<>(capacity);
+        for (int i = 0; i < names.length; i++) {
+            fields.put(names[i], getters[i].apply(value));
+        }
+        return fields;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public static String readString(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value instanceof String ? (String) value : null;
+    }
+
+    // Firestore hands back integers as Long and decimals as Double; either can appear after a hand edit.
+    public static Long readLong(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    public static Double readDouble(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+
+    public static final class Builder<T> {
+        private final List<String> names = new ArrayList<>();
+        private final List<Function<T, Object>> getters = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> field(String name, Function<T, Object> getter) {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("name cannot be empty");
+            }
+            if (getter == null) {
+                throw new IllegalArgumentException("getter cannot be null");
+            }
+            if (names.contains(name)) {
+                throw new IllegalArgumentException("duplicate field " + name);
+            }
+            names.add(name);
+            getters.add(getter);
+            return this;
+        }
+
+        public FieldTable<T> build() {
+            return new FieldTable<>(names, getters);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.soen345.project.common;
+
+public interface FrameScheduler {
+    // Runs the task on the main thread before the next frame is drawn.
+    void postFrame(Runnable task);
+
+    // Drops a posted task that has not run yet; call on the main thread. Schedulers that cannot
+    // retract a frame may leave it, so tasks must still tolerate running late.
+    default void cancelFrame(Runnable task) {
+    }
+}
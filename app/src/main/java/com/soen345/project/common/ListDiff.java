@@ -0,0 +1,212 @@
+package com.soen345.project.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keyed list diff. Dispatches removals (back to front), then the minimum set of moves (everything
+// outside the longest run of items that kept their relative order), then insertions and content
+// changes at their final positions, so a RecyclerView only rebinds rows that actually changed.
+public final class ListDiff {
+    private static final int REMOVE = 0;
+    private static final int MOVE = 1;
+    private static final int INSERT = 2;
+    private static final int CHANGE = 3;
+
+    private final List<int[]> operations;
+
+    private ListDiff(List<int[]> operations) {
+        this.operations = operations;
+    }
+
+    public static <T> ListDiff compute(List<T> oldList, List<T> newList, ItemIdentity<T> identity) {
+        if (oldList == null || newList == null || identity == null) {
+            throw new IllegalArgumentException("oldList, newList and identity are required");
+        }
+        Map<String, Integer> oldIndex = index(oldList, identity);
+        int[] newToOld = new int[newList.size()];
+        int[] oldToNew = new int[oldList.size()];
+        Arrays.fill(oldToNew, -1);
+        for (int j = 0; j < newList.size(); j++) {
+            Integer from = oldIndex.get(identity.key(newList.get(j)));
+            if (from == null) {
+                newToOld[j] = -1;
+            } else if (oldToNew[from] >= 0) {
+                throw new IllegalArgumentException("duplicate key " + identity.key(newList.get(j)));
+            } else {
+                newToOld[j] = from;
+                oldToNew[from] = j;
+            }
+        }
+        List<int[]> operations = new ArrayList<>();
+
+        for (int i = oldList.size() - 1; i >= 0; i--) {
+            if (oldToNew[i] < 0) {
+                int[] last = lastOf(operations, REMOVE);
+                if (last != null && last[1] == i + 1) {
+                    last[1] = i;
+                    last[2]++;
+                } else {
+                    operations.add(new int[]{REMOVE, i, 1});
+                }
+            }
+        }
+
+        addMoves(oldToNew, newToOld, operations);
+
+        for (int j = 0; j < newList.size(); j++) {
+            if (newToOld[j] < 0) {
+                appendRun(operations, INSERT, j);
+            } else if (!identity.sameContent(oldList.get(newToOld[j]), newList.get(j))) {
+                appendRun(operations, CHANGE, j);
+            }
+        }
+        return new ListDiff(operations);
+    }
+
+    public void dispatchTo(UpdateCallback callback) {
+        for (int[] operation : operations) {
+            switch (operation[0]) {
+                case REMOVE:
+                    callback.onRemoved(operation[1], operation[2]);
+                    break;
+                case MOVE:
+                    callback.onMoved(operation[1], operation[2]);
+                    break;
+                case INSERT:
+                    callback.onInserted(operation[1], operation[2]);
+                    break;
+                default:
+                    callback.onChanged(operation[1], operation[2]);
+                    break;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    public int getOperationCount() {
+        return operations.size();
+    }
+
+    private static void addMoves(int[] oldToNew, int[] newToOld, List<int[]> operations) {
+        // Surviving items, identified by old index, in their order after the removals.
+        int[] current = new int[oldToNew.length];
+        int[] targets = new int[oldToNew.length];
+        int size = 0;
+        for (int i = 0; i < oldToNew.length; i++) {
+            if (oldToNew[i] >= 0) {
+                current[size] = i;
+                targets[size] = oldToNew[i];
+                size++;
+            }
+        }
+        boolean[] stable = new boolean[oldToNew.length];
+        markLongestIncreasingRun(current, targets, size, stable);
+
+        int previous = -1;
+        for (int j = 0; j < newToOld.length; j++) {
+            int item = newToOld[j];
+            if (item < 0) {
+                continue;
+            }
+            if (!stable[item]) {
+                // Place each moved item right after its predecessor in the new order.
+                int from = indexOf(current, size, item);
+                System.arraycopy(current, from + 1, current, from, size - from - 1);
+                int to = previous < 0 ? 0 : indexOf(current, size - 1, previous) + 1;
+                System.arraycopy(current, to, current, to + 1, size - 1 - to);
+                current[to] = item;
+                if (from != to) {
+                    operations.add(new int[]{MOVE, from, to});
+                }
+            }
+            previous = item;
+        }
+    }
+
+    // Patience-sorting LIS over the new positions; marks the items that can stay where they are.
+    private static void markLongestIncreasingRun(int[] items, int[] values, int n, boolean[] stable) {
+        int[] tailIndex = new int[n];
+        int[] parent = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            int value = values[i];
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[tailIndex[mid]] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            parent[i] = low > 0 ? tailIndex[low - 1] : -1;
+            tailIndex[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        for (int i = length == 0 ? -1 : tailIndex[length - 1]; i >= 0; i = parent[i]) {
+            stable[items[i]] = true;
+        }
+    }
+
+    private static int indexOf(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <T> Map<String, Integer> index(List<T> list, ItemIdentity<T> identity) {
+        Map<String, Integer> index = new HashMap<>(list.size() * 2);
+        for (int i = 0; i < list.size(); i++) {
+            if (index.put(identity.key(list.get(i)), i) != null) {
+                throw new IllegalArgumentException("duplicate key " + identity.key(list.get(i)));
+            }
+        }
+        return index;
+    }
+
+    private static void appendRun(List<int[]> operations, int type, int position) {
+        int[] last = lastOf(operations, type);
+        if (last != null && last[1] + last[2] == position) {
+            last[2]++;
+        } else {
+            operations.add(new int[]{type, position, 1});
+        }
+    }
+
+    private static int[] lastOf(List<int[]> operations, int type) {
+        if (operations.isEmpty()) {
+            return null;
+        }
+        int[] last = operations.get(operations.size() - 1);
+        return last[0] == type ? last : null;
+    }
+
+    public interface ItemIdentity<T> {
+        String key(T item);
+
+        boolean sameContent(T oldItem, T newItem);
+    }
+
+    // Same shape as RecyclerView's ListUpdateCallback so an adapter can forward calls directly.
+    public interface UpdateCallback {
+        void onInserted(int position, int count);
+
+        void onRemoved(int position, int count);
+
+        void onMoved(int fromPosition, int toPosition);
+
+        void onChanged(int position, int count);
+    }
+}
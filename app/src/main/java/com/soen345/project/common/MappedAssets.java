@@ -0,0 +1,24 @@
+package com.soen345.project.common;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Maps an asset straight out of the APK. The asset must be stored uncompressed (see noCompress in
+// build.gradle.kts) so openFd works; pages are then only faulted in as lookups touch them.
+public final class MappedAssets {
+    private MappedAssets() {
+    }
+
+    public static ByteBuffer map(Context context, String assetName) throws IOException {
+        try (AssetFileDescriptor descriptor = context.getAssets().openFd(assetName);
+             FileInputStream in = descriptor.createInputStream()) {
+            // The mapping stays valid after the descriptor and channel are closed.
+            return in.getChannel().map(FileChannel.MapMode.READ_ONLY, descriptor.getStartOffset(), descriptor.getLength());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.soen345.project.common;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public interface Scheduler {
+    Cancellable schedule(Runnable task, long delayMillis);
+
+    static Scheduler from(ScheduledExecutorService executor) {
+        return (task, delayMillis) -> {
+            ScheduledFuture<?> future = executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+            return () -> future.cancel(false);
+        };
+    }
+
+    interface Cancellable {
+        void cancel();
+    }
+}
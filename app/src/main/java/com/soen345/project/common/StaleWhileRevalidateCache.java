@@ -0,0 +1,223 @@
+package com.soen345.project.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Read-through cache. Entries younger than the soft TTL are served as-is; older ones are still served
+// immediately but trigger a background reload, and only entries past the hard TTL make callers wait.
+// Concurrent loads of one key share a single backend call.
+public class StaleWhileRevalidateCache<K, V> {
+    private static final String LOAD_ERROR = "Could not load this item.";
+
+    private final Loader<K, V> loader;
+    private final Clock clock;
+    private final long softTtlMillis;
+    private final long hardTtlMillis;
+    private final int maxEntries;
+
+    // Access-ordered so the least recently used entry is always first.
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, Load<V>> inFlight = new HashMap<>();
+    // Bumped by invalidate and clear; a load started under an older generation may carry a value
+    // from before the invalidation, so its result goes to its waiters but never into the cache.
+    private long generation;
+
+    private long hits;
+    private long staleHits;
+    private long misses;
+    private long loads;
+    private long loadFailures;
+    private long coalesced;
+    private long evictions;
+
+    public StaleWhileRevalidateCache(Loader<K, V> loader, Clock clock, long softTtlMillis, long hardTtlMillis, int maxEntries) {
+        if (loader == null) {
+            throw new IllegalArgumentException("loader cannot be null");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("clock cannot be null");
+        }
+        if (softTtlMillis <= 0 || hardTtlMillis < softTtlMillis) {
+            throw new IllegalArgumentException("hardTtlMillis must be at least softTtlMillis, and both positive");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.loader = loader;
+        this.clock = clock;
+        this.softTtlMillis = softTtlMillis;
+        this.hardTtlMillis = hardTtlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    public void get(K key, ValueCallback<V> callback) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("callback cannot be null");
+        }
+        V cached = null;
+        Load<V> startLoad;
+        synchronized (this) {
+            long now = clock.nowMillis();
+            Entry<V> entry = entries.get(key);
+            long age = entry == null ? Long.MAX_VALUE : now - entry.loadedAtMillis;
+            if (age < softTtlMillis) {
+                hits++;
+                cached = entry.value;
+                startLoad = null;
+            } else if (age < hardTtlMillis) {
+                staleHits++;
+                cached = entry.value;
+                startLoad = register(key, null);
+            } else {
+                misses++;
+                startLoad = register(key, callback);
+            }
+        }
+        if (cached != null) {
+            callback.onSuccess(cached);
+        }
+        if (startLoad != null) {
+            load(key, startLoad);
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        // Later reads must not join a load that may return the invalidated value.
+        inFlight.remove(key);
+        generation++;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        inFlight.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, staleHits, misses, loads, loadFailures, coalesced, evictions);
+    }
+
+    // Returns the load the caller should start, or null when one is already in flight; waiters may be
+    // null for a background refresh.
+    private Load<V> register(K key, ValueCallback<V> waiter) {
+        Load<V> load = inFlight.get(key);
+        Load<V> started = null;
+        if (load == null) {
+            load = new Load<>(generation);
+            inFlight.put(key, load);
+            loads++;
+            started = load;
+        } else {
+            coalesced++;
+        }
+        if (waiter != null) {
+            load.waiters.add(waiter);
+        }
+        return started;
+    }
+
+    private void load(K key, Load<V> load) {
+        ValueCallback<V> callback = new ValueCallback<V>() {
+            @Override
+            public void onSuccess(V value) {
+                List<ValueCallback<V>> waiters;
+                synchronized (StaleWhileRevalidateCache.this) {
+                    waiters = finish(key, load);
+                    if (value != null && load.generation == generation) {
+                        entries.put(key, new Entry<>(value, clock.nowMillis()));
+                        evictOverflow();
+                    }
+                }
+                for (ValueCallback<V> waiter : waiters) {
+                    waiter.onSuccess(value);
+                }
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                List<ValueCallback<V>> waiters;
+                synchronized (StaleWhileRevalidateCache.this) {
+                    waiters = finish(key, load);
+                    loadFailures++;
+                }
+                // A failed background refresh keeps the stale entry; it is retried on the next read.
+                for (ValueCallback<V> waiter : waiters) {
+                    waiter.onError(errorMessage);
+                }
+            }
+        };
+        try {
+            loader.load(key, callback);
+        } catch (RuntimeException e) {
+            // Otherwise the load stays in flight and every later read of the key joins it forever. A loader
+            // that answered before throwing has already finished the load.
+            boolean finished;
+            synchronized (this) {
+                finished = load.finished;
+            }
+            if (!finished) {
+                callback.onError(LOAD_ERROR);
+            }
+        }
+    }
+
+    // An invalidated load is already detached, and a newer load for the key may have replaced it.
+    private List<ValueCallback<V>> finish(K key, Load<V> load) {
+        if (inFlight.get(key) == load) {
+            inFlight.remove(key);
+        }
+        load.finished = true;
+        return load.waiters;
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public interface Loader<K, V> {
+        void load(K key, ValueCallback<V> callback);
+    }
+
+    public interface ValueCallback<V> {
+        void onSuccess(V value);
+
+        void onError(String errorMessage);
+    }
+
+    private static final class Load<V> {
+        private final List<ValueCallback<V>> waiters = new ArrayList<>();
+        private final long generation;
+        private boolean finished;
+
+        private Load(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAtMillis;
+
+        private Entry(V value, long loadedAtMillis) {
+            this.value = value;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.soen345.project.events;
+
+import com.soen345.project.common.CacheStats;
+import com.soen345.project.common.Clock;
+import com.soen345.project.common.StaleWhileRevalidateCache;
+
+public class CachingEventRepository implements EventRepository {
+    public static final long SOFT_TTL_MILLIS = 5 * 60_000L;
+    public static final long HARD_TTL_MILLIS = 60 * 60_000L;
+    public static final int MAX_ENTRIES = 200;
+
+    private final StaleWhileRevalidateCache<String, Event> cache;
+
+    public CachingEventRepository(EventRepository delegate, Clock clock) {
+        this(delegate, clock, SOFT_TTL_MILLIS, HARD_TTL_MILLIS, MAX_ENTRIES);
+    }
+
+    public CachingEventRepository(EventRepository delegate, Clock clock, long softTtlMillis, long hardTtlMillis, int maxEntries) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        this.cache = new StaleWhileRevalidateCache<>(
+                (eventId, callback) -> delegate.getEvent(eventId, new EventCallback() {
+                    @Override
+                    public void onSuccess(Event event) {
+                        callback.onSuccess(event);
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        callback.onError(errorMessage);
+                    }
+                }),
+                clock, softTtlMillis, hardTtlMillis, maxEntries);
+    }
+
+    @Override
+    public void getEvent(String eventId, EventCallback callback) {
+        if (eventId == null || eventId.isEmpty()) {
+            throw new IllegalArgumentException("eventId cannot be empty");
+        }
+        cache.get(eventId, new StaleWhileRevalidateCache.ValueCallback<Event>() {
+            @Override
+            public void onSuccess(Event event) {
+                callback.onSuccess(event);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
+            }
+        });
+    }
+
+    // Call after an admin edit so the next detail view does not show the old version.
+    public void invalidate(String eventId) {
+        cache.invalidate(eventId);
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+}
@@ -0,0 +1,46 @@
+package com.soen345.project.events;
+
+public class Event {
+    private final String id;
+    private final String title;
+    private final EventCategory category;
+    private final double latitude;
+    private final double longitude;
+    private final long startTimeMillis;
+
+    public Event(String id, String title, EventCategory category, double latitude, double longitude, long startTimeMillis) {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("id cannot be empty");
+        }
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.startTimeMillis = startTimeMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public EventCategory getCategory() {
+        return category;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public long getStartTimeMillis() {
+        return startTimeMillis;
+    }
+}
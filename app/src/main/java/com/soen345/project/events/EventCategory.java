@@ -0,0 +1,41 @@
+package com.soen345.project.events;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public enum EventCategory {
+    MOVIE("MOVIE"),
+    CONCERT("CONCERT"),
+    TRAVEL("TRAVEL"),
+    SPORTS("SPORTS");
+
+    private final String value;
+
+    private static final Map<String, EventCategory> BY_VALUE = new HashMap<>();
+
+    static {
+        for (EventCategory constant : values()) {
+            BY_VALUE.put(constant.value, constant);
+        }
+    }
+
+    EventCategory(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static EventCategory fromValue(String rawValue) {
+        if (rawValue == null) {
+            return null;
+        }
+        EventCategory exact = BY_VALUE.get(rawValue);
+        if (exact != null) {
+            return exact;
+        }
+        // Stored values are canonical, so only hand-entered input pays for normalizing.
+        return BY_VALUE.get(rawValue.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,48 @@
+package com.soen345.project.events;
+
+import com.soen345.project.common.DocumentCodec;
+import com.soen345.project.common.FieldTable;
+import com.soen345.project.events.geo.EventLocationIndex;
+import com.soen345.project.events.geo.Geohash;
+
+import java.util.Map;
+
+// events/{id}. The geohash is derived on encode so range queries keep finding the event after an edit.
+public final class EventCodec implements DocumentCodec<Event> {
+    private static final FieldTable<Event> FIELDS = FieldTable.<Event>builder()
+            .field(EventDocuments.FIELD_TITLE, Event::getTitle)
+            .field(EventDocuments.FIELD_CATEGORY, event -> event.getCategory() == null ? null : event.getCategory().value())
+            .field(EventDocuments.FIELD_LATITUDE, Event::getLatitude)
+            .field(EventDocuments.FIELD_LONGITUDE, Event::getLongitude)
+            .field(EventDocuments.FIELD_GEOHASH,
+                    event -> Geohash.encode(event.getLatitude(), event.getLongitude(), EventLocationIndex.INDEX_PRECISION))
+            .field(EventDocuments.FIELD_START_TIME, Event::getStartTimeMillis)
+            .build();
+
+    @Override
+    public Map<String, Object> encode(Event event) {
+        return FIELDS.encode(event);
+    }
+
+    // Documents without a location are skipped rather than failing the whole page.
+    @Override
+    public Event decode(String documentId, Map<String, Object> data) {
+        if (data == null || documentId == null || documentId.isEmpty()) {
+            return null;
+        }
+        Double latitude = FieldTable.readDouble(data, EventDocuments.FIELD_LATITUDE);
+        Double longitude = FieldTable.readDouble(data, EventDocuments.FIELD_LONGITUDE);
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        Long startTime = FieldTable.readLong(data, EventDocuments.FIELD_START_TIME);
+        return new Event(
+                documentId,
+                FieldTable.readString(data, EventDocuments.FIELD_TITLE),
+                EventCategory.fromValue(FieldTable.readString(data, EventDocuments.FIELD_CATEGORY)),
+                latitude,
+                longitude,
+                startTime == null ? 0L : startTime
+        );
+    }
+}
@@ -0,0 +1,58 @@
+package com.soen345.project.events;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.soen345.project.events.list.EventListItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class EventDocuments {
+    public static final String EVENTS_COLLECTION = EventFields.EVENTS_COLLECTION;
+    public static final String FIELD_TITLE = EventFields.TITLE;
+    public static final String FIELD_CATEGORY = EventFields.CATEGORY;
+    public static final String FIELD_LATITUDE = EventFields.LATITUDE;
+    public static final String FIELD_LONGITUDE = EventFields.LONGITUDE;
+    public static final String FIELD_START_TIME = EventFields.START_TIME;
+    public static final String FIELD_GEOHASH = EventFields.GEOHASH;
+    public static final String FIELD_SEATS_REMAINING = "seatsRemaining";
+    public static final String FIELD_VERSION = "version";
+
+    public static final EventCodec CODEC = new EventCodec();
+    public static final EventListItemCodec LIST_ITEM_CODEC = new EventListItemCodec();
+
+    private EventDocuments() {
+    }
+
+    // Editable fields as stored in Firestore; the geohash is derived so range queries keep finding the event.
+    public static Map<String, Object> toFields(Event event) {
+        return CODEC.encode(event);
+    }
+
+    public static Event fromDocument(DocumentSnapshot document) {
+        return CODEC.decode(document.getId(), document.getData());
+    }
+
+    public static List<Event> fromSnapshot(QuerySnapshot snapshot) {
+        List<Event> events = new ArrayList<>();
+        for (DocumentSnapshot document : snapshot.getDocuments()) {
+            Event event = fromDocument(document);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    public static List<EventListItem> listItemsFromSnapshot(QuerySnapshot snapshot) {
+        List<EventListItem> items = new ArrayList<>();
+        for (DocumentSnapshot document : snapshot.getDocuments()) {
+            EventListItem item = LIST_ITEM_CODEC.decode(document.getId(), document.getData());
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+}
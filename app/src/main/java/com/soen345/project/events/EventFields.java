@@ -0,0 +1,16 @@
+package com.soen345.project.events;
+
+// Firestore names for the events collection. Kept free of Firestore imports so the bundle tool can
+// compile it outside Android; EventDocuments re-exports them for the app.
+public final class EventFields {
+    public static final String EVENTS_COLLECTION = "events";
+    public static final String TITLE = "title";
+    public static final String CATEGORY = "category";
+    public static final String LATITUDE = "latitude";
+    public static final String LONGITUDE = "longitude";
+    public static final String START_TIME = "startTime";
+    public static final String GEOHASH = "geohash";
+
+    private EventFields() {
+    }
+}
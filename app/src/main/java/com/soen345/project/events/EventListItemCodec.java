@@ -0,0 +1,38 @@
+package com.soen345.project.events;
+
+import com.soen345.project.common.DocumentCodec;
+import com.soen345.project.common.FieldTable;
+import com.soen345.project.events.list.EventListItem;
+
+import java.util.Map;
+
+// The list's projection of events/{id}. Reads the same field names and number handling as EventCodec,
+// so a row and the detail screen never disagree about an event.
+public final class EventListItemCodec implements DocumentCodec<EventListItem> {
+    private static final FieldTable<EventListItem> FIELDS = FieldTable.<EventListItem>builder()
+            .field(EventDocuments.FIELD_TITLE, EventListItem::getTitle)
+            .field(EventDocuments.FIELD_START_TIME, EventListItem::getStartTimeMillis)
+            .field(EventDocuments.FIELD_SEATS_REMAINING, EventListItem::getSeatsRemaining)
+            .build();
+
+    @Override
+    public Map<String, Object> encode(EventListItem item) {
+        return FIELDS.encode(item);
+    }
+
+    // Missing counts read as zero, so a row never offers seats the document does not record.
+    @Override
+    public EventListItem decode(String documentId, Map<String, Object> data) {
+        if (data == null || documentId == null || documentId.isEmpty()) {
+            return null;
+        }
+        Long startTime = FieldTable.readLong(data, EventDocuments.FIELD_START_TIME);
+        Long seatsRemaining = FieldTable.readLong(data, EventDocuments.FIELD_SEATS_REMAINING);
+        return new EventListItem(
+                documentId,
+                FieldTable.readString(data, EventDocuments.FIELD_TITLE),
+                startTime == null ? 0L : startTime,
+                seatsRemaining == null ? 0 : seatsRemaining.intValue()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.soen345.project.events;
+
+public interface EventRepository {
+    void getEvent(String eventId, EventCallback callback);
+
+    interface EventCallback {
+        void onSuccess(Event event);
+
+        void onError(String errorMessage);
+    }
+}
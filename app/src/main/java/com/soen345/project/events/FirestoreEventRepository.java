@@ -0,0 +1,31 @@
+package com.soen345.project.events;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+
+public class FirestoreEventRepository implements EventRepository {
+    private static final String LOAD_ERROR = "Could not load this event.";
+    private static final String NOT_FOUND_ERROR = "This event is no longer available.";
+
+    private final FirebaseFirestore firestore;
+
+    public FirestoreEventRepository(FirebaseFirestore firestore) {
+        this.firestore = firestore;
+    }
+
+    @Override
+    public void getEvent(String eventId, EventCallback callback) {
+        firestore
+                .collection(EventDocuments.EVENTS_COLLECTION)
+                .document(eventId)
+                .get()
+                .addOnSuccessListener(document -> {
+                    Event event = document.exists() ? EventDocuments.fromDocument(document) : null;
+                    if (event == null) {
+                        callback.onError(NOT_FOUND_ERROR);
+                        return;
+                    }
+                    callback.onSuccess(event);
+                })
+                .addOnFailureListener(e -> callback.onError(LOAD_ERROR));
+    }
+}
@@ -0,0 +1,34 @@
+package com.soen345.project.events.catalog;
+
+import android.content.Context;
+
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class AssetBundleSource implements EventCatalogBootstrapper.BundleSource {
+    // Written from live Firestore by :tools:eventCatalogBundle as a release step; debug builds ship without
+    // it and open() returns null.
+    public static final String DEFAULT_ASSET = "event_catalog.bundle";
+
+    private final Context context;
+    private final String assetName;
+
+    public AssetBundleSource(Context context, String assetName) {
+        if (context == null) {
+            throw new IllegalArgumentException("context cannot be null");
+        }
+        this.context = context.getApplicationContext();
+        this.assetName = assetName;
+    }
+
+    @Override
+    public InputStream open() throws IOException {
+        try {
+            return new BufferedInputStream(context.getAssets().open(assetName));
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.soen345.project.events.catalog;
+
+// Names shared by the bundle the release tool builds and the bootstrapper that loads it. Kept free of
+// Firestore imports so the tools module can compile it.
+public final class CatalogBundle {
+    public static final String BUNDLE_ID = "event-catalog";
+    public static final String UPCOMING_EVENTS_QUERY = "upcoming-events";
+
+    private CatalogBundle() {
+    }
+}
@@ -0,0 +1,179 @@
+package com.soen345.project.events.catalog;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.soen345.project.common.Clock;
+import com.soen345.project.events.Event;
+import com.soen345.project.events.EventDocuments;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+// Seeds the local cache from a prebuilt bundle so the first catalog snapshot is served from disk,
+// then keeps listening on the bundle's named query so the server only sends changes since its read time.
+public class EventCatalogBootstrapper {
+    private static final String CATALOG_ERROR = "Could not load events.";
+
+    private final FirebaseFirestore firestore;
+    private final BundleSource bundleSource;
+    private final Executor ioExecutor;
+    private final Clock clock;
+
+    private ListenerRegistration registration;
+    private CatalogListener listener;
+    private BundleState bundleState = BundleState.NOT_LOADED;
+    private boolean stopped = true;
+    private long startedAtMillis;
+    private long timeToFirstRenderMillis = -1;
+
+    public EventCatalogBootstrapper(FirebaseFirestore firestore, BundleSource bundleSource, Executor ioExecutor, Clock clock) {
+        if (firestore == null || bundleSource == null || ioExecutor == null || clock == null) {
+            throw new IllegalArgumentException("firestore, bundleSource, ioExecutor and clock are required");
+        }
+        this.firestore = firestore;
+        this.bundleSource = bundleSource;
+        this.ioExecutor = ioExecutor;
+        this.clock = clock;
+    }
+
+    public synchronized void start(CatalogListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener cannot be null");
+        }
+        this.listener = listener;
+        if (!stopped) {
+            return;
+        }
+        stopped = false;
+        startedAtMillis = clock.nowMillis();
+        timeToFirstRenderMillis = -1;
+        // The bundle is read once per bootstrapper; a later onStart only re-attaches the listener.
+        switch (bundleState) {
+            case NOT_LOADED:
+                bundleState = BundleState.LOADING;
+                ioExecutor.execute(this::loadBundle);
+                break;
+            case LOADED:
+                listenToNamedQuery();
+                break;
+            case UNAVAILABLE:
+                listen(catalogQuery());
+                break;
+            default:
+                // Still loading; the load listens when it finishes.
+                break;
+        }
+    }
+
+    public synchronized void stop() {
+        stopped = true;
+        removeRegistration();
+    }
+
+    public synchronized long getTimeToFirstRenderMillis() {
+        return timeToFirstRenderMillis;
+    }
+
+    private void loadBundle() {
+        InputStream bundle;
+        try {
+            bundle = bundleSource.open();
+        } catch (IOException e) {
+            bundle = null;
+        }
+        if (bundle == null) {
+            bundleFinished(BundleState.UNAVAILABLE);
+            listen(catalogQuery());
+            return;
+        }
+        // Firestore reads the stream incrementally, so large bundles never sit fully in memory.
+        InputStream stream = bundle;
+        firestore.loadBundle(stream)
+                .addOnSuccessListener(progress -> {
+                    closeQuietly(stream);
+                    bundleFinished(BundleState.LOADED);
+                    listenToNamedQuery();
+                })
+                .addOnFailureListener(e -> {
+                    closeQuietly(stream);
+                    bundleFinished(BundleState.UNAVAILABLE);
+                    listen(catalogQuery());
+                });
+    }
+
+    private synchronized void bundleFinished(BundleState state) {
+        bundleState = state;
+    }
+
+    private void listenToNamedQuery() {
+        firestore.getNamedQuery(CatalogBundle.UPCOMING_EVENTS_QUERY)
+                .addOnSuccessListener(query -> listen(query == null ? catalogQuery() : query))
+                .addOnFailureListener(e -> listen(catalogQuery()));
+    }
+
+    private synchronized void listen(Query query) {
+        if (stopped) {
+            return;
+        }
+        // A named-query lookup can finish after a restart has already attached a listener.
+        removeRegistration();
+        CatalogListener listener = this.listener;
+        registration = query.addSnapshotListener((snapshot, error) -> {
+            if (error != null || snapshot == null) {
+                listener.onError(CATALOG_ERROR);
+                return;
+            }
+            List<Event> events = EventDocuments.fromSnapshot(snapshot);
+            recordFirstRender(events);
+            listener.onCatalog(events, snapshot.getMetadata().isFromCache());
+        });
+    }
+
+    private void removeRegistration() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+    }
+
+    private synchronized void recordFirstRender(List<Event> events) {
+        if (timeToFirstRenderMillis < 0 && !events.isEmpty()) {
+            timeToFirstRenderMillis = clock.nowMillis() - startedAtMillis;
+        }
+    }
+
+    // Must match the query EventCatalogBundleTool bundles under the named query so both paths share cached results.
+    private Query catalogQuery() {
+        return firestore.collection(EventDocuments.EVENTS_COLLECTION).orderBy(EventDocuments.FIELD_START_TIME);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // Nothing useful to do; the bundle has already been consumed.
+        }
+    }
+
+    private enum BundleState {
+        NOT_LOADED,
+        LOADING,
+        LOADED,
+        UNAVAILABLE
+    }
+
+    public interface BundleSource {
+        // Returns null when no bundle ships with this build.
+        InputStream open() throws IOException;
+    }
+
+    public interface CatalogListener {
+        void onCatalog(List<Event> events, boolean fromCache);
+
+        void onError(String errorMessage);
+    }
+}
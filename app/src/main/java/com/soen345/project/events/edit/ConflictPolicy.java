@@ -0,0 +1,8 @@
+package com.soen345.project.events.edit;
+
+public enum ConflictPolicy {
+    // Fail whenever someone else saved since the admin opened the event.
+    REJECT,
+    // Apply on top of newer versions unless another admin changed one of the same fields.
+    MERGE_DISJOINT_FIELDS
+}
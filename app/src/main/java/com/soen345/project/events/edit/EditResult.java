@@ -0,0 +1,33 @@
+package com.soen345.project.events.edit;
+
+import java.util.Set;
+
+public final class EditResult {
+    private final long version;
+    private final Set<String> writtenFields;
+    private final boolean merged;
+    private final long bytesWritten;
+
+    EditResult(long version, Set<String> writtenFields, boolean merged, long bytesWritten) {
+        this.version = version;
+        this.writtenFields = writtenFields;
+        this.merged = merged;
+        this.bytesWritten = bytesWritten;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Set<String> getWrittenFields() {
+        return writtenFields;
+    }
+
+    public boolean isMerged() {
+        return merged;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
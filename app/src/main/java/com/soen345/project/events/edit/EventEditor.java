@@ -0,0 +1,143 @@
+package com.soen345.project.events.edit;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.DocumentSizes;
+import com.soen345.project.events.CachingEventRepository;
+import com.soen345.project.events.Event;
+import com.soen345.project.events.EventDocuments;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Saves admin edits as field-level update() calls guarded by the event's version counter. The version
+// is checked inside a transaction, so Firestore retries the read-check-write on contention and a
+// stale editor can never silently overwrite someone else's save.
+public class EventEditor {
+    private static final String SAVE_ERROR = "Could not save this event.";
+    private static final String NOT_FOUND_ERROR = "This event no longer exists.";
+    private static final String CONFLICT_ERROR = "Another administrator changed this event.";
+
+    private final FirebaseFirestore firestore;
+    private final ConflictPolicy policy;
+    private final CachingEventRepository detailCache;
+
+    public EventEditor(FirebaseFirestore firestore, AuthSession session, ConflictPolicy policy) {
+        this(firestore, session, policy, null);
+    }
+
+    // detailCache, when given, is invalidated whenever a save shows its copy of the event is out of date.
+    public EventEditor(FirebaseFirestore firestore, AuthSession session, ConflictPolicy policy,
+                       CachingEventRepository detailCache) {
+        if (session == null || session.getRole() != UserRole.ADMIN) {
+            throw new IllegalArgumentException("only administrators can edit events");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("policy cannot be null");
+        }
+        this.firestore = firestore;
+        this.policy = policy;
+        this.detailCache = detailCache;
+    }
+
+    public void save(Event base, long baseVersion, Event edited, EditCallback callback) {
+        EventPatch patch = EventPatch.between(base, edited);
+        if (patch.isEmpty()) {
+            callback.onSuccess(new EditResult(baseVersion, Collections.emptySet(), false, 0));
+            return;
+        }
+        DocumentReference reference = firestore.collection(EventDocuments.EVENTS_COLLECTION).document(base.getId());
+        List<String> conflicts = new ArrayList<>();
+
+        firestore
+                .runTransaction(transaction -> {
+                    conflicts.clear();
+                    DocumentSnapshot current = transaction.get(reference);
+                    if (!current.exists()) {
+                        throw new FirebaseFirestoreException(NOT_FOUND_ERROR, FirebaseFirestoreException.Code.NOT_FOUND);
+                    }
+                    long currentVersion = versionOf(current);
+                    boolean merged = currentVersion != baseVersion;
+                    if (merged) {
+                        conflicts.addAll(conflictingFields(patch, current));
+                        if (policy == ConflictPolicy.REJECT || !conflicts.isEmpty()) {
+                            throw new FirebaseFirestoreException(CONFLICT_ERROR, FirebaseFirestoreException.Code.FAILED_PRECONDITION);
+                        }
+                    }
+                    Map<String, Object> update = new HashMap<>(patch.getChanges());
+                    update.put(EventDocuments.FIELD_VERSION, currentVersion + 1);
+                    transaction.update(reference, update);
+                    return new EditResult(currentVersion + 1, patch.getFieldNames(), merged, DocumentSizes.fields(update));
+                })
+                .addOnSuccessListener(result -> {
+                    invalidate(base.getId());
+                    callback.onSuccess(result);
+                })
+                .addOnFailureListener(e -> {
+                    FirebaseFirestoreException.Code code = e instanceof FirebaseFirestoreException
+                            ? ((FirebaseFirestoreException) e).getCode()
+                            : null;
+                    if (code == FirebaseFirestoreException.Code.FAILED_PRECONDITION) {
+                        // Someone else's save is newer than anything cached.
+                        invalidate(base.getId());
+                        callback.onConflict(new ArrayList<>(conflicts));
+                    } else if (code == FirebaseFirestoreException.Code.NOT_FOUND) {
+                        invalidate(base.getId());
+                        callback.onError(NOT_FOUND_ERROR);
+                    } else {
+                        callback.onError(SAVE_ERROR);
+                    }
+                });
+    }
+
+    private void invalidate(String eventId) {
+        if (detailCache != null) {
+            detailCache.invalidate(eventId);
+        }
+    }
+
+    // Fields this patch touches that someone else has changed since the admin's base version.
+    private static List<String> conflictingFields(EventPatch patch, DocumentSnapshot current) {
+        List<String> conflicts = new ArrayList<>();
+        for (String field : patch.getFieldNames()) {
+            Object currentValue = normalize(current.get(field));
+            if (!Objects.equals(currentValue, normalize(patch.getBaseValue(field)))
+                    && !Objects.equals(currentValue, normalize(patch.getChanges().get(field)))) {
+                conflicts.add(field);
+            }
+        }
+        return conflicts;
+    }
+
+    // Firestore hands back every integer as Long and every floating-point value as Double.
+    private static Object normalize(Object value) {
+        if (value instanceof Integer) {
+            return ((Integer) value).longValue();
+        }
+        if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        }
+        return value;
+    }
+
+    private static long versionOf(DocumentSnapshot snapshot) {
+        Long version = snapshot.getLong(EventDocuments.FIELD_VERSION);
+        return version == null ? 0L : version;
+    }
+
+    public interface EditCallback {
+        void onSuccess(EditResult result);
+
+        void onConflict(List<String> conflictingFields);
+
+        void onError(String errorMessage);
+    }
+}
@@ -0,0 +1,64 @@
+package com.soen345.project.events.edit;
+
+import com.soen345.project.common.DocumentSizes;
+import com.soen345.project.events.Event;
+import com.soen345.project.events.EventDocuments;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// The fields an admin actually changed, with the values they started from so a concurrent
+// edit to the same field can be told apart from one to a different field.
+public final class EventPatch {
+    private final Map<String, Object> baseValues;
+    private final Map<String, Object> changes;
+
+    private EventPatch(Map<String, Object> baseValues, Map<String, Object> changes) {
+        this.baseValues = baseValues;
+        this.changes = changes;
+    }
+
+    public static EventPatch between(Event base, Event edited) {
+        if (base == null || edited == null) {
+            throw new IllegalArgumentException("base and edited events are required");
+        }
+        if (!base.getId().equals(edited.getId())) {
+            throw new IllegalArgumentException("base and edited must be the same event");
+        }
+        Map<String, Object> baseFields = EventDocuments.toFields(base);
+        Map<String, Object> editedFields = EventDocuments.toFields(edited);
+        Map<String, Object> baseValues = new LinkedHashMap<>();
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : editedFields.entrySet()) {
+            Object baseValue = baseFields.get(field.getKey());
+            if (!Objects.equals(baseValue, field.getValue())) {
+                baseValues.put(field.getKey(), baseValue);
+                changes.put(field.getKey(), field.getValue());
+            }
+        }
+        return new EventPatch(Collections.unmodifiableMap(baseValues), Collections.unmodifiableMap(changes));
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public Set<String> getFieldNames() {
+        return changes.keySet();
+    }
+
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    public Object getBaseValue(String field) {
+        return baseValues.get(field);
+    }
+
+    public long estimatedBytes() {
+        return DocumentSizes.fields(changes);
+    }
+}
@@ -0,0 +1,80 @@
+package com.soen345.project.events.geo;
+
+import com.soen345.project.events.Event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// On-device mirror of the Firestore geohash range queries: events are ordered by geohash, so each
+// query cell is a prefix range and only events in neighbouring cells are ever visited.
+public class EventLocationIndex {
+    public static final int INDEX_PRECISION = 9;
+    private static final char KEY_SEPARATOR = '/';
+    private static final char PREFIX_END = '\uffff';
+
+    private final TreeMap<String, Event> eventsByKey = new TreeMap<>();
+    private final Map<String, String> keysByEventId = new HashMap<>();
+
+    public synchronized void put(Event event) {
+        if (event == null) {
+            throw new IllegalArgumentException("event cannot be null");
+        }
+        remove(event.getId());
+        String key = Geohash.encode(event.getLatitude(), event.getLongitude(), INDEX_PRECISION)
+                + KEY_SEPARATOR + event.getId();
+        eventsByKey.put(key, event);
+        keysByEventId.put(event.getId(), key);
+    }
+
+    public synchronized boolean remove(String eventId) {
+        String key = keysByEventId.remove(eventId);
+        if (key == null) {
+            return false;
+        }
+        eventsByKey.remove(key);
+        return true;
+    }
+
+    public synchronized int size() {
+        return keysByEventId.size();
+    }
+
+    public synchronized List<NearbyEvent> findWithinRadius(double latitude, double longitude, double radiusMeters) {
+        if (radiusMeters < 0) {
+            throw new IllegalArgumentException("radiusMeters cannot be negative");
+        }
+        List<NearbyEvent> results = new ArrayList<>();
+        for (String cell : GeoQueryBounds.cellsForRadius(latitude, longitude, radiusMeters)) {
+            for (Event event : cellRange(cell).values()) {
+                double distance = GeoDistance.meters(latitude, longitude, event.getLatitude(), event.getLongitude());
+                if (distance <= radiusMeters) {
+                    results.add(new NearbyEvent(event, distance));
+                }
+            }
+        }
+        Collections.sort(results, Comparator.comparingDouble(NearbyEvent::getDistanceMeters));
+        return results;
+    }
+
+    public synchronized List<Event> findInBoundingBox(double minLat, double minLon, double maxLat, double maxLon) {
+        double coverMaxLon = maxLon < minLon ? maxLon + 360.0 : maxLon;
+        List<Event> results = new ArrayList<>();
+        for (String cell : Geohash.cover(minLat, minLon, maxLat, coverMaxLon, GeoQueryBounds.MAX_QUERY_CELLS)) {
+            for (Event event : cellRange(cell).values()) {
+                if (GeoQueryBounds.inBox(event.getLatitude(), event.getLongitude(), minLat, minLon, maxLat, maxLon)) {
+                    results.add(event);
+                }
+            }
+        }
+        return results;
+    }
+
+    private Map<String, Event> cellRange(String cell) {
+        return eventsByKey.subMap(cell, true, cell + PREFIX_END, false);
+    }
+}
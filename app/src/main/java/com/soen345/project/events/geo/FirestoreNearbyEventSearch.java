@@ -0,0 +1,112 @@
+package com.soen345.project.events.geo;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.soen345.project.events.Event;
+import com.soen345.project.events.EventDocuments;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class FirestoreNearbyEventSearch {
+    private static final String SEARCH_ERROR = "Could not load events near you.";
+    private static final String PREFIX_END = "\uf8ff";
+
+    private final FirebaseFirestore firestore;
+
+    public FirestoreNearbyEventSearch(FirebaseFirestore firestore) {
+        this.firestore = firestore;
+    }
+
+    // Fields an event write must include so range queries on geohash can find it after an add or edit.
+    public static Map<String, Object> locationFields(double latitude, double longitude) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(EventDocuments.FIELD_LATITUDE, latitude);
+        fields.put(EventDocuments.FIELD_LONGITUDE, longitude);
+        fields.put(EventDocuments.FIELD_GEOHASH, Geohash.encode(latitude, longitude, EventLocationIndex.INDEX_PRECISION));
+        return fields;
+    }
+
+    public void findWithinRadius(double latitude, double longitude, double radiusMeters, NearbyEventsCallback callback) {
+        List<NearbyEvent> results = new ArrayList<>();
+        queryCells(GeoQueryBounds.cellsForRadius(latitude, longitude, radiusMeters), event -> {
+            double distance = GeoDistance.meters(latitude, longitude, event.getLatitude(), event.getLongitude());
+            if (distance <= radiusMeters) {
+                results.add(new NearbyEvent(event, distance));
+            }
+        }, () -> {
+            Collections.sort(results, Comparator.comparingDouble(NearbyEvent::getDistanceMeters));
+            callback.onSuccess(results);
+        }, callback::onError);
+    }
+
+    // Same cover and filter as EventLocationIndex.findInBoundingBox, so the map shows what the local index would.
+    public void findInBoundingBox(double minLat, double minLon, double maxLat, double maxLon, EventsCallback callback) {
+        double coverMaxLon = maxLon < minLon ? maxLon + 360.0 : maxLon;
+        List<Event> results = new ArrayList<>();
+        queryCells(Geohash.cover(minLat, minLon, maxLat, coverMaxLon, GeoQueryBounds.MAX_QUERY_CELLS), event -> {
+            if (GeoQueryBounds.inBox(event.getLatitude(), event.getLongitude(), minLat, minLon, maxLat, maxLon)) {
+                results.add(event);
+            }
+        }, () -> callback.onSuccess(results), callback::onError);
+    }
+
+    // One prefix range query per cell; each event is offered once even when neighbouring cells overlap.
+    private void queryCells(List<String> cells, Consumer<Event> onEvent, Runnable onComplete, Consumer<String> onError) {
+        if (cells.isEmpty()) {
+            onComplete.run();
+            return;
+        }
+        Set<String> seenIds = new HashSet<>();
+        int[] pending = {cells.size()};
+        boolean[] failed = {false};
+
+        for (String cell : cells) {
+            firestore
+                    .collection(EventDocuments.EVENTS_COLLECTION)
+                    .orderBy(EventDocuments.FIELD_GEOHASH)
+                    .startAt(cell)
+                    .endAt(cell + PREFIX_END)
+                    .get()
+                    .addOnSuccessListener(snapshot -> {
+                        if (failed[0]) {
+                            return;
+                        }
+                        for (DocumentSnapshot document : snapshot.getDocuments()) {
+                            Event event = EventDocuments.fromDocument(document);
+                            if (event != null && seenIds.add(event.getId())) {
+                                onEvent.accept(event);
+                            }
+                        }
+                        if (--pending[0] == 0) {
+                            onComplete.run();
+                        }
+                    })
+                    .addOnFailureListener(e -> {
+                        if (!failed[0]) {
+                            failed[0] = true;
+                            onError.accept(SEARCH_ERROR);
+                        }
+                    });
+        }
+    }
+
+    public interface NearbyEventsCallback {
+        void onSuccess(List<NearbyEvent> events);
+
+        void onError(String errorMessage);
+    }
+
+    public interface EventsCallback {
+        void onSuccess(List<Event> events);
+
+        void onError(String errorMessage);
+    }
+}
@@ -0,0 +1,30 @@
+package com.soen345.project.events.geo;
+
+public final class GeoDistance {
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private GeoDistance() {
+    }
+
+    public static double meters(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double deltaPhi = Math.toRadians(lat2 - lat1);
+        double deltaLambda = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(deltaPhi / 2) * Math.sin(deltaPhi / 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.sin(deltaLambda / 2) * Math.sin(deltaLambda / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public static double latitudeDegrees(double meters) {
+        return Math.toDegrees(meters / EARTH_RADIUS_METERS);
+    }
+
+    public static double longitudeDegrees(double meters, double atLatitude) {
+        double cos = Math.cos(Math.toRadians(atLatitude));
+        if (cos < 1e-6) {
+            return 360.0;
+        }
+        return Math.min(360.0, Math.toDegrees(meters / (EARTH_RADIUS_METERS * cos)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.soen345.project.events.geo;
+
+import java.util.List;
+
+final class GeoQueryBounds {
+    static final int MAX_QUERY_CELLS = 9;
+
+    private GeoQueryBounds() {
+    }
+
+    static List<String> cellsForRadius(double latitude, double longitude, double radiusMeters) {
+        double latDelta = GeoDistance.latitudeDegrees(radiusMeters);
+        double minLat = latitude - latDelta;
+        double maxLat = latitude + latDelta;
+        if (minLat <= -90.0 || maxLat >= 90.0) {
+            return Geohash.cover(Math.max(-90.0, minLat), -180.0, Math.min(90.0, maxLat), 180.0, MAX_QUERY_CELLS);
+        }
+        double widestLatitude = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double lonDelta = GeoDistance.longitudeDegrees(radiusMeters, widestLatitude);
+        return Geohash.cover(minLat, longitude - lonDelta, maxLat, longitude + lonDelta, MAX_QUERY_CELLS);
+    }
+
+    static boolean inBox(double latitude, double longitude, double minLat, double minLon, double maxLat, double maxLon) {
+        if (latitude < minLat || latitude > maxLat) {
+            return false;
+        }
+        if (minLon <= maxLon) {
+            return longitude >= minLon && longitude <= maxLon;
+        }
+        // The box crosses the antimeridian.
+        return longitude >= minLon || longitude <= maxLon;
+    }
+}
@@ -0,0 +1,107 @@
+package com.soen345.project.events.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Geohash {
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        validatePrecision(precision);
+        int latBits = latitudeBits(precision);
+        int lonBits = longitudeBits(precision);
+        long latIndex = cellIndex(latitude + 90.0, 180.0, latBits);
+        long lonIndex = cellIndex(longitude + 180.0, 360.0, lonBits);
+        return fromIndices(latIndex, lonIndex, precision);
+    }
+
+    public static double cellHeightDegrees(int precision) {
+        return 180.0 / (1L << latitudeBits(precision));
+    }
+
+    public static double cellWidthDegrees(int precision) {
+        return 360.0 / (1L << longitudeBits(precision));
+    }
+
+    // Highest-precision set of cells, no larger than maxCells, whose union covers the box.
+    public static List<String> cover(double minLat, double minLon, double maxLat, double maxLon, int maxCells) {
+        if (minLat > maxLat) {
+            throw new IllegalArgumentException("minLat must not exceed maxLat");
+        }
+        if (maxLon - minLon >= 360.0) {
+            minLon = -180.0;
+            maxLon = 180.0 - 1e-9;
+        }
+        minLat = Math.max(-90.0, minLat);
+        maxLat = Math.min(90.0 - 1e-9, maxLat);
+        for (int precision = MAX_PRECISION; precision >= 1; precision--) {
+            int latBits = latitudeBits(precision);
+            int lonBits = longitudeBits(precision);
+            long latFrom = cellIndex(minLat + 90.0, 180.0, latBits);
+            long latTo = cellIndex(maxLat + 90.0, 180.0, latBits);
+            long lonFrom = (long) Math.floor((minLon + 180.0) / cellWidthDegrees(precision));
+            long lonTo = (long) Math.floor((maxLon + 180.0) / cellWidthDegrees(precision));
+            long cells = (latTo - latFrom + 1) * (lonTo - lonFrom + 1);
+            if (cells > maxCells && precision > 1) {
+                continue;
+            }
+            long lonCells = 1L << lonBits;
+            List<String> hashes = new ArrayList<>((int) cells);
+            for (long lat = latFrom; lat <= latTo; lat++) {
+                for (long lon = lonFrom; lon <= lonTo; lon++) {
+                    // Boxes that cross the antimeridian wrap back onto the other edge of the grid.
+                    hashes.add(fromIndices(lat, Math.floorMod(lon, lonCells), precision));
+                }
+            }
+            return hashes;
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private static String fromIndices(long latIndex, long lonIndex, int precision) {
+        int totalBits = precision * 5;
+        int latBit = latitudeBits(precision) - 1;
+        int lonBit = longitudeBits(precision) - 1;
+        char[] chars = new char[precision];
+        int value = 0;
+        for (int bit = 0; bit < totalBits; bit++) {
+            int next;
+            if (bit % 2 == 0) {
+                next = (int) ((lonIndex >>> lonBit--) & 1);
+            } else {
+                next = (int) ((latIndex >>> latBit--) & 1);
+            }
+            value = (value << 1) | next;
+            if (bit % 5 == 4) {
+                chars[bit / 5] = BASE32[value];
+                value = 0;
+            }
+        }
+        return new String(chars);
+    }
+
+    private static long cellIndex(double offset, double span, int bits) {
+        long cells = 1L << bits;
+        long index = (long) Math.floor(offset / span * cells);
+        return Math.max(0, Math.min(cells - 1, index));
+    }
+
+    private static int longitudeBits(int precision) {
+        return (precision * 5 + 1) / 2;
+    }
+
+    private static int latitudeBits(int precision) {
+        return precision * 5 / 2;
+    }
+
+    private static void validatePrecision(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be between 1 and " + MAX_PRECISION);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.soen345.project.events.geo;
+
+import com.soen345.project.events.Event;
+
+public final class NearbyEvent {
+    private final Event event;
+    private final double distanceMeters;
+
+    public NearbyEvent(Event event, double distanceMeters) {
+        this.event = event;
+        this.distanceMeters = distanceMeters;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public double getDistanceMeters() {
+        return distanceMeters;
+    }
+}
@@ -0,0 +1,58 @@
+package com.soen345.project.events.list;
+
+import com.soen345.project.common.ListDiff;
+
+public final class EventListItem {
+    public static final ListDiff.ItemIdentity<EventListItem> IDENTITY = new ListDiff.ItemIdentity<EventListItem>() {
+        @Override
+        public String key(EventListItem item) {
+            return item.eventId;
+        }
+
+        @Override
+        public boolean sameContent(EventListItem oldItem, EventListItem newItem) {
+            return oldItem.sameContent(newItem);
+        }
+    };
+
+    private final String eventId;
+    private final String title;
+    private final long startTimeMillis;
+    private final int seatsRemaining;
+
+    public EventListItem(String eventId, String title, long startTimeMillis, int seatsRemaining) {
+        if (eventId == null || eventId.isEmpty()) {
+            throw new IllegalArgumentException("eventId cannot be empty");
+        }
+        this.eventId = eventId;
+        this.title = title;
+        this.startTimeMillis = startTimeMillis;
+        this.seatsRemaining = seatsRemaining;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public long getStartTimeMillis() {
+        return startTimeMillis;
+    }
+
+    public int getSeatsRemaining() {
+        return seatsRemaining;
+    }
+
+    public boolean isSoldOut() {
+        return seatsRemaining <= 0;
+    }
+
+    private boolean sameContent(EventListItem other) {
+        return startTimeMillis == other.startTimeMillis
+                && seatsRemaining == other.seatsRemaining
+                && (title == null ? other.title == null : title.equals(other.title));
+    }
+}
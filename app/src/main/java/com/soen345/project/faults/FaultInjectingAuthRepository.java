@@ -0,0 +1,78 @@
+package com.soen345.project.faults;
+
+import com.soen345.project.auth.AuthCallback;
+import com.soen345.project.auth.AuthRepository;
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.RoleListener;
+import com.soen345.project.auth.UserRole;
+
+// Only the network calls are disturbed; the local state accessors answer straight from the delegate.
+public class FaultInjectingAuthRepository implements AuthRepository {
+    private final AuthRepository delegate;
+    private final FaultInjector injector;
+
+    public FaultInjectingAuthRepository(AuthRepository delegate, FaultInjector injector) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        if (injector == null) {
+            throw new IllegalArgumentException("injector cannot be null");
+        }
+        this.delegate = delegate;
+        this.injector = injector;
+    }
+
+    @Override
+    public void signIn(String identifier, String password, AuthCallback callback) {
+        injector.run(reply -> delegate.signIn(identifier, password, relay(reply, callback)), callback::onError);
+    }
+
+    @Override
+    public void register(String email, String phoneE164, String password, AuthCallback callback) {
+        injector.run(reply -> delegate.register(email, phoneE164, password, relay(reply, callback)), callback::onError);
+    }
+
+    @Override
+    public boolean isSignedIn() {
+        return delegate.isSignedIn();
+    }
+
+    @Override
+    public String getSignedInEmail() {
+        return delegate.getSignedInEmail();
+    }
+
+    @Override
+    public UserRole getSignedInRole() {
+        return delegate.getSignedInRole();
+    }
+
+    @Override
+    public void signOut() {
+        delegate.signOut();
+    }
+
+    @Override
+    public void addRoleListener(RoleListener listener) {
+        delegate.addRoleListener(listener);
+    }
+
+    @Override
+    public void removeRoleListener(RoleListener listener) {
+        delegate.removeRoleListener(listener);
+    }
+
+    private static AuthCallback relay(FaultInjector.Reply reply, AuthCallback callback) {
+        return new AuthCallback() {
+            @Override
+            public void onSuccess(AuthSession session) {
+                reply.deliver(() -> callback.onSuccess(session));
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                reply.deliver(() -> callback.onError(errorMessage));
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.soen345.project.faults;
+
+import com.soen345.project.common.Scheduler;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Shared by the repository decorators: decides the fate of each call from a seeded source, then delivers
+// the outcome through the scheduler. Independent delays per call are what make completions arrive out of
+// order, the same way they do over a real network.
+public final class FaultInjector {
+    public static final String UNAVAILABLE_ERROR = "Service unavailable. Please try again.";
+    public static final String TIMEOUT_ERROR = "The request timed out. Please try again.";
+
+    private final FaultPlan plan;
+    private final Random random;
+    private final Scheduler scheduler;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong lostResponses = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    public FaultInjector(FaultPlan plan, long seed, Scheduler scheduler) {
+        if (plan == null) {
+            throw new IllegalArgumentException("plan cannot be null");
+        }
+        if (scheduler == null) {
+            throw new IllegalArgumentException("scheduler cannot be null");
+        }
+        this.plan = plan;
+        this.random = new Random(seed);
+        this.scheduler = scheduler;
+    }
+
+    // Every random draw for a call is taken up front, in call order, so one seed replays the same faults no
+    // matter when the backend answers. Exactly one outcome reaches onError or the delivered reply.
+    public void run(Call call, Consumer<String> onError) {
+        long delayMillis;
+        boolean failBeforeCall;
+        boolean loseResponse;
+        synchronized (random) {
+            delayMillis = Math.max(0L, plan.getLatency().sampleMillis(random));
+            failBeforeCall = random.nextDouble() < plan.getErrorRate();
+            loseResponse = random.nextDouble() < plan.getLostResponseRate();
+        }
+        calls.incrementAndGet();
+
+        AtomicBoolean settled = new AtomicBoolean();
+        Scheduler.Cancellable timeout = null;
+        if (plan.getTimeoutMillis() > 0) {
+            timeout = scheduler.schedule(() -> {
+                if (settled.compareAndSet(false, true)) {
+                    timeouts.incrementAndGet();
+                    onError.accept(TIMEOUT_ERROR);
+                }
+            }, plan.getTimeoutMillis());
+        }
+        Scheduler.Cancellable pendingTimeout = timeout;
+        if (failBeforeCall) {
+            scheduler.schedule(() -> settle(settled, pendingTimeout, () -> {
+                injectedErrors.incrementAndGet();
+                onError.accept(UNAVAILABLE_ERROR);
+            }), delayMillis);
+            return;
+        }
+        call.start(outcome -> scheduler.schedule(() -> settle(settled, pendingTimeout, loseResponse ? () -> {
+            lostResponses.incrementAndGet();
+            onError.accept(UNAVAILABLE_ERROR);
+        } : outcome), delayMillis));
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    public long getLostResponses() {
+        return lostResponses.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    private static void settle(AtomicBoolean settled, Scheduler.Cancellable timeout, Runnable outcome) {
+        if (!settled.compareAndSet(false, true)) {
+            return;
+        }
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        outcome.run();
+    }
+
+    public interface Call {
+        void start(Reply reply);
+    }
+
+    public interface Reply {
+        void deliver(Runnable outcome);
+    }
+}
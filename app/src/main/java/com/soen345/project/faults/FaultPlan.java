@@ -0,0 +1,61 @@
+package com.soen345.project.faults;
+
+public final class FaultPlan {
+    public static final FaultPlan NONE = new FaultPlan(LatencyDistribution.NONE, 0.0, 0.0, 0L);
+
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final double lostResponseRate;
+    private final long timeoutMillis;
+
+    // errorRate fails calls before they reach the backend; lostResponseRate lets the backend apply the call
+    // and then loses the reply, which is the case that exposes non-idempotent retries. A timeout of 0 waits
+    // forever.
+    public FaultPlan(LatencyDistribution latency, double errorRate, double lostResponseRate, long timeoutMillis) {
+        if (latency == null) {
+            throw new IllegalArgumentException("latency cannot be null");
+        }
+        if (!(errorRate >= 0.0 && errorRate <= 1.0) || !(lostResponseRate >= 0.0 && lostResponseRate <= 1.0)) {
+            throw new IllegalArgumentException("rates must be between 0 and 1");
+        }
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("timeoutMillis cannot be negative");
+        }
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.lostResponseRate = lostResponseRate;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public FaultPlan withLatency(LatencyDistribution newLatency) {
+        return new FaultPlan(newLatency, errorRate, lostResponseRate, timeoutMillis);
+    }
+
+    public FaultPlan withErrorRate(double newErrorRate) {
+        return new FaultPlan(latency, newErrorRate, lostResponseRate, timeoutMillis);
+    }
+
+    public FaultPlan withLostResponseRate(double newLostResponseRate) {
+        return new FaultPlan(latency, errorRate, newLostResponseRate, timeoutMillis);
+    }
+
+    public FaultPlan withTimeout(long newTimeoutMillis) {
+        return new FaultPlan(latency, errorRate, lostResponseRate, newTimeoutMillis);
+    }
+
+    public LatencyDistribution getLatency() {
+        return latency;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public double getLostResponseRate() {
+        return lostResponseRate;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
@@ -0,0 +1,46 @@
+package com.soen345.project.faults;
+
+import java.util.Random;
+
+public interface LatencyDistribution {
+    LatencyDistribution NONE = random -> 0L;
+
+    long sampleMillis(Random random);
+
+    static LatencyDistribution fixed(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("millis cannot be negative");
+        }
+        return random -> millis;
+    }
+
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("range must satisfy 0 <= min <= max");
+        }
+        long span = maxMillis - minMillis + 1;
+        return random -> minMillis + (long) (random.nextDouble() * span);
+    }
+
+    // Network latency is roughly log-normal: most calls sit near the median and a long right tail reaches
+    // the p99. Sigma is solved from the two so callers can describe it the way dashboards report it.
+    static LatencyDistribution logNormal(long medianMillis, long p99Millis) {
+        if (medianMillis <= 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("must satisfy 0 < median <= p99");
+        }
+        double sigma = Math.log((double) p99Millis / medianMillis) / 2.3263478740408408;
+        return random -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    // A fraction of calls take the tail distribution instead, e.g. the odd 3 s stall on top of normal traffic.
+    default LatencyDistribution withTail(double tailProbability, LatencyDistribution tail) {
+        if (!(tailProbability >= 0.0 && tailProbability <= 1.0)) {
+            throw new IllegalArgumentException("tailProbability must be between 0 and 1");
+        }
+        if (tail == null) {
+            throw new IllegalArgumentException("tail cannot be null");
+        }
+        LatencyDistribution base = this;
+        return random -> random.nextDouble() < tailProbability ? tail.sampleMillis(random) : base.sampleMillis(random);
+    }
+}
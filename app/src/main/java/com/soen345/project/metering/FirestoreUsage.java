@@ -0,0 +1,39 @@
+package com.soen345.project.metering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-flow Firestore counters for the process. Budgets live next to the flows that declare them, so adding
+// a read to a flow without raising its budget shows up as an over-budget run in tests and at runtime.
+public final class FirestoreUsage {
+    public static final FirestoreUsage SHARED = new FirestoreUsage();
+
+    private final ConcurrentHashMap<String, FlowUsage> flows = new ConcurrentHashMap<>();
+
+    public FlowRun start(String flow, FlowBudget budget) {
+        if (flow == null || flow.isEmpty()) {
+            throw new IllegalArgumentException("flow cannot be empty");
+        }
+        if (budget == null) {
+            throw new IllegalArgumentException("budget cannot be null");
+        }
+        return new FlowRun(flows.computeIfAbsent(flow, name -> new FlowUsage(name, budget)));
+    }
+
+    public FlowUsage getFlow(String flow) {
+        return flows.get(flow);
+    }
+
+    public List<FlowUsage> getFlows() {
+        return new ArrayList<>(flows.values());
+    }
+
+    public long getOverBudgetRuns() {
+        long total = 0;
+        for (FlowUsage usage : flows.values()) {
+            total += usage.getOverBudgetRuns();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,39 @@
+package com.soen345.project.metering;
+
+public final class FlowBudget {
+    public static final FlowBudget UNLIMITED = new FlowBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final int maxReads;
+    private final int maxWrites;
+    private final int maxRoundTrips;
+
+    public FlowBudget(int maxReads, int maxWrites, int maxRoundTrips) {
+        if (maxReads < 0 || maxWrites < 0 || maxRoundTrips < 0) {
+            throw new IllegalArgumentException("budget limits cannot be negative");
+        }
+        this.maxReads = maxReads;
+        this.maxWrites = maxWrites;
+        this.maxRoundTrips = maxRoundTrips;
+    }
+
+    public boolean allows(int reads, int writes, int roundTrips) {
+        return reads <= maxReads && writes <= maxWrites && roundTrips <= maxRoundTrips;
+    }
+
+    public int getMaxReads() {
+        return maxReads;
+    }
+
+    public int getMaxWrites() {
+        return maxWrites;
+    }
+
+    public int getMaxRoundTrips() {
+        return maxRoundTrips;
+    }
+
+    @Override
+    public String toString() {
+        return "reads<=" + maxReads + " writes<=" + maxWrites + " roundTrips<=" + maxRoundTrips;
+    }
+}
@@ -0,0 +1,48 @@
+package com.soen345.project.metering;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One execution of a flow, e.g. a single phone sign-in. It travels with the flow's callbacks and is folded
+// into the flow's totals when the flow reports its outcome.
+public final class FlowRun {
+    private final FlowUsage usage;
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicInteger writes = new AtomicInteger();
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    FlowRun(FlowUsage usage) {
+        this.usage = usage;
+    }
+
+    public void recordReads(int documents) {
+        reads.addAndGet(documents);
+    }
+
+    public void recordWrites(int documents) {
+        writes.addAndGet(documents);
+    }
+
+    public void recordRoundTrip() {
+        roundTrips.incrementAndGet();
+    }
+
+    public void finish() {
+        if (finished.compareAndSet(false, true)) {
+            usage.add(reads.get(), writes.get(), roundTrips.get());
+        }
+    }
+
+    public int getReads() {
+        return reads.get();
+    }
+
+    public int getWrites() {
+        return writes.get();
+    }
+
+    public int getRoundTrips() {
+        return roundTrips.get();
+    }
+}
@@ -0,0 +1,79 @@
+package com.soen345.project.metering;
+
+public final class FlowUsage {
+    private final String name;
+    private final FlowBudget budget;
+    private long runs;
+    private long reads;
+    private long writes;
+    private long roundTrips;
+    private int maxReads;
+    private int maxWrites;
+    private int maxRoundTrips;
+    private long overBudgetRuns;
+
+    FlowUsage(String name, FlowBudget budget) {
+        this.name = name;
+        this.budget = budget;
+    }
+
+    synchronized void add(int runReads, int runWrites, int runRoundTrips) {
+        runs++;
+        reads += runReads;
+        writes += runWrites;
+        roundTrips += runRoundTrips;
+        maxReads = Math.max(maxReads, runReads);
+        maxWrites = Math.max(maxWrites, runWrites);
+        maxRoundTrips = Math.max(maxRoundTrips, runRoundTrips);
+        if (!budget.allows(runReads, runWrites, runRoundTrips)) {
+            overBudgetRuns++;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public FlowBudget getBudget() {
+        return budget;
+    }
+
+    public synchronized long getRuns() {
+        return runs;
+    }
+
+    public synchronized long getReads() {
+        return reads;
+    }
+
+    public synchronized long getWrites() {
+        return writes;
+    }
+
+    public synchronized long getRoundTrips() {
+        return roundTrips;
+    }
+
+    public synchronized int getMaxReads() {
+        return maxReads;
+    }
+
+    public synchronized int getMaxWrites() {
+        return maxWrites;
+    }
+
+    public synchronized int getMaxRoundTrips() {
+        return maxRoundTrips;
+    }
+
+    public synchronized long getOverBudgetRuns() {
+        return overBudgetRuns;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return name + ": runs=" + runs + " reads=" + reads + " writes=" + writes + " roundTrips=" + roundTrips
+                + " max(reads=" + maxReads + " writes=" + maxWrites + " roundTrips=" + maxRoundTrips + ")"
+                + " overBudget=" + overBudgetRuns + " budget(" + budget + ")";
+    }
+}
@@ -0,0 +1,73 @@
+package com.soen345.project.metering;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.Transaction;
+
+// How the sign-in and registration flows touch Firestore documents, so every read, write and round trip
+// they cause lands in their flow run. Other repositories still call FirebaseFirestore directly and are not
+// metered. Costs are counted when the request is issued, the way they are billed.
+public final class MeteredFirestore {
+    private final FirebaseFirestore firestore;
+
+    public MeteredFirestore(FirebaseFirestore firestore) {
+        this.firestore = firestore;
+    }
+
+    public DocumentReference document(String collection, String id) {
+        return firestore.collection(collection).document(id);
+    }
+
+    // A missing document is still billed as one read.
+    public Task<DocumentSnapshot> get(FlowRun run, DocumentReference document) {
+        run.recordRoundTrip();
+        run.recordReads(1);
+        return document.get();
+    }
+
+    // A new snapshot listener is billed one read for its first snapshot. The flow does not wait for it, so it
+    // costs no round trip.
+    public void recordListenerAttached(FlowRun run) {
+        run.recordReads(1);
+    }
+
+    // Reads inside the transaction are round trips of their own; the commit is one more once the body
+    // returns. Firestore re-runs the body on contention, and every attempt is counted because every
+    // attempt is billed.
+    public <T> Task<T> runTransaction(FlowRun run, TransactionBody<T> body) {
+        return firestore.runTransaction(transaction -> {
+            T result = body.apply(new MeteredTransaction(run, transaction));
+            run.recordRoundTrip();
+            return result;
+        });
+    }
+
+    public interface TransactionBody<T> {
+        T apply(MeteredTransaction transaction) throws FirebaseFirestoreException;
+    }
+
+    public static final class MeteredTransaction {
+        private final FlowRun run;
+        private final Transaction transaction;
+
+        private MeteredTransaction(FlowRun run, Transaction transaction) {
+            this.run = run;
+            this.transaction = transaction;
+        }
+
+        public DocumentSnapshot get(DocumentReference document) throws FirebaseFirestoreException {
+            run.recordRoundTrip();
+            run.recordReads(1);
+            return transaction.get(document);
+        }
+
+        public MeteredTransaction set(DocumentReference document, Object data) {
+            run.recordWrites(1);
+            transaction.set(document, data);
+            return this;
+        }
+    }
+}
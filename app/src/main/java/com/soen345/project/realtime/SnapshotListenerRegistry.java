@@ -0,0 +1,202 @@
+package com.soen345.project.realtime;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.soen345.project.common.Scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+// Multiplexes every screen watching the same query or document onto one Firestore listener.
+// The listener stays attached for a grace period after its last subscriber leaves, so quick
+// screen transitions reuse it instead of paying for a fresh initial snapshot.
+public class SnapshotListenerRegistry {
+    public static final long DEFAULT_GRACE_MILLIS = 5_000L;
+
+    private static final String LISTEN_ERROR = "Live updates are unavailable right now.";
+    private static final String DOCUMENT_KEY_PREFIX = "doc:";
+    private static final String QUERY_KEY_PREFIX = "query:";
+
+    private final Executor deliveryExecutor;
+    private final Scheduler scheduler;
+    private final long graceMillis;
+    private final Map<String, Channel<?>> channels = new HashMap<>();
+    private long attachCount;
+
+    public SnapshotListenerRegistry(Executor deliveryExecutor, Scheduler scheduler, long graceMillis) {
+        if (deliveryExecutor == null) {
+            throw new IllegalArgumentException("deliveryExecutor cannot be null");
+        }
+        if (scheduler == null) {
+            throw new IllegalArgumentException("scheduler cannot be null");
+        }
+        if (graceMillis < 0) {
+            throw new IllegalArgumentException("graceMillis cannot be negative");
+        }
+        this.deliveryExecutor = deliveryExecutor;
+        this.scheduler = scheduler;
+        this.graceMillis = graceMillis;
+    }
+
+    public Subscription subscribeDocument(DocumentReference document, Subscriber<DocumentSnapshot> subscriber) {
+        return subscribe(DOCUMENT_KEY_PREFIX + document.getPath(), document::addSnapshotListener, subscriber);
+    }
+
+    // Queries have no stable identity, so callers name them; equal keys must mean equal queries.
+    public Subscription subscribeQuery(String queryKey, Query query, Subscriber<QuerySnapshot> subscriber) {
+        return subscribe(QUERY_KEY_PREFIX + queryKey, query::addSnapshotListener, subscriber);
+    }
+
+    public <T> Subscription subscribe(String key, SnapshotSource<T> source, Subscriber<T> subscriber) {
+        if (key == null || source == null || subscriber == null) {
+            throw new IllegalArgumentException("key, source and subscriber are required");
+        }
+        Channel<T> channel;
+        synchronized (this) {
+            channel = channel(key, source);
+            if (channels.get(key) != channel) {
+                deliveryExecutor.execute(() -> subscriber.onError(LISTEN_ERROR));
+                return new Subscription(this, channel, subscriber);
+            }
+            channel.subscribers.add(subscriber);
+            if (channel.pendingDetach != null) {
+                channel.pendingDetach.cancel();
+                channel.pendingDetach = null;
+            }
+            T latest = channel.latest;
+            if (latest != null) {
+                deliveryExecutor.execute(() -> subscriber.onSnapshot(latest));
+            }
+        }
+        return new Subscription(this, channel, subscriber);
+    }
+
+    public synchronized int getActiveListenerCount() {
+        return channels.size();
+    }
+
+    public synchronized long getAttachCount() {
+        return attachCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Channel<T> channel(String key, SnapshotSource<T> source) {
+        Channel<T> existing = (Channel<T>) channels.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        Channel<T> channel = new Channel<>(key);
+        channels.put(key, channel);
+        attachCount++;
+        ListenerRegistration registration = source.attach((value, error) -> onEvent(channel, value, error));
+        if (channels.get(key) != channel && registration != null) {
+            // The listener failed synchronously while attaching and has already been dropped.
+            registration.remove();
+        }
+        channel.registration = registration;
+        return channel;
+    }
+
+    // Deliveries are queued while holding the lock so every subscriber sees snapshots in arrival order.
+    private synchronized <T> void onEvent(Channel<T> channel, T value, Exception error) {
+        if (channels.get(channel.key) != channel) {
+            return;
+        }
+        boolean failed = error != null || value == null;
+        if (failed) {
+            // Firestore stops a listener after an error; drop it so the next subscriber re-attaches.
+            detach(channel);
+        } else {
+            channel.latest = value;
+        }
+        for (Subscriber<T> subscriber : new ArrayList<>(channel.subscribers)) {
+            if (failed) {
+                deliveryExecutor.execute(() -> subscriber.onError(LISTEN_ERROR));
+            } else {
+                deliveryExecutor.execute(() -> subscriber.onSnapshot(value));
+            }
+        }
+    }
+
+    private synchronized <T> void release(Channel<T> channel, Subscriber<T> subscriber) {
+        if (!channel.subscribers.remove(subscriber) || !channel.subscribers.isEmpty()
+                || channels.get(channel.key) != channel) {
+            return;
+        }
+        if (graceMillis == 0) {
+            detach(channel);
+            return;
+        }
+        channel.pendingDetach = scheduler.schedule(() -> {
+            synchronized (SnapshotListenerRegistry.this) {
+                if (channel.subscribers.isEmpty() && channels.get(channel.key) == channel) {
+                    detach(channel);
+                }
+            }
+        }, graceMillis);
+    }
+
+    private void detach(Channel<?> channel) {
+        channels.remove(channel.key);
+        if (channel.pendingDetach != null) {
+            channel.pendingDetach.cancel();
+            channel.pendingDetach = null;
+        }
+        if (channel.registration != null) {
+            channel.registration.remove();
+        }
+    }
+
+    public interface SnapshotSource<T> {
+        ListenerRegistration attach(EventListener<T> listener);
+    }
+
+    public interface Subscriber<T> {
+        void onSnapshot(T snapshot);
+
+        void onError(String errorMessage);
+    }
+
+    public static final class Subscription {
+        private final SnapshotListenerRegistry registry;
+        private final Channel<?> channel;
+        private final Subscriber<?> subscriber;
+        private boolean released;
+
+        private <T> Subscription(SnapshotListenerRegistry registry, Channel<T> channel, Subscriber<T> subscriber) {
+            this.registry = registry;
+            this.channel = channel;
+            this.subscriber = subscriber;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public void unsubscribe() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            registry.release((Channel) channel, (Subscriber) subscriber);
+        }
+    }
+
+    private static final class Channel<T> {
+        private final String key;
+        private final List<Subscriber<T>> subscribers = new ArrayList<>();
+        private ListenerRegistration registration;
+        private Scheduler.Cancellable pendingDetach;
+        private T latest;
+
+        private Channel(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.soen345.project.realtime;
+
+import com.soen345.project.common.Scheduler;
+
+import java.util.concurrent.Executors;
+
+public final class SnapshotListenerRegistryProvider {
+    private static volatile SnapshotListenerRegistry overrideRegistry;
+    private static SnapshotListenerRegistry registry;
+
+    private SnapshotListenerRegistryProvider() {
+    }
+
+    public static synchronized SnapshotListenerRegistry getRegistry() {
+        SnapshotListenerRegistry override = overrideRegistry;
+        if (override != null) {
+            return override;
+        }
+        if (registry == null) {
+            registry = new SnapshotListenerRegistry(
+                    Executors.newSingleThreadExecutor(),
+                    Scheduler.from(Executors.newSingleThreadScheduledExecutor()),
+                    SnapshotListenerRegistry.DEFAULT_GRACE_MILLIS
+            );
+        }
+        return registry;
+    }
+
+    public static void setRegistryForTesting(SnapshotListenerRegistry snapshotListenerRegistry) {
+        overrideRegistry = snapshotListenerRegistry;
+    }
+
+    public static void clearRegistryForTesting() {
+        overrideRegistry = null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.soen345.project.reservations;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.soen345.project.common.DocumentSizes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class FirestoreReservationChangeSource implements ReservationChangeSource {
+    private static final String SYNC_ERROR = "Could not refresh your reservations.";
+    private static final String RESERVATIONS_COLLECTION = "reservations";
+    private static final ReservationCodec CODEC = new ReservationCodec();
+
+    private final FirebaseFirestore firestore;
+
+    public FirestoreReservationChangeSource(FirebaseFirestore firestore) {
+        this.firestore = firestore;
+    }
+
+    @Override
+    public void fetchChanges(String userEmail, long afterUpdatedAtMillis, String afterDocumentId, int limit, ChangesCallback callback) {
+        firestore
+                .collection(RESERVATIONS_COLLECTION)
+                .whereEqualTo(ReservationCodec.FIELD_USER_EMAIL, userEmail)
+                // Range filters only match values of the bound's type, so a document whose updatedAt was
+                // written as a string or timestamp is never returned and cannot push the cursor past every number.
+                .whereGreaterThanOrEqualTo(ReservationCodec.FIELD_UPDATED_AT, afterUpdatedAtMillis)
+                .orderBy(ReservationCodec.FIELD_UPDATED_AT)
+                .orderBy(FieldPath.documentId())
+                .startAfter(afterUpdatedAtMillis, afterDocumentId)
+                .limit(limit)
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    List<DocumentSnapshot> documents = snapshot.getDocuments();
+                    List<Reservation> changes = new ArrayList<>();
+                    long bytes = 0;
+                    long lastUpdatedAtMillis = afterUpdatedAtMillis;
+                    String lastDocumentId = afterDocumentId;
+                    for (DocumentSnapshot document : documents) {
+                        Map<String, Object> data = document.getData();
+                        bytes += DocumentSizes.document(RESERVATIONS_COLLECTION, document.getId(), data);
+                        Object updatedAt = data == null ? null : data.get(ReservationCodec.FIELD_UPDATED_AT);
+                        if (!(updatedAt instanceof Number)) {
+                            // Only the last numeric position is a cursor the next page can resume from.
+                            continue;
+                        }
+                        Reservation reservation = CODEC.decode(document.getId(), data);
+                        if (reservation != null) {
+                            changes.add(reservation);
+                        }
+                        lastUpdatedAtMillis = ((Number) updatedAt).longValue();
+                        lastDocumentId = document.getId();
+                    }
+                    callback.onSuccess(changes, documents.size(), lastUpdatedAtMillis, lastDocumentId, bytes);
+                })
+                .addOnFailureListener(e -> callback.onError(SYNC_ERROR));
+    }
+}
@@ -0,0 +1,167 @@
+package com.soen345.project.reservations;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Persisted copy of one user's reservation history plus the (updatedAt, document id) high-water mark
+// of the newest change merged into it.
+public class LocalReservationStore {
+    public static final int SCHEMA_VERSION = 1;
+
+    private static final int MAGIC = 0x52535631;
+
+    private final File file;
+    private final Map<String, Reservation> reservations = new LinkedHashMap<>();
+    private boolean loaded;
+    private String owner;
+    private long watermarkMillis;
+    private String watermarkDocumentId = "";
+
+    public LocalReservationStore(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("file cannot be null");
+        }
+        this.file = file;
+    }
+
+    public synchronized String getOwner() {
+        ensureLoaded();
+        return owner;
+    }
+
+    public synchronized long getWatermarkMillis() {
+        ensureLoaded();
+        return watermarkMillis;
+    }
+
+    public synchronized String getWatermarkDocumentId() {
+        ensureLoaded();
+        return watermarkDocumentId;
+    }
+
+    public synchronized List<Reservation> getReservations() {
+        ensureLoaded();
+        List<Reservation> all = new ArrayList<>(reservations.values());
+        Collections.sort(all, (a, b) -> Long.compare(b.getUpdatedAtMillis(), a.getUpdatedAtMillis()));
+        return all;
+    }
+
+    public synchronized List<Reservation> getActiveReservations() {
+        List<Reservation> active = new ArrayList<>();
+        for (Reservation reservation : getReservations()) {
+            if (!reservation.isCancelled()) {
+                active.add(reservation);
+            }
+        }
+        return active;
+    }
+
+    public synchronized void reset(String newOwner) throws IOException {
+        loaded = true;
+        reservations.clear();
+        owner = newOwner;
+        watermarkMillis = 0;
+        watermarkDocumentId = "";
+        if (newOwner == null) {
+            if (file.exists() && !file.delete()) {
+                throw new IOException("Could not delete " + file);
+            }
+            return;
+        }
+        persist();
+    }
+
+    // Cancellations arrive as tombstones with a newer updatedAt, so they simply overwrite the stale entry.
+    public synchronized void merge(List<Reservation> changes, long newWatermarkMillis, String newWatermarkDocumentId) throws IOException {
+        ensureLoaded();
+        for (Reservation change : changes) {
+            reservations.put(change.getId(), change);
+        }
+        watermarkMillis = newWatermarkMillis;
+        watermarkDocumentId = newWatermarkDocumentId == null ? "" : newWatermarkDocumentId;
+        persist();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != SCHEMA_VERSION) {
+                // Unknown layout: leave the store empty and ownerless so the next sync is a full resync.
+                return;
+            }
+            String storedOwner = in.readUTF();
+            long storedWatermark = in.readLong();
+            String storedWatermarkId = in.readUTF();
+            int count = in.readInt();
+            Map<String, Reservation> storedReservations = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                Reservation reservation = new Reservation(
+                        in.readUTF(),
+                        in.readUTF(),
+                        in.readUTF(),
+                        ReservationStatus.fromValue(in.readUTF()),
+                        in.readInt(),
+                        in.readLong()
+                );
+                storedReservations.put(reservation.getId(), reservation);
+            }
+            owner = storedOwner;
+            watermarkMillis = storedWatermark;
+            watermarkDocumentId = storedWatermarkId;
+            reservations.putAll(storedReservations);
+        } catch (IOException | IllegalArgumentException e) {
+            owner = null;
+            watermarkMillis = 0;
+            watermarkDocumentId = "";
+            reservations.clear();
+        }
+    }
+
+    private void persist() throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(SCHEMA_VERSION);
+            out.writeUTF(owner);
+            out.writeLong(watermarkMillis);
+            out.writeUTF(watermarkDocumentId);
+            out.writeInt(reservations.size());
+            for (Reservation reservation : reservations.values()) {
+                out.writeUTF(reservation.getId());
+                out.writeUTF(nonNull(reservation.getUserEmail()));
+                out.writeUTF(nonNull(reservation.getEventId()));
+                out.writeUTF(reservation.getStatus().value());
+                out.writeInt(reservation.getTicketCount());
+                out.writeLong(reservation.getUpdatedAtMillis());
+            }
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    private static String nonNull(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,53 @@
+package com.soen345.project.reservations;
+
+public class Reservation {
+    private final String id;
+    private final String userEmail;
+    private final String eventId;
+    private final ReservationStatus status;
+    private final int ticketCount;
+    private final long updatedAtMillis;
+
+    public Reservation(String id, String userEmail, String eventId, ReservationStatus status, int ticketCount, long updatedAtMillis) {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("id cannot be empty");
+        }
+        if (status == null) {
+            throw new IllegalArgumentException("status cannot be null");
+        }
+        this.id = id;
+        this.userEmail = userEmail;
+        this.eventId = eventId;
+        this.status = status;
+        this.ticketCount = ticketCount;
+        this.updatedAtMillis = updatedAtMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public int getTicketCount() {
+        return ticketCount;
+    }
+
+    public long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+
+    public boolean isCancelled() {
+        return status == ReservationStatus.CANCELLED;
+    }
+}
@@ -0,0 +1,17 @@
+package com.soen345.project.reservations;
+
+import java.util.List;
+
+public interface ReservationChangeSource {
+    // Changes ordered by (updatedAt, document id), strictly after the given cursor.
+    void fetchChanges(String userEmail, long afterUpdatedAtMillis, String afterDocumentId, int limit, ChangesCallback callback);
+
+    interface ChangesCallback {
+        // Documents that fail to decode are left out of changes but still counted in documentCount, and the
+        // cursor is that of the last document read, so one bad document neither ends paging nor stalls it.
+        void onSuccess(List<Reservation> changes, int documentCount, long lastUpdatedAtMillis, String lastDocumentId,
+                       long bytesTransferred);
+
+        void onError(String errorMessage);
+    }
+}
@@ -0,0 +1,49 @@
+package com.soen345.project.reservations;
+
+import com.soen345.project.common.DocumentCodec;
+import com.soen345.project.common.FieldTable;
+
+import java.util.Map;
+
+// reservations/{id}. Status and updatedAt are required: without them a change cannot be ordered or applied.
+public final class ReservationCodec implements DocumentCodec<Reservation> {
+    public static final String FIELD_USER_EMAIL = "userEmail";
+    public static final String FIELD_EVENT_ID = "eventId";
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_TICKET_COUNT = "ticketCount";
+    public static final String FIELD_UPDATED_AT = "updatedAt";
+
+    private static final FieldTable<Reservation> FIELDS = FieldTable.<Reservation>builder()
+            .field(FIELD_USER_EMAIL, Reservation::getUserEmail)
+            .field(FIELD_EVENT_ID, Reservation::getEventId)
+            .field(FIELD_STATUS, reservation -> reservation.getStatus().value())
+            .field(FIELD_TICKET_COUNT, reservation -> (long) reservation.getTicketCount())
+            .field(FIELD_UPDATED_AT, Reservation::getUpdatedAtMillis)
+            .build();
+
+    @Override
+    public Map<String, Object> encode(Reservation reservation) {
+        return FIELDS.encode(reservation);
+    }
+
+    @Override
+    public Reservation decode(String documentId, Map<String, Object> data) {
+        if (data == null || documentId == null || documentId.isEmpty()) {
+            return null;
+        }
+        ReservationStatus status = ReservationStatus.fromValue(FieldTable.readString(data, FIELD_STATUS));
+        Long updatedAt = FieldTable.readLong(data, FIELD_UPDATED_AT);
+        if (status == null || updatedAt == null) {
+            return null;
+        }
+        Long ticketCount = FieldTable.readLong(data, FIELD_TICKET_COUNT);
+        return new Reservation(
+                documentId,
+                FieldTable.readString(data, FIELD_USER_EMAIL),
+                FieldTable.readString(data, FIELD_EVENT_ID),
+                status,
+                ticketCount == null ? 0 : ticketCount.intValue(),
+                updatedAt
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package com.soen345.project.reservations;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public enum ReservationStatus {
+    CONFIRMED("CONFIRMED"),
+    CANCELLED("CANCELLED");
+
+    private final String value;
+
+    private static final Map<String, ReservationStatus> BY_VALUE = new HashMap<>();
+
+    static {
+        for (ReservationStatus constant : values()) {
+            BY_VALUE.put(constant.value, constant);
+        }
+        BY_VALUE.put("CANCELED", CANCELLED);
+    }
+
+    ReservationStatus(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static ReservationStatus fromValue(String rawValue) {
+        if (rawValue == null) {
+            return null;
+        }
+        ReservationStatus exact = BY_VALUE.get(rawValue);
+        if (exact != null) {
+            return exact;
+        }
+        // Stored values are canonical, so only hand-entered input pays for normalizing.
+        return BY_VALUE.get(rawValue.trim().toUpperCase());
+    }
+}
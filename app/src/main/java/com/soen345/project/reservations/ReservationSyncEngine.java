@@ -0,0 +1,102 @@
+package com.soen345.project.reservations;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+public class ReservationSyncEngine {
+    public static final int PAGE_SIZE = 200;
+
+    private static final String STORE_ERROR = "Could not save your reservations on this device.";
+
+    private final LocalReservationStore store;
+    private final ReservationChangeSource source;
+    private final Executor ioExecutor;
+
+    public ReservationSyncEngine(LocalReservationStore store, ReservationChangeSource source, Executor ioExecutor) {
+        if (store == null || source == null || ioExecutor == null) {
+            throw new IllegalArgumentException("store, source and ioExecutor are required");
+        }
+        this.store = store;
+        this.source = source;
+        this.ioExecutor = ioExecutor;
+    }
+
+    public void sync(String userEmail, SyncCallback callback) {
+        if (userEmail == null || userEmail.isEmpty()) {
+            throw new IllegalArgumentException("userEmail cannot be empty");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("callback cannot be null");
+        }
+        ioExecutor.execute(() -> {
+            boolean fullResync = !userEmail.equals(store.getOwner());
+            if (fullResync) {
+                try {
+                    store.reset(userEmail);
+                } catch (IOException e) {
+                    callback.onError(STORE_ERROR);
+                    return;
+                }
+            }
+            fetchPage(userEmail, new SyncResult.Builder(fullResync), callback);
+        });
+    }
+
+    // Called on sign-out so the next user, or the same user signing back in, starts from a clean store.
+    public void reset() {
+        ioExecutor.execute(() -> {
+            try {
+                store.reset(null);
+            } catch (IOException ignored) {
+                // A leftover file is harmless: its owner no longer matches, so the next sync resets it anyway.
+            }
+        });
+    }
+
+    private void fetchPage(String userEmail, SyncResult.Builder result, SyncCallback callback) {
+        source.fetchChanges(userEmail, store.getWatermarkMillis(), store.getWatermarkDocumentId(), PAGE_SIZE,
+                new ReservationChangeSource.ChangesCallback() {
+                    @Override
+                    public void onSuccess(List<Reservation> changes, int documentCount, long lastUpdatedAtMillis,
+                                          String lastDocumentId, long bytesTransferred) {
+                        ioExecutor.execute(() -> mergePage(userEmail, changes, documentCount, lastUpdatedAtMillis,
+                                lastDocumentId, bytesTransferred, result, callback));
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        callback.onError(errorMessage);
+                    }
+                });
+    }
+
+    private void mergePage(String userEmail, List<Reservation> changes, int documentCount, long lastUpdatedAtMillis,
+                           String lastDocumentId, long bytesTransferred, SyncResult.Builder result, SyncCallback callback) {
+        if (!userEmail.equals(store.getOwner())) {
+            // The user signed out while this page was in flight.
+            return;
+        }
+        result.addPage(documentCount, bytesTransferred);
+        if (documentCount > 0) {
+            // The watermark follows what was read, not what decoded, so an undecodable document is not refetched forever.
+            try {
+                store.merge(changes, lastUpdatedAtMillis, lastDocumentId);
+            } catch (IOException e) {
+                callback.onError(STORE_ERROR);
+                return;
+            }
+        }
+        if (documentCount >= PAGE_SIZE) {
+            fetchPage(userEmail, result, callback);
+            return;
+        }
+        callback.onSuccess(result.build(store.getActiveReservations()));
+    }
+
+    public interface SyncCallback {
+        void onSuccess(SyncResult result);
+
+        void onError(String errorMessage);
+    }
+}
@@ -0,0 +1,43 @@
+package com.soen345.project.reservations;
+
+import android.content.Context;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.io.File;
+import java.util.concurrent.Executors;
+
+public final class ReservationSyncProvider {
+    private static final String STORE_FILE_NAME = "reservation_history.bin";
+
+    private static volatile ReservationSyncEngine overrideEngine;
+    private static ReservationSyncEngine engine;
+
+    private ReservationSyncProvider() {
+    }
+
+    // One engine per process so every screen shares the same store and serial io executor.
+    public static synchronized ReservationSyncEngine getSyncEngine(Context context) {
+        ReservationSyncEngine override = overrideEngine;
+        if (override != null) {
+            return override;
+        }
+        if (engine == null) {
+            File storeFile = new File(context.getApplicationContext().getFilesDir(), STORE_FILE_NAME);
+            engine = new ReservationSyncEngine(
+                    new LocalReservationStore(storeFile),
+                    new FirestoreReservationChangeSource(FirebaseFirestore.getInstance()),
+                    Executors.newSingleThreadExecutor()
+            );
+        }
+        return engine;
+    }
+
+    public static void setSyncEngineForTesting(ReservationSyncEngine syncEngine) {
+        overrideEngine = syncEngine;
+    }
+
+    public static void clearSyncEngineForTesting() {
+        overrideEngine = null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.soen345.project.reservations;
+
+import java.util.List;
+
+public final class SyncResult {
+    private final boolean fullResync;
+    private final int documentsFetched;
+    private final long bytesTransferred;
+    private final List<Reservation> activeReservations;
+
+    private SyncResult(boolean fullResync, int documentsFetched, long bytesTransferred, List<Reservation> activeReservations) {
+        this.fullResync = fullResync;
+        this.documentsFetched = documentsFetched;
+        this.bytesTransferred = bytesTransferred;
+        this.activeReservations = activeReservations;
+    }
+
+    public boolean isFullResync() {
+        return fullResync;
+    }
+
+    public int getDocumentsFetched() {
+        return documentsFetched;
+    }
+
+    public long getBytesTransferred() {
+        return bytesTransferred;
+    }
+
+    public List<Reservation> getActiveReservations() {
+        return activeReservations;
+    }
+
+    static final class Builder {
+        private final boolean fullResync;
+        private int documentsFetched;
+        private long bytesTransferred;
+
+        Builder(boolean fullResync) {
+            this.fullResync = fullResync;
+        }
+
+        void addPage(int documents, long bytes) {
+            documentsFetched += documents;
+            bytesTransferred += bytes;
+        }
+
+        SyncResult build(List<Reservation> activeReservations) {
+            return new SyncResult(fullResync, documentsFetched, bytesTransferred, activeReservations);
+        }
+    }
+}
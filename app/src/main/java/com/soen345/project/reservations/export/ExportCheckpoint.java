@@ -0,0 +1,67 @@
+package com.soen345.project.reservations.export;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+// Where an export stopped: the cursor of the last page written and the file length after it. Anything
+// past that length is a page written but not checkpointed, and is cut off and fetched again on resume.
+final class ExportCheckpoint {
+    private static final int MAGIC = 0x45585031;
+
+    final String eventId;
+    // Null before the first page.
+    final String afterDocumentId;
+    final long rowsWritten;
+    final long bytesWritten;
+    // -1 until the count arrives.
+    final long totalRows;
+
+    ExportCheckpoint(String eventId, String afterDocumentId, long rowsWritten, long bytesWritten, long totalRows) {
+        this.eventId = eventId;
+        this.afterDocumentId = afterDocumentId;
+        this.rowsWritten = rowsWritten;
+        this.bytesWritten = bytesWritten;
+        this.totalRows = totalRows;
+    }
+
+    static ExportCheckpoint read(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                return null;
+            }
+            String eventId = in.readUTF();
+            String afterDocumentId = in.readBoolean() ? in.readUTF() : null;
+            return new ExportCheckpoint(eventId, afterDocumentId, in.readLong(), in.readLong(), in.readLong());
+        } catch (IOException e) {
+            // A torn checkpoint only costs a fresh export.
+            return null;
+        }
+    }
+
+    void write(File file) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeUTF(eventId);
+            out.writeBoolean(afterDocumentId != null);
+            if (afterDocumentId != null) {
+                out.writeUTF(afterDocumentId);
+            }
+            out.writeLong(rowsWritten);
+            out.writeLong(bytesWritten);
+            out.writeLong(totalRows);
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+}
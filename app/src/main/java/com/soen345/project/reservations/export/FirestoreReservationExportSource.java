@@ -0,0 +1,64 @@
+package com.soen345.project.reservations.export;
+
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.soen345.project.reservations.Reservation;
+import com.soen345.project.reservations.ReservationCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FirestoreReservationExportSource implements ReservationExportSource {
+    private static final String EXPORT_ERROR = "Could not load reservations for the export.";
+    private static final String RESERVATIONS_COLLECTION = "reservations";
+    private static final ReservationCodec CODEC = new ReservationCodec();
+
+    private final FirebaseFirestore firestore;
+
+    public FirestoreReservationExportSource(FirebaseFirestore firestore) {
+        this.firestore = firestore;
+    }
+
+    @Override
+    public void fetchPage(String eventId, String afterDocumentId, int limit, PageCallback callback) {
+        Query query = forEvent(eventId).orderBy(FieldPath.documentId());
+        if (afterDocumentId != null) {
+            query = query.startAfter(afterDocumentId);
+        }
+        query
+                .limit(limit)
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    List<DocumentSnapshot> documents = snapshot.getDocuments();
+                    List<Reservation> reservations = new ArrayList<>(documents.size());
+                    for (DocumentSnapshot document : documents) {
+                        Reservation reservation = CODEC.decode(document.getId(), document.getData());
+                        if (reservation != null) {
+                            reservations.add(reservation);
+                        }
+                    }
+                    String lastDocumentId = documents.isEmpty() ? afterDocumentId : documents.get(documents.size() - 1).getId();
+                    callback.onSuccess(reservations, lastDocumentId, documents.size() >= limit);
+                })
+                .addOnFailureListener(e -> callback.onError(EXPORT_ERROR));
+    }
+
+    // A count aggregation is billed per batch of index entries rather than per document.
+    @Override
+    public void count(String eventId, CountCallback callback) {
+        forEvent(eventId)
+                .count()
+                .get(AggregateSource.SERVER)
+                .addOnSuccessListener(snapshot -> callback.onSuccess(snapshot.getCount()))
+                .addOnFailureListener(e -> callback.onError(EXPORT_ERROR));
+    }
+
+    private Query forEvent(String eventId) {
+        return firestore
+                .collection(RESERVATIONS_COLLECTION)
+                .whereEqualTo(ReservationCodec.FIELD_EVENT_ID, eventId);
+    }
+}
@@ -0,0 +1,220 @@
+package com.soen345.project.reservations.export;
+
+import com.soen345.project.reservations.Reservation;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+// Exports one event's reservations to CSV without holding them in memory. The next page is requested
+// only after the previous one has been written and flushed, so a slow disk holds back the fetches and at
+// most one page is ever in memory, however large the event. A checkpoint after each page records the
+// cursor and the file length, so a cancelled or failed export resumes where it stopped.
+// Listener calls arrive on the io executor.
+public class ReservationCsvExporter {
+    public static final int PAGE_SIZE = 500;
+
+    private static final String WRITE_ERROR = "Could not write the export file.";
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final int BUFFER_CHARS = 32 * 1024;
+
+    private final ReservationExportSource source;
+    private final Executor ioExecutor;
+    private final int pageSize;
+
+    public ReservationCsvExporter(ReservationExportSource source, Executor ioExecutor) {
+        this(source, ioExecutor, PAGE_SIZE);
+    }
+
+    public ReservationCsvExporter(ReservationExportSource source, Executor ioExecutor, int pageSize) {
+        if (source == null || ioExecutor == null) {
+            throw new IllegalArgumentException("source and ioExecutor are required");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.source = source;
+        this.ioExecutor = ioExecutor;
+        this.pageSize = pageSize;
+    }
+
+    // Resumes a checkpointed export of the same event into target, otherwise starts a new one.
+    public ExportHandle export(String eventId, File target, ExportListener listener) {
+        if (eventId == null || eventId.isEmpty()) {
+            throw new IllegalArgumentException("eventId cannot be empty");
+        }
+        if (target == null || listener == null) {
+            throw new IllegalArgumentException("target and listener are required");
+        }
+        ExportJob job = new ExportJob(eventId, target, listener);
+        ioExecutor.execute(job::start);
+        return job;
+    }
+
+    public static File checkpointFor(File target) {
+        return new File(target.getPath() + CHECKPOINT_SUFFIX);
+    }
+
+    public interface ExportHandle {
+        // Stops after the page in flight; the checkpoint stays so the export can be resumed.
+        void cancel();
+    }
+
+    public interface ExportListener {
+        // totalRows is -1 while the count is unknown.
+        void onProgress(long rowsWritten, long totalRows);
+
+        void onComplete(File file, long rowsWritten);
+
+        void onCancelled(long rowsWritten);
+
+        void onError(String errorMessage);
+    }
+
+    private final class ExportJob implements ExportHandle {
+        private final String eventId;
+        private final File target;
+        private final File checkpointFile;
+        private final ExportListener listener;
+        private volatile boolean cancelled;
+        private volatile long totalRows = -1;
+        private ExportCheckpoint checkpoint;
+        private FileOutputStream file;
+        private BufferedWriter writer;
+        private ReservationCsvWriter csv;
+
+        ExportJob(String eventId, File target, ExportListener listener) {
+            this.eventId = eventId;
+            this.target = target;
+            this.checkpointFile = checkpointFor(target);
+            this.listener = listener;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void start() {
+            ExportCheckpoint saved = ExportCheckpoint.read(checkpointFile);
+            boolean resume = saved != null && saved.eventId.equals(eventId) && target.length() >= saved.bytesWritten;
+            try {
+                File parent = target.getAbsoluteFile().getParentFile();
+                if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                    throw new IOException("Could not create " + parent);
+                }
+                file = new FileOutputStream(target, resume);
+                writer = new BufferedWriter(new OutputStreamWriter(file, StandardCharsets.UTF_8), BUFFER_CHARS);
+                csv = new ReservationCsvWriter(writer);
+                if (resume) {
+                    file.getChannel().truncate(saved.bytesWritten);
+                    checkpoint = saved;
+                    totalRows = saved.totalRows;
+                } else {
+                    csv.writeHeader();
+                    writer.flush();
+                    checkpoint = new ExportCheckpoint(eventId, null, 0, file.getChannel().size(), -1);
+                    checkpoint.write(checkpointFile);
+                }
+            } catch (IOException e) {
+                fail(WRITE_ERROR);
+                return;
+            }
+            if (totalRows < 0) {
+                source.count(eventId, new ReservationExportSource.CountCallback() {
+                    @Override
+                    public void onSuccess(long count) {
+                        totalRows = count;
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        // Progress just stays indeterminate.
+                    }
+                });
+            }
+            fetchNext();
+        }
+
+        private void fetchNext() {
+            if (cancelled) {
+                stopCancelled();
+                return;
+            }
+            source.fetchPage(eventId, checkpoint.afterDocumentId, pageSize, new ReservationExportSource.PageCallback() {
+                @Override
+                public void onSuccess(List<Reservation> reservations, String lastDocumentId, boolean hasMore) {
+                    ioExecutor.execute(() -> writePage(reservations, lastDocumentId, hasMore));
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    ioExecutor.execute(() -> fail(errorMessage));
+                }
+            });
+        }
+
+        private void writePage(List<Reservation> reservations, String lastDocumentId, boolean hasMore) {
+            if (cancelled) {
+                // The page is not checkpointed, so a resume fetches it again.
+                stopCancelled();
+                return;
+            }
+            try {
+                for (Reservation reservation : reservations) {
+                    csv.write(reservation);
+                }
+                writer.flush();
+                checkpoint = new ExportCheckpoint(eventId, lastDocumentId, checkpoint.rowsWritten + reservations.size(),
+                        file.getChannel().size(), totalRows);
+                if (hasMore) {
+                    checkpoint.write(checkpointFile);
+                }
+            } catch (IOException e) {
+                fail(WRITE_ERROR);
+                return;
+            }
+            listener.onProgress(checkpoint.rowsWritten, totalRows);
+            if (hasMore) {
+                fetchNext();
+                return;
+            }
+            if (!close()) {
+                listener.onError(WRITE_ERROR);
+                return;
+            }
+            checkpointFile.delete();
+            listener.onComplete(target, checkpoint.rowsWritten);
+        }
+
+        private void stopCancelled() {
+            close();
+            listener.onCancelled(checkpoint == null ? 0 : checkpoint.rowsWritten);
+        }
+
+        // The checkpoint stays, so retrying the export resumes it.
+        private void fail(String errorMessage) {
+            close();
+            listener.onError(errorMessage);
+        }
+
+        private boolean close() {
+            if (writer == null) {
+                return true;
+            }
+            try {
+                writer.close();
+                return true;
+            } catch (IOException e) {
+                return false;
+            } finally {
+                writer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.soen345.project.reservations.export;
+
+import com.soen345.project.reservations.Reservation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+// RFC 4180 rows. Emails are user input, so a cell a spreadsheet would evaluate as a formula is prefixed
+// with an apostrophe.
+public class ReservationCsvWriter {
+    public static final String HEADER = "reservationId,eventId,userEmail,status,tickets,updatedAt";
+
+    private static final String LINE_END = "\r\n";
+
+    private final Writer out;
+    private final SimpleDateFormat timestamps = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+    private final Date date = new Date();
+
+    public ReservationCsvWriter(Writer out) {
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        this.out = out;
+        timestamps.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    public void writeHeader() throws IOException {
+        out.write(HEADER);
+        out.write(LINE_END);
+    }
+
+    public void write(Reservation reservation) throws IOException {
+        cell(reservation.getId());
+        out.write(',');
+        cell(reservation.getEventId());
+        out.write(',');
+        cell(reservation.getUserEmail());
+        out.write(',');
+        out.write(reservation.getStatus().value());
+        out.write(',');
+        out.write(Integer.toString(reservation.getTicketCount()));
+        out.write(',');
+        date.setTime(reservation.getUpdatedAtMillis());
+        out.write(timestamps.format(date));
+        out.write(LINE_END);
+    }
+
+    private void cell(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean formula = "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+        boolean quoted = formula;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        if (formula) {
+            out.write('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,47 @@
+package com.soen345.project.reservations.export;
+
+import android.content.Context;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.io.File;
+import java.util.concurrent.Executors;
+
+public final class ReservationExportProvider {
+    private static final String EXPORT_DIRECTORY = "exports";
+
+    private static volatile ReservationCsvExporter overrideExporter;
+    private static ReservationCsvExporter exporter;
+
+    private ReservationExportProvider() {
+    }
+
+    // Exports get their own io thread so a long one never delays reservation sync.
+    public static synchronized ReservationCsvExporter getExporter() {
+        ReservationCsvExporter override = overrideExporter;
+        if (override != null) {
+            return override;
+        }
+        if (exporter == null) {
+            exporter = new ReservationCsvExporter(
+                    new FirestoreReservationExportSource(FirebaseFirestore.getInstance()),
+                    Executors.newSingleThreadExecutor()
+            );
+        }
+        return exporter;
+    }
+
+    // A stable name per event, so exporting the same event again resumes an unfinished file.
+    public static File exportFileFor(Context context, String eventId) {
+        String safeName = eventId.replaceAll("[^A-Za-z0-9_-]", "_");
+        return new File(new File(context.getApplicationContext().getFilesDir(), EXPORT_DIRECTORY), "reservations-" + safeName + ".csv");
+    }
+
+    public static void setExporterForTesting(ReservationCsvExporter csvExporter) {
+        overrideExporter = csvExporter;
+    }
+
+    public static void clearExporterForTesting() {
+        overrideExporter = null;
+    }
+}
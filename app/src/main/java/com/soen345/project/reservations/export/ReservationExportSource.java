@@ -0,0 +1,26 @@
+package com.soen345.project.reservations.export;
+
+import com.soen345.project.reservations.Reservation;
+
+import java.util.List;
+
+public interface ReservationExportSource {
+    // One event's reservations ordered by document id, strictly after afterDocumentId; null starts at the
+    // first. lastDocumentId is the cursor for the next page even when the last document could not be decoded.
+    void fetchPage(String eventId, String afterDocumentId, int limit, PageCallback callback);
+
+    // How many reservations the event has, for progress only.
+    void count(String eventId, CountCallback callback);
+
+    interface PageCallback {
+        void onSuccess(List<Reservation> reservations, String lastDocumentId, boolean hasMore);
+
+        void onError(String errorMessage);
+    }
+
+    interface CountCallback {
+        void onSuccess(long count);
+
+        void onError(String errorMessage);
+    }
+}
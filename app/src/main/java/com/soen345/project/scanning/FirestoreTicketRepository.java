@@ -0,0 +1,87 @@
+package com.soen345.project.scanning;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+import com.soen345.project.common.Clock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FirestoreTicketRepository implements TicketSnapshotRepository, ScanEventSink {
+    private static final String DOWNLOAD_ERROR = "Could not download tickets for this event.";
+    private static final String UPLOAD_ERROR = "Could not sync scans. They will be retried.";
+    private static final String RESERVATIONS_COLLECTION = "reservations";
+    private static final String SCAN_EVENTS_COLLECTION = "scan_events";
+    private static final String FIELD_EVENT_ID = "eventId";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_TICKET_ID = "ticketId";
+    private static final String FIELD_RESULT = "result";
+    private static final String FIELD_SCANNED_BY = "scannedBy";
+    private static final String FIELD_SCANNED_AT = "scannedAt";
+    private static final String STATUS_CONFIRMED = "CONFIRMED";
+    private static final int PAGE_SIZE = 1000;
+
+    private final FirebaseFirestore firestore;
+    private final Clock clock;
+
+    public FirestoreTicketRepository(FirebaseFirestore firestore, Clock clock) {
+        this.firestore = firestore;
+        this.clock = clock;
+    }
+
+    @Override
+    public void downloadSnapshot(String eventId, SnapshotCallback callback) {
+        Query query = firestore
+                .collection(RESERVATIONS_COLLECTION)
+                .whereEqualTo(FIELD_EVENT_ID, eventId)
+                .whereEqualTo(FIELD_STATUS, STATUS_CONFIRMED)
+                .orderBy(FieldPath.documentId())
+                .limit(PAGE_SIZE);
+        fetchPage(eventId, query, null, new ArrayList<>(), callback);
+    }
+
+    private void fetchPage(String eventId, Query baseQuery, DocumentSnapshot cursor, List<String> ticketIds, SnapshotCallback callback) {
+        Query page = cursor == null ? baseQuery : baseQuery.startAfter(cursor);
+        page.get()
+                .addOnSuccessListener(snapshot -> {
+                    List<DocumentSnapshot> documents = snapshot.getDocuments();
+                    for (DocumentSnapshot document : documents) {
+                        ticketIds.add(document.getId());
+                    }
+                    if (documents.size() < PAGE_SIZE) {
+                        callback.onSuccess(TicketSnapshot.build(eventId, ticketIds, clock.nowMillis()));
+                        return;
+                    }
+                    fetchPage(eventId, baseQuery, documents.get(documents.size() - 1), ticketIds, callback);
+                })
+                .addOnFailureListener(e -> callback.onError(DOWNLOAD_ERROR));
+    }
+
+    @Override
+    public void upload(List<ScanEvent> batch, SyncCallback callback) {
+        WriteBatch writeBatch = firestore.batch();
+        for (ScanEvent event : batch) {
+            Map<String, Object> data = new HashMap<>();
+            data.put(FIELD_EVENT_ID, event.getEventId());
+            data.put(FIELD_TICKET_ID, event.getTicketId());
+            data.put(FIELD_RESULT, event.getResult().name());
+            data.put(FIELD_SCANNED_BY, event.getScannedBy());
+            data.put(FIELD_SCANNED_AT, event.getScannedAtMillis());
+            writeBatch.set(firestore.collection(SCAN_EVENTS_COLLECTION).document(documentIdFor(event)), data);
+        }
+        writeBatch
+                .commit()
+                .addOnSuccessListener(unused -> callback.onSuccess())
+                .addOnFailureListener(e -> callback.onError(UPLOAD_ERROR));
+    }
+
+    // Retrying a batch whose acknowledgement was lost overwrites the same documents instead of adding copies.
+    static String documentIdFor(ScanEvent event) {
+        return event.getEventId() + "_" + event.getTicketId() + "_" + event.getScannedAtMillis();
+    }
+}
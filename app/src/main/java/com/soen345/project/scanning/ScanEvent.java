@@ -0,0 +1,37 @@
+package com.soen345.project.scanning;
+
+public final class ScanEvent {
+    private final String eventId;
+    private final String ticketId;
+    private final ScanResult result;
+    private final String scannedBy;
+    private final long scannedAtMillis;
+
+    public ScanEvent(String eventId, String ticketId, ScanResult result, String scannedBy, long scannedAtMillis) {
+        this.eventId = eventId;
+        this.ticketId = ticketId;
+        this.result = result;
+        this.scannedBy = scannedBy;
+        this.scannedAtMillis = scannedAtMillis;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public ScanResult getResult() {
+        return result;
+    }
+
+    public String getScannedBy() {
+        return scannedBy;
+    }
+
+    public long getScannedAtMillis() {
+        return scannedAtMillis;
+    }
+}
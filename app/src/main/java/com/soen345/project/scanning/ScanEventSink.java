@@ -0,0 +1,13 @@
+package com.soen345.project.scanning;
+
+import java.util.List;
+
+public interface ScanEventSink {
+    void upload(List<ScanEvent> batch, SyncCallback callback);
+
+    interface SyncCallback {
+        void onSuccess();
+
+        void onError(String errorMessage);
+    }
+}
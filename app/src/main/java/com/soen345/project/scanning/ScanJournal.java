@@ -0,0 +1,141 @@
+package com.soen345.project.scanning;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Append-only log of one door's scans, kept under filesDir so a process killed while offline neither
+// loses queued scans nor forgets who is already inside. Each scan is on disk before its result is shown.
+// An upload acknowledgement only appends how many queued scans reached the backend, so a lost one just
+// re-uploads scans whose document ids are deterministic.
+public class ScanJournal implements Closeable {
+    private static final int MAGIC = 0x5343414e;
+    private static final int FORMAT_VERSION = 1;
+    private static final byte RECORD_SCAN = 1;
+    private static final byte RECORD_UPLOADED = 2;
+    private static final ScanResult[] RESULTS = ScanResult.values();
+
+    private final String eventId;
+    private final List<ScanEvent> recordedScans;
+    private final int uploadedCount;
+    private final FileOutputStream file;
+    private final DataOutputStream out;
+
+    private ScanJournal(String eventId, List<ScanEvent> recordedScans, int uploadedCount, FileOutputStream file) {
+        this.eventId = eventId;
+        this.recordedScans = recordedScans;
+        this.uploadedCount = uploadedCount;
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(file));
+    }
+
+    public static File fileFor(File filesDir, String eventId) {
+        return new File(new File(filesDir, "scans"), eventId.replaceAll("[^A-Za-z0-9_-]", "_") + ".journal");
+    }
+
+    // Replays what an earlier process recorded; a record torn by a crash mid-write is cut off.
+    public static ScanJournal open(File target, String eventId) throws IOException {
+        if (target == null || eventId == null || eventId.isEmpty()) {
+            throw new IllegalArgumentException("target and eventId are required");
+        }
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        List<ScanEvent> scans = new ArrayList<>();
+        int uploaded = 0;
+        long validLength = 0;
+        if (target.length() > 0) {
+            byte[] bytes = new byte[(int) target.length()];
+            try (RandomAccessFile in = new RandomAccessFile(target, "r")) {
+                in.readFully(bytes);
+            }
+            DataInputStream records = new DataInputStream(new ByteArrayInputStream(bytes));
+            try {
+                if (records.readInt() != MAGIC || records.readInt() != FORMAT_VERSION || !records.readUTF().equals(eventId)) {
+                    throw new IOException("Scan journal belongs to another event or format");
+                }
+                validLength = bytes.length - records.available();
+                while (records.available() > 0) {
+                    byte type = records.readByte();
+                    if (type == RECORD_SCAN) {
+                        String ticketId = records.readUTF();
+                        int result = records.readByte();
+                        String scannedBy = records.readUTF();
+                        long scannedAtMillis = records.readLong();
+                        if (result < 0 || result >= RESULTS.length) {
+                            break;
+                        }
+                        scans.add(new ScanEvent(eventId, ticketId, RESULTS[result], scannedBy, scannedAtMillis));
+                    } else if (type == RECORD_UPLOADED) {
+                        uploaded = Math.min(scans.size(), uploaded + records.readInt());
+                    } else {
+                        break;
+                    }
+                    validLength = bytes.length - records.available();
+                }
+            } catch (EOFException tornTail) {
+                // The last record was cut short, so its scan was never shown as a result.
+            }
+        }
+        FileOutputStream file = new FileOutputStream(target, true);
+        ScanJournal journal = new ScanJournal(eventId, scans, uploaded, file);
+        file.getChannel().truncate(validLength);
+        if (validLength == 0) {
+            journal.out.writeInt(MAGIC);
+            journal.out.writeInt(FORMAT_VERSION);
+            journal.out.writeUTF(eventId);
+            journal.sync();
+        }
+        return journal;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    // Every scan in scan order, uploaded or not, as found when the journal was opened.
+    public List<ScanEvent> getRecordedScans() {
+        return Collections.unmodifiableList(recordedScans);
+    }
+
+    // How many of the recorded scans, counted from the first, already reached the backend.
+    public int getUploadedCount() {
+        return uploadedCount;
+    }
+
+    public synchronized void appendScan(ScanEvent event) throws IOException {
+        out.writeByte(RECORD_SCAN);
+        out.writeUTF(event.getTicketId());
+        out.writeByte(event.getResult().ordinal());
+        out.writeUTF(event.getScannedBy());
+        out.writeLong(event.getScannedAtMillis());
+        sync();
+    }
+
+    public synchronized void appendUploaded(int count) throws IOException {
+        out.writeByte(RECORD_UPLOADED);
+        out.writeInt(count);
+        sync();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    private void sync() throws IOException {
+        out.flush();
+        file.getFD().sync();
+    }
+}
@@ -0,0 +1,7 @@
+package com.soen345.project.scanning;
+
+public enum ScanResult {
+    VALID,
+    ALREADY_SCANNED,
+    INVALID
+}
@@ -0,0 +1,80 @@
+package com.soen345.project.scanning;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ScanSyncer {
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private static final String JOURNAL_ERROR = "Could not save sync progress. Some scans may upload again.";
+
+    private final TicketScanner scanner;
+    private final ScanEventSink sink;
+    private final int batchSize;
+    private final AtomicBoolean syncing = new AtomicBoolean();
+
+    public ScanSyncer(TicketScanner scanner, ScanEventSink sink, int batchSize) {
+        if (scanner == null) {
+            throw new IllegalArgumentException("scanner cannot be null");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("sink cannot be null");
+        }
+        if (batchSize <= 0 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        this.scanner = scanner;
+        this.sink = sink;
+        this.batchSize = batchSize;
+    }
+
+    // Call when connectivity returns; a sync already in flight keeps draining, so repeated calls are cheap.
+    public void syncNow(ScanEventSink.SyncCallback callback) {
+        if (!syncing.compareAndSet(false, true)) {
+            return;
+        }
+        uploadNextBatch(callback);
+    }
+
+    public boolean isSyncing() {
+        return syncing.get();
+    }
+
+    private void uploadNextBatch(ScanEventSink.SyncCallback callback) {
+        List<ScanEvent> batch = scanner.takeBatch(batchSize);
+        if (batch.isEmpty()) {
+            syncing.set(false);
+            if (callback != null) {
+                callback.onSuccess();
+            }
+            return;
+        }
+        sink.upload(batch, new ScanEventSink.SyncCallback() {
+            @Override
+            public void onSuccess() {
+                try {
+                    scanner.acknowledgeBatch(batch);
+                } catch (IOException e) {
+                    // The batch reached the backend; after a restart it is uploaded again, which
+                    // overwrites the same documents.
+                    syncing.set(false);
+                    if (callback != null) {
+                        callback.onError(JOURNAL_ERROR);
+                    }
+                    return;
+                }
+                uploadNextBatch(callback);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                scanner.restoreBatch(batch);
+                syncing.set(false);
+                if (callback != null) {
+                    callback.onError(errorMessage);
+                }
+            }
+        });
+    }
+}
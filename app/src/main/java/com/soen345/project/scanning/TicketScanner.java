@@ -0,0 +1,101 @@
+package com.soen345.project.scanning;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class TicketScanner {
+    private final TicketSnapshot snapshot;
+    private final ScanJournal journal;
+    private final String scannedBy;
+    private final Clock clock;
+    private final BitSet admitted;
+    private final ArrayDeque<ScanEvent> pendingEvents = new ArrayDeque<>();
+
+    // The journal's recorded scans are replayed, so a restarted app keeps its queue and admissions.
+    public TicketScanner(AuthSession session, TicketSnapshot snapshot, Clock clock, ScanJournal journal) {
+        if (session == null || session.getRole() != UserRole.ADMIN) {
+            throw new IllegalArgumentException("Only administrators can scan tickets");
+        }
+        if (snapshot == null) {
+            throw new IllegalArgumentException("snapshot cannot be null");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("clock cannot be null");
+        }
+        if (journal == null || !journal.getEventId().equals(snapshot.getEventId())) {
+            throw new IllegalArgumentException("journal must belong to the snapshot's event");
+        }
+        this.snapshot = snapshot;
+        this.journal = journal;
+        this.scannedBy = session.getEmail();
+        this.clock = clock;
+        this.admitted = new BitSet(snapshot.size());
+        List<ScanEvent> recorded = journal.getRecordedScans();
+        for (ScanEvent event : recorded) {
+            int index = event.getResult() == ScanResult.VALID ? snapshot.indexOf(event.getTicketId()) : -1;
+            if (index >= 0) {
+                admitted.set(index);
+            }
+        }
+        pendingEvents.addAll(recorded.subList(journal.getUploadedCount(), recorded.size()));
+    }
+
+    public synchronized ScanResult scan(String ticketId) {
+        int index = snapshot.indexOf(ticketId);
+        ScanResult result;
+        if (index < 0) {
+            result = ScanResult.INVALID;
+        } else if (admitted.get(index)) {
+            result = ScanResult.ALREADY_SCANNED;
+        } else {
+            result = ScanResult.VALID;
+        }
+        ScanEvent event = new ScanEvent(snapshot.getEventId(), ticketId, result, scannedBy, clock.nowMillis());
+        try {
+            journal.appendScan(event);
+        } catch (IOException e) {
+            // Nothing is admitted that a restart would forget; the ticket can simply be scanned again.
+            throw new UncheckedIOException("Could not record the scan", e);
+        }
+        if (result == ScanResult.VALID) {
+            admitted.set(index);
+        }
+        pendingEvents.addLast(event);
+        return result;
+    }
+
+    public synchronized int getAdmittedCount() {
+        return admitted.cardinality();
+    }
+
+    public synchronized int getPendingEventCount() {
+        return pendingEvents.size();
+    }
+
+    synchronized List<ScanEvent> takeBatch(int maxSize) {
+        List<ScanEvent> batch = new ArrayList<>(Math.min(maxSize, pendingEvents.size()));
+        while (batch.size() < maxSize && !pendingEvents.isEmpty()) {
+            batch.add(pendingEvents.pollFirst());
+        }
+        return batch;
+    }
+
+    synchronized void acknowledgeBatch(List<ScanEvent> batch) throws IOException {
+        journal.appendUploaded(batch.size());
+    }
+
+    // Failed uploads go back to the front so events still reach the backend in scan order.
+    synchronized void restoreBatch(List<ScanEvent> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            pendingEvents.addFirst(batch.get(i));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.soen345.project.scanning;
+
+import com.soen345.project.common.BloomFilter;
+import com.soen345.project.common.Fingerprints;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+
+// Valid ticket IDs for one event, held as sorted 64-bit fingerprints with a Bloom filter in front,
+// so a scan is a few bit probes for unknown tickets and one binary search for known ones.
+public final class TicketSnapshot {
+    private static final int MAGIC = 0x54534e50;
+    private static final int FORMAT_VERSION = 1;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final String eventId;
+    private final long createdAtMillis;
+    private final long[] fingerprints;
+    private final BloomFilter bloomFilter;
+
+    private TicketSnapshot(String eventId, long createdAtMillis, long[] fingerprints, BloomFilter bloomFilter) {
+        this.eventId = eventId;
+        this.createdAtMillis = createdAtMillis;
+        this.fingerprints = fingerprints;
+        this.bloomFilter = bloomFilter;
+    }
+
+    public static TicketSnapshot build(String eventId, Collection<String> ticketIds, long createdAtMillis) {
+        if (eventId == null || eventId.isEmpty()) {
+            throw new IllegalArgumentException("eventId cannot be empty");
+        }
+        if (ticketIds == null) {
+            throw new IllegalArgumentException("ticketIds cannot be null");
+        }
+        long[] fingerprints = new long[ticketIds.size()];
+        int count = 0;
+        for (String ticketId : ticketIds) {
+            fingerprints[count++] = Fingerprints.fingerprint64(ticketId);
+        }
+        Arrays.sort(fingerprints);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || fingerprints[unique - 1] != fingerprints[i]) {
+                fingerprints[unique++] = fingerprints[i];
+            }
+        }
+        long[] sorted = Arrays.copyOf(fingerprints, unique);
+        BloomFilter bloomFilter = new BloomFilter(Math.max(1, unique), FALSE_POSITIVE_RATE);
+        for (long fingerprint : sorted) {
+            bloomFilter.put(fingerprint);
+        }
+        return new TicketSnapshot(eventId, createdAtMillis, sorted, bloomFilter);
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public int size() {
+        return fingerprints.length;
+    }
+
+    int indexOf(String ticketId) {
+        if (ticketId == null || ticketId.isEmpty()) {
+            return -1;
+        }
+        long fingerprint = Fingerprints.fingerprint64(ticketId);
+        if (!bloomFilter.mightContain(fingerprint)) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(fingerprints, fingerprint);
+        return index >= 0 ? index : -1;
+    }
+
+    public boolean contains(String ticketId) {
+        return indexOf(ticketId) >= 0;
+    }
+
+    // Fingerprints are delta-encoded as unsigned varints; sorted hashes of 100k tickets need ~6 bytes each.
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(eventId);
+        out.writeLong(createdAtMillis);
+        out.writeInt(fingerprints.length);
+        long previous = Long.MIN_VALUE;
+        for (long fingerprint : fingerprints) {
+            writeVarLong(out, fingerprint - previous);
+            previous = fingerprint;
+        }
+        bloomFilter.writeTo(out);
+        out.flush();
+    }
+
+    public static TicketSnapshot readFrom(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a ticket snapshot");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported ticket snapshot version " + version);
+        }
+        String eventId = in.readUTF();
+        long createdAtMillis = in.readLong();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupt ticket snapshot");
+        }
+        long[] fingerprints = new long[count];
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            previous += readVarLong(in);
+            fingerprints[i] = previous;
+        }
+        return new TicketSnapshot(eventId, createdAtMillis, fingerprints, BloomFilter.readFrom(in));
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,11 @@
+package com.soen345.project.scanning;
+
+public interface TicketSnapshotRepository {
+    void downloadSnapshot(String eventId, SnapshotCallback callback);
+
+    interface SnapshotCallback {
+        void onSuccess(TicketSnapshot snapshot);
+
+        void onError(String errorMessage);
+    }
+}
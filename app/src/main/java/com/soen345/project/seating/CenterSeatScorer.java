@@ -0,0 +1,19 @@
+package com.soen345.project.seating;
+
+public class CenterSeatScorer implements SeatScorer {
+    private final int idealRowNumber;
+
+    public CenterSeatScorer(int idealRowNumber) {
+        this.idealRowNumber = idealRowNumber;
+    }
+
+    @Override
+    public double rowScore(SeatRow row) {
+        return -Math.abs(row.getRowNumber() - idealRowNumber);
+    }
+
+    @Override
+    public int preferredStart(SeatRow row, int count) {
+        return Math.max(0, (row.getSeatCount() - count) / 2);
+    }
+}
@@ -0,0 +1,227 @@
+package com.soen345.project.seating;
+
+import java.util.Arrays;
+
+// Segment tree over one row. Each node keeps the free run touching its left edge, its right edge,
+// and the longest free run inside it, so contiguous-block queries never scan individual seats.
+final class RowAvailability {
+    private static final byte NO_ASSIGNMENT = -1;
+    private static final byte OCCUPIED = 0;
+    private static final byte FREE = 1;
+
+    private final int size;
+    private final int[] prefix;
+    private final int[] suffix;
+    private final int[] longest;
+    private final byte[] pending;
+    private final int[] scratch = new int[128];
+    private int scratchCount;
+
+    RowAvailability(int size) {
+        this.size = size;
+        int capacity = 4 * size;
+        prefix = new int[capacity];
+        suffix = new int[capacity];
+        longest = new int[capacity];
+        pending = new byte[capacity];
+        Arrays.fill(pending, NO_ASSIGNMENT);
+        build(1, 0, size - 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int longestFreeRun() {
+        return longest[1];
+    }
+
+    void occupy(int start, int count) {
+        assign(1, 0, size - 1, start, start + count - 1, OCCUPIED);
+    }
+
+    void free(int start, int count) {
+        assign(1, 0, size - 1, start, start + count - 1, FREE);
+    }
+
+    boolean isFree(int start, int count) {
+        if (start < 0 || count <= 0 || start + count > size) {
+            return false;
+        }
+        collect(1, 0, size - 1, start, start + count - 1);
+        for (int i = 0; i < scratchCount; i += 3) {
+            int node = scratch[i];
+            if (longest[node] != scratch[i + 2] - scratch[i + 1] + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Start of the free block of length count closest to target; ties go to the lower seat.
+    int closestBlockStart(int count, int target) {
+        if (count > longest[1]) {
+            return -1;
+        }
+        int clamped = Math.max(0, Math.min(target, size - count));
+        int right = firstStartAtOrAfter(clamped, count);
+        int left = lastStartAtOrBefore(clamped, count);
+        if (left < 0) {
+            return right;
+        }
+        if (right < 0) {
+            return left;
+        }
+        return clamped - left <= right - clamped ? left : right;
+    }
+
+    private int firstStartAtOrAfter(int from, int count) {
+        collect(1, 0, size - 1, from, size - 1);
+        int carry = 0;
+        for (int i = 0; i < scratchCount; i += 3) {
+            int node = scratch[i];
+            int low = scratch[i + 1];
+            int high = scratch[i + 2];
+            if (carry + prefix[node] >= count) {
+                return low - carry;
+            }
+            if (longest[node] >= count) {
+                return descendFirst(node, low, high, count);
+            }
+            carry = prefix[node] == high - low + 1 ? carry + prefix[node] : suffix[node];
+        }
+        return -1;
+    }
+
+    private int lastStartAtOrBefore(int from, int count) {
+        collect(1, 0, size - 1, 0, Math.min(size - 1, from + count - 1));
+        int carry = 0;
+        for (int i = scratchCount - 3; i >= 0; i -= 3) {
+            int node = scratch[i];
+            int low = scratch[i + 1];
+            int high = scratch[i + 2];
+            if (suffix[node] + carry >= count) {
+                return high + carry - count + 1;
+            }
+            if (longest[node] >= count) {
+                return descendLast(node, low, high, count);
+            }
+            carry = suffix[node] == high - low + 1 ? carry + suffix[node] : prefix[node];
+        }
+        return -1;
+    }
+
+    private int descendFirst(int node, int low, int high, int count) {
+        while (low < high) {
+            push(node, low, high);
+            int mid = (low + high) >>> 1;
+            int left = node * 2;
+            int right = left + 1;
+            if (longest[left] >= count) {
+                node = left;
+                high = mid;
+            } else if (suffix[left] + prefix[right] >= count) {
+                return mid - suffix[left] + 1;
+            } else {
+                node = right;
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private int descendLast(int node, int low, int high, int count) {
+        while (low < high) {
+            push(node, low, high);
+            int mid = (low + high) >>> 1;
+            int left = node * 2;
+            int right = left + 1;
+            if (longest[right] >= count) {
+                node = right;
+                low = mid + 1;
+            } else if (suffix[left] + prefix[right] >= count) {
+                return mid + prefix[right] - count + 1;
+            } else {
+                node = left;
+                high = mid;
+            }
+        }
+        return low - count + 1;
+    }
+
+    // Gathers the canonical nodes covering [from, to] in left-to-right order as (node, low, high) triples.
+    private void collect(int node, int low, int high, int from, int to) {
+        scratchCount = 0;
+        collectInto(node, low, high, from, to);
+    }
+
+    private void collectInto(int node, int low, int high, int from, int to) {
+        if (to < low || high < from) {
+            return;
+        }
+        if (from <= low && high <= to) {
+            scratch[scratchCount++] = node;
+            scratch[scratchCount++] = low;
+            scratch[scratchCount++] = high;
+            return;
+        }
+        push(node, low, high);
+        int mid = (low + high) >>> 1;
+        collectInto(node * 2, low, mid, from, to);
+        collectInto(node * 2 + 1, mid + 1, high, from, to);
+    }
+
+    private void build(int node, int low, int high) {
+        setAll(node, high - low + 1, FREE);
+        if (low == high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        build(node * 2, low, mid);
+        build(node * 2 + 1, mid + 1, high);
+    }
+
+    private void assign(int node, int low, int high, int from, int to, byte state) {
+        if (to < low || high < from) {
+            return;
+        }
+        if (from <= low && high <= to) {
+            setAll(node, high - low + 1, state);
+            pending[node] = state;
+            return;
+        }
+        push(node, low, high);
+        int mid = (low + high) >>> 1;
+        assign(node * 2, low, mid, from, to, state);
+        assign(node * 2 + 1, mid + 1, high, from, to, state);
+        pull(node, mid - low + 1, high - mid);
+    }
+
+    private void push(int node, int low, int high) {
+        byte state = pending[node];
+        if (state == NO_ASSIGNMENT || low == high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        setAll(node * 2, mid - low + 1, state);
+        pending[node * 2] = state;
+        setAll(node * 2 + 1, high - mid, state);
+        pending[node * 2 + 1] = state;
+        pending[node] = NO_ASSIGNMENT;
+    }
+
+    private void pull(int node, int leftLength, int rightLength) {
+        int left = node * 2;
+        int right = left + 1;
+        prefix[node] = prefix[left] == leftLength ? leftLength + prefix[right] : prefix[left];
+        suffix[node] = suffix[right] == rightLength ? rightLength + suffix[left] : suffix[right];
+        longest[node] = Math.max(Math.max(longest[left], longest[right]), suffix[left] + prefix[right]);
+    }
+
+    private void setAll(int node, int length, byte state) {
+        int value = state == FREE ? length : 0;
+        prefix[node] = value;
+        suffix[node] = value;
+        longest[node] = value;
+    }
+}
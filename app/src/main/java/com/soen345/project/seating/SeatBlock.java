@@ -0,0 +1,47 @@
+package com.soen345.project.seating;
+
+public final class SeatBlock {
+    private final int rowIndex;
+    private final int startSeat;
+    private final int count;
+
+    public SeatBlock(int rowIndex, int startSeat, int count) {
+        this.rowIndex = rowIndex;
+        this.startSeat = startSeat;
+        this.count = count;
+    }
+
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    public int getStartSeat() {
+        return startSeat;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SeatBlock)) {
+            return false;
+        }
+        SeatBlock block = (SeatBlock) other;
+        return rowIndex == block.rowIndex && startSeat == block.startSeat && count == block.count;
+    }
+
+    @Override
+    public int hashCode() {
+        return (rowIndex * 31 + startSeat) * 31 + count;
+    }
+
+    @Override
+    public String toString() {
+        return "SeatBlock{row=" + rowIndex + ", start=" + startSeat + ", count=" + count + "}";
+    }
+}
@@ -0,0 +1,120 @@
+package com.soen345.project.seating;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SeatMap {
+    private final List<SeatRow> rows;
+    private final SeatScorer scorer;
+    private final RowAvailability[] availability;
+    private final Map<String, ZoneIndex> zones = new HashMap<>();
+
+    public SeatMap(List<SeatRow> rows, SeatScorer scorer) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("rows cannot be empty");
+        }
+        if (scorer == null) {
+            throw new IllegalArgumentException("scorer cannot be null");
+        }
+        this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+        this.scorer = scorer;
+        this.availability = new RowAvailability[this.rows.size()];
+
+        Map<String, List<Integer>> rowsByZone = new HashMap<>();
+        for (int i = 0; i < this.rows.size(); i++) {
+            SeatRow row = this.rows.get(i);
+            availability[i] = new RowAvailability(row.getSeatCount());
+            List<Integer> zoneRows = rowsByZone.get(row.getZone());
+            if (zoneRows == null) {
+                zoneRows = new ArrayList<>();
+                rowsByZone.put(row.getZone(), zoneRows);
+            }
+            zoneRows.add(i);
+        }
+        for (Map.Entry<String, List<Integer>> entry : rowsByZone.entrySet()) {
+            List<Integer> zoneRows = entry.getValue();
+            // Stable sort keeps venue order as the tie-breaker between rows with equal scores.
+            Collections.sort(zoneRows, (a, b) -> Double.compare(
+                    scorer.rowScore(this.rows.get(b)),
+                    scorer.rowScore(this.rows.get(a))));
+            int[] ordered = new int[zoneRows.size()];
+            for (int i = 0; i < ordered.length; i++) {
+                ordered[i] = zoneRows.get(i);
+            }
+            ZoneIndex zoneIndex = new ZoneIndex(ordered, this.rows.size());
+            for (int rowIndex : ordered) {
+                zoneIndex.update(rowIndex, availability[rowIndex].longestFreeRun());
+            }
+            zones.put(entry.getKey(), zoneIndex);
+        }
+    }
+
+    public List<SeatRow> getRows() {
+        return rows;
+    }
+
+    public synchronized SeatBlock findBest(String zone, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        ZoneIndex zoneIndex = zones.get(zone);
+        if (zoneIndex == null) {
+            return null;
+        }
+        int rowIndex = zoneIndex.bestRowWithRun(count);
+        if (rowIndex < 0) {
+            return null;
+        }
+        SeatRow row = rows.get(rowIndex);
+        int start = availability[rowIndex].closestBlockStart(count, scorer.preferredStart(row, count));
+        return new SeatBlock(rowIndex, start, count);
+    }
+
+    public synchronized boolean reserve(SeatBlock block) {
+        RowAvailability row = rowFor(block);
+        if (!row.isFree(block.getStartSeat(), block.getCount())) {
+            return false;
+        }
+        row.occupy(block.getStartSeat(), block.getCount());
+        refreshZone(block.getRowIndex());
+        return true;
+    }
+
+    public synchronized void release(SeatBlock block) {
+        RowAvailability row = rowFor(block);
+        if (block.getStartSeat() < 0 || block.getStartSeat() + block.getCount() > row.size()) {
+            throw new IllegalArgumentException("block is outside the row");
+        }
+        row.free(block.getStartSeat(), block.getCount());
+        refreshZone(block.getRowIndex());
+    }
+
+    public synchronized boolean isAvailable(int rowIndex, int seat) {
+        return availability[rowIndex].isFree(seat, 1);
+    }
+
+    public synchronized SeatBlock reserveBest(String zone, int count) {
+        SeatBlock block = findBest(zone, count);
+        if (block != null) {
+            reserve(block);
+        }
+        return block;
+    }
+
+    private RowAvailability rowFor(SeatBlock block) {
+        if (block == null) {
+            throw new IllegalArgumentException("block cannot be null");
+        }
+        if (block.getRowIndex() < 0 || block.getRowIndex() >= availability.length) {
+            throw new IllegalArgumentException("unknown row " + block.getRowIndex());
+        }
+        return availability[block.getRowIndex()];
+    }
+
+    private void refreshZone(int rowIndex) {
+        zones.get(rows.get(rowIndex).getZone()).update(rowIndex, availability[rowIndex].longestFreeRun());
+    }
+}
@@ -0,0 +1,31 @@
+package com.soen345.project.seating;
+
+public final class SeatRow {
+    private final String zone;
+    private final int rowNumber;
+    private final int seatCount;
+
+    public SeatRow(String zone, int rowNumber, int seatCount) {
+        if (zone == null || zone.isEmpty()) {
+            throw new IllegalArgumentException("zone cannot be empty");
+        }
+        if (seatCount <= 0) {
+            throw new IllegalArgumentException("seatCount must be positive");
+        }
+        this.zone = zone;
+        this.rowNumber = rowNumber;
+        this.seatCount = seatCount;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+}
@@ -0,0 +1,7 @@
+package com.soen345.project.seating;
+
+public interface SeatScorer {
+    double rowScore(SeatRow row);
+
+    int preferredStart(SeatRow row, int count);
+}
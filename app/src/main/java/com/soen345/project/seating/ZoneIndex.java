@@ -0,0 +1,43 @@
+package com.soen345.project.seating;
+
+// Max segment tree over the rows of one zone, ordered from best to worst row score, so the best row
+// that still has a long enough free run is found by a single descent.
+final class ZoneIndex {
+    private final int[] rowIndices;
+    private final int[] slotByRow;
+    private final int leafOffset;
+    private final int[] tree;
+
+    ZoneIndex(int[] rowIndicesByScore, int totalRows) {
+        this.rowIndices = rowIndicesByScore;
+        this.slotByRow = new int[totalRows];
+        int offset = 1;
+        while (offset < rowIndicesByScore.length) {
+            offset *= 2;
+        }
+        this.leafOffset = offset;
+        this.tree = new int[offset * 2];
+        for (int slot = 0; slot < rowIndicesByScore.length; slot++) {
+            slotByRow[rowIndicesByScore[slot]] = slot;
+        }
+    }
+
+    void update(int rowIndex, int longestFreeRun) {
+        int node = leafOffset + slotByRow[rowIndex];
+        tree[node] = longestFreeRun;
+        for (node /= 2; node >= 1; node /= 2) {
+            tree[node] = Math.max(tree[node * 2], tree[node * 2 + 1]);
+        }
+    }
+
+    int bestRowWithRun(int count) {
+        if (tree[1] < count) {
+            return -1;
+        }
+        int node = 1;
+        while (node < leafOffset) {
+            node = tree[node * 2] >= count ? node * 2 : node * 2 + 1;
+        }
+        return rowIndices[node - leafOffset];
+    }
+}
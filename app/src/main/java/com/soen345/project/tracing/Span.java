@@ -0,0 +1,124 @@
+package com.soen345.project.tracing;
+
+import java.util.Arrays;
+
+// One timed step of a trace. A span is started and ended by a single flow (a tap and the callbacks it
+// triggers), so only end() publishes it to other threads, through the tracer's buffer.
+public final class Span {
+    public static final Span NOOP = new Span(null, null, 0L, 0L, 0L, 0L);
+
+    private static final Scope NOOP_SCOPE = () -> {
+    };
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final Tracer tracer;
+    private final String name;
+    private final long traceId;
+    private final long spanId;
+    private final long parentSpanId;
+    private final long startNanos;
+    private long endNanos;
+    private String[] attributes;
+    private int attributeCount;
+    long sequence;
+
+    Span(Tracer tracer, String name, long traceId, long spanId, long parentSpanId, long startNanos) {
+        this.tracer = tracer;
+        this.name = name;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.startNanos = startNanos;
+    }
+
+    // The span activated on this thread, or NOOP. Callers that start children from it never need a tracer.
+    public static Span current() {
+        Span span = CURRENT.get();
+        return span == null ? NOOP : span;
+    }
+
+    public boolean isSampled() {
+        return tracer != null;
+    }
+
+    public Span startChild(String name) {
+        if (tracer == null) {
+            return NOOP;
+        }
+        return tracer.startSpan(name, traceId, spanId);
+    }
+
+    public Span setAttribute(String key, String value) {
+        if (tracer == null || endNanos != 0) {
+            return this;
+        }
+        if (attributes == null) {
+            attributes = new String[4];
+        } else if (attributeCount == attributes.length) {
+            attributes = Arrays.copyOf(attributes, attributes.length * 2);
+        }
+        attributes[attributeCount++] = key;
+        attributes[attributeCount++] = value == null ? "" : value;
+        return this;
+    }
+
+    public void end() {
+        if (tracer == null || endNanos != 0) {
+            return;
+        }
+        endNanos = Math.max(startNanos + 1, tracer.nowNanos());
+        tracer.record(this);
+    }
+
+    // Makes this span current on the calling thread until the scope closes. Async callbacks run later on
+    // another stack, so code that continues a trace there captures the span and activates it again.
+    public Scope activate() {
+        if (tracer == null) {
+            return NOOP_SCOPE;
+        }
+        Span previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> CURRENT.set(previous);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getTraceId() {
+        return traceId;
+    }
+
+    public long getSpanId() {
+        return spanId;
+    }
+
+    public long getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public long getStartMicros() {
+        return tracer.toEpochMicros(startNanos);
+    }
+
+    public long getDurationMicros() {
+        return (endNanos - startNanos) / 1000;
+    }
+
+    public int getAttributeCount() {
+        return attributeCount / 2;
+    }
+
+    public String getAttributeKey(int index) {
+        return attributes[index * 2];
+    }
+
+    public String getAttributeValue(int index) {
+        return attributes[index * 2 + 1];
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,61 @@
+package com.soen345.project.tracing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Ring of finished spans. Producers claim a sequence with one atomic increment and publish into its slot
+// without locking, so ending a span never blocks the main thread behind the exporter. When the exporter
+// falls a full lap behind, the oldest spans are overwritten and counted as dropped.
+public final class SpanBuffer {
+    private final AtomicReferenceArray<Span> slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long drained;
+
+    public SpanBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public void offer(Span span) {
+        long sequence = claimed.getAndIncrement();
+        span.sequence = sequence;
+        if (slots.getAndSet((int) (sequence & mask), span) != null) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // Single consumer. Stops at the first slot whose producer has claimed it but not yet published, so
+    // spans always leave in sequence order.
+    public synchronized int drainTo(List<Span> out) {
+        long end = claimed.get();
+        long sequence = Math.max(drained, end - slots.length());
+        int count = 0;
+        for (; sequence < end; sequence++) {
+            int index = (int) (sequence & mask);
+            Span span = slots.get(index);
+            if (span == null || span.sequence != sequence) {
+                break;
+            }
+            if (slots.compareAndSet(index, span, null)) {
+                out.add(span);
+                count++;
+            }
+        }
+        drained = sequence;
+        return count;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,96 @@
+package com.soen345.project.tracing;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Appends finished spans to a file in the Chrome trace event format, which chrome://tracing and Perfetto
+// open directly. The format allows the closing bracket to be missing, so each flush only appends.
+public final class TraceFileExporter {
+    private final File file;
+    private final long maxFileBytes;
+
+    public TraceFileExporter(File file, long maxFileBytes) {
+        if (file == null) {
+            throw new IllegalArgumentException("file cannot be null");
+        }
+        if (maxFileBytes <= 0) {
+            throw new IllegalArgumentException("maxFileBytes must be positive");
+        }
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+    }
+
+    public synchronized int flush(SpanBuffer buffer) throws IOException {
+        List<Span> spans = new ArrayList<>();
+        if (buffer.drainTo(spans) == 0) {
+            return 0;
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        // One previous file is kept so a trace that straddles the rollover is not cut in half on disk.
+        if (file.length() > maxFileBytes) {
+            File previous = new File(file.getPath() + ".1");
+            if ((previous.exists() && !previous.delete()) || !file.renameTo(previous)) {
+                throw new IOException("Could not roll over " + file);
+            }
+        }
+        boolean fresh = file.length() == 0;
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8))) {
+            if (fresh) {
+                out.write("[\n");
+            }
+            for (Span span : spans) {
+                writeEvent(out, span);
+            }
+        }
+        return spans.size();
+    }
+
+    // Complete ("X") events on a per-trace row: the spans of one trace nest in time, which is what the
+    // viewers need to stack them.
+    private static void writeEvent(Writer out, Span span) throws IOException {
+        StringBuilder event = new StringBuilder(160)
+                .append("{\"name\":").append(quote(span.getName()))
+                .append(",\"cat\":\"app\",\"ph\":\"X\",\"ts\":").append(span.getStartMicros())
+                .append(",\"dur\":").append(span.getDurationMicros())
+                .append(",\"pid\":1,\"tid\":").append(span.getTraceId() & 0x7fffffffL)
+                .append(",\"args\":{\"traceId\":\"").append(hex(span.getTraceId()))
+                .append("\",\"spanId\":\"").append(hex(span.getSpanId())).append('"');
+        if (span.getParentSpanId() != 0L) {
+            event.append(",\"parentId\":\"").append(hex(span.getParentSpanId())).append('"');
+        }
+        for (int i = 0; i < span.getAttributeCount(); i++) {
+            event.append(',').append(quote(span.getAttributeKey(i))).append(':').append(quote(span.getAttributeValue(i)));
+        }
+        out.write(event.append("}},\n").toString());
+    }
+
+    private static String hex(long id) {
+        String digits = Long.toHexString(id);
+        return "0000000000000000".substring(digits.length()) + digits;
+    }
+
+    private static String quote(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.soen345.project.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class Tracer {
+    public static final Tracer DISABLED = new Tracer(0.0, new SpanBuffer(1));
+
+    private final double sampleRate;
+    private final SpanBuffer buffer;
+    private final long epochOffsetNanos;
+
+    public Tracer(double sampleRate, SpanBuffer buffer) {
+        if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        }
+        if (buffer == null) {
+            throw new IllegalArgumentException("buffer cannot be null");
+        }
+        this.sampleRate = sampleRate;
+        this.buffer = buffer;
+        this.epochOffsetNanos = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+    }
+
+    // Sampling is decided once per trace at the root; children only ever join a sampled parent, so an
+    // unsampled flow costs a thread-local read per instrumented call and allocates nothing.
+    public Span startTrace(String name) {
+        if (sampleRate <= 0.0 || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return Span.NOOP;
+        }
+        return new Span(this, name, nextId(), nextId(), 0L, nowNanos());
+    }
+
+    public SpanBuffer getBuffer() {
+        return buffer;
+    }
+
+    Span startSpan(String name, long traceId, long parentSpanId) {
+        return new Span(this, name, traceId, nextId(), parentSpanId, nowNanos());
+    }
+
+    void record(Span span) {
+        buffer.offer(span);
+    }
+
+    long nowNanos() {
+        return System.nanoTime();
+    }
+
+    long toEpochMicros(long nanos) {
+        return (epochOffsetNanos + nanos) / 1000;
+    }
+
+    private static long nextId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0L);
+        return id;
+    }
+}
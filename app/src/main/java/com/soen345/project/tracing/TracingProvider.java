@@ -0,0 +1,54 @@
+package com.soen345.project.tracing;
+
+import android.content.Context;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public final class TracingProvider {
+    public static final double DEFAULT_SAMPLE_RATE = 0.05;
+
+    private static final int BUFFER_CAPACITY = 1024;
+    private static final long FLUSH_INTERVAL_SECONDS = 30;
+    private static final long MAX_FILE_BYTES = 2L * 1024 * 1024;
+    private static final String TRACE_FILE = "traces/app.trace.json";
+
+    private static volatile Tracer overrideTracer;
+    private static Tracer tracer;
+
+    private TracingProvider() {
+    }
+
+    public static synchronized Tracer getTracer(Context context) {
+        Tracer override = overrideTracer;
+        if (override != null) {
+            return override;
+        }
+        if (tracer == null) {
+            tracer = new Tracer(DEFAULT_SAMPLE_RATE, new SpanBuffer(BUFFER_CAPACITY));
+            TraceFileExporter exporter = new TraceFileExporter(
+                    new File(context.getApplicationContext().getFilesDir(), TRACE_FILE), MAX_FILE_BYTES);
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+            SpanBuffer buffer = tracer.getBuffer();
+            executor.scheduleWithFixedDelay(() -> {
+                try {
+                    exporter.flush(buffer);
+                } catch (IOException e) {
+                    // Best effort: spans that could not be written are lost, the app carries on.
+                }
+            }, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+        return tracer;
+    }
+
+    public static void setTracerForTesting(Tracer testTracer) {
+        overrideTracer = testTracer;
+    }
+
+    public static void clearTracerForTesting() {
+        overrideTracer = null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.soen345.project.ui;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import com.soen345.project.common.FrameScheduler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ChoreographerFrameScheduler implements FrameScheduler {
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Map<Runnable, Choreographer.FrameCallback> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void postFrame(Runnable task) {
+        Choreographer.FrameCallback callback = new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                pending.remove(task, this);
+                task.run();
+            }
+        };
+        pending.put(task, callback);
+        // Choreographer is per-looper, so hop to the main thread before asking for a frame callback.
+        mainHandler.post(() -> {
+            if (pending.get(task) == callback) {
+                Choreographer.getInstance().postFrameCallback(callback);
+            }
+        });
+    }
+
+    @Override
+    public void cancelFrame(Runnable task) {
+        Choreographer.FrameCallback callback = pending.remove(task);
+        if (callback != null) {
+            Choreographer.getInstance().removeFrameCallback(callback);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.soen345.project.ui;
+
+import android.text.format.DateUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.soen345.project.R;
+import com.soen345.project.common.BatchingListDiffer;
+import com.soen345.project.common.FrameScheduler;
+import com.soen345.project.common.ListDiff;
+import com.soen345.project.events.list.EventListItem;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+public class EventListAdapter extends RecyclerView.Adapter<EventListAdapter.EventViewHolder>
+        implements ListDiff.UpdateCallback {
+    // Passing a payload makes RecyclerView rebind the row in place instead of cross-fading a new view.
+    private static final Object CONTENT_PAYLOAD = new Object();
+
+    private final BatchingListDiffer<EventListItem> differ;
+
+    public EventListAdapter(Executor backgroundExecutor, Executor mainExecutor, FrameScheduler frameScheduler) {
+        differ = new BatchingListDiffer<>(EventListItem.IDENTITY, backgroundExecutor, mainExecutor, frameScheduler, this);
+    }
+
+    public void submit(List<EventListItem> items) {
+        differ.submit(items);
+    }
+
+    // Stops diffing so the background executor can be shut down; later submits are ignored.
+    public void dispose() {
+        differ.dispose();
+    }
+
+    @NonNull
+    @Override
+    public EventViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_event, parent, false);
+        return new EventViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
+        holder.bind(differ.getCurrentList().get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public void onInserted(int position, int count) {
+        notifyItemRangeInserted(position, count);
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+        notifyItemRangeRemoved(position, count);
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+        notifyItemMoved(fromPosition, toPosition);
+    }
+
+    @Override
+    public void onChanged(int position, int count) {
+        notifyItemRangeChanged(position, count, CONTENT_PAYLOAD);
+    }
+
+    static class EventViewHolder extends RecyclerView.ViewHolder {
+        private final TextView titleText;
+        private final TextView startTimeText;
+        private final TextView seatsText;
+
+        EventViewHolder(View itemView) {
+            super(itemView);
+            titleText = itemView.findViewById(R.id.itemEventTitle);
+            startTimeText = itemView.findViewById(R.id.itemEventStartTime);
+            seatsText = itemView.findViewById(R.id.itemEventSeats);
+        }
+
+        void bind(EventListItem item) {
+            String title = item.getTitle();
+            titleText.setText(title == null || title.trim().isEmpty()
+                    ? itemView.getContext().getString(R.string.event_list_untitled)
+                    : title);
+            startTimeText.setText(DateUtils.formatDateTime(itemView.getContext(), item.getStartTimeMillis(),
+                    DateUtils.FORMAT_SHOW_DATE | DateUtils.FORMAT_SHOW_TIME));
+            seatsText.setText(item.isSoldOut()
+                    ? itemView.getContext().getString(R.string.event_list_sold_out)
+                    : itemView.getContext().getString(R.string.event_list_seats_remaining, item.getSeatsRemaining()));
+        }
+    }
+}
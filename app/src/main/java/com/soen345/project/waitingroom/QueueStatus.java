@@ -0,0 +1,48 @@
+package com.soen345.project.waitingroom;
+
+public final class QueueStatus {
+    public enum State {
+        WAITING,
+        ADMITTED,
+        EXPIRED,
+        INVALID
+    }
+
+    private final State state;
+    private final int position;
+    private final long estimatedWaitMillis;
+
+    private QueueStatus(State state, int position, long estimatedWaitMillis) {
+        this.state = state;
+        this.position = position;
+        this.estimatedWaitMillis = estimatedWaitMillis;
+    }
+
+    public static QueueStatus waiting(int position, long estimatedWaitMillis) {
+        return new QueueStatus(State.WAITING, position, estimatedWaitMillis);
+    }
+
+    public static QueueStatus admitted() {
+        return new QueueStatus(State.ADMITTED, 0, 0);
+    }
+
+    public static QueueStatus expired() {
+        return new QueueStatus(State.EXPIRED, -1, -1);
+    }
+
+    public static QueueStatus invalid() {
+        return new QueueStatus(State.INVALID, -1, -1);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public long getEstimatedWaitMillis() {
+        return estimatedWaitMillis;
+    }
+}
@@ -0,0 +1,73 @@
+package com.soen345.project.waitingroom;
+
+import java.nio.charset.StandardCharsets;
+
+public final class QueueToken {
+    private static final String SEPARATOR = ".";
+
+    private final String eventId;
+    private final String email;
+    private final long sequence;
+    private final long issuedAtMillis;
+    private final String signature;
+
+    public QueueToken(String eventId, String email, long sequence, long issuedAtMillis, String signature) {
+        this.eventId = eventId;
+        this.email = email;
+        this.sequence = sequence;
+        this.issuedAtMillis = issuedAtMillis;
+        this.signature = signature;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
+    public String encode() {
+        return Hex.encode(eventId.getBytes(StandardCharsets.UTF_8))
+                + SEPARATOR + Hex.encode(email.getBytes(StandardCharsets.UTF_8))
+                + SEPARATOR + sequence
+                + SEPARATOR + issuedAtMillis
+                + SEPARATOR + signature;
+    }
+
+    public static QueueToken decode(String encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        String[] parts = encoded.split("\\.", -1);
+        if (parts.length != 5) {
+            return null;
+        }
+        try {
+            String eventId = new String(Hex.decode(parts[0]), StandardCharsets.UTF_8);
+            String email = new String(Hex.decode(parts[1]), StandardCharsets.UTF_8);
+            long sequence = Long.parseLong(parts[2]);
+            long issuedAtMillis = Long.parseLong(parts[3]);
+            return new QueueToken(eventId, email, sequence, issuedAtMillis, parts[4]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // The bytes the server signs; the app never holds the key, so it only stores and shows tokens.
+    public String payload() {
+        return eventId + "\n" + email + "\n" + sequence + "\n" + issuedAtMillis;
+    }
+}
@@ -0,0 +1,190 @@
+package com.soen345.project.admin;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.soen345.project.auth.UserProfile;
+import com.soen345.project.auth.UserRole;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.soen345.project.admin.UserPrefixIndexTest.ids;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FirestoreUserDirectorySourceTest {
+    private CollectionReference users;
+    private Query query;
+    private Task<QuerySnapshot> task;
+    private FirestoreUserDirectorySource source;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        FirebaseFirestore firestore = mock(FirebaseFirestore.class);
+        users = mock(CollectionReference.class);
+        query = mock(Query.class);
+        task = mock(Task.class);
+
+        when(firestore.collection("users")).thenReturn(users);
+        when(users.whereEqualTo(anyString(), any())).thenReturn(query);
+        when(users.orderBy(anyString())).thenReturn(query);
+        when(users.whereIn(anyString(), anyList())).thenReturn(query);
+        when(query.orderBy(anyString())).thenReturn(query);
+        when(query.orderBy((FieldPath) any())).thenReturn(query);
+        when(query.startAt(any())).thenReturn(query);
+        when(query.startAfter(any(), any())).thenReturn(query);
+        when(query.endAt(any())).thenReturn(query);
+        when(query.limit(anyLong())).thenReturn(query);
+        when(query.get()).thenReturn(task);
+
+        source = new FirestoreUserDirectorySource(firestore);
+    }
+
+    @Test
+    public void fetchPage_firstPage_filtersRoleAndBoundsPrefix() {
+        OnSuccessListener<QuerySnapshot> success = captureSuccess();
+        RecordingCallback callback = new RecordingCallback();
+
+        source.fetchPage(UserDirectoryQuery.of("ann", UserRole.ADMIN), null, null, 50, callback);
+        success.onSuccess(page(document("u1", "anna@example.com", "+15145550001"), document("", null, null)));
+
+        verify(users).whereEqualTo("role", "ADMIN");
+        verify(query).orderBy("email");
+        verify(query).startAt("ann");
+        verify(query).endAt("ann\uf8ff");
+        verify(query).limit(50L);
+        assertEquals(Arrays.asList("u1"), ids(callback.profiles));
+    }
+
+    @Test
+    public void fetchPage_laterPage_startsAfterCursor() {
+        captureSuccess();
+
+        source.fetchPage(UserDirectoryQuery.of("514", null), "+15145550001", "u1", 50, new RecordingCallback());
+
+        verify(users).orderBy("phone");
+        verify(query).startAfter("+15145550001", "u1");
+        verify(query, never()).startAt(any());
+        verify(query).endAt("+514\uf8ff");
+    }
+
+    @Test
+    public void fetchPage_blankSearch_isUnbounded() {
+        captureSuccess();
+
+        source.fetchPage(UserDirectoryQuery.of("", null), null, null, 50, new RecordingCallback());
+
+        verify(query, never()).startAt(any());
+        verify(query, never()).endAt(any());
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void fetchByPhones_batchesDistinctNumbersIntoWhereInLimit() {
+        ArgumentCaptor<OnSuccessListener<QuerySnapshot>> success = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        when(task.addOnSuccessListener(success.capture())).thenReturn(task);
+        when(task.addOnFailureListener(any())).thenReturn(task);
+        ArgumentCaptor<List> batches = ArgumentCaptor.forClass(List.class);
+        when(users.whereIn(anyString(), batches.capture())).thenReturn(query);
+        List<String> phones = new ArrayList<>();
+        for (int i = 0; i < 65; i++) {
+            phones.add(String.format("+1514555%04d", i));
+        }
+        phones.add("+15145550000");
+        RecordingCallback callback = new RecordingCallback();
+
+        source.fetchByPhones(phones, callback);
+        success.getAllValues().get(0).onSuccess(page(document("u1", "a@example.com", "+15145550000")));
+        success.getAllValues().get(1).onSuccess(page(document("u1", "a@example.com", "+15145550000")));
+        assertNull(callback.profiles);
+        success.getAllValues().get(2).onSuccess(page(document("u2", "b@example.com", "+15145550064")));
+
+        verify(users, times(3)).whereIn(anyString(), anyList());
+        assertEquals(30, batches.getAllValues().get(0).size());
+        assertEquals(5, batches.getAllValues().get(2).size());
+        assertEquals(Arrays.asList("u1", "u2"), ids(callback.profiles));
+    }
+
+    @Test
+    public void fetchByPhones_failure_reportsOnce() {
+        ArgumentCaptor<OnFailureListener> failure = ArgumentCaptor.forClass(OnFailureListener.class);
+        when(task.addOnSuccessListener(any())).thenReturn(task);
+        when(task.addOnFailureListener(failure.capture())).thenReturn(task);
+        List<String> phones = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            phones.add(String.format("+1514555%04d", i));
+        }
+        RecordingCallback callback = new RecordingCallback();
+
+        source.fetchByPhones(phones, callback);
+        for (OnFailureListener listener : failure.getAllValues()) {
+            listener.onFailure(new RuntimeException("offline"));
+        }
+
+        assertEquals(1, callback.errors);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private OnSuccessListener<QuerySnapshot> captureSuccess() {
+        ArgumentCaptor<OnSuccessListener<QuerySnapshot>> success = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        when(task.addOnSuccessListener(success.capture())).thenReturn(task);
+        when(task.addOnFailureListener(any())).thenReturn(task);
+        return profiles -> success.getValue().onSuccess(profiles);
+    }
+
+    private static QuerySnapshot page(DocumentSnapshot... documents) {
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(Arrays.asList(documents));
+        return snapshot;
+    }
+
+    private static DocumentSnapshot document(String id, String email, String phone) {
+        DocumentSnapshot document = mock(DocumentSnapshot.class);
+        Map<String, Object> data = new HashMap<>();
+        data.put("email", email);
+        data.put("phone", phone);
+        data.put("role", "CUSTOMER");
+        when(document.getId()).thenReturn(id);
+        when(document.getData()).thenReturn(data);
+        return document;
+    }
+
+    private static class RecordingCallback implements UserDirectorySource.ProfilesCallback {
+        List<UserProfile> profiles;
+        int errors;
+
+        @Override
+        public void onSuccess(List<UserProfile> result) {
+            profiles = result;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            errors++;
+        }
+    }
+}
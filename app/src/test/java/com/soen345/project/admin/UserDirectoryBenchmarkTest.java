@@ -0,0 +1,266 @@
+package com.soen345.project.admin;
+
+import com.soen345.project.auth.PreferredChannel;
+import com.soen345.project.auth.UserProfile;
+import com.soen345.project.auth.UserRole;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UserDirectoryBenchmarkTest {
+    private static final int USERS = 1_000_000;
+    private static final int UNCAPPED_USERS = 100_000;
+    private static final int ADMIN_EVERY = 100;
+    private static final int WARMUP_ROUNDS = 1;
+
+    @Test
+    public void browsingOneMillionUsersKeepsABoundedWindow() {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        BrowseResult capped = null;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            capped = browse(USERS, UserDirectory.DEFAULT_MAX_CACHED_PROFILES);
+        }
+        BrowseResult uncapped = browse(UNCAPPED_USERS, Integer.MAX_VALUE);
+
+        assertEquals(USERS, capped.seen);
+        assertEquals(UNCAPPED_USERS, uncapped.seen);
+        assertEquals(UserDirectory.DEFAULT_MAX_CACHED_PROFILES, capped.cached);
+        long bytesPerProfile = uncapped.retainedBytes / UNCAPPED_USERS;
+        System.out.printf("UserDirectory browse users=%d pages=%d: source=%.1fus/page directory p50=%.1fus p99=%.1fus "
+                        + "cached=%d retained=%.1fMB%n",
+                USERS, capped.pages, capped.sourceNanos / 1000.0 / capped.pages,
+                capped.percentileMicros(0.50), capped.percentileMicros(0.99),
+                capped.cached, capped.retainedBytes / 1048576.0);
+        System.out.printf("UserDirectory uncapped users=%d retained=%.1fMB (~%dB/profile, ~%.0fMB projected for %d)%n",
+                UNCAPPED_USERS, uncapped.retainedBytes / 1048576.0, bytesPerProfile,
+                bytesPerProfile * (double) USERS / 1048576.0, USERS);
+    }
+
+    @Test
+    public void narrowingACompletePrefixNeedsNoMoreQueries() {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        VirtualUserSource source = new VirtualUserSource(USERS);
+        UserDirectory directory = new UserDirectory(source);
+        List<UserProfile> broad = new ArrayList<>();
+        CollectingCallback callback = new CollectingCallback(broad);
+
+        long start = System.nanoTime();
+        directory.search("user0001", null, callback);
+        while (!directory.isExhausted()) {
+            directory.loadMore(callback);
+        }
+        long remoteNanos = System.nanoTime() - start;
+        int remotePages = source.pageRequests;
+
+        List<UserProfile> narrowed = new ArrayList<>();
+        start = System.nanoTime();
+        directory.search("user00012", null, new CollectingCallback(narrowed));
+        long localNanos = System.nanoTime() - start;
+
+        assertEquals(1_000, broad.size());
+        assertEquals(remotePages, source.pageRequests);
+        assertEquals(bruteForce(source, UserDirectoryQuery.of("user00012", null)), UserPrefixIndexTest.ids(narrowed));
+        System.out.printf("UserDirectory narrowing: remote=%d pages in %.1fus, narrowed locally to %d users in %.1fus%n",
+                remotePages, remoteNanos / 1000.0, narrowed.size(), localNanos / 1000.0);
+    }
+
+    @Test
+    public void roleFilteredPagesMatchBruteForce() {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        VirtualUserSource source = new VirtualUserSource(20_000);
+        UserDirectory directory = new UserDirectory(source, 25, 1_000);
+        List<UserProfile> admins = new ArrayList<>();
+        CollectingCallback callback = new CollectingCallback(admins);
+
+        directory.search("", UserRole.ADMIN, callback);
+        while (!directory.isExhausted()) {
+            directory.loadMore(callback);
+        }
+
+        assertEquals(bruteForce(source, UserDirectoryQuery.of("", UserRole.ADMIN)), UserPrefixIndexTest.ids(admins));
+        assertFalse(directory.preview("user0001", UserRole.ADMIN, 10).isEmpty());
+    }
+
+    private static BrowseResult browse(int users, int maxCached) {
+        long baseline = usedHeap();
+        VirtualUserSource source = new VirtualUserSource(users);
+        UserDirectory directory = new UserDirectory(source, UserDirectory.DEFAULT_PAGE_SIZE, maxCached);
+        BrowseResult result = new BrowseResult(users / UserDirectory.DEFAULT_PAGE_SIZE + 1);
+        CountingCallback callback = new CountingCallback();
+
+        long start = System.nanoTime();
+        directory.search("", null, callback);
+        result.record(System.nanoTime() - start, source);
+        while (!directory.isExhausted()) {
+            start = System.nanoTime();
+            directory.loadMore(callback);
+            result.record(System.nanoTime() - start, source);
+        }
+        assertTrue(callback.ordered);
+        result.seen = callback.count;
+        result.cached = directory.getCachedProfileCount();
+        result.retainedBytes = usedHeap() - baseline;
+        assertTrue(directory.isExhausted());
+        return result;
+    }
+
+    private static List<String> bruteForce(VirtualUserSource source, UserDirectoryQuery query) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < source.size; i++) {
+            UserProfile profile = source.profile(i);
+            if (query.matches(profile)) {
+                ids.add(profile.getUserId());
+            }
+        }
+        return ids;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String padded(String prefix, int value, String suffix) {
+        StringBuilder builder = new StringBuilder(prefix.length() + 7 + suffix.length()).append(prefix);
+        String digits = Integer.toString(value);
+        for (int i = digits.length(); i < 7; i++) {
+            builder.append('0');
+        }
+        return builder.append(digits).append(suffix).toString();
+    }
+
+    // Stands in for the users collection without holding a million profiles: user i sorts at position i
+    // by email, phone and document id alike, so a cursor or prefix maps straight to a range of i.
+    private static final class VirtualUserSource implements UserDirectorySource {
+        final int size;
+        int pageRequests;
+        long nanos;
+
+        VirtualUserSource(int size) {
+            this.size = size;
+        }
+
+        UserProfile profile(int i) {
+            return new UserProfile(
+                    padded("u", i, ""),
+                    padded("user", i, "@example.com"),
+                    padded("+1514", i, ""),
+                    i % ADMIN_EVERY == 0 ? UserRole.ADMIN : UserRole.CUSTOMER,
+                    PreferredChannel.EMAIL);
+        }
+
+        @Override
+        public void fetchPage(UserDirectoryQuery query, String afterValue, String afterDocumentId, int limit, ProfilesCallback callback) {
+            long start = System.nanoTime();
+            pageRequests++;
+            int i = afterDocumentId == null ? firstAtOrAfter(query) : Integer.parseInt(afterDocumentId.substring(1)) + 1;
+            List<UserProfile> page = new ArrayList<>(limit);
+            for (; i < size && page.size() < limit; i++) {
+                UserProfile profile = profile(i);
+                if (!query.sortValue(profile).startsWith(query.getPrefix())) {
+                    break;
+                }
+                if (query.matches(profile)) {
+                    page.add(profile);
+                }
+            }
+            nanos += System.nanoTime() - start;
+            callback.onSuccess(page);
+        }
+
+        @Override
+        public void fetchByPhones(List<String> phones, ProfilesCallback callback) {
+            callback.onError("not used");
+        }
+
+        private int firstAtOrAfter(UserDirectoryQuery query) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (query.sortValue(profile(mid)).compareTo(query.getPrefix()) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class BrowseResult {
+        final long[] directoryNanos;
+        int pages;
+        long sourceNanos;
+        long lastSourceNanos;
+        int seen;
+        int cached;
+        long retainedBytes;
+
+        BrowseResult(int maxPages) {
+            directoryNanos = new long[maxPages];
+        }
+
+        void record(long callNanos, VirtualUserSource source) {
+            long spentInSource = source.nanos - lastSourceNanos;
+            lastSourceNanos = source.nanos;
+            sourceNanos += spentInSource;
+            directoryNanos[pages++] = callNanos - spentInSource;
+        }
+
+        double percentileMicros(double percentile) {
+            long[] sorted = Arrays.copyOf(directoryNanos, pages);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.min(pages - 1, Math.floor(percentile * pages))] / 1000.0;
+        }
+    }
+
+    private static final class CountingCallback implements UserDirectory.PageCallback {
+        int count;
+        String lastId = "";
+        boolean ordered = true;
+
+        @Override
+        public void onPage(List<UserProfile> users, boolean hasMore) {
+            for (UserProfile user : users) {
+                ordered &= user.getUserId().compareTo(lastId) > 0;
+                lastId = user.getUserId();
+            }
+            count += users.size();
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            throw new AssertionError(errorMessage);
+        }
+    }
+
+    private static final class CollectingCallback implements UserDirectory.PageCallback {
+        final List<UserProfile> users;
+
+        CollectingCallback(List<UserProfile> users) {
+            this.users = users;
+        }
+
+        @Override
+        public void onPage(List<UserProfile> page, boolean hasMore) {
+            users.addAll(page);
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            throw new AssertionError(errorMessage);
+        }
+    }
+}
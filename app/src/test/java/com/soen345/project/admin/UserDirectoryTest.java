@@ -0,0 +1,244 @@
+package com.soen345.project.admin;
+
+import com.soen345.project.auth.UserProfile;
+import com.soen345.project.auth.UserProfileCodec;
+import com.soen345.project.auth.UserRole;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.soen345.project.admin.UserPrefixIndexTest.ids;
+import static com.soen345.project.admin.UserPrefixIndexTest.profile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UserDirectoryTest {
+    private InMemorySource source;
+
+    @Before
+    public void setUp() {
+        source = new InMemorySource(Arrays.asList(
+                profile("u1", "anna@example.com", "+15145550001", UserRole.CUSTOMER),
+                profile("u2", "annie@example.com", "+15145550002", UserRole.ADMIN),
+                profile("u3", "anton@example.com", "+14385550003", UserRole.CUSTOMER),
+                profile("u4", "bella@example.com", "+15145550004", UserRole.CUSTOMER),
+                profile("u5", "anna.b@example.com", "+15145550005", UserRole.CUSTOMER)
+        ));
+    }
+
+    @Test
+    public void query_resolvesTextToEmailOrPhonePrefix() {
+        UserDirectoryQuery email = UserDirectoryQuery.of("  Anna@Ex ", UserRole.ADMIN);
+        UserDirectoryQuery phone = UserDirectoryQuery.of("(514) 555", null);
+        UserDirectoryQuery blank = UserDirectoryQuery.of(null, null);
+
+        assertEquals(UserProfileCodec.FIELD_EMAIL, email.getField());
+        assertEquals("anna@ex", email.getPrefix());
+        assertEquals(UserProfileCodec.FIELD_PHONE, phone.getField());
+        assertEquals("+514555", phone.getPrefix());
+        assertEquals("", blank.getPrefix());
+        assertTrue(UserDirectoryQuery.of("anna", UserRole.ADMIN).narrows(UserDirectoryQuery.of("an", null)));
+        assertFalse(UserDirectoryQuery.of("anna", null).narrows(UserDirectoryQuery.of("an", UserRole.ADMIN)));
+        assertFalse(UserDirectoryQuery.of("1514", null).narrows(UserDirectoryQuery.of("", null)));
+    }
+
+    @Test
+    public void search_pagesWithCursorUntilExhausted() {
+        UserDirectory directory = new UserDirectory(source, 2, 100);
+        RecordingCallback callback = new RecordingCallback();
+
+        directory.search("an", null, callback);
+        directory.loadMore(callback);
+        directory.loadMore(callback);
+
+        assertEquals(Arrays.asList("u5", "u1", "u2", "u3"), ids(callback.users));
+        assertEquals(Arrays.asList(true, true, false), callback.hasMore);
+        assertTrue(directory.isExhausted());
+        assertEquals("u1", source.cursors.get(1));
+        assertEquals(3, source.pageRequests);
+    }
+
+    @Test
+    public void search_narrowingCompleteResult_isAnsweredLocally() {
+        UserDirectory directory = new UserDirectory(source, 10, 100);
+        directory.search("an", null, new RecordingCallback());
+        RecordingCallback narrowed = new RecordingCallback();
+
+        directory.search("anna", UserRole.CUSTOMER, narrowed);
+
+        assertEquals(1, source.pageRequests);
+        assertEquals(Arrays.asList("u5", "u1"), ids(narrowed.users));
+        assertEquals(Arrays.asList(false), narrowed.hasMore);
+    }
+
+    @Test
+    public void search_afterEvictionDuringBrowse_queriesAgain() {
+        UserDirectory directory = new UserDirectory(source, 2, 2);
+        RecordingCallback callback = new RecordingCallback();
+        directory.search("", null, callback);
+        directory.loadMore(callback);
+        directory.loadMore(callback);
+
+        directory.search("anna", null, new RecordingCallback());
+
+        assertEquals(4, source.pageRequests);
+        assertTrue(directory.getCachedProfileCount() <= 2);
+    }
+
+    @Test
+    public void search_dropsPageFromSupersededSearch() {
+        source.deferred = true;
+        UserDirectory directory = new UserDirectory(source, 10, 100);
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+
+        directory.search("an", null, first);
+        directory.search("bel", null, second);
+        source.releaseAll();
+
+        assertTrue(first.users.isEmpty());
+        assertEquals(Arrays.asList("u4"), ids(second.users));
+        assertTrue(directory.preview("an", null, 10).isEmpty());
+    }
+
+    @Test
+    public void loadMore_whilePageInFlight_doesNotDuplicateRequest() {
+        source.deferred = true;
+        UserDirectory directory = new UserDirectory(source, 2, 100);
+        RecordingCallback callback = new RecordingCallback();
+
+        directory.search("an", null, callback);
+        directory.loadMore(callback);
+
+        assertEquals(1, source.pageRequests);
+    }
+
+    @Test
+    public void search_failure_reportsErrorAndAllowsRetry() {
+        source.failNext = true;
+        UserDirectory directory = new UserDirectory(source, 2, 100);
+        RecordingCallback callback = new RecordingCallback();
+
+        directory.search("an", null, callback);
+        directory.loadMore(callback);
+
+        assertEquals("Could not load users.", callback.error);
+        assertEquals(Arrays.asList("u5", "u1"), ids(callback.users));
+    }
+
+    @Test
+    public void resolvePhones_addsProfilesToPreviewIndex() {
+        UserDirectory directory = new UserDirectory(source);
+        List<UserProfile> resolved = new ArrayList<>();
+
+        directory.resolvePhones(Arrays.asList("+15145550004", "+14385550003"), new UserDirectorySource.ProfilesCallback() {
+            @Override
+            public void onSuccess(List<UserProfile> profiles) {
+                resolved.addAll(profiles);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+            }
+        });
+
+        assertEquals(Arrays.asList("u3", "u4"), ids(resolved));
+        assertEquals(Arrays.asList("u4"), ids(directory.preview("bel", null, 10)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void loadMore_beforeSearch_throws() {
+        new UserDirectory(source).loadMore(new RecordingCallback());
+    }
+
+    private static class InMemorySource implements UserDirectorySource {
+        final List<UserProfile> users;
+        final List<String> cursors = new ArrayList<>();
+        final List<Runnable> pending = new ArrayList<>();
+        int pageRequests;
+        boolean deferred;
+        boolean failNext;
+
+        InMemorySource(List<UserProfile> users) {
+            this.users = users;
+        }
+
+        @Override
+        public void fetchPage(UserDirectoryQuery query, String afterValue, String afterDocumentId, int limit, ProfilesCallback callback) {
+            pageRequests++;
+            cursors.add(afterDocumentId);
+            if (failNext) {
+                failNext = false;
+                callback.onError("Could not load users.");
+                return;
+            }
+            List<UserProfile> sorted = new ArrayList<>();
+            for (UserProfile user : users) {
+                if (query.matches(user)) {
+                    sorted.add(user);
+                }
+            }
+            sorted.sort(Comparator.comparing(query::sortValue).thenComparing(UserProfile::getUserId));
+            List<UserProfile> page = new ArrayList<>();
+            for (UserProfile user : sorted) {
+                int order = afterDocumentId == null ? 1 : query.sortValue(user).compareTo(afterValue);
+                if (order > 0 || (order == 0 && user.getUserId().compareTo(afterDocumentId) > 0)) {
+                    page.add(user);
+                }
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+            deliver(() -> callback.onSuccess(page));
+        }
+
+        @Override
+        public void fetchByPhones(List<String> phones, ProfilesCallback callback) {
+            List<UserProfile> matches = new ArrayList<>();
+            for (UserProfile user : users) {
+                if (phones.contains(user.getPhone())) {
+                    matches.add(user);
+                }
+            }
+            deliver(() -> callback.onSuccess(matches));
+        }
+
+        void releaseAll() {
+            for (Runnable runnable : new ArrayList<>(pending)) {
+                runnable.run();
+            }
+            pending.clear();
+        }
+
+        private void deliver(Runnable runnable) {
+            if (deferred) {
+                pending.add(runnable);
+            } else {
+                runnable.run();
+            }
+        }
+    }
+
+    private static class RecordingCallback implements UserDirectory.PageCallback {
+        final List<UserProfile> users = new ArrayList<>();
+        final List<Boolean> hasMore = new ArrayList<>();
+        String error;
+
+        @Override
+        public void onPage(List<UserProfile> page, boolean more) {
+            users.addAll(page);
+            hasMore.add(more);
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.soen345.project.admin;
+
+import com.soen345.project.auth.PreferredChannel;
+import com.soen345.project.auth.UserProfile;
+import com.soen345.project.auth.UserRole;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UserPrefixIndexTest {
+    @Test
+    public void find_returnsPrefixMatchesInValueThenIdOrder() {
+        UserPrefixIndex index = new UserPrefixIndex(100);
+        index.addAll(Arrays.asList(
+                profile("u3", "bob@example.com", "+15145550003", UserRole.CUSTOMER),
+                profile("u2", "alice@example.com", "+15145550002", UserRole.ADMIN),
+                profile("u1", "alice@example.com", "+14385550001", UserRole.CUSTOMER),
+                profile("u4", "alicia@example.com", null, UserRole.CUSTOMER)
+        ));
+
+        assertEquals(Arrays.asList("u1", "u2", "u4"), ids(index.find(UserDirectoryQuery.of("ali", null), 10)));
+        assertEquals(Arrays.asList("u1", "u4"), ids(index.find(UserDirectoryQuery.of("ali", UserRole.CUSTOMER), 10)));
+        assertEquals(Arrays.asList("u2", "u3"), ids(index.find(UserDirectoryQuery.of("1514", null), 10)));
+        assertEquals(Arrays.asList("u1"), ids(index.find(UserDirectoryQuery.of("", null), 1)));
+    }
+
+    @Test
+    public void addAll_replacesStaleKeysOfRefetchedProfile() {
+        UserPrefixIndex index = new UserPrefixIndex(100);
+        index.addAll(Arrays.asList(profile("u1", "old@example.com", null, UserRole.CUSTOMER)));
+        index.addAll(Arrays.asList(profile("u1", "new@example.com", null, UserRole.ADMIN)));
+
+        assertEquals(1, index.size());
+        assertTrue(index.find(UserDirectoryQuery.of("old", null), 10).isEmpty());
+        assertEquals(Arrays.asList("u1"), ids(index.find(UserDirectoryQuery.of("new", UserRole.ADMIN), 10)));
+    }
+
+    @Test
+    public void addAll_evictsEarliestFetchedBeyondCapacity() {
+        UserPrefixIndex index = new UserPrefixIndex(2);
+        index.addAll(Arrays.asList(
+                profile("u1", "a@example.com", null, UserRole.CUSTOMER),
+                profile("u2", "b@example.com", null, UserRole.CUSTOMER)));
+        index.addAll(Arrays.asList(profile("u3", "c@example.com", null, UserRole.CUSTOMER)));
+
+        assertEquals(2, index.size());
+        assertEquals(1, index.getEvictionCount());
+        assertEquals(Arrays.asList("u2", "u3"), ids(index.find(UserDirectoryQuery.of("", null), 10)));
+    }
+
+    static UserProfile profile(String uid, String email, String phone, UserRole role) {
+        return new UserProfile(uid, email, phone, role, PreferredChannel.EMAIL);
+    }
+
+    static List<String> ids(List<UserProfile> profiles) {
+        List<String> ids = new ArrayList<>();
+        for (UserProfile profile : profiles) {
+            ids.add(profile.getUserId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,37 @@
+package com.soen345.project.auth;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AuthRulesTest {
+    @Test
+    public void normalizeEmail_trimsAndLowercases() {
+        assertEquals("user@example.com", AuthRules.normalizeEmail("  User@Example.COM "));
+        assertEquals("", AuthRules.normalizeEmail(null));
+    }
+
+    @Test
+    public void isValidEmail_rejectsSeparatorsAndMissingParts() {
+        assertTrue(AuthRules.isValidEmail("user+tag@example.com"));
+        assertFalse(AuthRules.isValidEmail("user|ADMIN@example.com"));
+        assertFalse(AuthRules.isValidEmail("user@"));
+        assertFalse(AuthRules.isValidEmail(null));
+    }
+
+    @Test
+    public void isLongEnough_usesMinimumLength() {
+        assertTrue(AuthRules.isLongEnough("123456"));
+        assertFalse(AuthRules.isLongEnough("12345"));
+        assertFalse(AuthRules.isLongEnough(null));
+    }
+
+    @Test
+    public void canManageInventory_onlyForAdmins() {
+        assertTrue(AuthRules.canManageInventory(UserRole.ADMIN));
+        assertFalse(AuthRules.canManageInventory(UserRole.CUSTOMER));
+        assertFalse(AuthRules.canManageInventory(null));
+    }
+}
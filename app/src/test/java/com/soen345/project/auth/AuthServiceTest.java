@@ -1,8 +1,15 @@
 package com.soen345.project.auth;
 
+import com.soen345.project.tracing.Span;
+import com.soen345.project.tracing.SpanBuffer;
+import com.soen345.project.tracing.Tracer;
+
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -123,6 +130,121 @@ public class AuthServiceTest {
         assertEquals("+447700900123", fakeAuthRepository.lastIdentifier);
     }
 
+    @Test
+    public void register_usesInjectedPhoneNormalizer() {
+        AuthService service = new AuthService(fakeAuthRepository, raw -> "+33612345678");
+        TestCallback callback = new TestCallback();
+
+        service.register("user@example.com", "06 12 34 56 78", "password123", "password123", callback);
+
+        assertEquals(1, fakeAuthRepository.registerCalls);
+        assertEquals("+33612345678", fakeAuthRepository.lastPhone);
+    }
+
+    @Test
+    public void constructor_withNullPhoneNormalizer_throws() {
+        try {
+            new AuthService(fakeAuthRepository, null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("phoneNormalizer cannot be null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void register_withBlockedEmailDomain_returnsValidationErrorWithoutWriting() {
+        AuthService service = new AuthService(fakeAuthRepository, new NanpPhoneNormalizer(), "mailinator.com"::equals);
+        TestCallback callback = new TestCallback();
+
+        service.register("bot@mailinator.com", "+15145550100", "password123", "password123", callback);
+
+        assertEquals("Please use a permanent email address", callback.error);
+        assertEquals(0, fakeAuthRepository.registerCalls);
+    }
+
+    @Test
+    public void signIn_ignoresEmailDomainPolicy() {
+        AuthService service = new AuthService(fakeAuthRepository, new NanpPhoneNormalizer(), domain -> true);
+
+        service.signIn("user@mailinator.com", "password123", new TestCallback());
+
+        assertEquals(1, fakeAuthRepository.signInCalls);
+    }
+
+    @Test
+    public void register_withBreachedPassword_returnsValidationError() {
+        AuthService service = new AuthService(fakeAuthRepository, new NanpPhoneNormalizer(), EmailDomainPolicy.ALLOW_ALL, "password123"::equals);
+        TestCallback callback = new TestCallback();
+
+        service.register("user@example.com", "+15145550100", "password123", "password123", callback);
+
+        assertEquals("This password has appeared in a data breach. Please choose another.", callback.error);
+        assertEquals(0, fakeAuthRepository.registerCalls);
+    }
+
+    @Test
+    public void signIn_ignoresPasswordPolicy() {
+        AuthService service = new AuthService(fakeAuthRepository, new NanpPhoneNormalizer(), EmailDomainPolicy.ALLOW_ALL, password -> true);
+
+        service.signIn("user@example.com", "password123", new TestCallback());
+
+        assertEquals(1, fakeAuthRepository.signInCalls);
+    }
+
+    @Test
+    public void signIn_whenThrottled_returnsRetryAfterWithoutCallingRepository() {
+        RecordingLimiter limiter = new RecordingLimiter(90_000);
+        TestCallback callback = new TestCallback();
+
+        serviceWith(limiter).signIn(" User@Example.com ", "password123", callback);
+
+        assertEquals("Too many sign-in attempts. Try again in 2 minutes.", callback.error);
+        assertEquals("user@example.com", limiter.acquired);
+        assertEquals(0, fakeAuthRepository.signInCalls);
+    }
+
+    @Test
+    public void signIn_withWrongPassword_reportsFailureToLimiter() {
+        RecordingLimiter limiter = new RecordingLimiter(0);
+        fakeAuthRepository.signInError = AuthRepository.INVALID_CREDENTIALS_ERROR;
+        TestCallback callback = new TestCallback();
+
+        serviceWith(limiter).signIn("user@example.com", "wrong-password", callback);
+
+        assertEquals(AuthRepository.INVALID_CREDENTIALS_ERROR, callback.error);
+        assertEquals(1, limiter.failures);
+        assertEquals(0, limiter.successes);
+    }
+
+    @Test
+    public void signIn_withOtherError_doesNotCountAsFailure() {
+        RecordingLimiter limiter = new RecordingLimiter(0);
+        fakeAuthRepository.signInError = "Sign in failed";
+
+        serviceWith(limiter).signIn("user@example.com", "password123", new TestCallback());
+
+        assertEquals(0, limiter.failures);
+    }
+
+    @Test
+    public void signIn_success_resetsLimiter() {
+        RecordingLimiter limiter = new RecordingLimiter(0);
+        TestCallback callback = new TestCallback();
+
+        serviceWith(limiter).signIn("user@example.com", "password123", callback);
+
+        assertEquals("user@example.com", callback.successEmail);
+        assertEquals(1, limiter.successes);
+    }
+
+    @Test
+    public void retryAfterMessage_roundsUpToSecondsOrMinutes() {
+        assertEquals("Too many sign-in attempts. Try again in 1 second.", AuthService.retryAfterMessage(1));
+        assertEquals("Too many sign-in attempts. Try again in 30 seconds.", AuthService.retryAfterMessage(29_001));
+        assertEquals("Too many sign-in attempts. Try again in 1 minute.", AuthService.retryAfterMessage(60_000));
+        assertEquals("Too many sign-in attempts. Try again in 15 minutes.", AuthService.retryAfterMessage(15 * 60_000));
+    }
+
     @Test
     public void register_withoutPhone_returnsValidationError() {
         TestCallback callback = new TestCallback();
@@ -247,6 +369,37 @@ public class AuthServiceTest {
         assertEquals("user@example.com", authService.getSignedInEmail());
     }
 
+    private AuthService serviceWith(SignInLimiter limiter) {
+        return new AuthService(fakeAuthRepository, new NanpPhoneNormalizer(), EmailDomainPolicy.ALLOW_ALL, PasswordPolicy.ALLOW_ALL, limiter);
+    }
+
+    private static class RecordingLimiter implements SignInLimiter {
+        private final long retryAfterMillis;
+        String acquired;
+        int failures;
+        int successes;
+
+        RecordingLimiter(long retryAfterMillis) {
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        @Override
+        public long acquire(String identifier) {
+            acquired = identifier;
+            return retryAfterMillis;
+        }
+
+        @Override
+        public void onInvalidCredentials(String identifier) {
+            failures++;
+        }
+
+        @Override
+        public void onSuccess(String identifier) {
+            successes++;
+        }
+    }
+
     private static class TestCallback implements AuthCallback {
         String successEmail;
         String error;
@@ -262,8 +415,32 @@ public class AuthServiceTest {
         }
     }
 
+    @Test
+    public void signIn_underASampledTrace_recordsItsSpanAsAChildActiveDuringTheRepositoryCall() {
+        Tracer tracer = new Tracer(1.0, new SpanBuffer(16));
+        TestCallback callback = new TestCallback();
+
+        Span root = tracer.startTrace("submitAuth.signIn");
+        try (Span.Scope scope = root.activate()) {
+            authService.signIn("user@example.com", "password123", callback);
+        }
+        root.end();
+
+        List<Span> spans = new ArrayList<>();
+        tracer.getBuffer().drainTo(spans);
+        assertEquals(2, spans.size());
+        Span service = spans.get(0);
+        assertEquals("AuthService.signIn", service.getName());
+        assertEquals(root.getTraceId(), service.getTraceId());
+        assertEquals(root.getSpanId(), service.getParentSpanId());
+        assertEquals(service, fakeAuthRepository.spanDuringSignIn);
+        assertEquals(Span.NOOP, Span.current());
+    }
+
     private static class FakeAuthRepository implements AuthRepository {
+        Span spanDuringSignIn;
         int signInCalls;
+        String signInError;
         int registerCalls;
         String lastIdentifier;
         String lastEmail;
@@ -276,7 +453,12 @@ public class AuthServiceTest {
         @Override
         public void signIn(String identifier, String password, AuthCallback callback) {
             signInCalls++;
+            spanDuringSignIn = Span.current();
             lastIdentifier = identifier;
+            if (signInError != null) {
+                callback.onError(signInError);
+                return;
+            }
             lastEmail = identifier.contains("@") ? identifier : "user@example.com";
             lastRole = UserRole.CUSTOMER;
             signedIn = true;
@@ -0,0 +1,59 @@
+package com.soen345.project.auth;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BreachedPasswordPolicyTest {
+    @Test
+    public void isCompromised_checksMappedSet() throws IOException {
+        byte[] bytes = BreachedPasswordSetTest.bytes(Arrays.asList("123456", "qwerty"));
+        BreachedPasswordPolicy policy = new BreachedPasswordPolicy(() -> ByteBuffer.wrap(bytes));
+
+        assertTrue(policy.isCompromised("qwerty"));
+        assertFalse(policy.isCompromised("a much longer passphrase"));
+    }
+
+    @Test
+    public void source_isOpenedOnceOnFirstCheck() throws IOException {
+        byte[] bytes = BreachedPasswordSetTest.bytes(Arrays.asList("123456"));
+        int[] opens = {0};
+        BreachedPasswordPolicy policy = new BreachedPasswordPolicy(() -> {
+            opens[0]++;
+            return ByteBuffer.wrap(bytes);
+        });
+
+        assertEquals(0, opens[0]);
+        policy.isCompromised("123456");
+        policy.isCompromised("654321");
+        assertEquals(1, opens[0]);
+    }
+
+    @Test
+    public void unreadableSource_blocksNothing() {
+        BreachedPasswordPolicy missing = new BreachedPasswordPolicy(() -> {
+            throw new IOException("missing asset");
+        });
+        BreachedPasswordPolicy corrupt = new BreachedPasswordPolicy(() -> ByteBuffer.wrap(new byte[]{9, 9, 9}));
+
+        assertFalse(missing.isCompromised("123456"));
+        assertFalse(corrupt.isCompromised("123456"));
+    }
+
+    @Test
+    public void constructor_withNullSource_throws() {
+        try {
+            new BreachedPasswordPolicy(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("source cannot be null", e.getMessage());
+        }
+    }
+}
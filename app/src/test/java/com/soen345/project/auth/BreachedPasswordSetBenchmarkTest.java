@@ -0,0 +1,57 @@
+package com.soen345.project.auth;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BreachedPasswordSetBenchmarkTest {
+    // Matches the release build's check in app/build.gradle.kts; the development seed is far smaller.
+    private static final int MINIMUM_PASSWORDS = 90_000;
+    private static final int CHECKS = 50_000;
+    private static final int WARMUP_ROUNDS = 20;
+
+    // Unit tests run from the module directory.
+    private static final File ASSET = new File("src/main/assets/" + BreachedPasswordPolicy.DEFAULT_ASSET);
+
+    // The set register() actually checks, mapped the way the app maps it.
+    @Test
+    public void shippedAsset() throws IOException {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        BreachedPasswordSet shipped = map(ASSET);
+        assertTrue("Run ./gradlew :app:breachedPasswordSet to benchmark the real list, not the seed",
+                shipped.size() >= MINIMUM_PASSWORDS);
+        List<String> common = BreachedPasswordSetTest.commonPasswords();
+        String[] queries = new String[CHECKS];
+        for (int i = 0; i < CHECKS; i++) {
+            queries[i] = i % 10 == 0 ? common.get(i % common.size()) : "Unique-" + i + "-passphrase";
+        }
+
+        long nanos = 0;
+        int hits = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            hits = 0;
+            long start = System.nanoTime();
+            for (String query : queries) {
+                hits += shipped.contains(query) ? 1 : 0;
+            }
+            nanos = System.nanoTime() - start;
+        }
+        assertEquals(CHECKS / 10, hits);
+        System.out.printf("BreachedPasswordSet benchmark asset=%s passwords=%d: mapped=%.0fns/check (%.1f KB file)%n",
+                ASSET.getName(), shipped.size(), (double) nanos / CHECKS, ASSET.length() / 1024.0);
+    }
+
+    private static BreachedPasswordSet map(File file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r"); FileChannel channel = in.getChannel()) {
+            return BreachedPasswordSet.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.soen345.project.auth;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BreachedPasswordSetTest {
+    // Unit tests run from the module directory.
+    private static final File ASSET = new File("src/main/assets/" + BreachedPasswordPolicy.DEFAULT_ASSET);
+    private static final String COMMON_PASSWORDS = "common_passwords.txt";
+
+    @Test
+    public void shippedAsset_containsEveryCommonPassword() throws IOException {
+        BreachedPasswordSet set = shippedSet();
+
+        for (String password : commonPasswords()) {
+            assertTrue(password, set.contains(password));
+        }
+        assertFalse(set.contains("correct horse battery staple 345"));
+    }
+
+    @Test
+    public void roundTrip_findsMembersAcrossBlocks() throws IOException {
+        List<String> passwords = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            passwords.add("breached-" + i);
+        }
+        BreachedPasswordSet set = read(passwords);
+
+        assertEquals(1_000, set.size());
+        for (String password : passwords) {
+            assertTrue(password, set.contains(password));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(set.contains("fresh-" + i));
+        }
+    }
+
+    @Test
+    public void write_dropsDuplicatesAndEmptyEntries() throws IOException {
+        BreachedPasswordSet set = read(Arrays.asList("hunter2", "hunter2", "", null, "letmein"));
+
+        assertEquals(2, set.size());
+        assertTrue(set.contains("hunter2"));
+        assertFalse(set.contains(""));
+        assertFalse(set.contains(null));
+    }
+
+    @Test
+    public void contains_isCaseSensitive() throws IOException {
+        BreachedPasswordSet set = read(Collections.singletonList("Password1"));
+
+        assertTrue(set.contains("Password1"));
+        assertFalse(set.contains("password1"));
+    }
+
+    @Test
+    public void emptySet_containsNothing() throws IOException {
+        BreachedPasswordSet set = read(Collections.<String>emptyList());
+
+        assertEquals(0, set.size());
+        assertFalse(set.contains("123456"));
+    }
+
+    @Test
+    public void read_rejectsForeignOrTruncatedData() throws IOException {
+        try {
+            BreachedPasswordSet.read(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Not a breached password set", e.getMessage());
+        }
+
+        byte[] bytes = bytes(Arrays.asList("a", "b", "c"));
+        try {
+            BreachedPasswordSet.read(ByteBuffer.wrap(Arrays.copyOf(bytes, 30)));
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Corrupt breached password set", e.getMessage());
+        }
+    }
+
+    static BreachedPasswordSet shippedSet() throws IOException {
+        return BreachedPasswordSet.read(ByteBuffer.wrap(Files.readAllBytes(ASSET.toPath())));
+    }
+
+    // Built with :app:breachedPasswordSet from a top-N list, which is not kept in the repo.
+    static List<String> commonPasswords() throws IOException {
+        try (InputStream in = BreachedPasswordSetTest.class.getResourceAsStream(COMMON_PASSWORDS)) {
+            if (in == null) {
+                throw new IOException("Missing " + COMMON_PASSWORDS);
+            }
+            List<String> passwords = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    passwords.add(line);
+                }
+            }
+            return passwords;
+        }
+    }
+
+    static byte[] bytes(List<String> passwords) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BreachedPasswordSet.write(passwords, out);
+        return out.toByteArray();
+    }
+
+    private static BreachedPasswordSet read(List<String> passwords) throws IOException {
+        return BreachedPasswordSet.read(ByteBuffer.wrap(bytes(passwords)));
+    }
+}
@@ -0,0 +1,142 @@
+package com.soen345.project.auth;
+
+import com.soen345.project.waitingroom.Hex;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DisposableDomainFilterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void withoutDownloadedList_blocksNothing() {
+        DisposableDomainFilter filter = new DisposableDomainFilter(new File(folder.getRoot(), "domains.bin"));
+
+        assertFalse(filter.isBlocked("mailinator.com"));
+        assertEquals(0L, filter.getVersion());
+    }
+
+    @Test
+    public void install_swapsInNewListAndPersistsIt() throws IOException {
+        File file = new File(folder.getRoot(), "lists/domains.bin");
+        DisposableDomainFilter filter = new DisposableDomainFilter(file);
+
+        install(filter, DisposableDomainListTest.bytes(4L, Collections.singletonList("mailinator.com")), 4L);
+
+        assertTrue(filter.isBlocked("mailinator.com"));
+        assertEquals(4L, filter.getVersion());
+        DisposableDomainFilter reopened = new DisposableDomainFilter(file);
+        assertTrue(reopened.isBlocked("mailinator.com"));
+        assertEquals(4L, reopened.getVersion());
+    }
+
+    @Test
+    public void install_withCorruptDownload_keepsCurrentList() throws IOException {
+        File file = new File(folder.getRoot(), "domains.bin");
+        DisposableDomainFilter filter = new DisposableDomainFilter(file);
+        install(filter, DisposableDomainListTest.bytes(1L, Arrays.asList("mailinator.com", "yopmail.com")), 1L);
+
+        assertRejected(filter, new ByteArrayInputStream(new byte[]{1, 2, 3}), 2L, sha256(new byte[]{1, 2, 3}));
+
+        assertTrue(filter.isBlocked("yopmail.com"));
+        assertEquals(1L, filter.getVersion());
+        assertFalse(new File(folder.getRoot(), "domains.bin.tmp").exists());
+    }
+
+    @Test
+    public void install_withWrongHash_keepsCurrentList() throws IOException {
+        File file = new File(folder.getRoot(), "domains.bin");
+        DisposableDomainFilter filter = new DisposableDomainFilter(file);
+        byte[] published = DisposableDomainListTest.bytes(2L, Collections.singletonList("mailinator.com"));
+
+        assertRejected(filter, new ByteArrayInputStream(published), 2L, sha256(new byte[]{0}));
+
+        assertFalse(filter.isBlocked("mailinator.com"));
+        assertFalse(file.exists());
+        assertFalse(new File(folder.getRoot(), "domains.bin.tmp").exists());
+    }
+
+    @Test
+    public void install_withOtherVersionThanAdvertised_keepsCurrentList() throws IOException {
+        DisposableDomainFilter filter = new DisposableDomainFilter(new File(folder.getRoot(), "domains.bin"));
+        byte[] stale = DisposableDomainListTest.bytes(1L, Collections.singletonList("mailinator.com"));
+
+        assertRejected(filter, new ByteArrayInputStream(stale), 2L, sha256(stale));
+
+        assertEquals(0L, filter.getVersion());
+        assertFalse(new File(folder.getRoot(), "domains.bin.tmp").exists());
+    }
+
+    @Test
+    public void install_whenTheLiveFileCannotBeReplaced_removesTheDownload() throws IOException {
+        File occupied = folder.newFolder("domains.bin");
+        new File(occupied, "keep").createNewFile();
+        DisposableDomainFilter filter = new DisposableDomainFilter(occupied);
+        byte[] published = DisposableDomainListTest.bytes(2L, Collections.singletonList("mailinator.com"));
+
+        assertRejected(filter, new ByteArrayInputStream(published), 2L, sha256(published));
+
+        assertFalse(new File(folder.getRoot(), "domains.bin.tmp").exists());
+    }
+
+    @Test
+    public void load_mapsTheStoredListBeforeTheFirstLookup() throws IOException {
+        File file = new File(folder.getRoot(), "domains.bin");
+        install(new DisposableDomainFilter(file), DisposableDomainListTest.bytes(3L, Collections.singletonList("yopmail.com")), 3L);
+        DisposableDomainFilter filter = new DisposableDomainFilter(file);
+
+        filter.load();
+
+        assertTrue(filter.isLoaded());
+        assertTrue(filter.isBlocked("yopmail.com"));
+    }
+
+    @Test
+    public void unreadableStoredList_blocksNothing() throws IOException {
+        File file = new File(folder.getRoot(), "domains.bin");
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[]{9, 9, 9});
+        }
+
+        assertFalse(new DisposableDomainFilter(file).isBlocked("mailinator.com"));
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return Hex.encode(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void install(DisposableDomainFilter filter, byte[] list, long version) throws IOException {
+        filter.install(new ByteArrayInputStream(list), version, sha256(list));
+    }
+
+    private static void assertRejected(DisposableDomainFilter filter, InputStream in, long version, String sha256) {
+        try {
+            filter.install(in, version, sha256);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // The live list must survive a bad download.
+        }
+    }
+}
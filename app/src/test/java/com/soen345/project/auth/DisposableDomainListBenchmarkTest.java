@@ -0,0 +1,75 @@
+package com.soen345.project.auth;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class DisposableDomainListBenchmarkTest {
+    private static final int DOMAINS = 100_000;
+    private static final int LOOKUPS = 200_000;
+    private static final int WARMUP_ROUNDS = 5;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void mappedListVersusHashSetAt100kDomains() throws IOException {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        List<String> domains = new ArrayList<>();
+        for (int i = 0; i < DOMAINS; i++) {
+            domains.add("throwaway" + i + ".example");
+        }
+        File file = folder.newFile("domains.bin");
+        try (OutputStream out = new FileOutputStream(file)) {
+            DisposableDomainList.write(1L, domains, out);
+        }
+        DisposableDomainList list;
+        try (RandomAccessFile in = new RandomAccessFile(file, "r"); FileChannel channel = in.getChannel()) {
+            list = DisposableDomainList.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        Set<String> set = new HashSet<>(domains);
+
+        // Registrations are mostly real addresses, so nine in ten lookups miss.
+        String[] queries = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            queries[i] = i % 10 == 0 ? "throwaway" + (i % DOMAINS) + ".example" : "user" + i + ".example";
+        }
+
+        long listNanos = 0;
+        long setNanos = 0;
+        int listHits = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            listHits = 0;
+            int setHits = 0;
+            long start = System.nanoTime();
+            for (String query : queries) {
+                listHits += list.contains(query) ? 1 : 0;
+            }
+            long middle = System.nanoTime();
+            for (String query : queries) {
+                setHits += set.contains(query) ? 1 : 0;
+            }
+            long end = System.nanoTime();
+            assertEquals(setHits, listHits);
+            listNanos = middle - start;
+            setNanos = end - middle;
+        }
+        assertEquals(LOOKUPS / 10, listHits);
+        System.out.printf("DisposableDomainList benchmark domains=%d: mapped=%.0fns/lookup (%d KB file, off-heap) hashSet=%.0fns/lookup%n",
+                DOMAINS, (double) listNanos / LOOKUPS, file.length() / 1024, (double) setNanos / LOOKUPS);
+    }
+}
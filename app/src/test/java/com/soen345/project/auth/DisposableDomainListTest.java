@@ -0,0 +1,89 @@
+package com.soen345.project.auth;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DisposableDomainListTest {
+
+    @Test
+    public void contains_matchesListedDomainsCaseInsensitively() throws IOException {
+        DisposableDomainList list = list(7L, "mailinator.com", "Guerrillamail.com", "10minutemail.net");
+
+        assertEquals(7L, list.getVersion());
+        assertEquals(3, list.size());
+        assertTrue(list.contains("mailinator.com"));
+        assertTrue(list.contains("GUERRILLAMAIL.COM"));
+        assertTrue(list.contains(" 10minutemail.net. "));
+        assertFalse(list.contains("gmail.com"));
+        assertFalse(list.contains("concordia.ca"));
+    }
+
+    @Test
+    public void contains_matchesSubdomainsButNotBareSuffixes() throws IOException {
+        DisposableDomainList list = list(1L, "mailinator.com", "com");
+
+        assertTrue(list.contains("a.b.mailinator.com"));
+        assertFalse(list.contains("notmailinator.com"));
+        assertFalse(list.contains("example.com"));
+    }
+
+    @Test
+    public void contains_handlesEmptyAndMalformedInput() throws IOException {
+        DisposableDomainList list = list(1L, "mailinator.com");
+
+        assertFalse(list.contains(null));
+        assertFalse(list.contains(""));
+        assertFalse(list.contains(".."));
+        assertFalse(list.contains("localhost"));
+    }
+
+    @Test
+    public void emptyList_blocksNothing() throws IOException {
+        DisposableDomainList list = read(bytes(3L, Collections.emptyList()));
+
+        assertEquals(0, list.size());
+        assertFalse(list.contains("mailinator.com"));
+    }
+
+    @Test
+    public void read_rejectsForeignOrTruncatedFiles() throws IOException {
+        byte[] valid = bytes(1L, Arrays.asList("mailinator.com", "yopmail.com"));
+        try {
+            read(new byte[64]);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Not a disposable domain list", e.getMessage());
+        }
+        try {
+            read(Arrays.copyOf(valid, valid.length - 1));
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Corrupt disposable domain list", e.getMessage());
+        }
+    }
+
+    static byte[] bytes(long version, Collection<String> domains) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DisposableDomainList.write(version, domains, out);
+        return out.toByteArray();
+    }
+
+    private static DisposableDomainList list(long version, String... domains) throws IOException {
+        return read(bytes(version, Arrays.asList(domains)));
+    }
+
+    private static DisposableDomainList read(byte[] bytes) throws IOException {
+        return DisposableDomainList.read(ByteBuffer.wrap(bytes));
+    }
+}
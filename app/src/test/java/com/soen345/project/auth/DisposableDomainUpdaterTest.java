@@ -0,0 +1,173 @@
+package com.soen345.project.auth;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DisposableDomainUpdaterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Task<DocumentSnapshot> task;
+    private DisposableDomainFilter filter;
+    private List<String> downloads;
+    private byte[] published;
+    private DisposableDomainUpdater updater;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        FirebaseFirestore firestore = mock(FirebaseFirestore.class);
+        CollectionReference config = mock(CollectionReference.class);
+        DocumentReference document = mock(DocumentReference.class);
+        task = mock(Task.class);
+        when(firestore.collection("config")).thenReturn(config);
+        when(config.document("disposable_domains")).thenReturn(document);
+        when(document.get()).thenReturn(task);
+
+        filter = new DisposableDomainFilter(new File(folder.getRoot(), "domains.bin"));
+        downloads = new ArrayList<>();
+        published = DisposableDomainListTest.bytes(2L, Collections.singletonList("mailinator.com"));
+        updater = new DisposableDomainUpdater(firestore, filter, url -> {
+            downloads.add(url);
+            return new ByteArrayInputStream(published);
+        }, Runnable::run);
+    }
+
+    @Test
+    public void refresh_withNewerVersion_downloadsAndInstalls() {
+        TestUpdateCallback callback = refreshWith(2L, "https://example.com/domains-2.bin");
+
+        assertTrue(callback.updated);
+        assertEquals(Collections.singletonList("https://example.com/domains-2.bin"), downloads);
+        assertTrue(filter.isBlocked("mailinator.com"));
+    }
+
+    @Test
+    public void refresh_mapsTheStoredListOnTheIoExecutor() {
+        refreshWith(null, null);
+
+        assertTrue(filter.isLoaded());
+    }
+
+    @Test
+    public void refresh_withTamperedDownload_reportsErrorAndKeepsNoList() throws IOException {
+        byte[] expected = published;
+        published = DisposableDomainListTest.bytes(2L, Collections.singletonList("example.com"));
+
+        TestUpdateCallback callback = refreshWith(2L, "https://example.com/domains-2.bin", DisposableDomainFilterTest.sha256(expected));
+
+        assertEquals("Could not update the disposable email list.", callback.error);
+        assertFalse(filter.isBlocked("example.com"));
+    }
+
+    @Test
+    public void refresh_withoutPublishedHash_skipsDownload() {
+        TestUpdateCallback callback = refreshWith(2L, "https://example.com/domains-2.bin", null);
+
+        assertFalse(callback.updated);
+        assertTrue(downloads.isEmpty());
+    }
+
+    @Test
+    public void refresh_withCurrentVersion_skipsDownload() {
+        refreshWith(2L, "https://example.com/domains-2.bin");
+        downloads.clear();
+
+        TestUpdateCallback callback = refreshWith(2L, "https://example.com/domains-2.bin");
+
+        assertFalse(callback.updated);
+        assertTrue(downloads.isEmpty());
+    }
+
+    @Test
+    public void refresh_withoutPublishedList_doesNothing() {
+        TestUpdateCallback callback = refreshWith(null, null);
+
+        assertFalse(callback.updated);
+        assertTrue(downloads.isEmpty());
+    }
+
+    @Test
+    public void refresh_withBadDownload_reportsError() {
+        published = new byte[]{1, 2, 3};
+
+        TestUpdateCallback callback = refreshWith(5L, "https://example.com/broken.bin");
+
+        assertEquals("Could not update the disposable email list.", callback.error);
+        assertFalse(filter.isBlocked("mailinator.com"));
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void refresh_whenConfigReadFails_reportsError() {
+        ArgumentCaptor<OnFailureListener> failure = ArgumentCaptor.forClass(OnFailureListener.class);
+        when(task.addOnSuccessListener(any())).thenReturn(task);
+        when(task.addOnFailureListener(failure.capture())).thenReturn(task);
+        TestUpdateCallback callback = new TestUpdateCallback();
+
+        updater.refresh(callback);
+        failure.getValue().onFailure(new RuntimeException("offline"));
+
+        assertEquals("Could not update the disposable email list.", callback.error);
+    }
+
+    private TestUpdateCallback refreshWith(Long version, String url) {
+        return refreshWith(version, url, DisposableDomainFilterTest.sha256(published));
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private TestUpdateCallback refreshWith(Long version, String url, String sha256) {
+        ArgumentCaptor<OnSuccessListener<DocumentSnapshot>> success = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        when(task.addOnSuccessListener(success.capture())).thenReturn(task);
+        when(task.addOnFailureListener(any())).thenReturn(task);
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        when(snapshot.getLong("version")).thenReturn(version);
+        when(snapshot.getString("url")).thenReturn(url);
+        when(snapshot.getString("sha256")).thenReturn(sha256);
+        TestUpdateCallback callback = new TestUpdateCallback();
+
+        updater.refresh(callback);
+        success.getValue().onSuccess(snapshot);
+        return callback;
+    }
+
+    private static class TestUpdateCallback implements DisposableDomainUpdater.UpdateCallback {
+        boolean updated;
+        String error;
+
+        @Override
+        public void onSuccess(boolean updated) {
+            this.updated = updated;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
@@ -14,14 +14,23 @@ import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.Transaction;
+import com.soen345.project.common.ManualScheduler;
+import com.soen345.project.metering.FirestoreUsage;
+import com.soen345.project.metering.FlowUsage;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -39,6 +48,7 @@ public class FirebaseAuthRepositoryTest {
     private FirebaseFirestore firestore;
     private SharedPreferences sharedPreferences;
     private SharedPreferences.Editor editor;
+    private FirestoreUsage usage;
     private FirebaseAuthRepository repository;
 
     @Before
@@ -52,7 +62,8 @@ public class FirebaseAuthRepositoryTest {
         when(editor.putString(anyString(), anyString())).thenReturn(editor);
         when(editor.remove(anyString())).thenReturn(editor);
 
-        repository = new FirebaseAuthRepository(firebaseAuth, firestore, sharedPreferences);
+        usage = new FirestoreUsage();
+        repository = new FirebaseAuthRepository(firebaseAuth, firestore, sharedPreferences, usage);
     }
 
     @Test
@@ -133,7 +144,7 @@ public class FirebaseAuthRepositoryTest {
         when(phoneLookupTask.addOnSuccessListener(lookupSuccess.capture())).thenReturn(phoneLookupTask);
         when(phoneLookupTask.addOnFailureListener(any())).thenReturn(phoneLookupTask);
 
-        when(phoneSnapshot.getString("email")).thenReturn("seed@example.com");
+        when(phoneSnapshot.getData()).thenReturn(Collections.singletonMap("email", "seed@example.com"));
         when(firebaseAuth.signInWithEmailAndPassword("seed@example.com", "password123")).thenReturn(signInTask);
         when(signInTask.addOnSuccessListener(any())).thenReturn(signInTask);
         when(signInTask.addOnFailureListener(any())).thenReturn(signInTask);
@@ -161,7 +172,7 @@ public class FirebaseAuthRepositoryTest {
         when(phoneLookupTask.addOnSuccessListener(lookupSuccess.capture())).thenReturn(phoneLookupTask);
         when(phoneLookupTask.addOnFailureListener(any())).thenReturn(phoneLookupTask);
 
-        when(phoneSnapshot.getString("email")).thenReturn(null);
+        when(phoneSnapshot.getData()).thenReturn(Collections.singletonMap("userId", "uid-1"));
 
         repository.signIn("+15145550100", "password123", callback);
         lookupSuccess.getValue().onSuccess(phoneSnapshot);
@@ -346,6 +357,78 @@ public class FirebaseAuthRepositoryTest {
         assertEquals("Account created, but role setup failed. Please try again.", callback.error);
     }
 
+    @Test
+    public void phoneSignIn_staysWithinTwoReadsAndTwoRoundTrips() {
+        @SuppressWarnings("unchecked")
+        Task<DocumentSnapshot> phoneLookupTask = mock(Task.class);
+        @SuppressWarnings("unchecked")
+        Task<AuthResult> signInTask = mock(Task.class);
+        @SuppressWarnings("unchecked")
+        Task<DocumentSnapshot> userDocTask = mock(Task.class);
+        CollectionReference phoneIndexCollection = mock(CollectionReference.class);
+        CollectionReference usersCollection = mock(CollectionReference.class);
+        DocumentReference phoneDoc = mock(DocumentReference.class);
+        DocumentReference userDoc = mock(DocumentReference.class);
+        DocumentSnapshot phoneSnapshot = mock(DocumentSnapshot.class);
+        DocumentSnapshot userSnapshot = mock(DocumentSnapshot.class);
+        FirebaseUser user = mock(FirebaseUser.class);
+        AuthResult authResult = mock(AuthResult.class);
+        TestCallback callback = new TestCallback();
+        ArgumentCaptor<OnSuccessListener<DocumentSnapshot>> lookupSuccess = successCaptor();
+        ArgumentCaptor<OnSuccessListener<AuthResult>> signInSuccess = successCaptor();
+        ArgumentCaptor<OnSuccessListener<DocumentSnapshot>> userDocSuccess = successCaptor();
+
+        when(firestore.collection("phone_index")).thenReturn(phoneIndexCollection);
+        when(phoneIndexCollection.document("+15145550100")).thenReturn(phoneDoc);
+        when(phoneDoc.get()).thenReturn(phoneLookupTask);
+        when(phoneLookupTask.addOnSuccessListener(lookupSuccess.capture())).thenReturn(phoneLookupTask);
+        when(phoneLookupTask.addOnFailureListener(any())).thenReturn(phoneLookupTask);
+        when(phoneSnapshot.getData()).thenReturn(Collections.singletonMap("email", "seed@example.com"));
+        when(user.getUid()).thenReturn("uid-1");
+        when(user.getEmail()).thenReturn("seed@example.com");
+        when(authResult.getUser()).thenReturn(user);
+        when(firebaseAuth.signInWithEmailAndPassword("seed@example.com", "password123")).thenReturn(signInTask);
+        when(signInTask.addOnSuccessListener(signInSuccess.capture())).thenReturn(signInTask);
+        when(signInTask.addOnFailureListener(any())).thenReturn(signInTask);
+        when(firestore.collection("users")).thenReturn(usersCollection);
+        when(usersCollection.document("uid-1")).thenReturn(userDoc);
+        when(userDoc.get()).thenReturn(userDocTask);
+        when(userDocTask.addOnSuccessListener(userDocSuccess.capture())).thenReturn(userDocTask);
+        when(userDocTask.addOnFailureListener(any())).thenReturn(userDocTask);
+        when(userSnapshot.getData()).thenReturn(Collections.singletonMap("role", "CUSTOMER"));
+
+        repository.signIn("+15145550100", "password123", callback);
+        lookupSuccess.getValue().onSuccess(phoneSnapshot);
+        signInSuccess.getValue().onSuccess(authResult);
+        userDocSuccess.getValue().onSuccess(userSnapshot);
+
+        assertEquals(UserRole.CUSTOMER, callback.successRole);
+        FlowUsage flow = usage.getFlow(FirebaseAuthRepository.FLOW_SIGN_IN_PHONE);
+        assertEquals(1L, flow.getRuns());
+        assertTrue(flow.getMaxReads() <= 2);
+        assertTrue(flow.getMaxRoundTrips() <= 2);
+        assertEquals(0, flow.getMaxWrites());
+        assertEquals(0L, usage.getOverBudgetRuns());
+    }
+
+    @Test
+    public void emailSignIn_failedAuth_costsNoFirestoreReads() {
+        @SuppressWarnings("unchecked")
+        Task<AuthResult> signInTask = mock(Task.class);
+        ArgumentCaptor<OnFailureListener> failureCaptor = ArgumentCaptor.forClass(OnFailureListener.class);
+        when(firebaseAuth.signInWithEmailAndPassword("user@example.com", "password123")).thenReturn(signInTask);
+        when(signInTask.addOnSuccessListener(any())).thenReturn(signInTask);
+        when(signInTask.addOnFailureListener(failureCaptor.capture())).thenReturn(signInTask);
+
+        repository.signIn("user@example.com", "password123", new TestCallback());
+        failureCaptor.getValue().onFailure(mock(FirebaseAuthInvalidCredentialsException.class));
+
+        FlowUsage flow = usage.getFlow(FirebaseAuthRepository.FLOW_SIGN_IN_EMAIL);
+        assertEquals(1L, flow.getRuns());
+        assertEquals(0L, flow.getReads());
+        assertEquals(0L, flow.getRoundTrips());
+    }
+
     @Test
     public void register_transactionFunction_writesUserAndPhoneIndexDocuments() throws Exception {
         @SuppressWarnings("unchecked")
@@ -382,16 +465,24 @@ public class FirebaseAuthRepositoryTest {
         when(transaction.set(eq(userDoc), anyMap())).thenReturn(transaction);
         when(transaction.set(eq(phoneDoc), anyMap())).thenReturn(transaction);
 
+        ArgumentCaptor<OnSuccessListener<Void>> transactionSuccess = successCaptor();
         when(firestore.runTransaction(transactionFunctionCaptor.capture())).thenReturn((Task) transactionTask);
-        when(transactionTask.addOnSuccessListener(any())).thenReturn(transactionTask);
+        when(transactionTask.addOnSuccessListener(transactionSuccess.capture())).thenReturn(transactionTask);
         when(transactionTask.addOnFailureListener(any())).thenReturn(transactionTask);
 
         repository.register("new@example.com", "+15145550100", "password123", new TestCallback());
         createUserSuccess.getValue().onSuccess(authResult);
         transactionFunctionCaptor.getValue().apply(transaction);
+        transactionSuccess.getValue().onSuccess(null);
 
         verify(transaction).set(eq(userDoc), anyMap());
         verify(transaction).set(eq(phoneDoc), anyMap());
+        FlowUsage flow = usage.getFlow(FirebaseAuthRepository.FLOW_REGISTER);
+        assertEquals(1L, flow.getRuns());
+        assertTrue(flow.getMaxReads() <= 1);
+        assertTrue(flow.getMaxWrites() <= 2);
+        assertTrue(flow.getMaxRoundTrips() <= 2);
+        assertEquals(0L, usage.getOverBudgetRuns());
     }
 
     @Test
@@ -423,7 +514,7 @@ public class FirebaseAuthRepositoryTest {
         when(userDoc.get()).thenReturn(userDocTask);
         when(userDocTask.addOnSuccessListener(userDocSuccess.capture())).thenReturn(userDocTask);
         when(userDocTask.addOnFailureListener(any())).thenReturn(userDocTask);
-        when(userSnapshot.getString("role")).thenReturn(null);
+        when(userSnapshot.getData()).thenReturn(Collections.singletonMap("email", "seed@example.com"));
 
         repository.signIn("seed@example.com", "password123", callback);
         signInSuccess.getValue().onSuccess(authResult);
@@ -490,7 +581,7 @@ public class FirebaseAuthRepositoryTest {
         when(user.getUid()).thenReturn("uid-1");
         when(user.getEmail()).thenReturn(null);
         when(authResult.getUser()).thenReturn(user);
-        when(userSnapshot.getString("role")).thenReturn("ADMIN");
+        when(userSnapshot.getData()).thenReturn(Collections.singletonMap("role", "ADMIN"));
 
         when(firebaseAuth.signInWithEmailAndPassword("seed@example.com", "password123")).thenReturn(signInTask);
         when(signInTask.addOnSuccessListener(signInSuccess.capture())).thenReturn(signInTask);
@@ -511,6 +602,73 @@ public class FirebaseAuthRepositoryTest {
         assertEquals(UserRole.ADMIN, callback.successRole);
     }
 
+    @Test
+    public void emailSignIn_withRoleWatcher_chargesTheListenerReadOnce() {
+        @SuppressWarnings("unchecked")
+        Task<AuthResult> signInTask = mock(Task.class);
+        @SuppressWarnings("unchecked")
+        Task<DocumentSnapshot> userDocTask = mock(Task.class);
+        CollectionReference usersCollection = mock(CollectionReference.class);
+        DocumentReference userDoc = mock(DocumentReference.class);
+        DocumentSnapshot userSnapshot = mock(DocumentSnapshot.class);
+        FirebaseUser user = mock(FirebaseUser.class);
+        AuthResult authResult = mock(AuthResult.class);
+        ArgumentCaptor<OnSuccessListener<AuthResult>> signInSuccess = successCaptor();
+        ArgumentCaptor<OnSuccessListener<DocumentSnapshot>> userDocSuccess = successCaptor();
+
+        when(user.getUid()).thenReturn("uid-1");
+        when(user.getEmail()).thenReturn("seed@example.com");
+        when(authResult.getUser()).thenReturn(user);
+        when(userSnapshot.getData()).thenReturn(Collections.singletonMap("role", "CUSTOMER"));
+        when(firebaseAuth.signInWithEmailAndPassword("seed@example.com", "password123")).thenReturn(signInTask);
+        when(signInTask.addOnSuccessListener(signInSuccess.capture())).thenReturn(signInTask);
+        when(signInTask.addOnFailureListener(any())).thenReturn(signInTask);
+        when(firestore.collection("users")).thenReturn(usersCollection);
+        when(usersCollection.document("uid-1")).thenReturn(userDoc);
+        when(userDoc.get()).thenReturn(userDocTask);
+        when(userDocTask.addOnSuccessListener(userDocSuccess.capture())).thenReturn(userDocTask);
+        when(userDocTask.addOnFailureListener(any())).thenReturn(userDocTask);
+        RoleWatcher watcher = new RoleWatcher((userId, listener) -> mock(ListenerRegistration.class),
+                new PreferencesRoleCache(sharedPreferences), new ManualScheduler());
+        FirebaseAuthRepository watchedRepository =
+                new FirebaseAuthRepository(firebaseAuth, firestore, sharedPreferences, usage, watcher);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            watchedRepository.signIn("seed@example.com", "password123", new TestCallback());
+            signInSuccess.getValue().onSuccess(authResult);
+            userDocSuccess.getValue().onSuccess(userSnapshot);
+        }
+
+        // The second sign-in reuses the listener already attached for uid-1.
+        FlowUsage flow = usage.getFlow(FirebaseAuthRepository.FLOW_SIGN_IN_EMAIL);
+        assertEquals(2L, flow.getRuns());
+        assertEquals(3L, flow.getReads());
+        assertEquals(2, flow.getMaxReads());
+        assertEquals(0L, usage.getOverBudgetRuns());
+    }
+
+    @Test
+    public void roleListener_watchesTheCurrentUserUntilSignOut() {
+        FirebaseUser user = mock(FirebaseUser.class);
+        when(user.getUid()).thenReturn("uid-1");
+        when(firebaseAuth.getCurrentUser()).thenReturn(user);
+        ListenerRegistration registration = mock(ListenerRegistration.class);
+        List<String> watched = new ArrayList<>();
+        RoleWatcher watcher = new RoleWatcher((userId, listener) -> {
+            watched.add(userId);
+            return registration;
+        }, new PreferencesRoleCache(sharedPreferences), new ManualScheduler());
+        FirebaseAuthRepository watchedRepository =
+                new FirebaseAuthRepository(firebaseAuth, firestore, sharedPreferences, usage, watcher);
+
+        watchedRepository.addRoleListener(role -> { });
+        watchedRepository.signOut();
+
+        assertEquals(Collections.singletonList("uid-1"), watched);
+        verify(registration).remove();
+        verify(firebaseAuth).signOut();
+    }
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     private static <T> ArgumentCaptor<OnSuccessListener<T>> successCaptor() {
         return (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
@@ -0,0 +1,36 @@
+package com.soen345.project.auth;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PhoneIndexCodecTest {
+    private final PhoneIndexCodec codec = new PhoneIndexCodec();
+
+    @Test
+    public void encodeThenDecode_roundTripsEntry() {
+        Map<String, Object> fields = codec.encode(new PhoneIndexEntry("uid-1", "seed@example.com"));
+
+        PhoneIndexEntry decoded = codec.decode("+15145550100", fields);
+
+        assertEquals(2, fields.size());
+        assertEquals("uid-1", decoded.getUserId());
+        assertEquals("seed@example.com", decoded.getEmail());
+    }
+
+    @Test
+    public void decode_withNonStringEmail_leavesEmailNull() {
+        PhoneIndexEntry decoded = codec.decode("+15145550100", Collections.singletonMap("email", 42L));
+
+        assertNull(decoded.getEmail());
+    }
+
+    @Test
+    public void decode_missingDocument_returnsNull() {
+        assertNull(codec.decode("+15145550100", null));
+    }
+}
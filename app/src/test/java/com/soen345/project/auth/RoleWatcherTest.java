@@ -0,0 +1,239 @@
+package com.soen345.project.auth;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.SnapshotMetadata;
+import com.soen345.project.common.ManualScheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RoleWatcherTest {
+    private FakeProfileSource source;
+    private InMemoryRoleCache roleCache;
+    private ManualScheduler scheduler;
+    private RoleWatcher watcher;
+    private List<UserRole> changes;
+
+    @Before
+    public void setUp() {
+        source = new FakeProfileSource();
+        roleCache = new InMemoryRoleCache();
+        scheduler = new ManualScheduler();
+        watcher = new RoleWatcher(source, roleCache, scheduler, new Random(1L));
+        changes = new ArrayList<>();
+        watcher.addListener(changes::add);
+    }
+
+    @Test
+    public void promotion_updatesTheCacheAndNotifiesOnce() {
+        roleCache.store(UserRole.CUSTOMER);
+        watcher.watch("uid-1");
+
+        source.deliver(profile("CUSTOMER"));
+        source.deliver(profile("ADMIN"));
+        source.deliver(profile("ADMIN"));
+
+        assertEquals(UserRole.ADMIN, roleCache.get());
+        assertEquals(Collections.singletonList(UserRole.ADMIN), changes);
+        assertEquals(1, source.attaches);
+    }
+
+    @Test
+    public void lostRole_clearsTheCacheAndReportsNull() {
+        roleCache.store(UserRole.ADMIN);
+        watcher.watch("uid-1");
+
+        source.deliver(missing(false));
+
+        assertNull(roleCache.get());
+        assertEquals(Collections.singletonList((UserRole) null), changes);
+    }
+
+    @Test
+    public void missingDocumentFromCache_keepsTheRoleUntilTheServerConfirms() {
+        roleCache.store(UserRole.ADMIN);
+        watcher.watch("uid-1");
+
+        source.deliver(missing(true));
+
+        assertEquals(UserRole.ADMIN, roleCache.get());
+        assertTrue(changes.isEmpty());
+
+        source.deliver(missing(false));
+
+        assertNull(roleCache.get());
+        assertEquals(Collections.singletonList((UserRole) null), changes);
+    }
+
+    @Test
+    public void invalidRoleFromCache_isStillADemotion() {
+        roleCache.store(UserRole.ADMIN);
+        watcher.watch("uid-1");
+
+        source.deliver(profile("SUPERUSER", true));
+
+        assertNull(roleCache.get());
+        assertEquals(Collections.singletonList((UserRole) null), changes);
+    }
+
+    @Test
+    public void stop_detachesAndIgnoresLateSnapshots() {
+        roleCache.store(UserRole.CUSTOMER);
+        watcher.watch("uid-1");
+        FakeRegistration registration = source.registrations.get(0);
+
+        watcher.stop();
+        source.deliver(profile("ADMIN"));
+
+        assertTrue(registration.removed);
+        assertFalse(watcher.isWatching());
+        assertEquals(UserRole.CUSTOMER, roleCache.get());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void watch_sameUserKeepsOneListenerAndAnotherUserReplacesIt() {
+        watcher.watch("uid-1");
+        watcher.watch("uid-1");
+        watcher.watch("uid-2");
+
+        assertEquals(2, source.attaches);
+        assertTrue(source.registrations.get(0).removed);
+        assertEquals("uid-2", source.lastUserId);
+    }
+
+    @Test
+    public void errors_reconnectWithGrowingBackoffThatResetsAfterASnapshot() {
+        roleCache.store(UserRole.CUSTOMER);
+        watcher.watch("uid-1");
+
+        source.fail();
+        assertTrue(source.registrations.get(0).removed);
+        scheduler.advance(RoleWatcher.INITIAL_BACKOFF_MILLIS / 2 - 1);
+        assertEquals(1, source.attaches);
+        scheduler.advance(RoleWatcher.INITIAL_BACKOFF_MILLIS / 2 + 1);
+        assertEquals(2, source.attaches);
+
+        source.fail();
+        scheduler.advance(RoleWatcher.INITIAL_BACKOFF_MILLIS - 1);
+        assertEquals(2, source.attaches);
+        scheduler.advance(RoleWatcher.INITIAL_BACKOFF_MILLIS + 1);
+        assertEquals(3, source.attaches);
+
+        source.deliver(profile("ADMIN"));
+        source.fail();
+        scheduler.advance(RoleWatcher.INITIAL_BACKOFF_MILLIS);
+
+        assertEquals(4, source.attaches);
+        assertEquals(3L, watcher.getReconnectCount());
+        assertEquals(Collections.singletonList(UserRole.ADMIN), changes);
+    }
+
+    @Test
+    public void backoff_isCappedAndStopCancelsThePendingReconnect() {
+        watcher.watch("uid-1");
+        for (int i = 0; i < 10; i++) {
+            source.fail();
+            scheduler.advance(RoleWatcher.MAX_BACKOFF_MILLIS);
+        }
+        assertEquals(11, source.attaches);
+
+        source.fail();
+        watcher.stop();
+        scheduler.runAll();
+
+        assertEquals(11, source.attaches);
+    }
+
+    private static DocumentSnapshot profile(String role) {
+        return profile(role, false);
+    }
+
+    private static DocumentSnapshot profile(String role, boolean fromCache) {
+        DocumentSnapshot snapshot = snapshot(true, fromCache);
+        when(snapshot.getData()).thenReturn(Collections.singletonMap(UserProfileCodec.FIELD_ROLE, role));
+        return snapshot;
+    }
+
+    private static DocumentSnapshot missing(boolean fromCache) {
+        return snapshot(false, fromCache);
+    }
+
+    private static DocumentSnapshot snapshot(boolean exists, boolean fromCache) {
+        SnapshotMetadata metadata = mock(SnapshotMetadata.class);
+        when(metadata.isFromCache()).thenReturn(fromCache);
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        when(snapshot.getId()).thenReturn("uid-1");
+        when(snapshot.exists()).thenReturn(exists);
+        when(snapshot.getMetadata()).thenReturn(metadata);
+        return snapshot;
+    }
+
+    private static final class FakeProfileSource implements RoleWatcher.ProfileSource {
+        private final List<FakeRegistration> registrations = new ArrayList<>();
+        private EventListener<DocumentSnapshot> listener;
+        private String lastUserId;
+        private int attaches;
+
+        @Override
+        public ListenerRegistration listen(String userId, EventListener<DocumentSnapshot> eventListener) {
+            attaches++;
+            lastUserId = userId;
+            listener = eventListener;
+            FakeRegistration registration = new FakeRegistration();
+            registrations.add(registration);
+            return registration;
+        }
+
+        void deliver(DocumentSnapshot snapshot) {
+            listener.onEvent(snapshot, null);
+        }
+
+        void fail() {
+            listener.onEvent(null, mock(FirebaseFirestoreException.class));
+        }
+    }
+
+    private static final class FakeRegistration implements ListenerRegistration {
+        private boolean removed;
+
+        @Override
+        public void remove() {
+            removed = true;
+        }
+    }
+
+    private static final class InMemoryRoleCache implements RoleCache {
+        private UserRole role;
+
+        @Override
+        public UserRole get() {
+            return role;
+        }
+
+        @Override
+        public void store(UserRole newRole) {
+            role = newRole;
+        }
+
+        @Override
+        public void clear() {
+            role = null;
+        }
+    }
+}
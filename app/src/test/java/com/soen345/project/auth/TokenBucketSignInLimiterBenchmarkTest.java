@@ -0,0 +1,75 @@
+package com.soen345.project.auth;
+
+import com.soen345.project.common.FakeClock;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+public class TokenBucketSignInLimiterBenchmarkTest {
+    private static final int ATTEMPTS = 1_000_000;
+    private static final int IDENTIFIERS = 100_000;
+    private static final int TARGETS = 1_000;
+    private static final int MAX_TRACKED = 10_000;
+    private static final long MILLIS_BETWEEN_ATTEMPTS = 10;
+
+    // Half the traffic is credential stuffing against 1k accounts; the rest is ordinary users who
+    // mostly get their password right. Simulated time advances 10ms per attempt.
+    @Test
+    public void credentialStuffingAcross100kIdentifiers() {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        FakeClock clock = new FakeClock(0L);
+        TokenBucketSignInLimiter limiter = new TokenBucketSignInLimiter(
+                clock, 5, 30_000, 3, 30_000, 15 * 60_000, MAX_TRACKED, 16_384);
+        String[] identifiers = new String[IDENTIFIERS];
+        for (int i = 0; i < IDENTIFIERS; i++) {
+            identifiers[i] = "user" + i + "@example.com";
+        }
+        Random random = new Random(42);
+
+        int stuffingAttempts = 0;
+        int stuffingAdmitted = 0;
+        int userAttempts = 0;
+        int userThrottled = 0;
+        int maxTrackedSeen = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            clock.advance(MILLIS_BETWEEN_ATTEMPTS);
+            boolean stuffing = random.nextBoolean();
+            String identifier = stuffing
+                    ? identifiers[random.nextInt(TARGETS)]
+                    : identifiers[TARGETS + random.nextInt(IDENTIFIERS - TARGETS)];
+            boolean admitted = limiter.acquire(identifier) == 0;
+            if (stuffing) {
+                stuffingAttempts++;
+                if (admitted) {
+                    stuffingAdmitted++;
+                    limiter.onInvalidCredentials(identifier);
+                }
+            } else {
+                userAttempts++;
+                if (!admitted) {
+                    userThrottled++;
+                } else if (random.nextInt(10) == 0) {
+                    limiter.onInvalidCredentials(identifier);
+                } else {
+                    limiter.onSuccess(identifier);
+                }
+            }
+            if ((i & 1023) == 0) {
+                maxTrackedSeen = Math.max(maxTrackedSeen, limiter.trackedCount());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("SignInLimiter simulation attempts=%d identifiers=%d: stuffing admitted=%d/%d users throttled=%d/%d tracked<=%d sketch=%d KB %.0fns/attempt%n",
+                ATTEMPTS, IDENTIFIERS, stuffingAdmitted, stuffingAttempts, userThrottled, userAttempts,
+                maxTrackedSeen, limiter.sketchMemoryBytes() / 1024, (double) elapsed / ATTEMPTS);
+        assertTrue(stuffingAdmitted < stuffingAttempts / 20);
+        assertTrue(userThrottled < userAttempts / 100);
+        assertTrue(maxTrackedSeen <= MAX_TRACKED);
+    }
+}
@@ -0,0 +1,132 @@
+package com.soen345.project.auth;
+
+import com.soen345.project.common.FakeClock;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TokenBucketSignInLimiterTest {
+    private final FakeClock clock = new FakeClock(1_000_000L);
+
+    @Test
+    public void acquire_allowsBurstThenWaitsForRefill() {
+        TokenBucketSignInLimiter limiter = limiter(3, 8);
+
+        assertEquals(0, limiter.acquire("a@example.com"));
+        assertEquals(0, limiter.acquire("a@example.com"));
+        assertEquals(0, limiter.acquire("a@example.com"));
+        assertEquals(10_000, limiter.acquire("a@example.com"));
+
+        clock.advance(4_000);
+        assertEquals(6_000, limiter.acquire("a@example.com"));
+        clock.advance(6_000);
+        assertEquals(0, limiter.acquire("a@example.com"));
+        assertEquals(10_000, limiter.acquire("a@example.com"));
+    }
+
+    @Test
+    public void acquire_keepsIdentifiersIndependent() {
+        TokenBucketSignInLimiter limiter = limiter(1, 8);
+
+        assertEquals(0, limiter.acquire("a@example.com"));
+        assertTrue(limiter.acquire("a@example.com") > 0);
+        assertEquals(0, limiter.acquire("b@example.com"));
+    }
+
+    @Test
+    public void repeatedFailures_coolDownExponentially() {
+        TokenBucketSignInLimiter limiter = limiter(100, 8);
+        String id = "+15145550100";
+
+        for (int i = 0; i < 2; i++) {
+            limiter.acquire(id);
+            limiter.onInvalidCredentials(id);
+        }
+        assertEquals(0, limiter.acquire(id));
+        limiter.onInvalidCredentials(id);
+        assertEquals(30_000, limiter.acquire(id));
+
+        clock.advance(30_000);
+        limiter.acquire(id);
+        limiter.onInvalidCredentials(id);
+        assertEquals(60_000, limiter.acquire(id));
+
+        clock.advance(60_000);
+        limiter.acquire(id);
+        limiter.onInvalidCredentials(id);
+        assertEquals(120_000, limiter.acquire(id));
+    }
+
+    @Test
+    public void coolDown_isCappedAtMaximum() {
+        TokenBucketSignInLimiter limiter = limiter(100, 8);
+        limiter.acquire("a@example.com");
+        for (int i = 0; i < 40; i++) {
+            limiter.onInvalidCredentials("a@example.com");
+        }
+
+        assertEquals(15 * 60_000, limiter.acquire("a@example.com"));
+    }
+
+    @Test
+    public void success_resetsConsecutiveFailures() {
+        TokenBucketSignInLimiter limiter = limiter(100, 8);
+        String id = "a@example.com";
+        limiter.acquire(id);
+        limiter.onInvalidCredentials(id);
+        limiter.onInvalidCredentials(id);
+        limiter.onSuccess(id);
+        limiter.onInvalidCredentials(id);
+        limiter.onInvalidCredentials(id);
+
+        assertEquals(0, limiter.acquire(id));
+    }
+
+    @Test
+    public void beyondTrackedLimit_failuresAreCountedApproximately() {
+        TokenBucketSignInLimiter limiter = limiter(5, 2);
+        limiter.acquire("a@example.com");
+        limiter.acquire("b@example.com");
+
+        assertEquals(0, limiter.acquire("tail@example.com"));
+        for (int i = 0; i < 2; i++) {
+            limiter.onInvalidCredentials("tail@example.com");
+        }
+        assertEquals(0, limiter.acquire("tail@example.com"));
+        limiter.onInvalidCredentials("tail@example.com");
+
+        assertEquals(15 * 60_000, limiter.acquire("tail@example.com"));
+        assertEquals(2, limiter.trackedCount());
+        clock.advance(15 * 60_000);
+        assertEquals(0, limiter.acquire("tail@example.com"));
+    }
+
+    @Test
+    public void idleIdentifiers_areEvictedToMakeRoom() {
+        TokenBucketSignInLimiter limiter = limiter(5, 2);
+        limiter.acquire("a@example.com");
+        limiter.acquire("b@example.com");
+
+        clock.advance(60_000);
+        limiter.acquire("c@example.com");
+
+        assertEquals(1, limiter.trackedCount());
+    }
+
+    @Test
+    public void constructor_withNullClock_throws() {
+        try {
+            TokenBucketSignInLimiter.withDefaults(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("clock cannot be null", e.getMessage());
+        }
+    }
+
+    private TokenBucketSignInLimiter limiter(int capacity, int maxTracked) {
+        return new TokenBucketSignInLimiter(clock, capacity, 10_000, 2, 30_000, 15 * 60_000, maxTracked, 1_024);
+    }
+}
@@ -0,0 +1,190 @@
+package com.soen345.project.auth;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+
+public class UserProfileCodecBenchmarkTest {
+    private static final int PROFILES = 100_000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    @Test
+    public void fieldTableCodecVersusReflectiveBeanMapper() {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        UserProfileCodec codec = new UserProfileCodec();
+        ReflectiveBeanMapper mapper = new ReflectiveBeanMapper();
+        List<UserProfile> profiles = new ArrayList<>();
+        List<ProfileBean> beans = new ArrayList<>();
+        for (int i = 0; i < PROFILES; i++) {
+            UserRole role = i % 10 == 0 ? UserRole.ADMIN : UserRole.CUSTOMER;
+            PreferredChannel channel = i % 3 == 0 ? PreferredChannel.SMS : PreferredChannel.EMAIL;
+            profiles.add(new UserProfile("uid-" + i, "user" + i + "@example.com", "+1514555" + i, role, channel));
+            beans.add(new ProfileBean("uid-" + i, "user" + i + "@example.com", "+1514555" + i, role, channel));
+        }
+
+        long codecNanos = 0;
+        long reflectiveNanos = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            int admins = 0;
+            for (UserProfile profile : profiles) {
+                UserProfile decoded = codec.decode(profile.getUserId(), codec.encode(profile));
+                admins += decoded.getRole() == UserRole.ADMIN ? 1 : 0;
+            }
+            long middle = System.nanoTime();
+            int reflectiveAdmins = 0;
+            for (ProfileBean bean : beans) {
+                ProfileBean decoded = mapper.toObject(mapper.toMap(bean), ProfileBean.class);
+                reflectiveAdmins += decoded.getRole() == UserRole.ADMIN ? 1 : 0;
+            }
+            long end = System.nanoTime();
+
+            assertEquals(PROFILES / 10, admins);
+            assertEquals(admins, reflectiveAdmins);
+            if (round == WARMUP_ROUNDS) {
+                codecNanos = middle - start;
+                reflectiveNanos = end - middle;
+            }
+        }
+        System.out.printf("UserProfile codec benchmark profiles=%d: fieldTable=%.0fns/roundTrip reflective=%.0fns/roundTrip%n",
+                PROFILES, (double) codecNanos / PROFILES, (double) reflectiveNanos / PROFILES);
+    }
+
+    // Stand-in for the SDK's CustomClassMapper, which is not available on the JVM test classpath. Like it,
+    // it caches the bean's accessors per class, then goes through Method.invoke for every property and
+    // matches enums by scanning their constants.
+    private static final class ReflectiveBeanMapper {
+        private final Map<Class<?>, Map<String, Method[]>> properties = new ConcurrentHashMap<>();
+
+        Map<String, Object> toMap(Object bean) {
+            Map<String, Object> fields = new HashMap<>();
+            for (Map.Entry<String, Method[]> property : propertiesOf(bean.getClass()).entrySet()) {
+                Object value = invoke(property.getValue()[0], bean);
+                fields.put(property.getKey(), value instanceof Enum ? ((Enum<?>) value).name() : value);
+            }
+            return fields;
+        }
+
+        <T> T toObject(Map<String, Object> data, Class<T> type) {
+            try {
+                T bean = type.getDeclaredConstructor().newInstance();
+                for (Map.Entry<String, Method[]> property : propertiesOf(type).entrySet()) {
+                    Method setter = property.getValue()[1];
+                    Object value = data.get(property.getKey());
+                    Class<?> parameter = setter.getParameterTypes()[0];
+                    invoke(setter, bean, parameter.isEnum() ? enumConstant(parameter, value) : value);
+                }
+                return bean;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Map<String, Method[]> propertiesOf(Class<?> type) {
+            return properties.computeIfAbsent(type, ReflectiveBeanMapper::introspect);
+        }
+
+        private static Map<String, Method[]> introspect(Class<?> type) {
+            Map<String, Method[]> found = new HashMap<>();
+            for (Method getter : type.getMethods()) {
+                String name = getter.getName();
+                if (!name.startsWith("get") || getter.getParameterCount() != 0
+                        || getter.getDeclaringClass() == Object.class || Modifier.isStatic(getter.getModifiers())) {
+                    continue;
+                }
+                String property = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+                try {
+                    found.put(property, new Method[]{getter, type.getMethod("set" + name.substring(3), getter.getReturnType())});
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return found;
+        }
+
+        private static Object enumConstant(Class<?> type, Object value) {
+            for (Object constant : type.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equals(value)) {
+                    return constant;
+                }
+            }
+            return null;
+        }
+
+        private static Object invoke(Method method, Object target, Object... args) {
+            try {
+                return method.invoke(target, args);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public static final class ProfileBean {
+        private String userId;
+        private String email;
+        private String phone;
+        private UserRole role;
+        private PreferredChannel preferredChannel;
+
+        public ProfileBean() {
+        }
+
+        ProfileBean(String userId, String email, String phone, UserRole role, PreferredChannel preferredChannel) {
+            this.userId = userId;
+            this.email = email;
+            this.phone = phone;
+            this.role = role;
+            this.preferredChannel = preferredChannel;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public void setUserId(String userId) {
+            this.userId = userId;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public String getPhone() {
+            return phone;
+        }
+
+        public void setPhone(String phone) {
+            this.phone = phone;
+        }
+
+        public UserRole getRole() {
+            return role;
+        }
+
+        public void setRole(UserRole role) {
+            this.role = role;
+        }
+
+        public PreferredChannel getPreferredChannel() {
+            return preferredChannel;
+        }
+
+        public void setPreferredChannel(PreferredChannel preferredChannel) {
+            this.preferredChannel = preferredChannel;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.soen345.project.auth;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class UserProfileCodecTest {
+    private final UserProfileCodec codec = new UserProfileCodec();
+
+    @Test
+    public void encode_writesStoredValuesForEnums() {
+        Map<String, Object> fields = codec.encode(
+                new UserProfile("uid-1", "seed@example.com", "+15145550100", UserRole.ADMIN, PreferredChannel.SMS));
+
+        assertEquals(5, fields.size());
+        assertEquals("uid-1", fields.get("userId"));
+        assertEquals("seed@example.com", fields.get("email"));
+        assertEquals("+15145550100", fields.get("phone"));
+        assertEquals("ADMIN", fields.get("role"));
+        assertEquals("SMS", fields.get("preferredChannel"));
+    }
+
+    @Test
+    public void decode_roundTripsEncodedProfile() {
+        UserProfile profile = new UserProfile("uid-1", "seed@example.com", "+15145550100", UserRole.CUSTOMER, PreferredChannel.EMAIL);
+
+        UserProfile decoded = codec.decode("uid-1", codec.encode(profile));
+
+        assertEquals("uid-1", decoded.getUserId());
+        assertEquals("seed@example.com", decoded.getEmail());
+        assertEquals("+15145550100", decoded.getPhone());
+        assertEquals(UserRole.CUSTOMER, decoded.getRole());
+        assertEquals(PreferredChannel.EMAIL, decoded.getPreferredChannel());
+    }
+
+    @Test
+    public void decode_withoutUserIdField_fallsBackToDocumentId() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("role", "administrator");
+
+        UserProfile decoded = codec.decode("uid-2", data);
+
+        assertEquals("uid-2", decoded.getUserId());
+        assertEquals(UserRole.ADMIN, decoded.getRole());
+    }
+
+    @Test
+    public void decode_withUnknownRole_keepsProfileWithNullRole() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("role", "manager");
+
+        assertNull(codec.decode("uid-3", data).getRole());
+    }
+
+    @Test
+    public void decode_missingDocument_returnsNull() {
+        assertNull(codec.decode("uid-4", null));
+    }
+}
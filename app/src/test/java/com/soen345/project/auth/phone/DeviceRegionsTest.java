@@ -0,0 +1,59 @@
+package com.soen345.project.auth.phone;
+
+import android.content.Context;
+import android.telephony.TelephonyManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeviceRegionsTest {
+    private Locale originalLocale;
+    private Context context;
+    private TelephonyManager telephony;
+
+    @Before
+    public void setUp() {
+        originalLocale = Locale.getDefault();
+        Locale.setDefault(Locale.FRANCE);
+        context = mock(Context.class);
+        telephony = mock(TelephonyManager.class);
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(originalLocale);
+    }
+
+    @Test
+    public void preference_ordersSimThenNetworkThenLocaleThenDefault() {
+        when(context.getSystemService(Context.TELEPHONY_SERVICE)).thenReturn(telephony);
+        when(telephony.getSimCountryIso()).thenReturn("gb");
+        when(telephony.getNetworkCountryIso()).thenReturn("us");
+
+        assertEquals(Arrays.asList("GB", "US", "FR", "CA"), DeviceRegions.preference(context));
+    }
+
+    @Test
+    public void preference_withoutSimOrNetwork_usesLocaleThenDefault() {
+        when(context.getSystemService(Context.TELEPHONY_SERVICE)).thenReturn(telephony);
+        when(telephony.getSimCountryIso()).thenReturn("");
+        when(telephony.getNetworkCountryIso()).thenReturn("fr");
+
+        assertEquals(Arrays.asList("FR", "CA"), DeviceRegions.preference(context));
+    }
+
+    @Test
+    public void preference_withoutTelephony_usesLocaleThenDefault() {
+        Locale.setDefault(Locale.ENGLISH);
+
+        assertEquals(Arrays.asList("CA"), DeviceRegions.preference(context));
+    }
+}
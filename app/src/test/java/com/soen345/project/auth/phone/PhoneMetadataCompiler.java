@@ -0,0 +1,102 @@
+package com.soen345.project.auth.phone;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// Build-time tool: compiles regions.csv into the binary layout PhoneMetadata reads.
+// Regenerate the asset with: PhoneMetadataCompiler src/main/assets/phone_metadata.bin
+final class PhoneMetadataCompiler {
+    static final String SOURCE = "regions.csv";
+
+    private PhoneMetadataCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        try (OutputStream out = new FileOutputStream(args[0])) {
+            out.write(compileSource());
+        }
+    }
+
+    static byte[] compileSource() throws IOException {
+        try (InputStream in = PhoneMetadataCompiler.class.getResourceAsStream(SOURCE)) {
+            if (in == null) {
+                throw new IOException("Missing " + SOURCE);
+            }
+            return compile(new InputStreamReader(in, StandardCharsets.US_ASCII));
+        }
+    }
+
+    static ByteBuffer compileSourceBuffer() throws IOException {
+        return ByteBuffer.wrap(compileSource());
+    }
+
+    static byte[] compile(Reader csv) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(csv);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                rows.add(line.split(",", -1));
+            }
+        }
+        Collections.sort(rows, Comparator.comparingInt(row -> Integer.parseInt(row[1])));
+
+        short[] codeIndex = new short[PhoneMetadata.CODE_SLOTS];
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(PhoneMetadata.MAGIC);
+        out.writeShort(PhoneMetadata.VERSION);
+        out.writeShort(rows.size());
+        for (int region = 0; region < rows.size(); region++) {
+            int callingCode = Integer.parseInt(rows.get(region)[1]);
+            if (codeIndex[callingCode] == 0) {
+                codeIndex[callingCode] = (short) (region + 1);
+            }
+        }
+        for (short slot : codeIndex) {
+            out.writeShort(slot);
+        }
+        for (String[] row : rows) {
+            if (row.length != 5 || row[0].length() != 2) {
+                throw new IOException("Bad region row: " + String.join(",", row));
+            }
+            out.writeByte(row[0].charAt(0));
+            out.writeByte(row[0].charAt(1));
+            out.writeShort(Integer.parseInt(row[1]));
+            int lengthMask = 0;
+            for (String length : row[4].split("\\|")) {
+                lengthMask |= 1 << Integer.parseInt(length);
+            }
+            out.writeInt(lengthMask);
+            writePrefix(out, row[2], PhoneMetadata.MAX_NATIONAL_PREFIX_DIGITS);
+            writePrefix(out, row[3], PhoneMetadata.MAX_INTERNATIONAL_PREFIX_DIGITS);
+            out.writeShort(0);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writePrefix(DataOutputStream out, String prefix, int maxDigits) throws IOException {
+        if (prefix.length() > maxDigits) {
+            throw new IOException("Prefix too long: " + prefix);
+        }
+        out.writeByte(prefix.length());
+        for (int i = 0; i < maxDigits; i++) {
+            out.writeByte(i < prefix.length() ? prefix.charAt(i) : 0);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.soen345.project.auth.phone;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PhoneMetadataTest {
+    // Unit tests run from the module directory.
+    private static final File ASSET = new File("src/main/assets/" + AssetPhoneMetadataSource.DEFAULT_ASSET);
+
+    @Test
+    public void shippedAsset_matchesCompiledSource() throws IOException {
+        assertArrayEquals("phone_metadata.bin is stale; rerun PhoneMetadataCompiler",
+                PhoneMetadataCompiler.compileSource(), Files.readAllBytes(ASSET.toPath()));
+    }
+
+    @Test
+    public void shippedAsset_staysSmall() {
+        assertTrue(ASSET.length() < 4096);
+    }
+
+    @Test
+    public void read_indexesRegionsByCallingCode() throws IOException {
+        PhoneMetadata metadata = PhoneMetadata.read(PhoneMetadataCompiler.compileSourceBuffer());
+
+        int nanp = metadata.firstRegionFor(1);
+        assertEquals(1, metadata.callingCode(nanp));
+        assertEquals(1, metadata.callingCode(nanp + 1));
+        assertEquals("GB", metadata.regionCode(metadata.firstRegionFor(44)));
+        assertEquals(-1, metadata.firstRegionFor(999));
+        assertEquals(44, metadata.callingCode(metadata.findRegion("GB")));
+        assertTrue(metadata.isValidLength(metadata.findRegion("FR"), 9));
+    }
+
+    @Test
+    public void matchPrefixes_readStoredDigits() throws IOException {
+        PhoneMetadata metadata = PhoneMetadata.read(PhoneMetadataCompiler.compileSourceBuffer());
+        int hungary = metadata.findRegion("HU");
+        int australia = metadata.findRegion("AU");
+
+        assertEquals(2, metadata.matchNationalPrefix(hungary, "0612345678".toCharArray(), 0, 10));
+        assertEquals(0, metadata.matchNationalPrefix(hungary, "0012345678".toCharArray(), 0, 10));
+        assertEquals(4, metadata.matchInternationalPrefix(australia, "001144".toCharArray(), 0, 6));
+    }
+
+    @Test
+    public void read_rejectsUnknownOrTruncatedData() {
+        try {
+            PhoneMetadata.read(ByteBuffer.wrap(new byte[2008]));
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Unrecognized phone metadata", e.getMessage());
+        }
+        try {
+            byte[] compiled = PhoneMetadataCompiler.compileSource();
+            PhoneMetadata.read(ByteBuffer.wrap(compiled, 0, compiled.length - 1));
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Truncated phone metadata", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.soen345.project.auth.phone;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+
+public class PhoneNumberEngineBenchmarkTest {
+    private static final int ROUNDS = 200_000;
+    // Enough calls for the JIT to settle on one core, which takes several seconds, so the benchmark
+    // only runs from ./gradlew :app:benchmarkTest.
+    private static final int WARMUP_ROUNDS = 1_000_000;
+    private static final String[] INPUTS = {
+            "(514) 555-0100",
+            "1 514 555 0100",
+            "+44 7700 900123",
+            "+44 (0)7700 900123",
+            "011 33 6 12 34 56 78",
+            "+81-3-1234-5678",
+            "+91 98765 43210",
+            "12345"
+    };
+
+    @Test
+    public void normalizeMixedInputs() throws IOException {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        ByteBuffer compiled = PhoneMetadataCompiler.compileSourceBuffer();
+        long loadStart = System.nanoTime();
+        PhoneNumberEngine engine = new PhoneNumberEngine(() -> compiled, "CA", raw -> null);
+        engine.normalize(INPUTS[0]);
+        long loadNanos = System.nanoTime() - loadStart;
+
+        int valid = 0;
+        long start = 0;
+        for (int i = 0; i < WARMUP_ROUNDS + ROUNDS; i++) {
+            if (i == WARMUP_ROUNDS) {
+                valid = 0;
+                start = System.nanoTime();
+            }
+            if (engine.normalize(INPUTS[i % INPUTS.length]) != null) {
+                valid++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(ROUNDS / INPUTS.length * (INPUTS.length - 1), valid);
+        System.out.printf("PhoneNumberEngine benchmark inputs=%d: %.0fns/normalize firstUse=%.2fms metadata=%d bytes%n",
+                ROUNDS, (double) elapsed / ROUNDS, loadNanos / 1e6, compiled.capacity());
+    }
+}
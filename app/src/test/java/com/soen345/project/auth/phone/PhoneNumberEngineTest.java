@@ -0,0 +1,133 @@
+package com.soen345.project.auth.phone;
+
+import com.soen345.project.auth.PhoneNormalizer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PhoneNumberEngineTest {
+    private CountingSource source;
+    private PhoneNumberEngine engine;
+
+    @Before
+    public void setUp() {
+        source = new CountingSource();
+        engine = new PhoneNumberEngine(source, "CA", raw -> "fallback");
+    }
+
+    @Test
+    public void nationalNumbers_useDefaultRegion() {
+        assertEquals("+15145550100", engine.normalize("(514) 555-0100"));
+        assertEquals("+15145550100", engine.normalize("1 514 555 0100"));
+        assertEquals("+15145550100", engine.normalize("514.555.0100"));
+    }
+
+    @Test
+    public void plusNumbers_areCheckedAgainstTheirCountry() {
+        assertEquals("+447700900123", engine.normalize("+44 7700 900123"));
+        assertEquals("+33612345678", engine.normalize("+33 6 12 34 56 78"));
+        assertEquals("+81312345678", engine.normalize("+81-3-1234-5678"));
+        assertNull(engine.normalize("+33 6 12 34"));
+        assertNull(engine.normalize("+0 514 555 0100"));
+    }
+
+    @Test
+    public void plusNumbers_withCallingCodeMissingFromMetadata_keepTheOriginalRule() {
+        assertEquals("+358401234567", engine.normalize("+358 40 1234567"));
+        assertEquals("+420601123456", engine.normalize("+420 601 123 456"));
+        assertEquals("+8801712345678", engine.normalize("+880 1712345678"));
+        assertEquals("+233241234567", engine.normalize("+233 24 123 4567"));
+        assertNull(engine.normalize("+358 1234"));
+        assertNull(engine.normalize("+358 40 1234567 8901 2"));
+    }
+
+    @Test
+    public void unknownCallingCode_afterDiallingPrefix_isNotGuessed() {
+        assertNull(engine.normalize("011 358 40 1234567"));
+    }
+
+    @Test
+    public void trunkPrefixAfterCallingCode_isDropped() {
+        assertEquals("+447700900123", engine.normalize("+44 (0)7700 900123"));
+        assertEquals("+3612345678", engine.normalize("+36 06 1234 5678"));
+    }
+
+    @Test
+    public void internationalDiallingPrefix_isTreatedAsPlus() {
+        assertEquals("+33612345678", engine.normalize("011 33 6 12 34 56 78"));
+    }
+
+    @Test
+    public void otherDefaultRegion_stripsItsTrunkPrefix() {
+        PhoneNumberEngine french = new PhoneNumberEngine(source, "FR", raw -> null);
+
+        assertEquals("+33612345678", french.normalize("06 12 34 56 78"));
+        assertEquals("+33612345678", french.normalize("33 6 12 34 56 78"));
+        assertEquals("+15145550100", french.normalize("00 1 514 555 0100"));
+        assertNull(french.normalize("5145550100"));
+    }
+
+    @Test
+    public void invalidInput_returnsNull() {
+        assertNull(engine.normalize(null));
+        assertNull(engine.normalize(""));
+        assertNull(engine.normalize("12345"));
+        assertNull(engine.normalize("+1(514)ABC-0100"));
+        assertNull(engine.normalize("514+5550100"));
+        assertNull(engine.normalize("123456789012345678901"));
+    }
+
+    @Test
+    public void metadata_isOpenedOnceAndOnlyWhenFirstNeeded() {
+        assertEquals(0, source.opens);
+
+        engine.normalize("5145550100");
+        engine.normalize("+447700900123");
+
+        assertEquals(1, source.opens);
+    }
+
+    @Test
+    public void unreadableMetadata_usesFallback() {
+        PhoneNormalizer fallback = raw -> "+1" + raw;
+        PhoneNumberEngine broken = new PhoneNumberEngine(() -> {
+            throw new IOException("missing asset");
+        }, "CA", fallback);
+
+        assertEquals("+15145550100", broken.normalize("5145550100"));
+    }
+
+    @Test
+    public void unknownDefaultRegion_usesFallback() {
+        assertEquals("fallback", new PhoneNumberEngine(source, "ZZ", raw -> "fallback").normalize("5145550100"));
+    }
+
+    @Test
+    public void regionPreference_usesTheFirstRegionTheMetadataCovers() {
+        PhoneNumberEngine engine = new PhoneNumberEngine(source, Arrays.asList("ZZ", "FR", "CA"), raw -> "fallback");
+
+        assertEquals("+33612345678", engine.normalize("06 12 34 56 78"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsMalformedRegion() {
+        new PhoneNumberEngine(source, "CAN", raw -> null);
+    }
+
+    private static class CountingSource implements PhoneMetadataSource {
+        int opens;
+
+        @Override
+        public ByteBuffer open() throws IOException {
+            opens++;
+            return PhoneMetadataCompiler.compileSourceBuffer();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.soen345.project.common;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchingListDifferTest {
+    private QueueExecutor background;
+    private QueueExecutor main;
+    private QueueExecutor frames;
+    private List<String> log;
+    private BatchingListDiffer<String[]> differ;
+
+    @Before
+    public void setUp() {
+        background = new QueueExecutor();
+        main = new QueueExecutor();
+        frames = new QueueExecutor();
+        log = new ArrayList<>();
+        differ = newDiffer(background, frames::execute);
+    }
+
+    @Test
+    public void submit_burstWithinOneFrame_diffsOnlyLatestList() {
+        differ.submit(ListDiffTest.items("a:1"));
+        differ.submit(ListDiffTest.items("a:2"));
+        differ.submit(ListDiffTest.items("a:3", "b:1"));
+
+        frames.runAll();
+        background.runAll();
+        main.runAll();
+
+        assertEquals(1, differ.getDiffCount());
+        assertEquals(3, differ.getSubmittedCount());
+        assertEquals(2, differ.getCurrentList().size());
+        assertEquals("3", differ.getCurrentList().get(0)[1]);
+    }
+
+    @Test
+    public void submit_diffRunsOffMainThreadAndAppliesOnMain() {
+        differ.submit(ListDiffTest.items("a:1"));
+        frames.runAll();
+
+        assertTrue(differ.getCurrentList().isEmpty());
+        background.runAll();
+        assertTrue(log.isEmpty());
+        main.runAll();
+
+        assertEquals(1, differ.getCurrentList().size());
+        assertEquals(1, log.size());
+    }
+
+    @Test
+    public void submit_whileDiffInFlight_schedulesOneMoreFrame() {
+        differ.submit(ListDiffTest.items("a:1", "b:1"));
+        frames.runAll();
+        differ.submit(ListDiffTest.items("a:1", "b:2"));
+        differ.submit(ListDiffTest.items("a:1", "b:3"));
+        assertTrue(frames.isEmpty());
+        background.runAll();
+        main.runAll();
+
+        frames.runAll();
+        background.runAll();
+        main.runAll();
+
+        assertEquals(2, differ.getDiffCount());
+        assertEquals("3", differ.getCurrentList().get(1)[1]);
+        assertEquals("changed 1+1", log.get(log.size() - 1));
+    }
+
+    @Test
+    public void dispose_thenQueuedFrameFires_neverReachesTheShutDownExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        differ = newDiffer(executor, frames::execute);
+        differ.submit(ListDiffTest.items("a:1"));
+
+        differ.dispose();
+        executor.shutdown();
+        frames.runAll();
+
+        assertTrue(main.isEmpty());
+        assertTrue(differ.getCurrentList().isEmpty());
+        assertEquals(0, differ.getDiffCount());
+    }
+
+    @Test
+    public void dispose_thenLateSubmit_isIgnored() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        differ = newDiffer(executor, frames::execute);
+
+        differ.dispose();
+        executor.shutdown();
+        differ.submit(ListDiffTest.items("a:1"));
+
+        assertTrue(frames.isEmpty());
+        assertEquals(0, differ.getSubmittedCount());
+    }
+
+    @Test
+    public void dispose_whileDiffInFlight_dropsTheResult() {
+        differ.submit(ListDiffTest.items("a:1"));
+        frames.runAll();
+        differ.submit(ListDiffTest.items("a:2"));
+        background.runAll();
+
+        differ.dispose();
+        main.runAll();
+
+        assertTrue(log.isEmpty());
+        assertTrue(differ.getCurrentList().isEmpty());
+        assertTrue(frames.isEmpty());
+    }
+
+    @Test
+    public void dispose_cancelsThePostedFrame() {
+        List<Runnable> cancelled = new ArrayList<>();
+        differ = newDiffer(background, new FrameScheduler() {
+            @Override
+            public void postFrame(Runnable task) {
+                frames.execute(task);
+            }
+
+            @Override
+            public void cancelFrame(Runnable task) {
+                cancelled.add(task);
+            }
+        });
+        differ.submit(ListDiffTest.items("a:1"));
+
+        differ.dispose();
+
+        assertEquals(1, cancelled.size());
+        assertTrue(frames.tasks.contains(cancelled.get(0)));
+    }
+
+    private BatchingListDiffer<String[]> newDiffer(Executor backgroundExecutor, FrameScheduler frameScheduler) {
+        return new BatchingListDiffer<>(ListDiffTest.IDENTITY, backgroundExecutor, main, frameScheduler, new ListDiff.UpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                log.add("inserted " + position + "+" + count);
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                log.add("removed " + position + "+" + count);
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                log.add("moved " + fromPosition + "->" + toPosition);
+            }
+
+            @Override
+            public void onChanged(int position, int count) {
+                log.add("changed " + position + "+" + count);
+            }
+        });
+    }
+
+    private static class QueueExecutor implements Executor {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        boolean isEmpty() {
+            return tasks.isEmpty();
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.soen345.project.common;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BloomFilterTest {
+
+    @Test
+    public void mightContain_returnsTrueForEveryInsertedValue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(Fingerprints.fingerprint64("ticket-" + i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(Fingerprints.fingerprint64("ticket-" + i)));
+        }
+    }
+
+    @Test
+    public void falsePositiveRate_staysNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(Fingerprints.fingerprint64("ticket-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(Fingerprints.fingerprint64("other-" + i))) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue("false positives: " + falsePositives, falsePositives < 2_000);
+    }
+
+    @Test
+    public void staticMightContain_matchesInstanceOverSerializedWords() throws IOException {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put(Fingerprints.fingerprint64("domain-" + i));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        int hashCount = buffer.getInt();
+        int wordCount = buffer.getInt();
+        LongBuffer words = buffer.slice().asLongBuffer();
+
+        assertEquals(wordCount, words.limit());
+        for (int i = 0; i < 2_000; i++) {
+            long fingerprint = Fingerprints.fingerprint64("domain-" + i);
+            assertEquals(filter.mightContain(fingerprint), BloomFilter.mightContain(words, hashCount, fingerprint));
+        }
+    }
+
+    @Test
+    public void writeTo_readFrom_roundTrips() throws IOException {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        filter.put(42L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+
+        BloomFilter copy = BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertTrue(copy.mightContain(42L));
+        assertFalse(copy.mightContain(43L));
+    }
+}
@@ -0,0 +1,56 @@
+package com.soen345.project.common;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CountMinSketchTest {
+    @Test
+    public void add_countsExactlyWithoutCollisions() {
+        CountMinSketch sketch = new CountMinSketch(4, 1_024);
+        long key = Fingerprints.fingerprint64("user@example.com");
+
+        assertEquals(0, sketch.estimate(key));
+        assertEquals(1, sketch.add(key));
+        assertEquals(2, sketch.add(key));
+        assertEquals(2, sketch.estimate(key));
+    }
+
+    @Test
+    public void estimate_neverUndercountsUnderLoad() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add(Fingerprints.fingerprint64("noise" + i));
+        }
+        long hot = Fingerprints.fingerprint64("hot");
+        for (int i = 0; i < 50; i++) {
+            sketch.add(hot);
+        }
+
+        assertTrue(sketch.estimate(hot) >= 50);
+    }
+
+    @Test
+    public void clear_resetsAllCounts() {
+        CountMinSketch sketch = new CountMinSketch(2, 64);
+        long key = Fingerprints.fingerprint64("a");
+        sketch.add(key);
+
+        sketch.clear();
+
+        assertEquals(0, sketch.estimate(key));
+        assertEquals(2 * 64 * 4, sketch.memoryBytes());
+    }
+
+    @Test
+    public void constructor_withNonPowerOfTwoWidth_throws() {
+        try {
+            new CountMinSketch(4, 1_000);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("width must be a power of two", e.getMessage());
+        }
+    }
+}
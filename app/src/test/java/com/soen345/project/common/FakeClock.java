@@ -0,0 +1,22 @@
+package com.soen345.project.common;
+
+public class FakeClock implements Clock {
+    private long nowMillis;
+
+    public FakeClock(long startMillis) {
+        this.nowMillis = startMillis;
+    }
+
+    @Override
+    public synchronized long nowMillis() {
+        return nowMillis;
+    }
+
+    public synchronized void advance(long millis) {
+        nowMillis += millis;
+    }
+
+    public synchronized void set(long millis) {
+        nowMillis = millis;
+    }
+}
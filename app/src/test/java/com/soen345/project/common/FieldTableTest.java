@@ -0,0 +1,48 @@
+package com.soen345.project.common;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class FieldTableTest {
+    private static final FieldTable<String[]> TABLE = FieldTable.<String[]>builder()
+            .field("first", pair -> pair[0])
+            .field("second", pair -> pair[1])
+            .build();
+
+    @Test
+    public void encode_writesFieldsInTableOrder() {
+        Map<String, Object> fields = TABLE.encode(new String[]{"a", null});
+
+        assertEquals(2, TABLE.size());
+        assertEquals(Arrays.asList("first", "second"), new ArrayList<>(fields.keySet()));
+        assertEquals("a", fields.get("first"));
+        assertNull(fields.get("second"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void builder_rejectsDuplicateFieldNames() {
+        FieldTable.<String>builder().field("name", value -> value).field("name", value -> value);
+    }
+
+    @Test
+    public void readers_acceptAnyNumberAndIgnoreWrongTypes() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("whole", 3L);
+        data.put("decimal", 2.5);
+        data.put("text", "hello");
+
+        assertEquals(Long.valueOf(2L), FieldTable.readLong(data, "decimal"));
+        assertEquals(Double.valueOf(3.0), FieldTable.readDouble(data, "whole"));
+        assertEquals("hello", FieldTable.readString(data, "text"));
+        assertNull(FieldTable.readString(data, "whole"));
+        assertNull(FieldTable.readLong(data, "text"));
+        assertNull(FieldTable.readDouble(data, "missing"));
+    }
+}
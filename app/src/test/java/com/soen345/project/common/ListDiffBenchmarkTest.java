@@ -0,0 +1,66 @@
+package com.soen345.project.common;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class ListDiffBenchmarkTest {
+    private static final int ROWS = 10_000;
+    private static final int ROUNDS = 50;
+    private static final int WARMUP_ROUNDS = 20;
+
+    @Test
+    public void diff10kRowsWith1PercentChurn() {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        Random random = new Random(3);
+        List<String[]> current = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            current.add(new String[]{"event-" + i, "100"});
+        }
+        long nanos = 0;
+        int rebound = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            List<String[]> next = churn(current, random, round);
+            long start = System.nanoTime();
+            ListDiff diff = ListDiff.compute(current, next, ListDiffTest.IDENTITY);
+            long elapsed = System.nanoTime() - start;
+
+            ListDiffTest.Recorder recorder = new ListDiffTest.Recorder(current, next);
+            diff.dispatchTo(recorder);
+            assertEquals(next.size(), recorder.rows.size());
+            if (round >= WARMUP_ROUNDS) {
+                nanos += elapsed;
+                rebound += recorder.rebound;
+            }
+            current = next;
+        }
+        System.out.printf("ListDiff benchmark rows=%d churn=1%%: %.2fms/diff rowsRebound=%d/diff (full rebuild=%d)%n",
+                ROWS, nanos / 1e6 / ROUNDS, rebound / ROUNDS, ROWS);
+    }
+
+    // 1% churn: mostly seat-count updates, plus a few sell-outs dropping off, new listings and reorders.
+    private static List<String[]> churn(List<String[]> current, Random random, int round) {
+        List<String[]> next = new ArrayList<>(current);
+        int edits = current.size() / 100;
+        for (int i = 0; i < edits * 7 / 10; i++) {
+            int index = random.nextInt(next.size());
+            next.set(index, new String[]{next.get(index)[0], Integer.toString(random.nextInt(100))});
+        }
+        for (int i = 0; i < edits / 10; i++) {
+            next.remove(random.nextInt(next.size()));
+        }
+        for (int i = 0; i < edits / 10; i++) {
+            next.add(random.nextInt(next.size() + 1), new String[]{"new-" + round + "-" + i, "100"});
+        }
+        for (int i = 0; i < edits / 20; i++) {
+            Collections.swap(next, random.nextInt(next.size()), random.nextInt(next.size()));
+        }
+        return next;
+    }
+}
@@ -0,0 +1,146 @@
+package com.soen345.project.common;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ListDiffTest {
+    static final ListDiff.ItemIdentity<String[]> IDENTITY = new ListDiff.ItemIdentity<String[]>() {
+        @Override
+        public String key(String[] item) {
+            return item[0];
+        }
+
+        @Override
+        public boolean sameContent(String[] oldItem, String[] newItem) {
+            return oldItem[1].equals(newItem[1]);
+        }
+    };
+
+    @Test
+    public void compute_identicalLists_isEmpty() {
+        List<String[]> list = items("a:1", "b:1");
+
+        assertTrue(ListDiff.compute(list, items("a:1", "b:1"), IDENTITY).isEmpty());
+    }
+
+    @Test
+    public void compute_contentChange_onlyRebindsChangedRow() {
+        Recorder recorder = replay(items("a:1", "b:1", "c:1"), items("a:1", "b:2", "c:1"));
+
+        assertEquals(Collections.singletonList("changed 1+1"), recorder.log);
+    }
+
+    @Test
+    public void compute_contiguousRemovalsAndInsertions_areMergedIntoRanges() {
+        Recorder recorder = replay(items("a:1", "b:1", "c:1", "d:1"), items("a:1", "x:1", "y:1", "d:1"));
+
+        assertEquals(Arrays.asList("removed 1+2", "inserted 1+2"), recorder.log);
+    }
+
+    @Test
+    public void compute_singleItemMovedToEnd_isOneMove() {
+        Recorder recorder = replay(items("a:1", "b:1", "c:1", "d:1"), items("b:1", "c:1", "d:1", "a:1"));
+
+        assertEquals(Collections.singletonList("moved 0->3"), recorder.log);
+    }
+
+    @Test
+    public void compute_randomEdits_replayProducesNewList() {
+        Random random = new Random(7);
+        for (int round = 0; round < 300; round++) {
+            List<String[]> oldList = new ArrayList<>();
+            for (int i = 0; i < random.nextInt(40); i++) {
+                oldList.add(new String[]{"k" + i, "v0"});
+            }
+            List<String[]> newList = new ArrayList<>();
+            for (String[] item : oldList) {
+                if (random.nextInt(5) != 0) {
+                    newList.add(random.nextInt(4) == 0 ? new String[]{item[0], "v1"} : item);
+                }
+            }
+            for (int i = 0; i < random.nextInt(6); i++) {
+                newList.add(random.nextInt(newList.size() + 1), new String[]{"n" + round + "-" + i, "v0"});
+            }
+            if (newList.size() > 1 && random.nextBoolean()) {
+                Collections.swap(newList, random.nextInt(newList.size()), random.nextInt(newList.size()));
+            }
+
+            replay(oldList, newList);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compute_duplicateKeys_throws() {
+        ListDiff.compute(items("a:1", "a:2"), items("a:1"), IDENTITY);
+    }
+
+    static List<String[]> items(String... specs) {
+        List<String[]> items = new ArrayList<>();
+        for (String spec : specs) {
+            items.add(spec.split(":"));
+        }
+        return items;
+    }
+
+    // Applies the dispatched operations to a copy of the old list and checks the result is the new list.
+    static Recorder replay(List<String[]> oldList, List<String[]> newList) {
+        Recorder recorder = new Recorder(oldList, newList);
+        ListDiff.compute(oldList, newList, IDENTITY).dispatchTo(recorder);
+        assertEquals(newList.size(), recorder.rows.size());
+        for (int i = 0; i < newList.size(); i++) {
+            assertEquals(newList.get(i)[0], recorder.rows.get(i)[0]);
+            assertEquals(newList.get(i)[1], recorder.rows.get(i)[1]);
+        }
+        return recorder;
+    }
+
+    static class Recorder implements ListDiff.UpdateCallback {
+        final List<String> log = new ArrayList<>();
+        final List<String[]> rows;
+        private final List<String[]> newList;
+        int rebound;
+
+        Recorder(List<String[]> oldList, List<String[]> newList) {
+            this.rows = new ArrayList<>(oldList);
+            this.newList = newList;
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            log.add("inserted " + position + "+" + count);
+            for (int i = 0; i < count; i++) {
+                rows.add(position + i, newList.get(position + i));
+            }
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            log.add("removed " + position + "+" + count);
+            rows.subList(position, position + count).clear();
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            log.add("moved " + fromPosition + "->" + toPosition);
+            rows.add(toPosition, rows.remove(fromPosition));
+        }
+
+        @Override
+        public void onChanged(int position, int count) {
+            log.add("changed " + position + "+" + count);
+            for (int i = position; i < position + count; i++) {
+                assertEquals(newList.get(i)[0], rows.get(i)[0]);
+                rows.set(i, newList.get(i));
+                rebound++;
+            }
+        }
+    }
+}
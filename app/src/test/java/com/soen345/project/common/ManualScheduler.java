@@ -0,0 +1,81 @@
+package com.soen345.project.common;
+
+import java.util.PriorityQueue;
+
+// Virtual-time scheduler: tasks run only when the test advances time, in due order and then in the order
+// they were scheduled, so timing-dependent scenarios replay identically.
+public class ManualScheduler implements Scheduler {
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+    private long nowMillis;
+    private long nextSequence;
+
+    @Override
+    public synchronized Cancellable schedule(Runnable task, long delayMillis) {
+        Task scheduled = new Task(nowMillis + Math.max(0L, delayMillis), nextSequence++, task);
+        tasks.add(scheduled);
+        return () -> {
+            synchronized (ManualScheduler.this) {
+                tasks.remove(scheduled);
+            }
+        };
+    }
+
+    public synchronized long nowMillis() {
+        return nowMillis;
+    }
+
+    public void advance(long millis) {
+        long target;
+        synchronized (this) {
+            target = nowMillis + millis;
+        }
+        while (true) {
+            Task next;
+            synchronized (this) {
+                next = tasks.peek();
+                if (next == null || next.dueMillis > target) {
+                    nowMillis = target;
+                    return;
+                }
+                tasks.poll();
+                nowMillis = next.dueMillis;
+            }
+            next.runnable.run();
+        }
+    }
+
+    public void runAll() {
+        while (true) {
+            long wait;
+            synchronized (this) {
+                if (tasks.isEmpty()) {
+                    return;
+                }
+                wait = tasks.peek().dueMillis - nowMillis;
+            }
+            advance(wait);
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return tasks.size();
+    }
+
+    private static final class Task implements Comparable<Task> {
+        private final long dueMillis;
+        private final long sequence;
+        private final Runnable runnable;
+
+        private Task(long dueMillis, long sequence, Runnable runnable) {
+            this.dueMillis = dueMillis;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byDue = Long.compare(dueMillis, other.dueMillis);
+            return byDue != 0 ? byDue : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.soen345.project.common;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class StaleWhileRevalidateCacheTest {
+    private FakeClock clock;
+    private FakeLoader loader;
+    private StaleWhileRevalidateCache<String, String> cache;
+
+    @Before
+    public void setUp() {
+        clock = new FakeClock(0);
+        loader = new FakeLoader();
+        cache = new StaleWhileRevalidateCache<>(loader, clock, 1_000, 10_000, 2);
+    }
+
+    @Test
+    public void get_missThenFreshHit_loadsOnce() {
+        Recorder first = get("a");
+        loader.complete("a", "v1");
+        Recorder second = get("a");
+
+        assertEquals("v1", first.value);
+        assertEquals("v1", second.value);
+        assertEquals(1, loader.calls);
+        assertEquals(1, cache.getStats().getMisses());
+        assertEquals(1, cache.getStats().getHits());
+    }
+
+    @Test
+    public void get_afterSoftTtl_servesStaleAndRevalidatesInBackground() {
+        get("a");
+        loader.complete("a", "v1");
+        clock.advance(1_500);
+
+        Recorder stale = get("a");
+
+        assertEquals("v1", stale.value);
+        assertEquals(2, loader.calls);
+        loader.complete("a", "v2");
+        assertEquals("v1", stale.value);
+        assertEquals("v2", get("a").value);
+        assertEquals(1, cache.getStats().getStaleHits());
+    }
+
+    @Test
+    public void get_afterHardTtl_waitsForReload() {
+        get("a");
+        loader.complete("a", "v1");
+        clock.advance(10_000);
+
+        Recorder expired = get("a");
+
+        assertNull(expired.value);
+        loader.complete("a", "v2");
+        assertEquals("v2", expired.value);
+        assertEquals(2, cache.getStats().getMisses());
+    }
+
+    @Test
+    public void get_concurrentMissesAndStaleReads_shareOneLoad() {
+        Recorder first = get("a");
+        Recorder second = get("a");
+        Recorder third = get("a");
+        loader.complete("a", "v1");
+        clock.advance(2_000);
+        get("a");
+        get("a");
+
+        assertEquals("v1", first.value);
+        assertEquals("v1", second.value);
+        assertEquals("v1", third.value);
+        assertEquals(2, loader.calls);
+        assertEquals(3, cache.getStats().getCoalesced());
+    }
+
+    @Test
+    public void get_overCapacity_evictsLeastRecentlyUsed() {
+        get("a");
+        loader.complete("a", "A");
+        get("b");
+        loader.complete("b", "B");
+        get("a");
+        get("c");
+        loader.complete("c", "C");
+
+        get("b");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(4, loader.calls);
+    }
+
+    @Test
+    public void loadFailure_reportsErrorToWaitersButKeepsStaleEntry() {
+        Recorder miss = get("a");
+        loader.fail("a", "offline");
+        assertEquals("offline", miss.error);
+
+        get("a");
+        loader.complete("a", "v1");
+        clock.advance(1_500);
+        Recorder stale = get("a");
+        loader.fail("a", "offline");
+
+        assertEquals("v1", stale.value);
+        assertNull(stale.error);
+        assertEquals("v1", get("a").value);
+        assertEquals(2, cache.getStats().getLoadFailures());
+    }
+
+    @Test
+    public void invalidate_forcesNextReadToLoad() {
+        get("a");
+        loader.complete("a", "v1");
+
+        cache.invalidate("a");
+        get("a");
+
+        assertEquals(2, loader.calls);
+    }
+
+    @Test
+    public void invalidate_duringRevalidation_dropsTheOlderValue() {
+        get("a");
+        loader.complete("a", "v1");
+        clock.advance(1_500);
+        get("a");
+
+        cache.invalidate("a");
+        loader.complete("a", "v1");
+
+        assertEquals(0, cache.size());
+        Recorder afterInvalidate = get("a");
+        assertNull(afterInvalidate.value);
+        loader.complete("a", "v2");
+        assertEquals("v2", afterInvalidate.value);
+        assertEquals("v2", get("a").value);
+    }
+
+    @Test
+    public void invalidate_duringMiss_stillAnswersWaitersAndReadsAfterwardLoadAgain() {
+        Recorder before = get("a");
+        cache.invalidate("a");
+        Recorder after = get("a");
+
+        loader.completeFirst("a", "old");
+        loader.completeFirst("a", "new");
+
+        assertEquals("old", before.value);
+        assertEquals("new", after.value);
+        assertEquals(2, loader.calls);
+        assertEquals("new", get("a").value);
+    }
+
+    @Test
+    public void clear_duringLoad_dropsTheLoadedValue() {
+        Recorder waiter = get("a");
+        cache.clear();
+        loader.complete("a", "v1");
+
+        assertEquals("v1", waiter.value);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void loaderThrowing_failsWaitersAndLetsTheNextReadLoadAgain() {
+        loader.throwOnLoad = new IllegalStateException("no backend");
+        Recorder failed = get("a");
+
+        assertEquals("Could not load this item.", failed.error);
+
+        loader.throwOnLoad = null;
+        Recorder retry = get("a");
+        loader.complete("a", "v1");
+
+        assertEquals("v1", retry.value);
+        assertEquals(2, loader.calls);
+        assertEquals(1, cache.getStats().getLoadFailures());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_hardTtlBelowSoftTtl_throws() {
+        new StaleWhileRevalidateCache<>(loader, clock, 1_000, 500, 10);
+    }
+
+    private Recorder get(String key) {
+        Recorder recorder = new Recorder();
+        cache.get(key, recorder);
+        return recorder;
+    }
+
+    private static class FakeLoader implements StaleWhileRevalidateCache.Loader<String, String> {
+        private final Map<String, List<StaleWhileRevalidateCache.ValueCallback<String>>> pending = new HashMap<>();
+        private int calls;
+        private RuntimeException throwOnLoad;
+
+        @Override
+        public void load(String key, StaleWhileRevalidateCache.ValueCallback<String> callback) {
+            calls++;
+            if (throwOnLoad != null) {
+                throw throwOnLoad;
+            }
+            pending.computeIfAbsent(key, k -> new ArrayList<>()).add(callback);
+        }
+
+        void complete(String key, String value) {
+            for (StaleWhileRevalidateCache.ValueCallback<String> callback : pending.remove(key)) {
+                callback.onSuccess(value);
+            }
+        }
+
+        void completeFirst(String key, String value) {
+            pending.get(key).remove(0).onSuccess(value);
+        }
+
+        void fail(String key, String error) {
+            for (StaleWhileRevalidateCache.ValueCallback<String> callback : pending.remove(key)) {
+                callback.onError(error);
+            }
+        }
+    }
+
+    private static class Recorder implements StaleWhileRevalidateCache.ValueCallback<String> {
+        String value;
+        String error;
+
+        @Override
+        public void onSuccess(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.soen345.project.events;
+
+import com.soen345.project.common.CacheStats;
+import com.soen345.project.common.FakeClock;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CachingEventRepositoryBenchmarkTest {
+    private static final int VIEWS = 1_000;
+    private static final int EVENTS = 100;
+    private static final long MILLIS_BETWEEN_VIEWS = 2_000;
+
+    @Test
+    public void backendReadsPer1000DetailViews() {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        FakeClock clock = new FakeClock(0);
+        CountingRepository backend = new CountingRepository();
+        CachingEventRepository cached = new CachingEventRepository(backend, clock);
+        double[] cumulative = zipfCumulative(EVENTS);
+        Random random = new Random(42);
+        int[] answered = new int[1];
+
+        for (int i = 0; i < VIEWS; i++) {
+            String eventId = "event-" + pick(cumulative, random.nextDouble());
+            cached.getEvent(eventId, new EventRepository.EventCallback() {
+                @Override
+                public void onSuccess(Event event) {
+                    assertEquals(eventId, event.getId());
+                    answered[0]++;
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                }
+            });
+            clock.advance(MILLIS_BETWEEN_VIEWS);
+        }
+
+        CacheStats stats = cached.getStats();
+        assertEquals(VIEWS, answered[0]);
+        assertEquals(stats.getLoads(), backend.reads);
+        assertTrue(backend.reads < VIEWS / 2);
+        System.out.printf("Event detail cache: views=%d backendReads=%d (uncached=%d) hitRate=%.2f staleRate=%.2f misses=%d%n",
+                VIEWS, backend.reads, VIEWS, stats.getHitRate(), stats.getStaleRate(), stats.getMisses());
+    }
+
+    // Detail views follow a Zipf-like popularity curve: a few headline events get most of the traffic.
+    private static double[] zipfCumulative(int n) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, double sample) {
+        for (int i = 0; i < cumulative.length; i++) {
+            if (sample <= cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    private static class CountingRepository implements EventRepository {
+        int reads;
+
+        @Override
+        public void getEvent(String eventId, EventCallback callback) {
+            reads++;
+            callback.onSuccess(new Event(eventId, "Title", EventCategory.CONCERT, 45.5, -73.5, 0));
+        }
+    }
+}
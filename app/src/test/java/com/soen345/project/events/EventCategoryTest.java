@@ -0,0 +1,21 @@
+package com.soen345.project.events;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EventCategoryTest {
+
+    @Test
+    public void fromValue_isCaseInsensitiveAndTrimmed() {
+        assertEquals(EventCategory.CONCERT, EventCategory.fromValue(" concert "));
+        assertEquals(EventCategory.SPORTS, EventCategory.fromValue("Sports"));
+    }
+
+    @Test
+    public void fromValue_withUnknownOrNull_returnsNull() {
+        assertNull(EventCategory.fromValue("opera"));
+        assertNull(EventCategory.fromValue(null));
+    }
+}
@@ -0,0 +1,61 @@
+package com.soen345.project.events;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EventCodecTest {
+    private final EventCodec codec = new EventCodec();
+
+    @Test
+    public void encode_includesDerivedGeohash() {
+        Map<String, Object> fields = codec.encode(new Event("e1", "Jazz Night", EventCategory.CONCERT, 45.5017, -73.5673, 1_000L));
+
+        assertEquals(Arrays.asList("title", "category", "latitude", "longitude", "geohash", "startTime"),
+                new ArrayList<>(fields.keySet()));
+        assertEquals("CONCERT", fields.get("category"));
+        assertEquals(9, ((String) fields.get("geohash")).length());
+        assertEquals(1_000L, fields.get("startTime"));
+    }
+
+    @Test
+    public void decode_roundTripsEncodedEvent() {
+        Event event = new Event("e1", "Jazz Night", EventCategory.CONCERT, 45.5, -73.5, 1_000L);
+
+        Event decoded = codec.decode("e1", codec.encode(event));
+
+        assertEquals("e1", decoded.getId());
+        assertEquals("Jazz Night", decoded.getTitle());
+        assertEquals(EventCategory.CONCERT, decoded.getCategory());
+        assertEquals(45.5, decoded.getLatitude(), 0.0);
+        assertEquals(-73.5, decoded.getLongitude(), 0.0);
+        assertEquals(1_000L, decoded.getStartTimeMillis());
+    }
+
+    @Test
+    public void decode_acceptsIntegerCoordinates() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("latitude", 45L);
+        data.put("longitude", -73L);
+
+        Event decoded = codec.decode("e1", data);
+
+        assertEquals(45.0, decoded.getLatitude(), 0.0);
+        assertEquals(0L, decoded.getStartTimeMillis());
+    }
+
+    @Test
+    public void decode_withoutLocation_returnsNull() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", "Jazz Night");
+        data.put("latitude", 45.5);
+
+        assertNull(codec.decode("e1", data));
+    }
+}
@@ -0,0 +1,57 @@
+package com.soen345.project.events;
+
+import com.soen345.project.events.list.EventListItem;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventListItemCodecTest {
+    private final EventListItemCodec codec = new EventListItemCodec();
+
+    @Test
+    public void decode_roundTripsEncodedItem() {
+        Map<String, Object> fields = codec.encode(new EventListItem("e1", "Jazz Night", 1_000L, 12));
+
+        EventListItem decoded = codec.decode("e1", fields);
+
+        assertEquals(Arrays.asList("title", "startTime", "seatsRemaining"), new ArrayList<>(fields.keySet()));
+        assertEquals("e1", decoded.getEventId());
+        assertEquals("Jazz Night", decoded.getTitle());
+        assertEquals(1_000L, decoded.getStartTimeMillis());
+        assertEquals(12, decoded.getSeatsRemaining());
+    }
+
+    @Test
+    public void decode_readsAnEventDocumentLikeEventCodecDoes() {
+        Map<String, Object> data = new HashMap<>(EventDocuments.toFields(
+                new Event("e1", "Jazz Night", EventCategory.CONCERT, 45.5, -73.5, 1_000L)));
+        data.put("seatsRemaining", 3.0);
+
+        EventListItem item = codec.decode("e1", data);
+
+        assertEquals(EventDocuments.CODEC.decode("e1", data).getStartTimeMillis(), item.getStartTimeMillis());
+        assertEquals(3, item.getSeatsRemaining());
+    }
+
+    @Test
+    public void decode_missingCounts_areSoldOut() {
+        EventListItem item = codec.decode("e1", new HashMap<>());
+
+        assertEquals(0L, item.getStartTimeMillis());
+        assertTrue(item.isSoldOut());
+    }
+
+    @Test
+    public void decode_withoutIdOrData_returnsNull() {
+        assertNull(codec.decode("", new HashMap<>()));
+        assertNull(codec.decode("e1", null));
+    }
+}
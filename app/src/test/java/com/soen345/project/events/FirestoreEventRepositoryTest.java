@@ -0,0 +1,102 @@
+package com.soen345.project.events;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FirestoreEventRepositoryTest {
+    private Task<DocumentSnapshot> task;
+    private FirestoreEventRepository repository;
+    private TestEventCallback callback;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        FirebaseFirestore firestore = mock(FirebaseFirestore.class);
+        CollectionReference events = mock(CollectionReference.class);
+        DocumentReference document = mock(DocumentReference.class);
+        task = mock(Task.class);
+        when(firestore.collection("events")).thenReturn(events);
+        when(events.document("e1")).thenReturn(document);
+        when(document.get()).thenReturn(task);
+        repository = new FirestoreEventRepository(firestore);
+        callback = new TestEventCallback();
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void getEvent_existingDocument_returnsEvent() {
+        ArgumentCaptor<OnSuccessListener<DocumentSnapshot>> success = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        when(task.addOnSuccessListener(success.capture())).thenReturn(task);
+        when(task.addOnFailureListener(any())).thenReturn(task);
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        when(snapshot.exists()).thenReturn(true);
+        when(snapshot.getId()).thenReturn("e1");
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", "Jazz Night");
+        data.put("latitude", 45.5);
+        data.put("longitude", -73.5);
+        when(snapshot.getData()).thenReturn(data);
+
+        repository.getEvent("e1", callback);
+        success.getValue().onSuccess(snapshot);
+
+        assertEquals("Jazz Night", callback.event.getTitle());
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void getEvent_missingDocument_returnsNotFound() {
+        ArgumentCaptor<OnSuccessListener<DocumentSnapshot>> success = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        when(task.addOnSuccessListener(success.capture())).thenReturn(task);
+        when(task.addOnFailureListener(any())).thenReturn(task);
+
+        repository.getEvent("e1", callback);
+        success.getValue().onSuccess(mock(DocumentSnapshot.class));
+
+        assertEquals("This event is no longer available.", callback.error);
+    }
+
+    @Test
+    public void getEvent_failure_returnsFriendlyError() {
+        ArgumentCaptor<OnFailureListener> failure = ArgumentCaptor.forClass(OnFailureListener.class);
+        when(task.addOnSuccessListener(any())).thenReturn(task);
+        when(task.addOnFailureListener(failure.capture())).thenReturn(task);
+
+        repository.getEvent("e1", callback);
+        failure.getValue().onFailure(new RuntimeException("offline"));
+
+        assertEquals("Could not load this event.", callback.error);
+    }
+
+    private static class TestEventCallback implements EventRepository.EventCallback {
+        Event event;
+        String error;
+
+        @Override
+        public void onSuccess(Event event) {
+            this.event = event;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
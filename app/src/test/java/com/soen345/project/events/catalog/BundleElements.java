@@ -0,0 +1,34 @@
+package com.soen345.project.events.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Mirrors the SDK's reader: a decimal byte count followed by exactly that many bytes of JSON.
+final class BundleElements {
+    private BundleElements() {
+    }
+
+    static List<String> parse(byte[] bundle) {
+        List<String> elements = new ArrayList<>();
+        int position = 0;
+        while (position < bundle.length) {
+            int length = 0;
+            while (bundle[position] != '{') {
+                length = length * 10 + (bundle[position++] - '0');
+            }
+            if (position + length > bundle.length) {
+                throw new IllegalArgumentException("element at " + position + " runs past the end of the bundle");
+            }
+            elements.add(new String(bundle, position, length, StandardCharsets.UTF_8));
+            position += length;
+        }
+        return elements;
+    }
+
+    // Byte count of everything after the metadata element, which the SDK checks against totalBytes.
+    static long bytesAfterMetadata(byte[] bundle, String metadata) {
+        int metadataLength = metadata.getBytes(StandardCharsets.UTF_8).length;
+        return bundle.length - metadataLength - Integer.toString(metadataLength).length();
+    }
+}
@@ -0,0 +1,74 @@
+package com.soen345.project.events.catalog;
+
+import com.soen345.project.events.EventDocuments;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+// Checks the bundle a release packages (see :tools:eventCatalogBundle) is one the SDK will load and that its
+// documents are complete enough to stand in for the server's. Skipped until the release step has run.
+public class EventCatalogAssetTest {
+    private static final File RELEASE_BUNDLE = new File("src/release/assets/" + AssetBundleSource.DEFAULT_ASSET);
+    private static final Pattern NAME = Pattern.compile("\"name\":\"(projects/[^/\"]+/databases/\\(default\\)/documents/events/[^\"]+)\"");
+    private static final Pattern TOTAL_DOCUMENTS = Pattern.compile("\"totalDocuments\":(\\d+)");
+
+    private byte[] bundle;
+    private List<String> elements;
+
+    @Before
+    public void setUp() throws IOException {
+        assumeTrue("Run ./gradlew :tools:eventCatalogBundle", RELEASE_BUNDLE.isFile());
+        bundle = Files.readAllBytes(RELEASE_BUNDLE.toPath());
+        elements = BundleElements.parse(bundle);
+    }
+
+    @Test
+    public void releaseBundle_isFramedAndCountsMatchItsMetadata() {
+        String metadata = elements.get(0);
+        assertTrue(metadata.startsWith("{\"metadata\":{\"id\":\"" + CatalogBundle.BUNDLE_ID + "\""));
+        assertTrue(metadata.contains("\"totalBytes\":\"" + BundleElements.bytesAfterMetadata(bundle, metadata) + "\""));
+        String namedQuery = elements.get(1);
+        assertTrue(namedQuery.startsWith("{\"namedQuery\":{\"name\":\"" + CatalogBundle.UPCOMING_EVENTS_QUERY + "\""));
+        assertTrue(namedQuery.contains("\"readTime\":"));
+        assertEquals(2 + totalDocuments(metadata) * 2, elements.size());
+    }
+
+    @Test
+    public void releaseBundle_holdsEveryStoredFieldOfEachEvent() {
+        for (int i = 2; i < elements.size(); i += 2) {
+            String documentMetadata = elements.get(i);
+            String document = elements.get(i + 1);
+            assertTrue(documentMetadata.startsWith("{\"documentMetadata\":"));
+            assertTrue(document.startsWith("{\"document\":"));
+            assertEquals(name(documentMetadata), name(document));
+            assertTrue(document.contains("\"updateTime\":"));
+            for (String field : new String[]{EventDocuments.FIELD_START_TIME, EventDocuments.FIELD_GEOHASH,
+                    EventDocuments.FIELD_SEATS_REMAINING, EventDocuments.FIELD_VERSION}) {
+                assertTrue(name(document) + " lacks " + field, document.contains("\"" + field + "\":"));
+            }
+        }
+    }
+
+    private static int totalDocuments(String metadata) {
+        Matcher matcher = TOTAL_DOCUMENTS.matcher(metadata);
+        assertTrue(metadata, matcher.find());
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private static String name(String element) {
+        Matcher matcher = NAME.matcher(element);
+        assertTrue(element, matcher.find());
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,310 @@
+package com.soen345.project.events.catalog;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.LoadBundleTask;
+import com.google.firebase.firestore.LoadBundleTaskProgress;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SnapshotMetadata;
+import com.soen345.project.common.FakeClock;
+import com.soen345.project.events.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventCatalogBootstrapperTest {
+    private FirebaseFirestore firestore;
+    private Query catalogQuery;
+    private Query namedQuery;
+    private LoadBundleTask loadTask;
+    private Task<Query> namedQueryTask;
+    private ListenerRegistration registration;
+    private FakeClock clock;
+    private TrackingStream bundle;
+    private TestCatalogListener listener;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        firestore = mock(FirebaseFirestore.class);
+        CollectionReference events = mock(CollectionReference.class);
+        catalogQuery = mock(Query.class);
+        namedQuery = mock(Query.class);
+        loadTask = mock(LoadBundleTask.class);
+        namedQueryTask = mock(Task.class);
+        registration = mock(ListenerRegistration.class);
+        clock = new FakeClock(1_000);
+        bundle = new TrackingStream();
+        listener = new TestCatalogListener();
+
+        when(firestore.collection("events")).thenReturn(events);
+        when(events.orderBy("startTime")).thenReturn(catalogQuery);
+        when(firestore.loadBundle(any(InputStream.class))).thenReturn(loadTask);
+        when(firestore.getNamedQuery("upcoming-events")).thenReturn(namedQueryTask);
+        when(catalogQuery.addSnapshotListener(any())).thenReturn(registration);
+        when(namedQuery.addSnapshotListener(any())).thenReturn(registration);
+    }
+
+    @Test
+    public void start_withBundle_rendersFromCacheBeforeServerResponds() {
+        ArgumentCaptor<OnSuccessListener<LoadBundleTaskProgress>> loaded = successCaptor();
+        ArgumentCaptor<OnSuccessListener<Query>> resolved = successCaptor();
+        ArgumentCaptor<EventListener<QuerySnapshot>> snapshots = listenerCaptor();
+        when(loadTask.addOnSuccessListener(loaded.capture())).thenReturn(loadTask);
+        when(loadTask.addOnFailureListener(any())).thenReturn(loadTask);
+        when(namedQueryTask.addOnSuccessListener(resolved.capture())).thenReturn(namedQueryTask);
+        when(namedQueryTask.addOnFailureListener(any())).thenReturn(namedQueryTask);
+        when(namedQuery.addSnapshotListener(snapshots.capture())).thenReturn(registration);
+
+        bootstrapper(() -> bundle).start(listener);
+        clock.advance(30);
+        loaded.getValue().onSuccess(mock(LoadBundleTaskProgress.class));
+        resolved.getValue().onSuccess(namedQuery);
+        clock.advance(10);
+        snapshots.getValue().onEvent(snapshot(true, "e1", "e2"), null);
+
+        assertTrue(bundle.closed);
+        assertEquals(2, listener.events.size());
+        assertTrue(listener.fromCache);
+        verify(catalogQuery, never()).addSnapshotListener(any());
+    }
+
+    @Test
+    public void start_withAndWithoutBundle_timeToFirstRender() {
+        ArgumentCaptor<OnSuccessListener<LoadBundleTaskProgress>> loaded = successCaptor();
+        ArgumentCaptor<OnSuccessListener<Query>> resolved = successCaptor();
+        ArgumentCaptor<EventListener<QuerySnapshot>> bundled = listenerCaptor();
+        ArgumentCaptor<EventListener<QuerySnapshot>> live = listenerCaptor();
+        when(loadTask.addOnSuccessListener(loaded.capture())).thenReturn(loadTask);
+        when(loadTask.addOnFailureListener(any())).thenReturn(loadTask);
+        when(namedQueryTask.addOnSuccessListener(resolved.capture())).thenReturn(namedQueryTask);
+        when(namedQueryTask.addOnFailureListener(any())).thenReturn(namedQueryTask);
+        when(namedQuery.addSnapshotListener(bundled.capture())).thenReturn(registration);
+        when(catalogQuery.addSnapshotListener(live.capture())).thenReturn(registration);
+
+        EventCatalogBootstrapper withBundle = bootstrapper(() -> bundle);
+        withBundle.start(listener);
+        clock.advance(40);
+        loaded.getValue().onSuccess(mock(LoadBundleTaskProgress.class));
+        resolved.getValue().onSuccess(namedQuery);
+        bundled.getValue().onEvent(snapshot(true, "e1"), null);
+
+        EventCatalogBootstrapper withoutBundle = bootstrapper(() -> null);
+        withoutBundle.start(listener);
+        live.getValue().onEvent(snapshot(true), null);
+        clock.advance(900);
+        live.getValue().onEvent(snapshot(false, "e1"), null);
+
+        assertEquals(40L, withBundle.getTimeToFirstRenderMillis());
+        assertEquals(900L, withoutBundle.getTimeToFirstRenderMillis());
+        System.out.printf("Event catalog time to first render: bundle=%dms network=%dms%n",
+                withBundle.getTimeToFirstRenderMillis(), withoutBundle.getTimeToFirstRenderMillis());
+    }
+
+    @Test
+    public void start_bundleLoadFails_closesStreamAndFallsBackToCatalogQuery() {
+        ArgumentCaptor<OnFailureListener> failed = ArgumentCaptor.forClass(OnFailureListener.class);
+        when(loadTask.addOnSuccessListener(any())).thenReturn(loadTask);
+        when(loadTask.addOnFailureListener(failed.capture())).thenReturn(loadTask);
+
+        bootstrapper(() -> bundle).start(listener);
+        failed.getValue().onFailure(new RuntimeException("corrupt bundle"));
+
+        assertTrue(bundle.closed);
+        verify(catalogQuery).addSnapshotListener(any());
+    }
+
+    @Test
+    public void stop_removesListenerAndIgnoresLateBundleLoad() {
+        ArgumentCaptor<OnSuccessListener<LoadBundleTaskProgress>> loaded = successCaptor();
+        ArgumentCaptor<OnSuccessListener<Query>> resolved = successCaptor();
+        when(loadTask.addOnSuccessListener(loaded.capture())).thenReturn(loadTask);
+        when(loadTask.addOnFailureListener(any())).thenReturn(loadTask);
+        when(namedQueryTask.addOnSuccessListener(resolved.capture())).thenReturn(namedQueryTask);
+        when(namedQueryTask.addOnFailureListener(any())).thenReturn(namedQueryTask);
+
+        EventCatalogBootstrapper bootstrapper = bootstrapper(() -> bundle);
+        bootstrapper.start(listener);
+        bootstrapper.stop();
+        loaded.getValue().onSuccess(mock(LoadBundleTaskProgress.class));
+        resolved.getValue().onSuccess(namedQuery);
+
+        verify(namedQuery, never()).addSnapshotListener(any());
+        assertNull(listener.events);
+    }
+
+    @Test
+    public void restart_afterBundleLoaded_reattachesWithoutReloadingTheBundle() {
+        ArgumentCaptor<OnSuccessListener<LoadBundleTaskProgress>> loaded = successCaptor();
+        ArgumentCaptor<OnSuccessListener<Query>> resolved = successCaptor();
+        when(loadTask.addOnSuccessListener(loaded.capture())).thenReturn(loadTask);
+        when(loadTask.addOnFailureListener(any())).thenReturn(loadTask);
+        when(namedQueryTask.addOnSuccessListener(resolved.capture())).thenReturn(namedQueryTask);
+        when(namedQueryTask.addOnFailureListener(any())).thenReturn(namedQueryTask);
+
+        EventCatalogBootstrapper bootstrapper = bootstrapper(() -> bundle);
+        bootstrapper.start(listener);
+        loaded.getValue().onSuccess(mock(LoadBundleTaskProgress.class));
+        resolved.getValue().onSuccess(namedQuery);
+        bootstrapper.stop();
+        bootstrapper.start(listener);
+        resolved.getValue().onSuccess(namedQuery);
+
+        verify(firestore, times(1)).loadBundle(any(InputStream.class));
+        verify(namedQuery, times(2)).addSnapshotListener(any());
+        verify(registration, times(1)).remove();
+    }
+
+    @Test
+    public void start_whileAlreadyStarted_loadsTheBundleOnce() {
+        when(loadTask.addOnSuccessListener(any())).thenReturn(loadTask);
+        when(loadTask.addOnFailureListener(any())).thenReturn(loadTask);
+
+        EventCatalogBootstrapper bootstrapper = bootstrapper(() -> bundle);
+        bootstrapper.start(listener);
+        bootstrapper.start(listener);
+
+        verify(firestore, times(1)).loadBundle(any(InputStream.class));
+    }
+
+    @Test
+    public void restart_withoutBundle_listensAgainWithoutReopeningTheSource() {
+        int[] opens = {0};
+        EventCatalogBootstrapper bootstrapper = bootstrapper(() -> {
+            opens[0]++;
+            return null;
+        });
+
+        bootstrapper.start(listener);
+        bootstrapper.stop();
+        bootstrapper.start(listener);
+
+        assertEquals(1, opens[0]);
+        verify(catalogQuery, times(2)).addSnapshotListener(any());
+    }
+
+    @Test
+    public void lateNamedQueryLookup_replacesTheExistingRegistration() {
+        ArgumentCaptor<OnSuccessListener<LoadBundleTaskProgress>> loaded = successCaptor();
+        ArgumentCaptor<OnSuccessListener<Query>> resolved = successCaptor();
+        ListenerRegistration first = mock(ListenerRegistration.class);
+        ListenerRegistration second = mock(ListenerRegistration.class);
+        when(loadTask.addOnSuccessListener(loaded.capture())).thenReturn(loadTask);
+        when(loadTask.addOnFailureListener(any())).thenReturn(loadTask);
+        when(namedQueryTask.addOnSuccessListener(resolved.capture())).thenReturn(namedQueryTask);
+        when(namedQueryTask.addOnFailureListener(any())).thenReturn(namedQueryTask);
+        when(namedQuery.addSnapshotListener(any())).thenReturn(first, second);
+
+        EventCatalogBootstrapper bootstrapper = bootstrapper(() -> bundle);
+        bootstrapper.start(listener);
+        loaded.getValue().onSuccess(mock(LoadBundleTaskProgress.class));
+        bootstrapper.stop();
+        bootstrapper.start(listener);
+        // Both lookups (the one from the first start and the one from the restart) finish now.
+        for (OnSuccessListener<Query> lookup : resolved.getAllValues()) {
+            lookup.onSuccess(namedQuery);
+        }
+
+        verify(first).remove();
+        verify(second, never()).remove();
+    }
+
+    @Test
+    public void snapshotError_reportsFriendlyError() {
+        ArgumentCaptor<EventListener<QuerySnapshot>> live = listenerCaptor();
+        when(catalogQuery.addSnapshotListener(live.capture())).thenReturn(registration);
+
+        bootstrapper(() -> null).start(listener);
+        live.getValue().onEvent(null, null);
+
+        assertEquals("Could not load events.", listener.error);
+    }
+
+    private EventCatalogBootstrapper bootstrapper(EventCatalogBootstrapper.BundleSource source) {
+        return new EventCatalogBootstrapper(firestore, source, Runnable::run, clock);
+    }
+
+    private static QuerySnapshot snapshot(boolean fromCache, String... ids) {
+        List<DocumentSnapshot> documents = new ArrayList<>();
+        for (String id : ids) {
+            DocumentSnapshot document = mock(DocumentSnapshot.class);
+            when(document.getId()).thenReturn(id);
+            Map<String, Object> data = new HashMap<>();
+            data.put("latitude", 45.5);
+            data.put("longitude", -73.5);
+            when(document.getData()).thenReturn(data);
+            documents.add(document);
+        }
+        SnapshotMetadata metadata = mock(SnapshotMetadata.class);
+        when(metadata.isFromCache()).thenReturn(fromCache);
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(documents);
+        when(snapshot.getMetadata()).thenReturn(metadata);
+        return snapshot;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static <T> ArgumentCaptor<OnSuccessListener<T>> successCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static ArgumentCaptor<EventListener<QuerySnapshot>> listenerCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(EventListener.class);
+    }
+
+    private static class TrackingStream extends ByteArrayInputStream {
+        boolean closed;
+
+        TrackingStream() {
+            super(new byte[0]);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class TestCatalogListener implements EventCatalogBootstrapper.CatalogListener {
+        List<Event> events;
+        boolean fromCache;
+        String error;
+
+        @Override
+        public void onCatalog(List<Event> events, boolean fromCache) {
+            this.events = events;
+            this.fromCache = fromCache;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
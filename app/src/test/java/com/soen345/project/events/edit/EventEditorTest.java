@@ -0,0 +1,265 @@
+package com.soen345.project.events.edit;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.Transaction;
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.DocumentSizes;
+import com.soen345.project.events.CachingEventRepository;
+import com.soen345.project.events.Event;
+import com.soen345.project.events.EventCategory;
+import com.soen345.project.events.EventDocuments;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventEditorTest {
+    private static final AuthSession ADMIN = new AuthSession("admin@example.com", UserRole.ADMIN);
+    private static final Event BASE = new Event("e1", "Jazz Night", EventCategory.CONCERT, 45.5017, -73.5673, 1_000L);
+
+    private FirebaseFirestore firestore;
+    private Map<String, Object> stored;
+    private int writes;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws FirebaseFirestoreException {
+        firestore = mock(FirebaseFirestore.class);
+        CollectionReference events = mock(CollectionReference.class);
+        DocumentReference reference = mock(DocumentReference.class);
+        when(firestore.collection("events")).thenReturn(events);
+        when(events.document("e1")).thenReturn(reference);
+        stored = new HashMap<>(EventDocuments.toFields(BASE));
+        stored.put("version", 0L);
+
+        // A single-document server: each transaction reads the latest state and commits atomically.
+        when(firestore.runTransaction(any())).thenAnswer(invocation -> {
+            Transaction.Function<Object> function = invocation.getArgument(0);
+            Map<String, Object> pending = new HashMap<>();
+            Transaction transaction = mock(Transaction.class);
+            when(transaction.get(reference)).thenAnswer(read -> snapshot(stored));
+            when(transaction.update(any(DocumentReference.class), anyMap())).thenAnswer(update -> {
+                pending.putAll(update.getArgument(1));
+                return transaction;
+            });
+            try {
+                Object result = function.apply(transaction);
+                if (stored != null) {
+                    stored.putAll(pending);
+                    writes++;
+                }
+                return completed(result, null);
+            } catch (FirebaseFirestoreException e) {
+                return completed(null, e);
+            }
+        });
+    }
+
+    @Test
+    public void save_unchangedVersion_updatesOnlyChangedFields() {
+        Recorder recorder = save(BASE, 0, withTitle("Late Jazz Night"));
+
+        assertEquals(1L, recorder.result.getVersion());
+        assertEquals(1, recorder.result.getWrittenFields().size());
+        assertEquals("Late Jazz Night", stored.get("title"));
+        assertEquals(1L, stored.get("version"));
+    }
+
+    @Test
+    public void save_noChanges_skipsWrite() {
+        Recorder recorder = save(BASE, 0, BASE);
+
+        assertEquals(0L, recorder.result.getVersion());
+        assertEquals(0, writes);
+    }
+
+    @Test
+    public void save_concurrentEditToOtherField_mergesWithoutLosingIt() {
+        save(BASE, 0, withTitle("Late Jazz Night"));
+
+        Recorder second = save(BASE, 0, withStartTime(5_000L));
+
+        assertTrue(second.result.isMerged());
+        assertEquals(2L, second.result.getVersion());
+        assertEquals("Late Jazz Night", stored.get("title"));
+        assertEquals(5_000L, stored.get("startTime"));
+    }
+
+    @Test
+    public void save_concurrentEditToSameField_reportsConflict() {
+        save(BASE, 0, withTitle("Late Jazz Night"));
+
+        Recorder second = save(BASE, 0, withTitle("Early Jazz Night"));
+
+        assertNull(second.result);
+        assertEquals(1, second.conflicts.size());
+        assertEquals("title", second.conflicts.get(0));
+        assertEquals("Late Jazz Night", stored.get("title"));
+    }
+
+    @Test
+    public void save_rejectPolicy_conflictsOnAnyNewerVersion() {
+        save(BASE, 0, withTitle("Late Jazz Night"));
+
+        Recorder second = new Recorder();
+        new EventEditor(firestore, ADMIN, ConflictPolicy.REJECT).save(BASE, 0, withStartTime(5_000L), second);
+
+        assertTrue(second.conflicts.isEmpty());
+        assertNull(second.result);
+        assertEquals(1_000L, stored.get("startTime"));
+    }
+
+    @Test
+    public void save_deletedEvent_reportsNotFound() {
+        stored = null;
+
+        Recorder recorder = save(BASE, 0, withTitle("Late Jazz Night"));
+
+        assertEquals("This event no longer exists.", recorder.error);
+    }
+
+    @Test
+    public void save_invalidatesTheCachedDetailOnceTheServerCopyChanged() {
+        CachingEventRepository detailCache = mock(CachingEventRepository.class);
+        EventEditor editor = new EventEditor(firestore, ADMIN, ConflictPolicy.MERGE_DISJOINT_FIELDS, detailCache);
+
+        editor.save(BASE, 0, BASE, new Recorder());
+        verify(detailCache, never()).invalidate("e1");
+
+        editor.save(BASE, 0, withTitle("Late Jazz Night"), new Recorder());
+        verify(detailCache).invalidate("e1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_customer_throws() {
+        new EventEditor(firestore, new AuthSession("user@example.com", UserRole.CUSTOMER), ConflictPolicy.REJECT);
+    }
+
+    @Test
+    public void contention_manyAdminsFromSameBase_noLostUpdatesAndFewerBytes() {
+        int admins = 30;
+        long patchBytes = 0;
+        long wholeDocumentBytes = 0;
+        Map<String, Object> expected = new HashMap<>(EventDocuments.toFields(BASE));
+        int saved = 0;
+        int conflicted = 0;
+        for (int i = 0; i < admins; i++) {
+            Event edited;
+            if (i % 3 == 0) {
+                edited = withTitle("Title " + i);
+            } else if (i % 3 == 1) {
+                edited = withStartTime(10_000L + i);
+            } else {
+                edited = new Event("e1", BASE.getTitle(), EventCategory.CONCERT, 40 + i * 0.01, -70, BASE.getStartTimeMillis());
+            }
+            Map<String, Object> wholeDocument = new HashMap<>(EventDocuments.toFields(edited));
+            wholeDocument.put("version", 1L);
+            wholeDocumentBytes += DocumentSizes.fields(wholeDocument);
+
+            Recorder recorder = save(BASE, 0, edited);
+            if (recorder.result != null) {
+                saved++;
+                patchBytes += recorder.result.getBytesWritten();
+                expected.putAll(EventPatch.between(BASE, edited).getChanges());
+            } else {
+                conflicted++;
+                assertTrue(!recorder.conflicts.isEmpty());
+            }
+        }
+
+        for (Map.Entry<String, Object> field : expected.entrySet()) {
+            assertEquals(field.getKey(), field.getValue(), stored.get(field.getKey()));
+        }
+        assertEquals(3, saved);
+        assertEquals(admins - 3, conflicted);
+        System.out.printf("Event edit contention: admins=%d saved=%d conflicts=%d patchBytes=%d wholeDocumentBytes=%d%n",
+                admins, saved, conflicted, patchBytes, wholeDocumentBytes / admins * saved);
+    }
+
+    private Recorder save(Event base, long baseVersion, Event edited) {
+        Recorder recorder = new Recorder();
+        new EventEditor(firestore, ADMIN, ConflictPolicy.MERGE_DISJOINT_FIELDS).save(base, baseVersion, edited, recorder);
+        return recorder;
+    }
+
+    private static Event withTitle(String title) {
+        return new Event("e1", title, BASE.getCategory(), BASE.getLatitude(), BASE.getLongitude(), BASE.getStartTimeMillis());
+    }
+
+    private static Event withStartTime(long startTime) {
+        return new Event("e1", BASE.getTitle(), BASE.getCategory(), BASE.getLatitude(), BASE.getLongitude(), startTime);
+    }
+
+    private static DocumentSnapshot snapshot(Map<String, Object> data) {
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        if (data == null) {
+            return snapshot;
+        }
+        Map<String, Object> copy = new HashMap<>(data);
+        when(snapshot.exists()).thenReturn(true);
+        when(snapshot.get(any(String.class))).thenAnswer(invocation -> copy.get(invocation.<String>getArgument(0)));
+        when(snapshot.getLong("version")).thenReturn((Long) copy.get("version"));
+        return snapshot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Task<Object> completed(Object result, Exception error) {
+        Task<Object> task = mock(Task.class);
+        when(task.addOnSuccessListener(any())).thenAnswer(invocation -> {
+            if (error == null) {
+                invocation.<OnSuccessListener<Object>>getArgument(0).onSuccess(result);
+            }
+            return task;
+        });
+        when(task.addOnFailureListener(any())).thenAnswer(invocation -> {
+            if (error != null) {
+                invocation.<OnFailureListener>getArgument(0).onFailure(error);
+            }
+            return task;
+        });
+        return task;
+    }
+
+    private static class Recorder implements EventEditor.EditCallback {
+        EditResult result;
+        List<String> conflicts = new ArrayList<>();
+        String error;
+
+        @Override
+        public void onSuccess(EditResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public void onConflict(List<String> conflictingFields) {
+            conflicts = conflictingFields;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.soen345.project.events.edit;
+
+import com.soen345.project.events.Event;
+import com.soen345.project.events.EventCategory;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventPatchTest {
+    private static final Event BASE = new Event("e1", "Jazz Night", EventCategory.CONCERT, 45.5017, -73.5673, 1_000L);
+
+    @Test
+    public void between_sameEvent_isEmpty() {
+        assertTrue(EventPatch.between(BASE, BASE).isEmpty());
+    }
+
+    @Test
+    public void between_titleChange_onlyContainsTitle() {
+        Event edited = new Event("e1", "Late Jazz Night", EventCategory.CONCERT, 45.5017, -73.5673, 1_000L);
+
+        EventPatch patch = EventPatch.between(BASE, edited);
+
+        assertEquals(new HashSet<>(Arrays.asList("title")), patch.getFieldNames());
+        assertEquals("Jazz Night", patch.getBaseValue("title"));
+        assertEquals("Late Jazz Night", patch.getChanges().get("title"));
+    }
+
+    @Test
+    public void between_locationChange_includesRecomputedGeohash() {
+        Event edited = new Event("e1", "Jazz Night", EventCategory.CONCERT, 48.8584, 2.2945, 1_000L);
+
+        EventPatch patch = EventPatch.between(BASE, edited);
+
+        assertEquals(new HashSet<>(Arrays.asList("latitude", "longitude", "geohash")), patch.getFieldNames());
+        assertEquals("f25dvgmft", patch.getBaseValue("geohash"));
+    }
+
+    @Test
+    public void estimatedBytes_smallerThanWholeDocument() {
+        Event edited = new Event("e1", "Jazz Night", EventCategory.CONCERT, 45.5017, -73.5673, 2_000L);
+
+        EventPatch patch = EventPatch.between(BASE, edited);
+
+        assertEquals(Long.valueOf(2_000L), patch.getChanges().get("startTime"));
+        assertEquals("startTime".length() + 1 + 8, patch.estimatedBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void between_differentEvents_throws() {
+        EventPatch.between(BASE, new Event("e2", "Jazz Night", EventCategory.CONCERT, 45.5017, -73.5673, 1_000L));
+    }
+}
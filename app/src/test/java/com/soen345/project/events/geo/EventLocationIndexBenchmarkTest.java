@@ -0,0 +1,77 @@
+package com.soen345.project.events.geo;
+
+import com.soen345.project.events.Event;
+import com.soen345.project.events.EventCategory;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class EventLocationIndexBenchmarkTest {
+    private static final int EVENTS = 100_000;
+    private static final int QUERIES = 50;
+    private static final double RADIUS_METERS = 25_000;
+
+    @Test
+    public void radiusQueryVersusBruteForceSortAt100kEvents() {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        Random random = new Random(29);
+        List<Event> events = new ArrayList<>(EVENTS);
+        EventLocationIndex index = new EventLocationIndex();
+        for (int i = 0; i < EVENTS; i++) {
+            // Roughly the populated band of North America.
+            Event event = new Event("event-" + i, "Event " + i, EventCategory.CONCERT,
+                    25 + random.nextDouble() * 25, -125 + random.nextDouble() * 60, 0L);
+            events.add(event);
+            index.put(event);
+        }
+
+        long indexNanos = 0;
+        long bruteNanos = 0;
+        for (int round = 0; round < 2; round++) {
+            indexNanos = 0;
+            bruteNanos = 0;
+            Random queries = new Random(round);
+            for (int q = 0; q < QUERIES; q++) {
+                double latitude = 25 + queries.nextDouble() * 25;
+                double longitude = -125 + queries.nextDouble() * 60;
+
+                long start = System.nanoTime();
+                List<NearbyEvent> fromIndex = index.findWithinRadius(latitude, longitude, RADIUS_METERS);
+                long middle = System.nanoTime();
+                List<NearbyEvent> fromBruteForce = bruteForce(events, latitude, longitude);
+                long end = System.nanoTime();
+
+                indexNanos += middle - start;
+                bruteNanos += end - middle;
+                assertEquals(fromBruteForce.size(), fromIndex.size());
+                for (int i = 0; i < fromIndex.size(); i++) {
+                    assertEquals(fromBruteForce.get(i).getDistanceMeters(), fromIndex.get(i).getDistanceMeters(), 1e-6);
+                }
+            }
+        }
+
+        System.out.printf("EventLocationIndex benchmark events=%d radius=%.0fm: geohash=%.1fus/query bruteForceSort=%.1fus/query%n",
+                EVENTS, RADIUS_METERS, indexNanos / 1000.0 / QUERIES, bruteNanos / 1000.0 / QUERIES);
+    }
+
+    private static List<NearbyEvent> bruteForce(List<Event> events, double latitude, double longitude) {
+        List<NearbyEvent> all = new ArrayList<>(events.size());
+        for (Event event : events) {
+            all.add(new NearbyEvent(event, GeoDistance.meters(latitude, longitude, event.getLatitude(), event.getLongitude())));
+        }
+        Collections.sort(all, Comparator.comparingDouble(NearbyEvent::getDistanceMeters));
+        int end = 0;
+        while (end < all.size() && all.get(end).getDistanceMeters() <= RADIUS_METERS) {
+            end++;
+        }
+        return all.subList(0, end);
+    }
+}
@@ -0,0 +1,81 @@
+package com.soen345.project.events.geo;
+
+import com.soen345.project.events.Event;
+import com.soen345.project.events.EventCategory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventLocationIndexTest {
+    private EventLocationIndex index;
+
+    @Before
+    public void setUp() {
+        index = new EventLocationIndex();
+        index.put(event("bell-centre", 45.4961, -73.5693));
+        index.put(event("olympic-stadium", 45.5580, -73.5518));
+        index.put(event("scotiabank-arena", 43.6435, -79.3791));
+    }
+
+    @Test
+    public void findWithinRadius_returnsNearbyEventsSortedByDistance() {
+        List<NearbyEvent> results = index.findWithinRadius(45.5017, -73.5673, 10_000);
+
+        assertEquals(2, results.size());
+        assertEquals("bell-centre", results.get(0).getEvent().getId());
+        assertEquals("olympic-stadium", results.get(1).getEvent().getId());
+        assertTrue(results.get(0).getDistanceMeters() < results.get(1).getDistanceMeters());
+    }
+
+    @Test
+    public void findWithinRadius_excludesEventsOutsideRadius() {
+        List<NearbyEvent> results = index.findWithinRadius(45.5017, -73.5673, 1_000);
+
+        assertEquals(1, results.size());
+        assertEquals("bell-centre", results.get(0).getEvent().getId());
+    }
+
+    @Test
+    public void put_withExistingId_movesEvent() {
+        index.put(event("bell-centre", 43.6500, -79.3800));
+
+        assertEquals(3, index.size());
+        assertEquals(1, index.findWithinRadius(45.5017, -73.5673, 10_000).size());
+        assertEquals(2, index.findWithinRadius(43.6435, -79.3791, 5_000).size());
+    }
+
+    @Test
+    public void remove_dropsCancelledEvent() {
+        assertTrue(index.remove("olympic-stadium"));
+        assertFalse(index.remove("olympic-stadium"));
+
+        assertEquals(1, index.findWithinRadius(45.5017, -73.5673, 10_000).size());
+    }
+
+    @Test
+    public void findInBoundingBox_returnsOnlyEventsInsideBox() {
+        List<Event> results = index.findInBoundingBox(45.0, -74.0, 46.0, -73.0);
+
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    public void findInBoundingBox_acrossAntimeridian() {
+        index.put(event("suva", -18.1416, 178.4419));
+        index.put(event("apia", -13.8333, -171.7500));
+
+        List<Event> results = index.findInBoundingBox(-20.0, 175.0, -10.0, -170.0);
+
+        assertEquals(2, results.size());
+    }
+
+    private static Event event(String id, double latitude, double longitude) {
+        return new Event(id, id, EventCategory.SPORTS, latitude, longitude, 0L);
+    }
+}
@@ -0,0 +1,172 @@
+package com.soen345.project.events.geo;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.soen345.project.events.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FirestoreNearbyEventSearchTest {
+    private Query query;
+    private Task<QuerySnapshot> task;
+    private ArgumentCaptor<OnSuccessListener<QuerySnapshot>> successCaptor;
+    private ArgumentCaptor<OnFailureListener> failureCaptor;
+    private FirestoreNearbyEventSearch search;
+
+    @Before
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() {
+        FirebaseFirestore firestore = mock(FirebaseFirestore.class);
+        CollectionReference events = mock(CollectionReference.class);
+        query = mock(Query.class);
+        task = mock(Task.class);
+        successCaptor = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        failureCaptor = ArgumentCaptor.forClass(OnFailureListener.class);
+
+        when(firestore.collection("events")).thenReturn(events);
+        when(events.orderBy("geohash")).thenReturn(query);
+        when(query.startAt(anyString())).thenReturn(query);
+        when(query.endAt(anyString())).thenReturn(query);
+        when(query.get()).thenReturn(task);
+        when(task.addOnSuccessListener(successCaptor.capture())).thenReturn(task);
+        when(task.addOnFailureListener(failureCaptor.capture())).thenReturn(task);
+
+        search = new FirestoreNearbyEventSearch(firestore);
+    }
+
+    @Test
+    public void locationFields_includeGeohashForRangeQueries() {
+        Map<String, Object> fields = FirestoreNearbyEventSearch.locationFields(45.5017, -73.5673);
+
+        assertEquals("f25dvgmft", fields.get("geohash"));
+        assertEquals(45.5017, (Double) fields.get("latitude"), 0.0);
+    }
+
+    @Test
+    public void findWithinRadius_queriesEachCellAndMergesByDistance() {
+        TestCallback callback = new TestCallback();
+
+        search.findWithinRadius(45.5017, -73.5673, 10_000, callback);
+
+        List<OnSuccessListener<QuerySnapshot>> listeners = successCaptor.getAllValues();
+        verify(query, atLeastOnce()).startAt(anyString());
+        for (int i = 0; i < listeners.size(); i++) {
+            List<DocumentSnapshot> documents = new ArrayList<>();
+            if (i == 0) {
+                documents.add(document("far", 45.5580, -73.5518));
+                documents.add(document("near", 45.4961, -73.5693));
+                documents.add(document("outside", 43.6435, -79.3791));
+            }
+            if (i == 1) {
+                documents.add(document("near", 45.4961, -73.5693));
+            }
+            listeners.get(i).onSuccess(page(documents));
+        }
+
+        assertEquals(2, callback.events.size());
+        assertEquals("near", callback.events.get(0).getEvent().getId());
+        assertEquals("far", callback.events.get(1).getEvent().getId());
+    }
+
+    @Test
+    public void findWithinRadius_reportsFirstFailureOnce() {
+        TestCallback callback = new TestCallback();
+
+        search.findWithinRadius(45.5017, -73.5673, 10_000, callback);
+        for (OnFailureListener listener : failureCaptor.getAllValues()) {
+            listener.onFailure(new RuntimeException("offline"));
+        }
+
+        assertEquals(1, callback.errorCount);
+        assertEquals("Could not load events near you.", callback.error);
+    }
+
+    @Test
+    public void findInBoundingBox_coversTheBoxAndKeepsOnlyEventsInsideIt() {
+        List<Event> found = new ArrayList<>();
+
+        search.findInBoundingBox(45.40, -73.70, 45.60, -73.40, new FirestoreNearbyEventSearch.EventsCallback() {
+            @Override
+            public void onSuccess(List<Event> events) {
+                found.addAll(events);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                throw new AssertionError(errorMessage);
+            }
+        });
+
+        List<OnSuccessListener<QuerySnapshot>> listeners = successCaptor.getAllValues();
+        assertEquals(Geohash.cover(45.40, -73.70, 45.60, -73.40, GeoQueryBounds.MAX_QUERY_CELLS).size(), listeners.size());
+        for (int i = 0; i < listeners.size(); i++) {
+            List<DocumentSnapshot> documents = new ArrayList<>();
+            if (i == 0) {
+                documents.add(document("inside", 45.5017, -73.5673));
+                documents.add(document("outside", 45.3000, -73.5673));
+            }
+            if (i == listeners.size() - 1) {
+                documents.add(document("inside", 45.5017, -73.5673));
+            }
+            listeners.get(i).onSuccess(page(documents));
+        }
+
+        assertEquals(1, found.size());
+        assertEquals("inside", found.get(0).getId());
+    }
+
+    private static DocumentSnapshot document(String id, double latitude, double longitude) {
+        DocumentSnapshot document = mock(DocumentSnapshot.class);
+        when(document.getId()).thenReturn(id);
+        Map<String, Object> data = new HashMap<>();
+        data.put("latitude", latitude);
+        data.put("longitude", longitude);
+        data.put("category", "CONCERT");
+        when(document.getData()).thenReturn(data);
+        return document;
+    }
+
+    private static QuerySnapshot page(List<DocumentSnapshot> documents) {
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(documents);
+        return snapshot;
+    }
+
+    private static class TestCallback implements FirestoreNearbyEventSearch.NearbyEventsCallback {
+        List<NearbyEvent> events;
+        String error;
+        int errorCount;
+
+        @Override
+        public void onSuccess(List<NearbyEvent> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+            errorCount++;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.soen345.project.events.geo;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GeohashTest {
+
+    @Test
+    public void encode_matchesReferenceValues() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("f25dvg", Geohash.encode(45.5017, -73.5673, 6));
+        assertEquals("s0000", Geohash.encode(0.0, 0.0, 5));
+    }
+
+    @Test
+    public void cover_containsCellOfEveryCornerAndCenter() {
+        List<String> cells = Geohash.cover(45.49, -73.58, 45.51, -73.55, 9);
+
+        assertTrue(cells.size() <= 9);
+        int precision = cells.get(0).length();
+        assertTrue(cells.contains(Geohash.encode(45.49, -73.58, precision)));
+        assertTrue(cells.contains(Geohash.encode(45.51, -73.55, precision)));
+        assertTrue(cells.contains(Geohash.encode(45.50, -73.565, precision)));
+    }
+
+    @Test
+    public void cover_acrossAntimeridian_wrapsLongitude() {
+        List<String> cells = Geohash.cover(-17.0, 179.5, -16.0, 180.5, 9);
+        int precision = cells.get(0).length();
+
+        assertTrue(cells.contains(Geohash.encode(-16.5, 179.9, precision)));
+        assertTrue(cells.contains(Geohash.encode(-16.5, -179.6, precision)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encode_withInvalidPrecision_throws() {
+        Geohash.encode(0, 0, 13);
+    }
+}
@@ -0,0 +1,218 @@
+package com.soen345.project.faults;
+
+import com.soen345.project.auth.AuthCallback;
+import com.soen345.project.auth.AuthRepository;
+import com.soen345.project.auth.AuthService;
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.ManualScheduler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FaultInjectingAuthRepositoryTest {
+    private final ManualScheduler scheduler = new ManualScheduler();
+    private final InstantAuthRepository backend = new InstantAuthRepository();
+
+    @Test
+    public void latency_holdsTheOutcomeUntilTheSampledDelayPasses() {
+        AuthRepository repository = decorate(FaultPlan.NONE.withLatency(LatencyDistribution.fixed(200)), 1L);
+        Recorder recorder = new Recorder();
+
+        repository.signIn("user@example.com", "password123", recorder);
+        scheduler.advance(199);
+        assertEquals(0, recorder.outcomes.size());
+        scheduler.advance(1);
+
+        assertEquals(1, backend.signInCalls);
+        assertEquals("success:user@example.com", recorder.outcomes.get(0));
+    }
+
+    @Test
+    public void errorRate_failsBeforeTheBackendIsReached() {
+        FaultInjector injector = new FaultInjector(FaultPlan.NONE.withErrorRate(1.0), 1L, scheduler);
+        AuthRepository repository = new FaultInjectingAuthRepository(backend, injector);
+        Recorder recorder = new Recorder();
+
+        repository.signIn("user@example.com", "password123", recorder);
+        scheduler.runAll();
+
+        assertEquals(0, backend.signInCalls);
+        assertEquals("error:" + FaultInjector.UNAVAILABLE_ERROR, recorder.outcomes.get(0));
+        assertEquals(1L, injector.getInjectedErrors());
+    }
+
+    @Test
+    public void lostResponse_appliesTheCallButReportsAnError() {
+        AuthRepository repository = decorate(FaultPlan.NONE.withLostResponseRate(1.0), 1L);
+        Recorder recorder = new Recorder();
+
+        repository.register("user@example.com", "+15145550100", "password123", recorder);
+        scheduler.runAll();
+
+        assertEquals(1, backend.registerCalls);
+        assertEquals("error:" + FaultInjector.UNAVAILABLE_ERROR, recorder.outcomes.get(0));
+    }
+
+    @Test
+    public void timeout_reportsOnceAndDropsTheLateOutcome() {
+        FaultInjector injector = new FaultInjector(
+                FaultPlan.NONE.withLatency(LatencyDistribution.fixed(3_000)).withTimeout(1_000), 1L, scheduler);
+        AuthRepository repository = new FaultInjectingAuthRepository(backend, injector);
+        Recorder recorder = new Recorder();
+
+        repository.signIn("user@example.com", "password123", recorder);
+        scheduler.advance(1_000);
+        assertEquals(1, recorder.outcomes.size());
+        scheduler.runAll();
+
+        assertEquals(1, recorder.outcomes.size());
+        assertEquals("error:" + FaultInjector.TIMEOUT_ERROR, recorder.outcomes.get(0));
+        assertEquals(1L, injector.getTimeouts());
+    }
+
+    @Test
+    public void randomLatency_completesOutOfOrderAndReplaysIdenticallyFromTheSameSeed() {
+        List<String> first = completionOrder(42L);
+        List<String> second = completionOrder(42L);
+        List<String> issued = new ArrayList<>();
+        for (int i = 0; i < first.size(); i++) {
+            issued.add("success:user" + i + "@example.com");
+        }
+
+        assertEquals(first, second);
+        assertNotEquals(issued, first);
+        assertNotEquals(first, completionOrder(7L));
+    }
+
+    // 3 s tails, intermittent UNAVAILABLE and lost replies behind AuthService: every tap still ends in
+    // exactly one outcome, and the injector's counts account for every error the user sees.
+    @Test
+    public void authServiceUnderChaos_completesEverySignInExactlyOnce() {
+        FaultPlan plan = new FaultPlan(
+                LatencyDistribution.logNormal(120, 900).withTail(0.05, LatencyDistribution.fixed(3_000)),
+                0.1, 0.05, 2_000);
+        FaultInjector injector = new FaultInjector(plan, 2024L, scheduler);
+        AuthService service = new AuthService(new FaultInjectingAuthRepository(backend, injector));
+        List<Recorder> recorders = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Recorder recorder = new Recorder();
+            recorders.add(recorder);
+            service.signIn("user" + i + "@example.com", "password123", recorder);
+            scheduler.advance(10);
+        }
+        scheduler.runAll();
+
+        int successes = 0;
+        int errors = 0;
+        for (Recorder recorder : recorders) {
+            assertEquals(1, recorder.outcomes.size());
+            if (recorder.outcomes.get(0).startsWith("success:")) {
+                successes++;
+            } else {
+                errors++;
+            }
+        }
+        assertEquals(injector.getInjectedErrors() + injector.getLostResponses() + injector.getTimeouts(), errors);
+        assertTrue(injector.getTimeouts() > 0);
+        assertTrue(successes > 700);
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    public void constructor_rejectsNullArguments() {
+        try {
+            new FaultInjectingAuthRepository(null, new FaultInjector(FaultPlan.NONE, 1L, scheduler));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("delegate cannot be null", expected.getMessage());
+        }
+        try {
+            new FaultInjector(FaultPlan.NONE, 1L, null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("scheduler cannot be null", expected.getMessage());
+        }
+    }
+
+    private List<String> completionOrder(long seed) {
+        ManualScheduler replay = new ManualScheduler();
+        AuthRepository repository = new FaultInjectingAuthRepository(new InstantAuthRepository(),
+                new FaultInjector(FaultPlan.NONE.withLatency(LatencyDistribution.uniform(0, 1_000)), seed, replay));
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            repository.signIn("user" + i + "@example.com", "password123", new Recorder(order));
+        }
+        replay.runAll();
+        return order;
+    }
+
+    private AuthRepository decorate(FaultPlan plan, long seed) {
+        return new FaultInjectingAuthRepository(backend, new FaultInjector(plan, seed, scheduler));
+    }
+
+    private static final class Recorder implements AuthCallback {
+        private final List<String> outcomes;
+
+        Recorder() {
+            this(new ArrayList<>());
+        }
+
+        Recorder(List<String> outcomes) {
+            this.outcomes = outcomes;
+        }
+
+        @Override
+        public void onSuccess(AuthSession session) {
+            outcomes.add("success:" + session.getEmail());
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            outcomes.add("error:" + errorMessage);
+        }
+    }
+
+    private static final class InstantAuthRepository implements AuthRepository {
+        int signInCalls;
+        int registerCalls;
+
+        @Override
+        public void signIn(String identifier, String password, AuthCallback callback) {
+            signInCalls++;
+            callback.onSuccess(new AuthSession(identifier, UserRole.CUSTOMER));
+        }
+
+        @Override
+        public void register(String email, String phoneE164, String password, AuthCallback callback) {
+            registerCalls++;
+            callback.onSuccess(new AuthSession(email, UserRole.CUSTOMER));
+        }
+
+        @Override
+        public boolean isSignedIn() {
+            return false;
+        }
+
+        @Override
+        public String getSignedInEmail() {
+            return null;
+        }
+
+        @Override
+        public UserRole getSignedInRole() {
+            return null;
+        }
+
+        @Override
+        public void signOut() {
+        }
+    }
+}
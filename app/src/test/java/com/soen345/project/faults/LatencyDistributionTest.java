@@ -0,0 +1,58 @@
+package com.soen345.project.faults;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LatencyDistributionTest {
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    public void logNormal_matchesTheRequestedMedianAndP99() {
+        long[] samples = sample(LatencyDistribution.logNormal(100, 3_000));
+
+        assertEquals(100.0, samples[SAMPLES / 2], 5.0);
+        assertEquals(3_000.0, samples[SAMPLES * 99 / 100], 250.0);
+    }
+
+    @Test
+    public void uniform_staysWithinItsBounds() {
+        long[] samples = sample(LatencyDistribution.uniform(50, 150));
+
+        assertEquals(50L, samples[0]);
+        assertEquals(150L, samples[SAMPLES - 1]);
+    }
+
+    @Test
+    public void withTail_sendsTheRequestedFractionToTheTail() {
+        long[] samples = sample(LatencyDistribution.fixed(20).withTail(0.05, LatencyDistribution.fixed(3_000)));
+
+        long tail = Arrays.stream(samples).filter(millis -> millis == 3_000).count();
+        assertTrue(tail > SAMPLES * 0.045 && tail < SAMPLES * 0.055);
+    }
+
+    @Test
+    public void logNormal_rejectsAP99BelowTheMedian() {
+        try {
+            LatencyDistribution.logNormal(100, 50);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("must satisfy 0 < median <= p99", expected.getMessage());
+        }
+    }
+
+    private static long[] sample(LatencyDistribution distribution) {
+        Random random = new Random(3L);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = distribution.sampleMillis(random);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+}
@@ -0,0 +1,90 @@
+package com.soen345.project.metering;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Transaction;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FirestoreUsageTest {
+    private final FirestoreUsage usage = new FirestoreUsage();
+
+    @Test
+    public void finish_foldsTheRunIntoItsFlowOnce() {
+        FlowRun run = usage.start("flow", new FlowBudget(2, 1, 2));
+        run.recordRoundTrip();
+        run.recordReads(2);
+
+        run.finish();
+        run.finish();
+
+        FlowUsage flow = usage.getFlow("flow");
+        assertEquals(1L, flow.getRuns());
+        assertEquals(2L, flow.getReads());
+        assertEquals(2, flow.getMaxReads());
+        assertEquals(0L, flow.getOverBudgetRuns());
+    }
+
+    @Test
+    public void runsOverTheBudget_areCountedPerFlow() {
+        FlowBudget budget = new FlowBudget(1, 0, 1);
+        FlowRun withinBudget = usage.start("signIn", budget);
+        withinBudget.recordRoundTrip();
+        withinBudget.recordReads(1);
+        withinBudget.finish();
+        FlowRun extraRead = usage.start("signIn", budget);
+        extraRead.recordRoundTrip();
+        extraRead.recordReads(1);
+        extraRead.recordRoundTrip();
+        extraRead.recordReads(1);
+        extraRead.finish();
+
+        assertEquals(1L, usage.getFlow("signIn").getOverBudgetRuns());
+        assertEquals(2, usage.getFlow("signIn").getMaxRoundTrips());
+        assertEquals(1L, usage.getOverBudgetRuns());
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void transaction_countsEveryAttemptsReadsWritesAndCommit() throws Exception {
+        FirebaseFirestore firestore = mock(FirebaseFirestore.class);
+        ArgumentCaptor<Transaction.Function<Object>> body = (ArgumentCaptor) ArgumentCaptor.forClass(Transaction.Function.class);
+        when(firestore.runTransaction(body.capture())).thenReturn(null);
+        Transaction transaction = mock(Transaction.class);
+        DocumentReference document = mock(DocumentReference.class);
+        when(transaction.get(document)).thenReturn(mock(DocumentSnapshot.class));
+        MeteredFirestore metered = new MeteredFirestore(firestore);
+        FlowRun run = usage.start("register", FlowBudget.UNLIMITED);
+
+        metered.runTransaction(run, meteredTransaction -> {
+            meteredTransaction.get(document);
+            meteredTransaction.set(document, Collections.emptyMap()).set(document, Collections.emptyMap());
+            return null;
+        });
+        body.getValue().apply(transaction);
+        body.getValue().apply(transaction);
+
+        assertEquals(2, run.getReads());
+        assertEquals(4, run.getWrites());
+        assertEquals(4, run.getRoundTrips());
+    }
+
+    @Test
+    public void start_rejectsAnEmptyFlowName() {
+        try {
+            usage.start("", FlowBudget.UNLIMITED);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("flow cannot be empty", expected.getMessage());
+        }
+    }
+}
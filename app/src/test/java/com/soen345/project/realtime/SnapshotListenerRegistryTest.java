@@ -0,0 +1,215 @@
+package com.soen345.project.realtime;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.soen345.project.common.Scheduler;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SnapshotListenerRegistryTest {
+    private static final long GRACE_MILLIS = 5_000;
+
+    private QueueExecutor delivery;
+    private FakeScheduler scheduler;
+    private FakeSource source;
+    private SnapshotListenerRegistry registry;
+
+    @Before
+    public void setUp() {
+        delivery = new QueueExecutor();
+        scheduler = new FakeScheduler();
+        source = new FakeSource();
+        registry = new SnapshotListenerRegistry(delivery, scheduler, GRACE_MILLIS);
+    }
+
+    @Test
+    public void subscribe_manySubscribersToOneEvent_shareOneBackendListener() {
+        List<Recorder> subscribers = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Recorder recorder = new Recorder();
+            registry.subscribe("event-1", source, recorder);
+            subscribers.add(recorder);
+        }
+
+        source.emit("v1");
+        delivery.runAll();
+
+        assertEquals(1, source.attaches);
+        assertEquals(1, registry.getActiveListenerCount());
+        for (Recorder recorder : subscribers) {
+            assertEquals(1, recorder.values.size());
+        }
+    }
+
+    @Test
+    public void subscribe_lateSubscriber_receivesLatestSnapshotImmediately() {
+        registry.subscribe("event-1", source, new Recorder());
+        source.emit("v1");
+        Recorder late = new Recorder();
+
+        registry.subscribe("event-1", source, late);
+        delivery.runAll();
+
+        assertEquals("v1", late.values.get(0));
+        assertEquals(1, source.attaches);
+    }
+
+    @Test
+    public void snapshots_areDeliveredOnDeliveryExecutor() {
+        Recorder recorder = new Recorder();
+        registry.subscribe("event-1", source, recorder);
+
+        source.emit("v1");
+        assertTrue(recorder.values.isEmpty());
+        delivery.runAll();
+
+        assertEquals(1, recorder.values.size());
+    }
+
+    @Test
+    public void unsubscribe_lastSubscriber_detachesAfterGracePeriod() {
+        SnapshotListenerRegistry.Subscription first = registry.subscribe("event-1", source, new Recorder());
+        SnapshotListenerRegistry.Subscription second = registry.subscribe("event-1", source, new Recorder());
+
+        first.unsubscribe();
+        second.unsubscribe();
+        second.unsubscribe();
+
+        assertEquals(0, source.removals);
+        scheduler.runAll();
+        assertEquals(1, source.removals);
+        assertEquals(0, registry.getActiveListenerCount());
+    }
+
+    @Test
+    public void subscribe_withinGracePeriod_reusesListener() {
+        registry.subscribe("event-1", source, new Recorder()).unsubscribe();
+
+        registry.subscribe("event-1", source, new Recorder());
+        scheduler.runAll();
+
+        assertEquals(1, source.attaches);
+        assertEquals(0, source.removals);
+        assertEquals(1, registry.getActiveListenerCount());
+    }
+
+    @Test
+    public void listenerError_notifiesSubscribersAndNextSubscribeReattaches() {
+        Recorder recorder = new Recorder();
+        registry.subscribe("event-1", source, recorder);
+
+        source.listener.onEvent(null, mock(FirebaseFirestoreException.class));
+        delivery.runAll();
+        registry.subscribe("event-1", source, new Recorder());
+
+        assertEquals("Live updates are unavailable right now.", recorder.error);
+        assertEquals(2, source.attaches);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void subscribeDocument_samePath_sharesFirestoreListener() {
+        DocumentReference first = mock(DocumentReference.class);
+        DocumentReference second = mock(DocumentReference.class);
+        when(first.getPath()).thenReturn("events/e1");
+        when(second.getPath()).thenReturn("events/e1");
+        when(first.addSnapshotListener(any(EventListener.class))).thenReturn(mock(ListenerRegistration.class));
+
+        registry.subscribeDocument(first, new DocumentRecorder());
+        registry.subscribeDocument(second, new DocumentRecorder());
+
+        verify(first, times(1)).addSnapshotListener(any(EventListener.class));
+        assertEquals(1, registry.getActiveListenerCount());
+    }
+
+    private static class FakeSource implements SnapshotListenerRegistry.SnapshotSource<String> {
+        EventListener<String> listener;
+        int attaches;
+        int removals;
+
+        @Override
+        public ListenerRegistration attach(EventListener<String> listener) {
+            this.listener = listener;
+            attaches++;
+            return () -> removals++;
+        }
+
+        void emit(String value) {
+            listener.onEvent(value, null);
+        }
+    }
+
+    private static class QueueExecutor implements Executor {
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+
+    private static class FakeScheduler implements Scheduler {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public Cancellable schedule(Runnable task, long delayMillis) {
+            tasks.add(task);
+            return () -> tasks.remove(task);
+        }
+
+        void runAll() {
+            for (Runnable task : new ArrayList<>(tasks)) {
+                task.run();
+            }
+            tasks.clear();
+        }
+    }
+
+    private static class Recorder implements SnapshotListenerRegistry.Subscriber<String> {
+        final List<String> values = new ArrayList<>();
+        String error;
+
+        @Override
+        public void onSnapshot(String snapshot) {
+            values.add(snapshot);
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+
+    private static class DocumentRecorder implements SnapshotListenerRegistry.Subscriber<DocumentSnapshot> {
+        @Override
+        public void onSnapshot(DocumentSnapshot snapshot) {
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+        }
+    }
+}
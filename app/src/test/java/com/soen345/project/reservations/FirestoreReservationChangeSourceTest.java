@@ -0,0 +1,161 @@
+package com.soen345.project.reservations;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FirestoreReservationChangeSourceTest {
+    private Query query;
+    private Task<QuerySnapshot> task;
+    private FirestoreReservationChangeSource source;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        FirebaseFirestore firestore = mock(FirebaseFirestore.class);
+        CollectionReference reservations = mock(CollectionReference.class);
+        query = mock(Query.class);
+        task = mock(Task.class);
+
+        when(firestore.collection("reservations")).thenReturn(reservations);
+        when(reservations.whereEqualTo(anyString(), any())).thenReturn(query);
+        when(query.whereGreaterThanOrEqualTo(anyString(), any())).thenReturn(query);
+        when(query.orderBy(anyString())).thenReturn(query);
+        when(query.orderBy((FieldPath) any())).thenReturn(query);
+        when(query.startAfter(any(), any())).thenReturn(query);
+        when(query.limit(anyLong())).thenReturn(query);
+        when(query.get()).thenReturn(task);
+
+        source = new FirestoreReservationChangeSource(firestore);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void fetchChanges_queriesAfterCursorAndDecodesTombstones() {
+        ArgumentCaptor<OnSuccessListener<QuerySnapshot>> success = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        when(task.addOnSuccessListener(success.capture())).thenReturn(task);
+        when(task.addOnFailureListener(any())).thenReturn(task);
+        TestChangesCallback callback = new TestChangesCallback();
+
+        source.fetchChanges("user@example.com", 500L, "r1", 200, callback);
+        success.getValue().onSuccess(page(
+                document("r2", "CONFIRMED", 600L),
+                document("r3", "CANCELLED", 700L),
+                document("broken", null, 800L)
+        ));
+
+        verify(query).whereGreaterThanOrEqualTo("updatedAt", 500L);
+        verify(query).orderBy("updatedAt");
+        verify(query).startAfter(500L, "r1");
+        verify(query).limit(200L);
+        assertEquals(2, callback.changes.size());
+        assertEquals(ReservationStatus.CONFIRMED, callback.changes.get(0).getStatus());
+        assertTrue(callback.changes.get(1).isCancelled());
+        assertEquals(700L, callback.changes.get(1).getUpdatedAtMillis());
+        assertTrue(callback.bytes > 0);
+        // The broken document is still read, so the page counts it and the cursor moves past it.
+        assertEquals(3, callback.documentCount);
+        assertEquals(800L, callback.lastUpdatedAtMillis);
+        assertEquals("broken", callback.lastDocumentId);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void fetchChanges_nonNumericUpdatedAt_keepsTheLastNumericCursor() {
+        ArgumentCaptor<OnSuccessListener<QuerySnapshot>> success = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        when(task.addOnSuccessListener(success.capture())).thenReturn(task);
+        when(task.addOnFailureListener(any())).thenReturn(task);
+        TestChangesCallback callback = new TestChangesCallback();
+
+        source.fetchChanges("user@example.com", 500L, "r1", 200, callback);
+        success.getValue().onSuccess(page(
+                document("r2", "CONFIRMED", 600L),
+                document("stringly", "CONFIRMED", "2026-01-01T00:00:00Z")
+        ));
+
+        assertEquals(1, callback.changes.size());
+        assertEquals(2, callback.documentCount);
+        assertEquals(600L, callback.lastUpdatedAtMillis);
+        assertEquals("r2", callback.lastDocumentId);
+    }
+
+    @Test
+    public void fetchChanges_failure_returnsFriendlyError() {
+        ArgumentCaptor<OnFailureListener> failure = ArgumentCaptor.forClass(OnFailureListener.class);
+        when(task.addOnSuccessListener(any())).thenReturn(task);
+        when(task.addOnFailureListener(failure.capture())).thenReturn(task);
+        TestChangesCallback callback = new TestChangesCallback();
+
+        source.fetchChanges("user@example.com", 0L, "", 200, callback);
+        failure.getValue().onFailure(new RuntimeException("offline"));
+
+        assertEquals("Could not refresh your reservations.", callback.error);
+    }
+
+    private static QuerySnapshot page(DocumentSnapshot... documents) {
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(Arrays.asList(documents));
+        return snapshot;
+    }
+
+    private static DocumentSnapshot document(String id, String status, Object updatedAt) {
+        DocumentSnapshot document = mock(DocumentSnapshot.class);
+        Map<String, Object> data = new HashMap<>();
+        data.put("userEmail", "user@example.com");
+        data.put("eventId", "event-1");
+        data.put("status", status);
+        data.put("ticketCount", 2L);
+        data.put("updatedAt", updatedAt);
+        when(document.getId()).thenReturn(id);
+        when(document.getData()).thenReturn(data);
+        return document;
+    }
+
+    private static class TestChangesCallback implements ReservationChangeSource.ChangesCallback {
+        List<Reservation> changes;
+        int documentCount;
+        long lastUpdatedAtMillis;
+        String lastDocumentId;
+        long bytes;
+        String error;
+
+        @Override
+        public void onSuccess(List<Reservation> changes, int documentCount, long lastUpdatedAtMillis, String lastDocumentId,
+                              long bytesTransferred) {
+            this.changes = changes;
+            this.documentCount = documentCount;
+            this.lastUpdatedAtMillis = lastUpdatedAtMillis;
+            this.lastDocumentId = lastDocumentId;
+            bytes = bytesTransferred;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
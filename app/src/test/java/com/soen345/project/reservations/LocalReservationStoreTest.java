@@ -0,0 +1,107 @@
+package com.soen345.project.reservations;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LocalReservationStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void merge_persistsReservationsAndWatermarkAcrossInstances() throws IOException {
+        File file = new File(folder.getRoot(), "history.bin");
+        LocalReservationStore store = new LocalReservationStore(file);
+        store.reset("user@example.com");
+        store.merge(Arrays.asList(
+                confirmed("r1", 100),
+                confirmed("r2", 200)
+        ), 200, "r2");
+
+        LocalReservationStore reloaded = new LocalReservationStore(file);
+
+        assertEquals("user@example.com", reloaded.getOwner());
+        assertEquals(200L, reloaded.getWatermarkMillis());
+        assertEquals("r2", reloaded.getWatermarkDocumentId());
+        List<Reservation> reservations = reloaded.getReservations();
+        assertEquals(2, reservations.size());
+        assertEquals("r2", reservations.get(0).getId());
+    }
+
+    @Test
+    public void merge_cancellationTombstoneReplacesConfirmedReservation() throws IOException {
+        LocalReservationStore store = new LocalReservationStore(new File(folder.getRoot(), "history.bin"));
+        store.reset("user@example.com");
+        store.merge(Arrays.asList(confirmed("r1", 100), confirmed("r2", 110)), 110, "r2");
+
+        store.merge(Collections.singletonList(
+                new Reservation("r1", "user@example.com", "event-1", ReservationStatus.CANCELLED, 2, 300)
+        ), 300, "r1");
+
+        assertEquals(2, store.getReservations().size());
+        assertEquals(1, store.getActiveReservations().size());
+        assertEquals("r2", store.getActiveReservations().get(0).getId());
+    }
+
+    @Test
+    public void load_unknownSchemaVersion_startsEmptyAndOwnerless() throws IOException {
+        File file = new File(folder.getRoot(), "history.bin");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(0x52535631);
+            out.writeInt(LocalReservationStore.SCHEMA_VERSION + 1);
+            out.writeUTF("user@example.com");
+        }
+
+        LocalReservationStore store = new LocalReservationStore(file);
+
+        assertNull(store.getOwner());
+        assertEquals(0L, store.getWatermarkMillis());
+        assertTrue(store.getReservations().isEmpty());
+    }
+
+    @Test
+    public void load_truncatedFile_startsEmptyAndOwnerless() throws IOException {
+        File file = new File(folder.getRoot(), "history.bin");
+        LocalReservationStore store = new LocalReservationStore(file);
+        store.reset("user@example.com");
+        store.merge(Collections.singletonList(confirmed("r1", 100)), 100, "r1");
+        try (FileOutputStream out = new FileOutputStream(file, false)) {
+            out.write(new byte[]{0x52, 0x53, 0x56, 0x31, 0, 0, 0, 1, 0});
+        }
+
+        LocalReservationStore reloaded = new LocalReservationStore(file);
+
+        assertNull(reloaded.getOwner());
+        assertTrue(reloaded.getReservations().isEmpty());
+    }
+
+    @Test
+    public void reset_withoutOwner_deletesFile() throws IOException {
+        File file = new File(folder.getRoot(), "history.bin");
+        LocalReservationStore store = new LocalReservationStore(file);
+        store.reset("user@example.com");
+        assertTrue(file.exists());
+
+        store.reset(null);
+
+        assertFalse(file.exists());
+        assertNull(new LocalReservationStore(file).getOwner());
+    }
+
+    private static Reservation confirmed(String id, long updatedAt) {
+        return new Reservation(id, "user@example.com", "event-1", ReservationStatus.CONFIRMED, 2, updatedAt);
+    }
+}
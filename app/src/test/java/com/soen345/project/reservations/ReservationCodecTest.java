@@ -0,0 +1,51 @@
+package com.soen345.project.reservations;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReservationCodecTest {
+    private final ReservationCodec codec = new ReservationCodec();
+
+    @Test
+    public void encodeThenDecode_roundTripsReservation() {
+        Reservation reservation = new Reservation("r1", "user@example.com", "event-1", ReservationStatus.CONFIRMED, 2, 1_000L);
+
+        Map<String, Object> fields = codec.encode(reservation);
+        Reservation decoded = codec.decode("r1", fields);
+
+        assertEquals("CONFIRMED", fields.get("status"));
+        assertEquals(2L, fields.get("ticketCount"));
+        assertEquals("r1", decoded.getId());
+        assertEquals("user@example.com", decoded.getUserEmail());
+        assertEquals("event-1", decoded.getEventId());
+        assertEquals(ReservationStatus.CONFIRMED, decoded.getStatus());
+        assertEquals(2, decoded.getTicketCount());
+        assertEquals(1_000L, decoded.getUpdatedAtMillis());
+    }
+
+    @Test
+    public void decode_acceptsSpellingVariantOfCancelled() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("status", "canceled");
+        data.put("updatedAt", 5L);
+
+        assertTrue(codec.decode("r1", data).isCancelled());
+    }
+
+    @Test
+    public void decode_withoutStatusOrUpdatedAt_returnsNull() {
+        Map<String, Object> noStatus = new HashMap<>();
+        noStatus.put("updatedAt", 5L);
+        Map<String, Object> noUpdatedAt = new HashMap<>();
+        noUpdatedAt.put("status", "CONFIRMED");
+
+        assertNull(codec.decode("r1", noStatus));
+        assertNull(codec.decode("r1", noUpdatedAt));
+    }
+}
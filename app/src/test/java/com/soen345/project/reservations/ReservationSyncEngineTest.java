@@ -0,0 +1,229 @@
+package com.soen345.project.reservations;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReservationSyncEngineTest {
+    private static final String USER = "user@example.com";
+    private static final int BYTES_PER_DOCUMENT = 180;
+    private static final Executor DIRECT = Runnable::run;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File storeFile;
+    private FakeChangeSource source;
+
+    @Before
+    public void setUp() {
+        storeFile = new File(folder.getRoot(), "history.bin");
+        source = new FakeChangeSource();
+        for (int i = 0; i < 450; i++) {
+            source.put(new Reservation("r" + i, USER, "event-" + i, ReservationStatus.CONFIRMED, 1, 1_000 + i));
+        }
+        source.put(new Reservation("other", "other@example.com", "event-1", ReservationStatus.CONFIRMED, 1, 5_000));
+    }
+
+    @Test
+    public void sync_coldStart_pagesThroughFullHistory() {
+        TestSyncCallback callback = syncOnce();
+
+        assertTrue(callback.result.isFullResync());
+        assertEquals(450, callback.result.getDocumentsFetched());
+        assertEquals(450 * BYTES_PER_DOCUMENT, callback.result.getBytesTransferred());
+        assertEquals(450, callback.result.getActiveReservations().size());
+        assertEquals(3, source.requests);
+    }
+
+    @Test
+    public void sync_warmLaunch_fetchesOnlyChangedDocuments() {
+        syncOnce();
+        source.put(new Reservation("r10", USER, "event-10", ReservationStatus.CANCELLED, 1, 9_000));
+        source.put(new Reservation("r450", USER, "event-450", ReservationStatus.CONFIRMED, 3, 9_001));
+        source.requests = 0;
+
+        TestSyncCallback callback = syncOnce();
+
+        assertFalse(callback.result.isFullResync());
+        assertEquals(2, callback.result.getDocumentsFetched());
+        assertEquals(2 * BYTES_PER_DOCUMENT, callback.result.getBytesTransferred());
+        assertEquals(450, callback.result.getActiveReservations().size());
+        assertEquals(1, source.requests);
+        System.out.printf("Reservation sync bytes: cold=%d warm=%d%n",
+                450 * BYTES_PER_DOCUMENT, callback.result.getBytesTransferred());
+    }
+
+    @Test
+    public void sync_warmLaunchWithoutChanges_transfersNothing() {
+        syncOnce();
+
+        TestSyncCallback callback = syncOnce();
+
+        assertEquals(0, callback.result.getDocumentsFetched());
+        assertEquals(0L, callback.result.getBytesTransferred());
+        assertEquals(450, callback.result.getActiveReservations().size());
+    }
+
+    @Test
+    public void sync_sameUpdatedAtAcrossPageBoundary_usesDocumentIdTieBreak() {
+        source = new FakeChangeSource();
+        for (int i = 0; i < 250; i++) {
+            source.put(new Reservation(String.format("r%03d", i), USER, "event-1", ReservationStatus.CONFIRMED, 1, 42));
+        }
+
+        TestSyncCallback callback = syncOnce();
+
+        assertEquals(250, callback.result.getDocumentsFetched());
+        assertEquals(250, callback.result.getActiveReservations().size());
+    }
+
+    @Test
+    public void sync_undecodableDocumentInAFullPage_keepsPaging() {
+        source.undecodable.add("r100");
+
+        TestSyncCallback callback = syncOnce();
+
+        assertEquals(450, callback.result.getDocumentsFetched());
+        assertEquals(449, callback.result.getActiveReservations().size());
+        assertEquals(3, source.requests);
+    }
+
+    @Test
+    public void sync_undecodableLastDocument_movesTheWatermarkPastIt() {
+        source.put(new Reservation("r450", USER, "event-450", ReservationStatus.CONFIRMED, 1, 9_000));
+        source.undecodable.add("r450");
+        syncOnce();
+        source.requests = 0;
+
+        TestSyncCallback callback = syncOnce();
+
+        assertEquals(9_000L, new LocalReservationStore(storeFile).getWatermarkMillis());
+        assertEquals("r450", new LocalReservationStore(storeFile).getWatermarkDocumentId());
+        assertEquals(0, callback.result.getDocumentsFetched());
+        assertEquals(1, source.requests);
+    }
+
+    @Test
+    public void sync_differentUser_triggersFullResync() {
+        syncOnce();
+
+        TestSyncCallback callback = new TestSyncCallback();
+        newEngine().sync("other@example.com", callback);
+
+        assertTrue(callback.result.isFullResync());
+        assertEquals(1, callback.result.getActiveReservations().size());
+    }
+
+    @Test
+    public void reset_nextSyncIsFullResync() {
+        syncOnce();
+        newEngine().reset();
+
+        TestSyncCallback callback = syncOnce();
+
+        assertTrue(callback.result.isFullResync());
+        assertEquals(450, callback.result.getDocumentsFetched());
+    }
+
+    @Test
+    public void sync_sourceError_keepsWatermarkAndReportsError() {
+        syncOnce();
+        long watermark = new LocalReservationStore(storeFile).getWatermarkMillis();
+        source.error = "Could not refresh your reservations.";
+
+        TestSyncCallback callback = syncOnce();
+
+        assertNull(callback.result);
+        assertEquals("Could not refresh your reservations.", callback.error);
+        assertEquals(watermark, new LocalReservationStore(storeFile).getWatermarkMillis());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sync_emptyEmail_throws() {
+        newEngine().sync("", new TestSyncCallback());
+    }
+
+    // Each call models a fresh app launch: a new engine reading the store back from disk.
+    private TestSyncCallback syncOnce() {
+        TestSyncCallback callback = new TestSyncCallback();
+        newEngine().sync(USER, callback);
+        return callback;
+    }
+
+    private ReservationSyncEngine newEngine() {
+        return new ReservationSyncEngine(new LocalReservationStore(storeFile), source, DIRECT);
+    }
+
+    private static class FakeChangeSource implements ReservationChangeSource {
+        private final Map<String, Reservation> documents = new HashMap<>();
+        // Stored but rejected by the codec, as with an unknown status.
+        private final Set<String> undecodable = new HashSet<>();
+        private int requests;
+        private String error;
+
+        void put(Reservation reservation) {
+            documents.put(reservation.getId(), reservation);
+        }
+
+        @Override
+        public void fetchChanges(String userEmail, long afterUpdatedAtMillis, String afterDocumentId, int limit, ChangesCallback callback) {
+            requests++;
+            if (error != null) {
+                callback.onError(error);
+                return;
+            }
+            List<Reservation> matches = new ArrayList<>();
+            for (Reservation reservation : documents.values()) {
+                boolean after = reservation.getUpdatedAtMillis() > afterUpdatedAtMillis
+                        || (reservation.getUpdatedAtMillis() == afterUpdatedAtMillis
+                        && reservation.getId().compareTo(afterDocumentId) > 0);
+                if (userEmail.equals(reservation.getUserEmail()) && after) {
+                    matches.add(reservation);
+                }
+            }
+            matches.sort(Comparator.comparingLong(Reservation::getUpdatedAtMillis).thenComparing(Reservation::getId));
+            List<Reservation> page = new ArrayList<>(matches.subList(0, Math.min(limit, matches.size())));
+            if (page.isEmpty()) {
+                callback.onSuccess(page, 0, afterUpdatedAtMillis, afterDocumentId, 0);
+                return;
+            }
+            Reservation last = page.get(page.size() - 1);
+            int documentCount = page.size();
+            page.removeIf(reservation -> undecodable.contains(reservation.getId()));
+            callback.onSuccess(page, documentCount, last.getUpdatedAtMillis(), last.getId(),
+                    (long) documentCount * BYTES_PER_DOCUMENT);
+        }
+    }
+
+    private static class TestSyncCallback implements ReservationSyncEngine.SyncCallback {
+        SyncResult result;
+        String error;
+
+        @Override
+        public void onSuccess(SyncResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
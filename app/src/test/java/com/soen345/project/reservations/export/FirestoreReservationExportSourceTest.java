@@ -0,0 +1,175 @@
+package com.soen345.project.reservations.export;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.AggregateQuery;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.soen345.project.reservations.Reservation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FirestoreReservationExportSourceTest {
+    private Query query;
+    private Task<QuerySnapshot> task;
+    private FirestoreReservationExportSource source;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        FirebaseFirestore firestore = mock(FirebaseFirestore.class);
+        CollectionReference reservations = mock(CollectionReference.class);
+        query = mock(Query.class);
+        task = mock(Task.class);
+
+        when(firestore.collection("reservations")).thenReturn(reservations);
+        when(reservations.whereEqualTo(anyString(), any())).thenReturn(query);
+        when(query.orderBy((FieldPath) any())).thenReturn(query);
+        when(query.startAfter(anyString())).thenReturn(query);
+        when(query.limit(anyLong())).thenReturn(query);
+        when(query.get()).thenReturn(task);
+
+        source = new FirestoreReservationExportSource(firestore);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void fetchPage_continuesAfterCursorAndReportsFullPageAsMore() {
+        ArgumentCaptor<OnSuccessListener<QuerySnapshot>> success = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        when(task.addOnSuccessListener(success.capture())).thenReturn(task);
+        when(task.addOnFailureListener(any())).thenReturn(task);
+        TestPageCallback callback = new TestPageCallback();
+
+        source.fetchPage("event-1", "r1", 2, callback);
+        success.getValue().onSuccess(page(document("r2", "CONFIRMED"), document("r3", null)));
+
+        verify(query).startAfter("r1");
+        verify(query).limit(2L);
+        // The undecodable document is skipped but still moves the cursor past it.
+        assertEquals(1, callback.reservations.size());
+        assertEquals("r2", callback.reservations.get(0).getId());
+        assertEquals("r3", callback.lastDocumentId);
+        assertTrue(callback.hasMore);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void fetchPage_firstShortPage_isTheLast() {
+        ArgumentCaptor<OnSuccessListener<QuerySnapshot>> success = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        when(task.addOnSuccessListener(success.capture())).thenReturn(task);
+        when(task.addOnFailureListener(any())).thenReturn(task);
+        TestPageCallback callback = new TestPageCallback();
+
+        source.fetchPage("event-1", null, 500, callback);
+        success.getValue().onSuccess(page(document("r1", "CONFIRMED")));
+
+        verify(query, never()).startAfter(anyString());
+        assertEquals("r1", callback.lastDocumentId);
+        assertFalse(callback.hasMore);
+    }
+
+    @Test
+    public void fetchPage_failure_returnsFriendlyError() {
+        ArgumentCaptor<OnFailureListener> failure = ArgumentCaptor.forClass(OnFailureListener.class);
+        when(task.addOnSuccessListener(any())).thenReturn(task);
+        when(task.addOnFailureListener(failure.capture())).thenReturn(task);
+        TestPageCallback callback = new TestPageCallback();
+
+        source.fetchPage("event-1", null, 500, callback);
+        failure.getValue().onFailure(new RuntimeException("offline"));
+
+        assertEquals("Could not load reservations for the export.", callback.error);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void count_usesServerAggregation() {
+        AggregateQuery aggregate = mock(AggregateQuery.class);
+        Task<AggregateQuerySnapshot> countTask = mock(Task.class);
+        AggregateQuerySnapshot snapshot = mock(AggregateQuerySnapshot.class);
+        ArgumentCaptor<OnSuccessListener<AggregateQuerySnapshot>> success = (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+        when(query.count()).thenReturn(aggregate);
+        when(aggregate.get(AggregateSource.SERVER)).thenReturn(countTask);
+        when(countTask.addOnSuccessListener(success.capture())).thenReturn(countTask);
+        when(countTask.addOnFailureListener(any())).thenReturn(countTask);
+        when(snapshot.getCount()).thenReturn(1_234L);
+        long[] counted = {-1};
+
+        source.count("event-1", new ReservationExportSource.CountCallback() {
+            @Override
+            public void onSuccess(long count) {
+                counted[0] = count;
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+            }
+        });
+        success.getValue().onSuccess(snapshot);
+
+        assertEquals(1_234L, counted[0]);
+    }
+
+    private static QuerySnapshot page(DocumentSnapshot... documents) {
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(Arrays.asList(documents));
+        return snapshot;
+    }
+
+    private static DocumentSnapshot document(String id, String status) {
+        DocumentSnapshot document = mock(DocumentSnapshot.class);
+        Map<String, Object> data = new HashMap<>();
+        data.put("userEmail", "user@example.com");
+        data.put("eventId", "event-1");
+        data.put("status", status);
+        data.put("ticketCount", 2L);
+        data.put("updatedAt", 100L);
+        when(document.getId()).thenReturn(id);
+        when(document.getData()).thenReturn(data);
+        return document;
+    }
+
+    private static class TestPageCallback implements ReservationExportSource.PageCallback {
+        List<Reservation> reservations;
+        String lastDocumentId;
+        boolean hasMore;
+        String error;
+
+        @Override
+        public void onSuccess(List<Reservation> reservations, String lastDocumentId, boolean hasMore) {
+            this.reservations = reservations;
+            this.lastDocumentId = lastDocumentId;
+            this.hasMore = hasMore;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
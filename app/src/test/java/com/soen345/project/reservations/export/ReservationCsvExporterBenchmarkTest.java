@@ -0,0 +1,186 @@
+package com.soen345.project.reservations.export;
+
+import com.soen345.project.reservations.Reservation;
+import com.soen345.project.reservations.ReservationStatus;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReservationCsvExporterBenchmarkTest {
+    private static final int SMALL_EVENT = 1_000;
+    private static final int LARGE_EVENT = 1_000_000;
+    private static final int SAMPLES = 10;
+    // Retained heap may drift by GC noise, but not by anything proportional to the row count.
+    private static final long MAX_GROWTH_BYTES = 16L * 1024 * 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void exportHeapStaysFlatFromAThousandToAMillionRows() throws IOException {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        ExportResult small = export(SMALL_EVENT);
+        ExportResult large = export(LARGE_EVENT);
+
+        assertEquals(SMALL_EVENT + 1, small.lines);
+        assertEquals(LARGE_EVENT + 1, large.lines);
+        assertTrue("retained heap grew by " + large.growthBytes(), large.growthBytes() < MAX_GROWTH_BYTES);
+        for (ExportResult result : new ExportResult[]{small, large}) {
+            System.out.printf("ReservationCsvExporter rows=%d pages=%d: %.0f ms (%.0f rows/s) file=%.1fMB "
+                            + "retained min=%.1fMB max=%.1fMB%n",
+                    result.rows, result.pages, result.nanos / 1e6, result.rows / (result.nanos / 1e9),
+                    result.fileBytes / 1048576.0, result.minRetained / 1048576.0, result.maxRetained / 1048576.0);
+        }
+    }
+
+    private ExportResult export(int rows) throws IOException {
+        VirtualExportSource source = new VirtualExportSource(rows);
+        TrampolineExecutor io = new TrampolineExecutor();
+        File target = folder.newFile("event-" + rows + ".csv");
+        ExportResult result = new ExportResult(rows);
+        int pages = (rows + ReservationCsvExporter.PAGE_SIZE - 1) / ReservationCsvExporter.PAGE_SIZE;
+        int sampleEvery = Math.max(1, pages / SAMPLES);
+
+        long start = System.nanoTime();
+        new ReservationCsvExporter(source, io).export("event-1", target, new ReservationCsvExporter.ExportListener() {
+            @Override
+            public void onProgress(long rowsWritten, long totalRows) {
+                result.pages++;
+                if (result.pages % sampleEvery == 0) {
+                    long paused = System.nanoTime();
+                    result.sample(usedHeap());
+                    result.pausedNanos += System.nanoTime() - paused;
+                }
+            }
+
+            @Override
+            public void onComplete(File file, long rowsWritten) {
+                result.completed = rowsWritten;
+            }
+
+            @Override
+            public void onCancelled(long rowsWritten) {
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                throw new AssertionError(errorMessage);
+            }
+        });
+        io.drain();
+        result.nanos = System.nanoTime() - start - result.pausedNanos;
+
+        assertEquals(rows, result.completed);
+        result.fileBytes = target.length();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(target), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (result.lines > 0 && !line.startsWith(id(result.lines - 1) + ",event-1,")) {
+                    throw new AssertionError("out of order at line " + result.lines + ": " + line);
+                }
+                result.lines++;
+            }
+        }
+        target.delete();
+        return result;
+    }
+
+    private static String id(long i) {
+        return String.format("r%08d", i);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Runs each task after the current one returns, so the fetch-write loop does not grow the stack.
+    private static final class TrampolineExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void drain() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+
+    // Builds each page on demand, so the source itself holds nothing between fetches.
+    private static final class VirtualExportSource implements ReservationExportSource {
+        private final int size;
+
+        VirtualExportSource(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void fetchPage(String eventId, String afterDocumentId, int limit, PageCallback callback) {
+            int from = afterDocumentId == null ? 0 : Integer.parseInt(afterDocumentId.substring(1)) + 1;
+            int to = Math.min(size, from + limit);
+            List<Reservation> page = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                page.add(new Reservation(id(i), "user" + i + "@example.com", eventId,
+                        i % 10 == 0 ? ReservationStatus.CANCELLED : ReservationStatus.CONFIRMED, 1 + i % 4, 1_700_000_000_000L + i));
+            }
+            callback.onSuccess(page, to == from ? afterDocumentId : id(to - 1), to - from == limit);
+        }
+
+        @Override
+        public void count(String eventId, CountCallback callback) {
+            callback.onSuccess(size);
+        }
+    }
+
+    private static final class ExportResult {
+        final int rows;
+        final List<Long> retained = new ArrayList<>();
+        long minRetained = Long.MAX_VALUE;
+        long maxRetained;
+        long pausedNanos;
+        long nanos;
+        long completed = -1;
+        long fileBytes;
+        long lines;
+        int pages;
+
+        ExportResult(int rows) {
+            this.rows = rows;
+        }
+
+        void sample(long bytes) {
+            retained.add(bytes);
+            minRetained = Math.min(minRetained, bytes);
+            maxRetained = Math.max(maxRetained, bytes);
+        }
+
+        long growthBytes() {
+            return retained.isEmpty() ? 0 : maxRetained - retained.get(0);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.soen345.project.reservations.export;
+
+import com.soen345.project.reservations.Reservation;
+import com.soen345.project.reservations.ReservationStatus;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReservationCsvExporterTest {
+    private static final int ROWS = 23;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FakeExportSource source;
+
+    @Before
+    public void setUp() {
+        source = new FakeExportSource();
+        for (int i = 0; i < ROWS; i++) {
+            source.put(new Reservation(String.format("r%03d", i), "user" + i + "@example.com", "event-1",
+                    i % 5 == 0 ? ReservationStatus.CANCELLED : ReservationStatus.CONFIRMED, 1 + i % 3, 1_000L * i));
+        }
+        source.put(new Reservation("other", "x@example.com", "event-2", ReservationStatus.CONFIRMED, 1, 0L));
+    }
+
+    @Test
+    public void export_writesHeaderAndEveryRowThenDropsCheckpoint() throws IOException {
+        File target = new File(folder.getRoot(), "exports/event-1.csv");
+        RecordingListener listener = new RecordingListener();
+
+        export("event-1", target, listener);
+
+        List<String> lines = Files.readAllLines(target.toPath(), StandardCharsets.UTF_8);
+        assertEquals(ROWS + 1, lines.size());
+        assertEquals(ReservationCsvWriter.HEADER, lines.get(0));
+        assertTrue(lines.get(1).startsWith("r000,event-1,user0@example.com,CANCELLED,1,"));
+        assertEquals(ROWS, listener.completedRows);
+        assertEquals(3, listener.progress.size());
+        assertEquals(Long.valueOf(ROWS), listener.lastTotal);
+        assertFalse(ReservationCsvExporter.checkpointFor(target).exists());
+    }
+
+    @Test
+    public void export_requestsNextPageOnlyAfterPreviousIsWritten() {
+        QueueExecutor io = new QueueExecutor();
+        source.deferred = true;
+        new ReservationCsvExporter(source, io, 10).export("event-1", new File(folder.getRoot(), "a.csv"), new RecordingListener());
+
+        io.runAll();
+        assertEquals(1, source.pageRequests);
+        source.release();
+        // The page has arrived but is not written yet, so nothing more is fetched.
+        assertEquals(1, source.pageRequests);
+        io.runAll();
+        assertEquals(2, source.pageRequests);
+    }
+
+    @Test
+    public void cancelThenResume_producesSameFileAsUninterruptedExport() throws IOException {
+        File reference = new File(folder.getRoot(), "reference.csv");
+        export("event-1", reference, new RecordingListener());
+        File target = new File(folder.getRoot(), "resumed.csv");
+        RecordingListener first = new RecordingListener();
+        first.cancelAfterProgress = 1;
+
+        export("event-1", target, first);
+        RecordingListener second = new RecordingListener();
+        source.pageRequests = 0;
+        export("event-1", target, second);
+
+        assertEquals(10, first.cancelledRows);
+        assertTrue(second.progress.get(0) > 10);
+        assertEquals(2, source.pageRequests);
+        assertEquals(ROWS, second.completedRows);
+        assertArrayEquals(Files.readAllBytes(reference.toPath()), Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void resumeAfterFailure_cutsRowsWrittenPastTheCheckpoint() throws IOException {
+        File reference = new File(folder.getRoot(), "reference.csv");
+        export("event-1", reference, new RecordingListener());
+        File target = new File(folder.getRoot(), "retried.csv");
+        source.pageRequests = 0;
+        source.failOnRequest = 2;
+        RecordingListener failed = new RecordingListener();
+        export("event-1", target, failed);
+        // A page written after the last checkpoint, as if the app died before checkpointing it.
+        try (FileOutputStream out = new FileOutputStream(target, true)) {
+            out.write("r010,event-1,partial".getBytes(StandardCharsets.UTF_8));
+        }
+
+        source.failOnRequest = -1;
+        export("event-1", target, new RecordingListener());
+
+        assertEquals("Could not load reservations for the export.", failed.error);
+        assertArrayEquals(Files.readAllBytes(reference.toPath()), Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void export_ofAnotherEvent_startsOverInsteadOfResuming() throws IOException {
+        File target = new File(folder.getRoot(), "export.csv");
+        RecordingListener first = new RecordingListener();
+        first.cancelAfterProgress = 1;
+        export("event-1", target, first);
+
+        RecordingListener other = new RecordingListener();
+        export("event-2", target, other);
+
+        assertEquals(1, other.completedRows);
+        assertEquals(2, Files.readAllLines(target.toPath(), StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    public void export_countFailure_leavesProgressIndeterminate() {
+        source.failCount = true;
+        RecordingListener listener = new RecordingListener();
+
+        export("event-1", new File(folder.getRoot(), "a.csv"), listener);
+
+        assertEquals(Long.valueOf(-1), listener.lastTotal);
+        assertEquals(ROWS, listener.completedRows);
+    }
+
+    // Queued rather than direct so the listener holds the handle before the first page is written.
+    private void export(String eventId, File target, RecordingListener listener) {
+        QueueExecutor io = new QueueExecutor();
+        listener.handle = new ReservationCsvExporter(source, io, 10).export(eventId, target, listener);
+        io.runAll();
+    }
+
+    private static class FakeExportSource implements ReservationExportSource {
+        final TreeMap<String, Reservation> byId = new TreeMap<>();
+        final Queue<Runnable> pending = new ArrayDeque<>();
+        int pageRequests;
+        int failOnRequest = -1;
+        boolean deferred;
+        boolean failCount;
+
+        void put(Reservation reservation) {
+            byId.put(reservation.getId(), reservation);
+        }
+
+        void release() {
+            while (!pending.isEmpty()) {
+                pending.poll().run();
+            }
+        }
+
+        @Override
+        public void fetchPage(String eventId, String afterDocumentId, int limit, PageCallback callback) {
+            pageRequests++;
+            if (pageRequests == failOnRequest) {
+                callback.onError("Could not load reservations for the export.");
+                return;
+            }
+            List<Reservation> page = new ArrayList<>();
+            String last = afterDocumentId;
+            for (Reservation reservation : afterDocumentId == null ? byId.values() : byId.tailMap(afterDocumentId, false).values()) {
+                if (!reservation.getEventId().equals(eventId)) {
+                    continue;
+                }
+                page.add(reservation);
+                last = reservation.getId();
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+            String cursor = last;
+            Runnable delivery = () -> callback.onSuccess(page, cursor, page.size() == limit);
+            if (deferred) {
+                pending.add(delivery);
+            } else {
+                delivery.run();
+            }
+        }
+
+        @Override
+        public void count(String eventId, CountCallback callback) {
+            if (failCount) {
+                callback.onError("offline");
+                return;
+            }
+            long count = byId.values().stream().filter(reservation -> reservation.getEventId().equals(eventId)).count();
+            callback.onSuccess(count);
+        }
+    }
+
+    private static class QueueExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+
+    private static class RecordingListener implements ReservationCsvExporter.ExportListener {
+        final List<Long> progress = new ArrayList<>();
+        ReservationCsvExporter.ExportHandle handle;
+        int cancelAfterProgress = -1;
+        Long lastTotal;
+        long completedRows = -1;
+        long cancelledRows = -1;
+        String error;
+
+        @Override
+        public void onProgress(long rowsWritten, long totalRows) {
+            progress.add(rowsWritten);
+            lastTotal = totalRows;
+            if (progress.size() == cancelAfterProgress) {
+                handle.cancel();
+            }
+        }
+
+        @Override
+        public void onComplete(File file, long rowsWritten) {
+            completedRows = rowsWritten;
+        }
+
+        @Override
+        public void onCancelled(long rowsWritten) {
+            cancelledRows = rowsWritten;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
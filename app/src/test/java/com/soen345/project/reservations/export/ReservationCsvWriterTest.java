@@ -0,0 +1,35 @@
+package com.soen345.project.reservations.export;
+
+import com.soen345.project.reservations.Reservation;
+import com.soen345.project.reservations.ReservationStatus;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+public class ReservationCsvWriterTest {
+    @Test
+    public void write_formatsRowWithUtcTimestamp() throws IOException {
+        StringWriter out = new StringWriter();
+        ReservationCsvWriter csv = new ReservationCsvWriter(out);
+
+        csv.writeHeader();
+        csv.write(new Reservation("r1", "a@example.com", "event-1", ReservationStatus.CONFIRMED, 2, 86_400_123L));
+
+        assertEquals(ReservationCsvWriter.HEADER + "\r\nr1,event-1,a@example.com,CONFIRMED,2,1970-01-02T00:00:00.123Z\r\n", out.toString());
+    }
+
+    @Test
+    public void write_quotesSeparatorsAndDefusesFormulas() throws IOException {
+        StringWriter out = new StringWriter();
+        ReservationCsvWriter csv = new ReservationCsvWriter(out);
+
+        csv.write(new Reservation("r,1", "=HYPERLINK(\"x\")@example.com", "say \"hi\"", ReservationStatus.CANCELLED, 1, 0L));
+
+        assertEquals("\"r,1\",\"say \"\"hi\"\"\",\"'=HYPERLINK(\"\"x\"\")@example.com\",CANCELLED,1,1970-01-01T00:00:00.000Z\r\n",
+                out.toString());
+    }
+}
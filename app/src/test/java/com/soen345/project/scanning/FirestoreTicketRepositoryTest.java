@@ -0,0 +1,195 @@
+package com.soen345.project.scanning;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+import com.soen345.project.common.FakeClock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FirestoreTicketRepositoryTest {
+    private FirebaseFirestore firestore;
+    private CollectionReference reservations;
+    private Query query;
+    private FirestoreTicketRepository repository;
+
+    @Before
+    public void setUp() {
+        firestore = mock(FirebaseFirestore.class);
+        reservations = mock(CollectionReference.class);
+        query = mock(Query.class);
+
+        when(firestore.collection("reservations")).thenReturn(reservations);
+        when(reservations.whereEqualTo(anyString(), any())).thenReturn(query);
+        when(query.whereEqualTo(anyString(), any())).thenReturn(query);
+        when(query.orderBy((FieldPath) any())).thenReturn(query);
+        when(query.limit(anyLong())).thenReturn(query);
+
+        repository = new FirestoreTicketRepository(firestore, new FakeClock(77));
+    }
+
+    @Test
+    public void downloadSnapshot_singlePage_buildsSnapshot() {
+        @SuppressWarnings("unchecked")
+        Task<QuerySnapshot> pageTask = mock(Task.class);
+        ArgumentCaptor<OnSuccessListener<QuerySnapshot>> pageSuccess = successCaptor();
+        when(query.get()).thenReturn(pageTask);
+        when(pageTask.addOnSuccessListener(pageSuccess.capture())).thenReturn(pageTask);
+        when(pageTask.addOnFailureListener(any())).thenReturn(pageTask);
+        TestSnapshotCallback callback = new TestSnapshotCallback();
+
+        repository.downloadSnapshot("event-1", callback);
+        pageSuccess.getValue().onSuccess(page(Arrays.asList("t1", "t2")));
+
+        assertEquals(2, callback.snapshot.size());
+        assertTrue(callback.snapshot.contains("t2"));
+        assertEquals(77L, callback.snapshot.getCreatedAtMillis());
+        verify(reservations).whereEqualTo("eventId", "event-1");
+        verify(query).whereEqualTo("status", "CONFIRMED");
+    }
+
+    @Test
+    public void downloadSnapshot_fullPage_continuesAfterLastDocument() {
+        @SuppressWarnings("unchecked")
+        Task<QuerySnapshot> firstTask = mock(Task.class);
+        @SuppressWarnings("unchecked")
+        Task<QuerySnapshot> secondTask = mock(Task.class);
+        Query secondPage = mock(Query.class);
+        ArgumentCaptor<OnSuccessListener<QuerySnapshot>> firstSuccess = successCaptor();
+        ArgumentCaptor<OnSuccessListener<QuerySnapshot>> secondSuccess = successCaptor();
+        List<String> firstIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            firstIds.add("t" + i);
+        }
+        QuerySnapshot firstPage = page(firstIds);
+        DocumentSnapshot lastDocument = firstPage.getDocuments().get(999);
+
+        when(query.get()).thenReturn(firstTask);
+        when(firstTask.addOnSuccessListener(firstSuccess.capture())).thenReturn(firstTask);
+        when(firstTask.addOnFailureListener(any())).thenReturn(firstTask);
+        when(query.startAfter(lastDocument)).thenReturn(secondPage);
+        when(secondPage.get()).thenReturn(secondTask);
+        when(secondTask.addOnSuccessListener(secondSuccess.capture())).thenReturn(secondTask);
+        when(secondTask.addOnFailureListener(any())).thenReturn(secondTask);
+        TestSnapshotCallback callback = new TestSnapshotCallback();
+
+        repository.downloadSnapshot("event-1", callback);
+        firstSuccess.getValue().onSuccess(firstPage);
+        secondSuccess.getValue().onSuccess(page(Collections.singletonList("last")));
+
+        assertEquals(1001, callback.snapshot.size());
+        assertTrue(callback.snapshot.contains("last"));
+    }
+
+    @Test
+    public void downloadSnapshot_failure_returnsFriendlyError() {
+        @SuppressWarnings("unchecked")
+        Task<QuerySnapshot> pageTask = mock(Task.class);
+        ArgumentCaptor<OnFailureListener> failure = ArgumentCaptor.forClass(OnFailureListener.class);
+        when(query.get()).thenReturn(pageTask);
+        when(pageTask.addOnSuccessListener(any())).thenReturn(pageTask);
+        when(pageTask.addOnFailureListener(failure.capture())).thenReturn(pageTask);
+        TestSnapshotCallback callback = new TestSnapshotCallback();
+
+        repository.downloadSnapshot("event-1", callback);
+        failure.getValue().onFailure(new RuntimeException("offline"));
+
+        assertEquals("Could not download tickets for this event.", callback.error);
+    }
+
+    @Test
+    public void upload_writesOneDocumentPerEventInSingleBatch() {
+        WriteBatch writeBatch = mock(WriteBatch.class);
+        CollectionReference scanEvents = mock(CollectionReference.class);
+        @SuppressWarnings("unchecked")
+        Task<Void> commitTask = mock(Task.class);
+        ArgumentCaptor<OnSuccessListener<Void>> commitSuccess = successCaptor();
+        when(firestore.batch()).thenReturn(writeBatch);
+        when(firestore.collection("scan_events")).thenReturn(scanEvents);
+        when(scanEvents.document(anyString())).thenReturn(mock(DocumentReference.class));
+        when(writeBatch.commit()).thenReturn(commitTask);
+        when(commitTask.addOnSuccessListener(commitSuccess.capture())).thenReturn(commitTask);
+        when(commitTask.addOnFailureListener(any())).thenReturn(commitTask);
+        List<ScanEvent> batch = Arrays.asList(
+                new ScanEvent("event-1", "t1", ScanResult.VALID, "staff@example.com", 1000L),
+                new ScanEvent("event-1", "t1", ScanResult.ALREADY_SCANNED, "staff@example.com", 1005L));
+        boolean[] synced = new boolean[1];
+
+        repository.upload(batch, new ScanEventSink.SyncCallback() {
+            @Override
+            public void onSuccess() {
+                synced[0] = true;
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+            }
+        });
+        commitSuccess.getValue().onSuccess(null);
+
+        verify(writeBatch, times(2)).set(any(DocumentReference.class), anyMap());
+        // Ids come from the scan itself, so a retried batch overwrites rather than duplicates.
+        verify(scanEvents).document("event-1_t1_1000");
+        verify(scanEvents).document("event-1_t1_1005");
+        verify(writeBatch).commit();
+        assertTrue(synced[0]);
+    }
+
+    private static QuerySnapshot page(List<String> ids) {
+        List<DocumentSnapshot> documents = new ArrayList<>();
+        for (String id : ids) {
+            DocumentSnapshot document = mock(DocumentSnapshot.class);
+            when(document.getId()).thenReturn(id);
+            documents.add(document);
+        }
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(documents);
+        return snapshot;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static <T> ArgumentCaptor<OnSuccessListener<T>> successCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(OnSuccessListener.class);
+    }
+
+    private static class TestSnapshotCallback implements TicketSnapshotRepository.SnapshotCallback {
+        TicketSnapshot snapshot;
+        String error;
+
+        @Override
+        public void onSuccess(TicketSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.soen345.project.scanning;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ScanJournalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reopen_replaysScansAndUploadMarks() throws IOException {
+        File file = ScanJournal.fileFor(folder.getRoot(), "event/1");
+        try (ScanJournal journal = ScanJournal.open(file, "event/1")) {
+            journal.appendScan(new ScanEvent("event/1", "t1", ScanResult.VALID, "staff@example.com", 10L));
+            journal.appendScan(new ScanEvent("event/1", "t2", ScanResult.INVALID, "staff@example.com", 20L));
+            journal.appendUploaded(1);
+        }
+
+        try (ScanJournal reopened = ScanJournal.open(file, "event/1")) {
+            assertEquals("event_1.journal", file.getName());
+            assertEquals(2, reopened.getRecordedScans().size());
+            assertEquals(ScanResult.INVALID, reopened.getRecordedScans().get(1).getResult());
+            assertEquals(20L, reopened.getRecordedScans().get(1).getScannedAtMillis());
+            assertEquals(1, reopened.getUploadedCount());
+        }
+    }
+
+    @Test
+    public void open_cutsARecordTornByACrash() throws IOException {
+        File file = folder.newFile();
+        try (ScanJournal journal = ScanJournal.open(file, "event-1")) {
+            journal.appendScan(new ScanEvent("event-1", "t1", ScanResult.VALID, "staff@example.com", 10L));
+        }
+        long intact = file.length();
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[]{1, 0, 5, 't'});
+        }
+
+        try (ScanJournal reopened = ScanJournal.open(file, "event-1")) {
+            assertEquals(1, reopened.getRecordedScans().size());
+            assertEquals(intact, file.length());
+            reopened.appendScan(new ScanEvent("event-1", "t2", ScanResult.VALID, "staff@example.com", 20L));
+        }
+        try (ScanJournal again = ScanJournal.open(file, "event-1")) {
+            assertEquals("t2", again.getRecordedScans().get(1).getTicketId());
+        }
+    }
+
+    @Test
+    public void open_tornHeader_startsEmpty() throws IOException {
+        File file = folder.newFile();
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.writeShort(0x5343);
+        }
+
+        try (ScanJournal journal = ScanJournal.open(file, "event-1")) {
+            assertEquals(0, journal.getRecordedScans().size());
+        }
+    }
+
+    @Test
+    public void open_journalOfAnotherEvent_isAnError() throws IOException {
+        File file = folder.newFile();
+        ScanJournal.open(file, "event-1").close();
+
+        try {
+            ScanJournal.open(file, "event-2");
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // Replaying another event's admissions would wave the wrong people through.
+        }
+    }
+}
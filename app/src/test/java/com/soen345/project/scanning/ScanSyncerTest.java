@@ -0,0 +1,162 @@
+package com.soen345.project.scanning;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.FakeClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScanSyncerTest {
+    private static final AuthSession STAFF = new AuthSession("staff@example.com", UserRole.ADMIN);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final TicketSnapshot snapshot = TicketSnapshot.build("event-1", Arrays.asList("t1", "t2", "t3"), 0L);
+    private File journalFile;
+    private ScanJournal journal;
+    private TicketScanner scanner;
+    private FakeSink sink;
+
+    @Before
+    public void setUp() throws IOException {
+        journalFile = folder.newFile();
+        journal = ScanJournal.open(journalFile, "event-1");
+        scanner = new TicketScanner(STAFF, snapshot, new FakeClock(0), journal);
+        sink = new FakeSink();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        journal.close();
+    }
+
+    @Test
+    public void syncNow_uploadsPendingEventsInBatches() {
+        for (int i = 0; i < 5; i++) {
+            scanner.scan("t" + i);
+        }
+        TestCallback callback = new TestCallback();
+
+        new ScanSyncer(scanner, sink, 2).syncNow(callback);
+
+        assertEquals(Arrays.asList(2, 2, 1), sink.batchSizes);
+        assertTrue(callback.succeeded);
+        assertEquals(0, scanner.getPendingEventCount());
+    }
+
+    @Test
+    public void syncNow_whenOffline_keepsEventsQueued() {
+        scanner.scan("t1");
+        scanner.scan("t2");
+        sink.failAfter = 0;
+        TestCallback callback = new TestCallback();
+        ScanSyncer syncer = new ScanSyncer(scanner, sink, 10);
+
+        syncer.syncNow(callback);
+
+        assertEquals("offline", callback.error);
+        assertEquals(2, scanner.getPendingEventCount());
+        assertFalse(syncer.isSyncing());
+    }
+
+    @Test
+    public void syncNow_afterConnectivityReturns_drainsQueue() {
+        scanner.scan("t1");
+        sink.failAfter = 0;
+        ScanSyncer syncer = new ScanSyncer(scanner, sink, 10);
+        syncer.syncNow(new TestCallback());
+
+        sink.failAfter = Integer.MAX_VALUE;
+        syncer.syncNow(new TestCallback());
+
+        assertEquals(0, scanner.getPendingEventCount());
+        assertEquals(1, sink.uploaded.size());
+    }
+
+    @Test
+    public void restartAfterPartialSync_uploadsOnlyTheUnacknowledgedScans() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            scanner.scan("t" + i);
+        }
+        sink.failAfter = 1;
+        new ScanSyncer(scanner, sink, 2).syncNow(new TestCallback());
+        journal.close();
+
+        journal = ScanJournal.open(journalFile, "event-1");
+        TicketScanner restarted = new TicketScanner(STAFF, snapshot, new FakeClock(0), journal);
+        sink.failAfter = Integer.MAX_VALUE;
+        new ScanSyncer(restarted, sink, 10).syncNow(new TestCallback());
+
+        assertEquals(Arrays.asList(2, 3), sink.batchSizes);
+        assertEquals(5, sink.uploaded.size());
+        assertEquals("t2", sink.uploaded.get(2).getTicketId());
+    }
+
+    @Test
+    public void syncNow_whenTheJournalCannotRecordProgress_reportsItAndStops() throws IOException {
+        scanner.scan("t1");
+        scanner.scan("t2");
+        journal.close();
+        TestCallback callback = new TestCallback();
+        ScanSyncer syncer = new ScanSyncer(scanner, sink, 1);
+
+        syncer.syncNow(callback);
+
+        assertEquals(Arrays.asList(1), sink.batchSizes);
+        assertFalse(callback.succeeded);
+        assertTrue(callback.error != null);
+        assertFalse(syncer.isSyncing());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_withOversizedBatch_throws() {
+        new ScanSyncer(scanner, sink, ScanSyncer.MAX_BATCH_SIZE + 1);
+    }
+
+    private static class FakeSink implements ScanEventSink {
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<ScanEvent> uploaded = new ArrayList<>();
+        int failAfter = Integer.MAX_VALUE;
+
+        @Override
+        public void upload(List<ScanEvent> batch, SyncCallback callback) {
+            if (batchSizes.size() >= failAfter) {
+                callback.onError("offline");
+                return;
+            }
+            batchSizes.add(batch.size());
+            uploaded.addAll(batch);
+            callback.onSuccess();
+        }
+    }
+
+    private static class TestCallback implements ScanEventSink.SyncCallback {
+        boolean succeeded;
+        String error;
+
+        @Override
+        public void onSuccess() {
+            succeeded = true;
+        }
+
+        @Override
+        public void onError(String errorMessage) {
+            error = errorMessage;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.soen345.project.scanning;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.FakeClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TicketScannerTest {
+    private static final AuthSession ADMIN = new AuthSession("staff@example.com", UserRole.ADMIN);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final TicketSnapshot snapshot = TicketSnapshot.build("event-1", Arrays.asList("t1", "t2", "t3"), 0L);
+    private FakeClock clock;
+    private File journalFile;
+    private ScanJournal journal;
+    private TicketScanner scanner;
+
+    @Before
+    public void setUp() throws IOException {
+        clock = new FakeClock(1000);
+        journalFile = ScanJournal.fileFor(folder.getRoot(), "event-1");
+        journal = ScanJournal.open(journalFile, "event-1");
+        scanner = new TicketScanner(ADMIN, snapshot, clock, journal);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        journal.close();
+    }
+
+    @Test
+    public void scan_validTicket_admitsOnce() {
+        assertEquals(ScanResult.VALID, scanner.scan("t1"));
+        assertEquals(ScanResult.ALREADY_SCANNED, scanner.scan("t1"));
+        assertEquals(1, scanner.getAdmittedCount());
+    }
+
+    @Test
+    public void scan_unknownTicket_isInvalid() {
+        assertEquals(ScanResult.INVALID, scanner.scan("t9"));
+        assertEquals(0, scanner.getAdmittedCount());
+    }
+
+    @Test
+    public void scan_queuesEventsInScanOrder() {
+        scanner.scan("t1");
+        clock.advance(5);
+        scanner.scan("nope");
+
+        List<ScanEvent> batch = scanner.takeBatch(10);
+
+        assertEquals(2, batch.size());
+        assertEquals("t1", batch.get(0).getTicketId());
+        assertEquals(ScanResult.INVALID, batch.get(1).getResult());
+        assertEquals(1005L, batch.get(1).getScannedAtMillis());
+        assertEquals("staff@example.com", batch.get(0).getScannedBy());
+        assertEquals(0, scanner.getPendingEventCount());
+    }
+
+    @Test
+    public void restoreBatch_putsEventsBackAtFront() {
+        scanner.scan("t1");
+        scanner.scan("t2");
+        List<ScanEvent> first = scanner.takeBatch(1);
+        scanner.scan("t3");
+
+        scanner.restoreBatch(first);
+
+        List<ScanEvent> all = scanner.takeBatch(10);
+        assertEquals("t1", all.get(0).getTicketId());
+        assertEquals("t2", all.get(1).getTicketId());
+        assertEquals("t3", all.get(2).getTicketId());
+    }
+
+    @Test
+    public void restart_keepsAdmissionsAndUnsyncedScans() throws IOException {
+        scanner.scan("t1");
+        scanner.scan("t2");
+        scanner.acknowledgeBatch(scanner.takeBatch(1));
+        scanner.scan("nope");
+        journal.close();
+
+        journal = ScanJournal.open(journalFile, "event-1");
+        TicketScanner restarted = new TicketScanner(ADMIN, snapshot, clock, journal);
+
+        assertEquals(2, restarted.getAdmittedCount());
+        assertEquals(ScanResult.ALREADY_SCANNED, restarted.scan("t1"));
+        List<ScanEvent> pending = restarted.takeBatch(10);
+        assertEquals(3, pending.size());
+        assertEquals("t2", pending.get(0).getTicketId());
+        assertEquals(ScanResult.INVALID, pending.get(1).getResult());
+        assertEquals(ScanResult.ALREADY_SCANNED, pending.get(2).getResult());
+    }
+
+    @Test
+    public void constructor_withJournalOfAnotherEvent_throws() throws IOException {
+        try (ScanJournal other = ScanJournal.open(ScanJournal.fileFor(folder.getRoot(), "event-2"), "event-2")) {
+            new TicketScanner(ADMIN, snapshot, clock, other);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("journal must belong to the snapshot's event", e.getMessage());
+        }
+    }
+
+    @Test
+    public void constructor_withCustomerSession_throws() {
+        try {
+            new TicketScanner(new AuthSession("fan@example.com", UserRole.CUSTOMER),
+                    TicketSnapshot.build("event-1", Arrays.asList("t1"), 0L), clock, journal);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Only administrators can scan tickets", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.soen345.project.scanning;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TicketSnapshotBenchmarkTest {
+    private static final int TICKETS = 100_000;
+    private static final int ROUNDS = 3;
+    // Every scan waits for the journal to reach the disk, so the door sample is smaller.
+    private static final int DOOR_SCANS = 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void lookupLatencyAndSnapshotSizeAt100kTickets() throws IOException {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        List<String> ticketIds = new ArrayList<>(TICKETS);
+        List<String> forgedIds = new ArrayList<>(TICKETS);
+        for (int i = 0; i < TICKETS; i++) {
+            ticketIds.add(String.format("res_%08x", i * 2654435761L));
+            forgedIds.add("forged_" + i);
+        }
+        TicketSnapshot built = TicketSnapshot.build("event-1", ticketIds, 0L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        built.writeTo(bytes);
+        TicketSnapshot snapshot = TicketSnapshot.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+
+        long validNanos = 0;
+        long invalidNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (String ticketId : ticketIds) {
+                assertTrue(snapshot.indexOf(ticketId) >= 0);
+            }
+            long middle = System.nanoTime();
+            for (String ticketId : forgedIds) {
+                snapshot.indexOf(ticketId);
+            }
+            long end = System.nanoTime();
+            validNanos = middle - start;
+            invalidNanos = end - middle;
+        }
+
+        int duplicates = 0;
+        long doorStart = System.nanoTime();
+        try (ScanJournal journal = ScanJournal.open(folder.newFile(), "event-1")) {
+            TicketScanner scanner = new TicketScanner(new AuthSession("staff@example.com", UserRole.ADMIN), snapshot, Clock.SYSTEM, journal);
+            for (int i = 0; i < DOOR_SCANS; i++) {
+                assertEquals(ScanResult.VALID, scanner.scan(ticketIds.get(i)));
+            }
+            for (int i = 0; i < DOOR_SCANS; i++) {
+                if (scanner.scan(ticketIds.get(i)) == ScanResult.ALREADY_SCANNED) {
+                    duplicates++;
+                }
+            }
+        }
+        long doorNanos = System.nanoTime() - doorStart;
+
+        System.out.printf("TicketSnapshot benchmark tickets=%d: snapshot=%d bytes (%.1f bytes/ticket) validLookup=%.0fns "
+                        + "invalidLookup=%.0fns journaledScan=%.1fus%n",
+                TICKETS, bytes.size(), bytes.size() / (double) TICKETS,
+                validNanos / (double) TICKETS, invalidNanos / (double) TICKETS, doorNanos / 1000.0 / (2 * DOOR_SCANS));
+
+        assertEquals(DOOR_SCANS, duplicates);
+        assertTrue("snapshot is " + bytes.size() + " bytes", bytes.size() < 1_000_000);
+    }
+}
@@ -0,0 +1,52 @@
+package com.soen345.project.scanning;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TicketSnapshotTest {
+
+    @Test
+    public void build_containsEveryTicketOnce() {
+        TicketSnapshot snapshot = TicketSnapshot.build("event-1", Arrays.asList("a", "b", "c", "a"), 10L);
+
+        assertEquals(3, snapshot.size());
+        assertTrue(snapshot.contains("a"));
+        assertTrue(snapshot.contains("c"));
+        assertFalse(snapshot.contains("d"));
+        assertFalse(snapshot.contains(null));
+    }
+
+    @Test
+    public void writeTo_readFrom_roundTrips() throws IOException {
+        TicketSnapshot snapshot = TicketSnapshot.build("event-1", Arrays.asList("t1", "t2", "t3"), 10L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        snapshot.writeTo(bytes);
+        TicketSnapshot copy = TicketSnapshot.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals("event-1", copy.getEventId());
+        assertEquals(10L, copy.getCreatedAtMillis());
+        assertEquals(3, copy.size());
+        assertTrue(copy.contains("t2"));
+        assertFalse(copy.contains("t4"));
+    }
+
+    @Test
+    public void readFrom_withForeignBytes_throws() {
+        try {
+            TicketSnapshot.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Not a ticket snapshot", e.getMessage());
+        }
+    }
+}
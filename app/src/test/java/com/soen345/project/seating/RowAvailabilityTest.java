@@ -0,0 +1,75 @@
+package com.soen345.project.seating;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RowAvailabilityTest {
+
+    @Test
+    public void newRow_isEntirelyFree() {
+        RowAvailability row = new RowAvailability(20);
+
+        assertEquals(20, row.longestFreeRun());
+        assertTrue(row.isFree(0, 20));
+    }
+
+    @Test
+    public void occupy_splitsFreeRuns() {
+        RowAvailability row = new RowAvailability(20);
+
+        row.occupy(8, 4);
+
+        assertEquals(8, row.longestFreeRun());
+        assertFalse(row.isFree(7, 2));
+        assertTrue(row.isFree(12, 8));
+    }
+
+    @Test
+    public void free_mergesAdjacentRuns() {
+        RowAvailability row = new RowAvailability(20);
+        row.occupy(0, 20);
+
+        row.free(3, 5);
+        row.free(8, 2);
+
+        assertEquals(7, row.longestFreeRun());
+        assertTrue(row.isFree(3, 7));
+    }
+
+    @Test
+    public void closestBlockStart_prefersTargetWhenFree() {
+        RowAvailability row = new RowAvailability(20);
+
+        assertEquals(8, row.closestBlockStart(4, 8));
+    }
+
+    @Test
+    public void closestBlockStart_movesToNearestFittingRun() {
+        RowAvailability row = new RowAvailability(20);
+        row.occupy(6, 10);
+
+        assertEquals(2, row.closestBlockStart(4, 8));
+        assertEquals(16, row.closestBlockStart(4, 13));
+    }
+
+    @Test
+    public void closestBlockStart_usesRunCrossingNodeBoundaries() {
+        RowAvailability row = new RowAvailability(16);
+        row.occupy(0, 5);
+        row.occupy(11, 5);
+
+        assertEquals(5, row.closestBlockStart(6, 0));
+        assertEquals(5, row.closestBlockStart(6, 15));
+    }
+
+    @Test
+    public void closestBlockStart_withoutFittingRun_returnsMinusOne() {
+        RowAvailability row = new RowAvailability(10);
+        row.occupy(4, 2);
+
+        assertEquals(-1, row.closestBlockStart(5, 0));
+    }
+}
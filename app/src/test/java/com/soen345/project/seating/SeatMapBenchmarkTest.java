@@ -0,0 +1,136 @@
+package com.soen345.project.seating;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class SeatMapBenchmarkTest {
+    private static final int SEATS_PER_ROW = 100;
+    private static final int QUERIES = 2_000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Test
+    public void segmentTreeMatchesLinearScanAt1k10k100kSeats() {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        for (int seats : new int[]{1_000, 10_000, 100_000}) {
+            runScenario(seats);
+        }
+    }
+
+    private void runScenario(int seats) {
+        long treeNanos = 0;
+        long linearNanos = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            List<SeatRow> rows = venue(seats);
+            CenterSeatScorer scorer = new CenterSeatScorer(rows.size() / 3);
+            SeatMap seatMap = new SeatMap(rows, scorer);
+            LinearSeatScanner scanner = new LinearSeatScanner(rows, scorer);
+            fragment(seatMap, scanner, new Random(seats));
+
+            Random random = new Random(round);
+            long treeTotal = 0;
+            long linearTotal = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                int count = 1 + random.nextInt(8);
+                long start = System.nanoTime();
+                SeatBlock fromTree = seatMap.findBest("MAIN", count);
+                long middle = System.nanoTime();
+                SeatBlock fromScan = scanner.findBest(count);
+                long end = System.nanoTime();
+                treeTotal += middle - start;
+                linearTotal += end - middle;
+
+                assertEquals(fromScan, fromTree);
+                if (fromTree != null) {
+                    seatMap.reserve(fromTree);
+                    scanner.set(fromTree, true);
+                }
+            }
+            if (round == WARMUP_ROUNDS) {
+                treeNanos = treeTotal;
+                linearNanos = linearTotal;
+            }
+        }
+        System.out.printf("SeatMap benchmark seats=%d: segmentTree=%.2fus/query linearScan=%.2fus/query%n",
+                seats, treeNanos / 1000.0 / QUERIES, linearNanos / 1000.0 / QUERIES);
+    }
+
+    // Near sell-out: every seat taken, then small scattered gaps reopened, which is the worst case for a scan.
+    private static void fragment(SeatMap seatMap, LinearSeatScanner scanner, Random random) {
+        int rowCount = seatMap.getRows().size();
+        for (int row = 0; row < rowCount; row++) {
+            SeatBlock wholeRow = new SeatBlock(row, 0, SEATS_PER_ROW);
+            seatMap.reserve(wholeRow);
+            scanner.set(wholeRow, true);
+        }
+        int releases = rowCount * SEATS_PER_ROW / 20;
+        for (int i = 0; i < releases; i++) {
+            SeatBlock block = new SeatBlock(random.nextInt(rowCount), random.nextInt(SEATS_PER_ROW - 8), 1 + random.nextInt(random.nextInt(50) == 0 ? 8 : 3));
+            seatMap.release(block);
+            scanner.set(block, false);
+        }
+    }
+
+    private static List<SeatRow> venue(int seats) {
+        List<SeatRow> rows = new ArrayList<>();
+        for (int i = 0; i < seats / SEATS_PER_ROW; i++) {
+            rows.add(new SeatRow("MAIN", i + 1, SEATS_PER_ROW));
+        }
+        return rows;
+    }
+
+    // Baseline: visit rows from best to worst score and scan every seat in each row.
+    private static final class LinearSeatScanner {
+        private final List<SeatRow> rows;
+        private final SeatScorer scorer;
+        private final boolean[][] taken;
+        private final Integer[] order;
+
+        LinearSeatScanner(List<SeatRow> rows, SeatScorer scorer) {
+            this.rows = rows;
+            this.scorer = scorer;
+            this.taken = new boolean[rows.size()][];
+            this.order = new Integer[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                taken[i] = new boolean[rows.get(i).getSeatCount()];
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(
+                    scorer.rowScore(rows.get(b)), scorer.rowScore(rows.get(a))));
+        }
+
+        void set(SeatBlock block, boolean value) {
+            for (int seat = block.getStartSeat(); seat < block.getStartSeat() + block.getCount(); seat++) {
+                taken[block.getRowIndex()][seat] = value;
+            }
+        }
+
+        SeatBlock findBest(int count) {
+            for (int rowIndex : order) {
+                SeatRow row = rows.get(rowIndex);
+                int target = Math.max(0, Math.min(scorer.preferredStart(row, count), row.getSeatCount() - count));
+                int bestStart = -1;
+                int run = 0;
+                for (int seat = 0; seat < row.getSeatCount(); seat++) {
+                    run = taken[rowIndex][seat] ? 0 : run + 1;
+                    if (run >= count) {
+                        int start = seat - count + 1;
+                        if (bestStart < 0 || Math.abs(start - target) < Math.abs(bestStart - target)) {
+                            bestStart = start;
+                        }
+                    }
+                }
+                if (bestStart >= 0) {
+                    return new SeatBlock(rowIndex, bestStart, count);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.soen345.project.seating;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SeatMapTest {
+
+    @Test
+    public void findBest_picksIdealRowAndCenteredBlock() {
+        SeatMap seatMap = new SeatMap(rows("FLOOR", 10, 20), new CenterSeatScorer(4));
+
+        SeatBlock block = seatMap.findBest("FLOOR", 4);
+
+        assertEquals(new SeatBlock(3, 8, 4), block);
+    }
+
+    @Test
+    public void reserve_updatesAvailabilityInPlace() {
+        SeatMap seatMap = new SeatMap(rows("FLOOR", 3, 10), new CenterSeatScorer(1));
+
+        assertTrue(seatMap.reserve(new SeatBlock(0, 0, 10)));
+
+        assertEquals(1, seatMap.findBest("FLOOR", 10).getRowIndex());
+        assertFalse(seatMap.isAvailable(0, 5));
+    }
+
+    @Test
+    public void reserve_rejectsOverlappingBlock() {
+        SeatMap seatMap = new SeatMap(rows("FLOOR", 1, 10), new CenterSeatScorer(1));
+        seatMap.reserve(new SeatBlock(0, 3, 4));
+
+        assertFalse(seatMap.reserve(new SeatBlock(0, 5, 2)));
+        assertFalse(seatMap.reserve(new SeatBlock(0, 8, 4)));
+    }
+
+    @Test
+    public void release_makesSeatsAvailableAgain() {
+        SeatMap seatMap = new SeatMap(rows("FLOOR", 1, 10), new CenterSeatScorer(1));
+        SeatBlock block = seatMap.reserveBest("FLOOR", 10);
+        assertNull(seatMap.findBest("FLOOR", 1));
+
+        seatMap.release(block);
+
+        assertEquals(block, seatMap.findBest("FLOOR", 10));
+    }
+
+    @Test
+    public void findBest_staysWithinPreferredZone() {
+        List<SeatRow> rows = new ArrayList<>(rows("FLOOR", 2, 4));
+        rows.add(new SeatRow("BALCONY", 3, 30));
+        SeatMap seatMap = new SeatMap(rows, new CenterSeatScorer(1));
+
+        assertNull(seatMap.findBest("FLOOR", 6));
+        assertEquals(2, seatMap.findBest("BALCONY", 6).getRowIndex());
+        assertNull(seatMap.findBest("MEZZANINE", 1));
+    }
+
+    @Test
+    public void findBest_usesPluggableScorer() {
+        SeatScorer aisleScorer = new SeatScorer() {
+            @Override
+            public double rowScore(SeatRow row) {
+                return row.getRowNumber();
+            }
+
+            @Override
+            public int preferredStart(SeatRow row, int count) {
+                return 0;
+            }
+        };
+        SeatMap seatMap = new SeatMap(rows("FLOOR", 5, 12), aisleScorer);
+
+        assertEquals(new SeatBlock(4, 0, 3), seatMap.findBest("FLOOR", 3));
+    }
+
+    @Test
+    public void findBest_fallsBackToNextRowWhenIdealRowIsFragmented() {
+        SeatMap seatMap = new SeatMap(rows("FLOOR", 3, 10), new CenterSeatScorer(2));
+        seatMap.reserve(new SeatBlock(1, 2, 1));
+        seatMap.reserve(new SeatBlock(1, 7, 1));
+
+        SeatBlock block = seatMap.findBest("FLOOR", 6);
+
+        assertEquals(0, block.getRowIndex());
+        assertEquals(2, block.getStartSeat());
+    }
+
+    private static List<SeatRow> rows(String zone, int rowCount, int seatsPerRow) {
+        SeatRow[] rows = new SeatRow[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new SeatRow(zone, i + 1, seatsPerRow);
+        }
+        return Arrays.asList(rows);
+    }
+}
@@ -0,0 +1,96 @@
+package com.soen345.project.tracing;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SpanBufferTest {
+    private final Tracer tracer = new Tracer(1.0, new SpanBuffer(1));
+
+    @Test
+    public void drainTo_returnsSpansInOfferOrderAndEmptiesTheBuffer() {
+        SpanBuffer buffer = new SpanBuffer(4);
+        Span first = tracer.startTrace("a");
+        Span second = tracer.startTrace("b");
+        buffer.offer(first);
+        buffer.offer(second);
+
+        List<Span> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained));
+
+        assertSame(first, drained.get(0));
+        assertSame(second, drained.get(1));
+        assertEquals(0, buffer.drainTo(drained));
+    }
+
+    @Test
+    public void offer_whenFull_overwritesTheOldestAndCountsItDropped() {
+        SpanBuffer buffer = new SpanBuffer(4);
+        List<Span> offered = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Span span = tracer.startTrace("s" + i);
+            offered.add(span);
+            buffer.offer(span);
+        }
+
+        List<Span> drained = new ArrayList<>();
+        buffer.drainTo(drained);
+
+        assertEquals(2L, buffer.getDroppedCount());
+        assertEquals(offered.subList(2, 6), drained);
+    }
+
+    @Test
+    public void concurrentProducers_everySpanIsDrainedOrCountedDropped() throws InterruptedException {
+        SpanBuffer buffer = new SpanBuffer(256);
+        int producers = 4;
+        int perProducer = 20_000;
+        CountDownLatch done = new CountDownLatch(producers);
+        AtomicBoolean outOfOrder = new AtomicBoolean();
+        for (int p = 0; p < producers; p++) {
+            String name = "p" + p;
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.offer(tracer.startTrace(name));
+                }
+                done.countDown();
+            }).start();
+        }
+
+        List<Span> drained = new ArrayList<>();
+        long lastSequence = -1;
+        while (done.getCount() > 0 || drained.isEmpty()) {
+            int from = drained.size();
+            buffer.drainTo(drained);
+            for (int i = from; i < drained.size(); i++) {
+                if (drained.get(i).sequence <= lastSequence) {
+                    outOfOrder.set(true);
+                }
+                lastSequence = drained.get(i).sequence;
+            }
+        }
+        done.await();
+        buffer.drainTo(drained);
+
+        assertTrue(!outOfOrder.get());
+        assertEquals((long) producers * perProducer, drained.size() + buffer.getDroppedCount());
+    }
+
+    @Test
+    public void constructor_rejectsNonPowerOfTwoCapacity() {
+        try {
+            new SpanBuffer(1000);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("capacity must be a power of two", expected.getMessage());
+        }
+    }
+}
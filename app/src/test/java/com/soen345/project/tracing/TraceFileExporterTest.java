@@ -0,0 +1,76 @@
+package com.soen345.project.tracing;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraceFileExporterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Tracer tracer = new Tracer(1.0, new SpanBuffer(16));
+
+    @Test
+    public void flush_writesCompleteEventsInTheChromeTraceFormat() throws IOException {
+        File file = new File(folder.getRoot(), "traces/app.trace.json");
+        TraceFileExporter exporter = new TraceFileExporter(file, 1024 * 1024);
+        Span root = tracer.startTrace("submitAuth.signIn");
+        root.startChild("firestore.users.get").setAttribute("error", "say \"hi\"").end();
+        root.end();
+
+        assertEquals(2, exporter.flush(tracer.getBuffer()));
+
+        String[] lines = read(file).split("\n");
+        assertEquals("[", lines[0]);
+        assertTrue(lines[1].startsWith("{\"name\":\"firestore.users.get\",\"cat\":\"app\",\"ph\":\"X\",\"ts\":"));
+        assertTrue(lines[1].contains("\"parentId\":\"" + String.format("%016x", root.getSpanId()) + "\""));
+        assertTrue(lines[1].contains("\"error\":\"say \\\"hi\\\"\""));
+        assertTrue(lines[2].contains("\"traceId\":\"" + String.format("%016x", root.getTraceId()) + "\""));
+        assertTrue(!lines[2].contains("parentId"));
+        assertTrue(lines[2].endsWith("}},"));
+    }
+
+    @Test
+    public void flush_appendsWithoutRepeatingTheHeader() throws IOException {
+        File file = new File(folder.getRoot(), "app.trace.json");
+        TraceFileExporter exporter = new TraceFileExporter(file, 1024 * 1024);
+        tracer.startTrace("first").end();
+        exporter.flush(tracer.getBuffer());
+        assertEquals(0, exporter.flush(tracer.getBuffer()));
+        tracer.startTrace("second").end();
+        exporter.flush(tracer.getBuffer());
+
+        String[] lines = read(file).split("\n");
+
+        assertEquals(3, lines.length);
+        assertTrue(lines[2].contains("\"second\""));
+    }
+
+    @Test
+    public void flush_rollsOverToOnePreviousFileWhenTooLarge() throws IOException {
+        File file = new File(folder.getRoot(), "app.trace.json");
+        TraceFileExporter exporter = new TraceFileExporter(file, 10);
+        tracer.startTrace("first").end();
+        exporter.flush(tracer.getBuffer());
+        tracer.startTrace("second").end();
+        exporter.flush(tracer.getBuffer());
+
+        assertTrue(read(new File(folder.getRoot(), "app.trace.json.1")).contains("\"first\""));
+        String current = read(file);
+        assertTrue(current.startsWith("[\n"));
+        assertTrue(current.contains("\"second\""));
+        assertTrue(!current.contains("\"first\""));
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
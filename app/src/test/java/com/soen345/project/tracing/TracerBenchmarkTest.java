@@ -0,0 +1,94 @@
+package com.soen345.project.tracing;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TracerBenchmarkTest {
+    private static final int OPERATIONS = 2_000_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int BUFFER_CAPACITY = 4096;
+
+    // Each operation mirrors a tap: a root span, one child made current around a small piece of work, and
+    // a grandchild started from Span.current(), the way AuthService and the repositories pick it up.
+    @Test
+    public void overheadWithSamplingOffVersusOn() {
+        Assume.assumeTrue("Run with ./gradlew :app:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        long untracedNanos = 0;
+        long offNanos = 0;
+        long onNanos = 0;
+        long checksum = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            long untraced = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                untraced += work(i);
+            }
+            long middle = System.nanoTime();
+
+            Tracer off = new Tracer(0.0, new SpanBuffer(BUFFER_CAPACITY));
+            long traced = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                traced += tracedOperation(off, i);
+            }
+            long afterOff = System.nanoTime();
+
+            Tracer on = new Tracer(1.0, new SpanBuffer(BUFFER_CAPACITY));
+            List<Span> sink = new ArrayList<>(BUFFER_CAPACITY);
+            long exported = 0;
+            long sampledTotal = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                sampledTotal += tracedOperation(on, i);
+                if ((i & 511) == 0) {
+                    exported += on.getBuffer().drainTo(sink);
+                    sink.clear();
+                }
+            }
+            exported += on.getBuffer().drainTo(sink);
+            long end = System.nanoTime();
+
+            assertEquals(untraced, traced);
+            assertEquals(untraced, sampledTotal);
+            assertEquals(0, off.getBuffer().drainTo(sink));
+            assertEquals(3L * OPERATIONS, exported + on.getBuffer().getDroppedCount());
+            if (round == WARMUP_ROUNDS) {
+                untracedNanos = middle - start;
+                offNanos = afterOff - middle;
+                onNanos = end - afterOff;
+                checksum = untraced;
+            }
+        }
+        System.out.printf("Tracer benchmark operations=%d: untraced=%.1fns/op samplingOff=%.1fns/op (+%.1f) sampledAll=%.1fns/op (+%.1f) checksum=%d%n",
+                OPERATIONS,
+                (double) untracedNanos / OPERATIONS,
+                (double) offNanos / OPERATIONS, (double) (offNanos - untracedNanos) / OPERATIONS,
+                (double) onNanos / OPERATIONS, (double) (onNanos - untracedNanos) / OPERATIONS,
+                checksum);
+    }
+
+    private static long tracedOperation(Tracer tracer, int i) {
+        Span root = tracer.startTrace("submitAuth.signIn");
+        long result;
+        try (Span.Scope scope = root.activate()) {
+            Span service = Span.current().startChild("AuthService.signIn");
+            try (Span.Scope serviceScope = service.activate()) {
+                Span call = Span.current().startChild("firestore.users.get");
+                result = work(i);
+                call.end();
+            }
+            service.setAttribute("outcome", "success").end();
+        }
+        root.end();
+        return result;
+    }
+
+    private static long work(int i) {
+        long x = i * 0x9E3779B97F4A7C15L;
+        x ^= x >>> 31;
+        return x * 0xBF58476D1CE4E5B9L;
+    }
+}
@@ -0,0 +1,121 @@
+package com.soen345.project.tracing;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TracerTest {
+    @Test
+    public void startTrace_samplingOff_returnsNoopAndRecordsNothing() {
+        Tracer tracer = new Tracer(0.0, new SpanBuffer(8));
+
+        Span root = tracer.startTrace("tap");
+        try (Span.Scope scope = root.activate()) {
+            assertSame(Span.NOOP, Span.current());
+            Span.current().startChild("child").setAttribute("k", "v").end();
+        }
+        root.end();
+
+        assertSame(Span.NOOP, root);
+        assertFalse(root.isSampled());
+        assertEquals(0, tracer.getBuffer().drainTo(new ArrayList<>()));
+    }
+
+    @Test
+    public void childrenShareTheTraceAndPointAtTheirParent() {
+        Tracer tracer = new Tracer(1.0, new SpanBuffer(8));
+
+        Span root = tracer.startTrace("tap");
+        Span child;
+        try (Span.Scope scope = root.activate()) {
+            child = Span.current().startChild("repository");
+        }
+        Span grandchild = child.startChild("firestore.get").setAttribute("found", "true");
+        grandchild.end();
+        child.end();
+        root.end();
+
+        List<Span> spans = new ArrayList<>();
+        tracer.getBuffer().drainTo(spans);
+        assertEquals(3, spans.size());
+        assertSame(grandchild, spans.get(0));
+        assertSame(child, spans.get(1));
+        assertSame(root, spans.get(2));
+        assertEquals(0L, root.getParentSpanId());
+        assertEquals(root.getSpanId(), child.getParentSpanId());
+        assertEquals(child.getSpanId(), grandchild.getParentSpanId());
+        assertEquals(root.getTraceId(), grandchild.getTraceId());
+        assertNotEquals(root.getSpanId(), child.getSpanId());
+        assertEquals("found", grandchild.getAttributeKey(0));
+        assertEquals("true", grandchild.getAttributeValue(0));
+    }
+
+    @Test
+    public void activate_restoresThePreviousSpanOnClose() {
+        Tracer tracer = new Tracer(1.0, new SpanBuffer(8));
+        Span outer = tracer.startTrace("outer");
+        Span inner = tracer.startTrace("inner");
+
+        try (Span.Scope outerScope = outer.activate()) {
+            try (Span.Scope innerScope = inner.activate()) {
+                assertSame(inner, Span.current());
+            }
+            assertSame(outer, Span.current());
+        }
+
+        assertSame(Span.NOOP, Span.current());
+    }
+
+    @Test
+    public void end_isIdempotent() {
+        Tracer tracer = new Tracer(1.0, new SpanBuffer(8));
+        Span span = tracer.startTrace("tap");
+
+        span.end();
+        span.end();
+
+        assertEquals(1, tracer.getBuffer().drainTo(new ArrayList<>()));
+        assertTrue(span.getDurationMicros() >= 0);
+    }
+
+    @Test
+    public void partialSampling_keepsOrDropsWholeTraces() {
+        Tracer tracer = new Tracer(0.25, new SpanBuffer(4096));
+        int sampled = 0;
+        for (int i = 0; i < 1000; i++) {
+            Span root = tracer.startTrace("tap");
+            root.startChild("child").end();
+            root.end();
+            if (root.isSampled()) {
+                sampled++;
+            }
+        }
+
+        assertEquals(2 * sampled, tracer.getBuffer().drainTo(new ArrayList<>()));
+        assertTrue(sampled > 150 && sampled < 350);
+    }
+
+    @Test
+    public void constructor_rejectsBadArguments() {
+        try {
+            new Tracer(1.5, new SpanBuffer(8));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("sampleRate must be between 0 and 1", expected.getMessage());
+        }
+        try {
+            new Tracer(0.5, null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("buffer cannot be null", expected.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+plugins {
+    java
+}
+
+java {
+    // Virtual threads need JDK 21.
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+// Roles, account rules, the sign-in limiter and reservation statuses are compiled in from the app module
+// so the server enforces exactly what the app validates, and queue tokens decode the same on both sides. Only Android-free files may be listed here.
+sourceSets {
+    main {
+        java {
+            srcDir("../app/src/main/java")
+            include(
+                "com/soen345/project/server/**",
+                "com/soen345/project/auth/AuthRules.java",
+                "com/soen345/project/auth/AuthSession.java",
+                "com/soen345/project/auth/SignInLimiter.java",
+                "com/soen345/project/auth/TokenBucketSignInLimiter.java",
+                "com/soen345/project/auth/UserRole.java",
+                "com/soen345/project/common/Clock.java",
+                "com/soen345/project/common/CountMinSketch.java",
+                "com/soen345/project/common/Fingerprints.java",
+                "com/soen345/project/reservations/ReservationStatus.java",
+                "com/soen345/project/waitingroom/Hex.java",
+                "com/soen345/project/waitingroom/QueueStatus.java",
+                "com/soen345/project/waitingroom/QueueToken.java"
+            )
+        }
+    }
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+// ./gradlew :server:benchmarkTest runs the tests including the long benchmarks, which skip themselves in a
+// plain test run.
+val benchmarksRequested = gradle.startParameter.taskNames.any { it.substringAfterLast(':') == "benchmarkTest" }
+tasks.withType<Test>().configureEach {
+    systemProperty("benchmarks", benchmarksRequested.toString())
+}
+tasks.register("benchmarkTest") {
+    group = "verification"
+    description = "Runs the tests with the long benchmarks enabled."
+    dependsOn("test")
+}
+
+// ./gradlew :server:loadTest -Pclients=10000 -PrequestsPerClient=20
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the reservation API under concurrent load and reports requests per second and p99 latency."
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass = "com.soen345.project.server.ReservationLoadTest"
+    args(
+        project.findProperty("clients")?.toString() ?: "10000",
+        project.findProperty("requestsPerClient")?.toString() ?: "20"
+    )
+}
+
+// ./gradlew :server:clusterLoadTest -Pnodes=1,2,4 -Pclients=1000 -Prouting=any
+tasks.register<JavaExec>("clusterLoadTest") {
+    group = "verification"
+    description = "Starts each cluster node as its own JVM, adds nodes step by step and reports throughput at each size."
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass = "com.soen345.project.server.ReservationClusterLoadTest"
+    args(
+        project.findProperty("nodes")?.toString() ?: "1,2,4",
+        project.findProperty("clients")?.toString() ?: "1000",
+        project.findProperty("requestsPerClient")?.toString() ?: "20",
+        project.findProperty("routing")?.toString() ?: "any"
+    )
+}
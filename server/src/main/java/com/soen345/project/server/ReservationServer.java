@@ -0,0 +1,151 @@
+package com.soen345.project.server;
+
+import com.soen345.project.auth.TokenBucketSignInLimiter;
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.http.ClusterRouter;
+import com.soen345.project.server.http.ReservationHttpApi;
+import com.soen345.project.server.http.SessionTokens;
+import com.soen345.project.server.storage.ReservationStore;
+import com.soen345.project.server.waitingroom.QueueTokenSigner;
+import com.soen345.project.server.waitingroom.WaitingRooms;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// JDK HttpServer with one virtual thread per request, so a slow client costs a few KB of heap
+// instead of a platform thread.
+public final class ReservationServer {
+    public static final long DEFAULT_HOLD_MILLIS = 10 * 60_000;
+
+    // Pending connections the kernel may queue while the accept loop catches up with a burst.
+    private static final int BACKLOG = 16_384;
+    // The JDK server keeps 200 idle keep-alive connections by default and closes the rest, so with
+    // thousands of clients a reused socket would often be dead by the time its next request is sent.
+    private static final String MAX_IDLE_CONNECTIONS_PROPERTY = "sun.net.httpserver.maxIdleConnections";
+    // The JDK server writes headers and body separately; with Nagle's algorithm on, the body then waits
+    // for the client's delayed ACK, about 40 ms per response.
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final int DEFAULT_PORT = 8080;
+    private static final String SECRET_ENV = "RESERVATION_TOKEN_SECRET";
+    private static final String DATA_DIR_ENV = "RESERVATION_DATA_DIR";
+    private static final String DEFAULT_DATA_DIR = "reservation-data";
+    // Set both to run as one node of a cluster; the node serves nothing until ClusterAdmin adds it.
+    private static final String NODE_ID_ENV = "RESERVATION_NODE_ID";
+    private static final String CLUSTER_SECRET_ENV = "RESERVATION_CLUSTER_SECRET";
+    // Set to let admins open waiting rooms; the key signs queue tokens and never ships in the app.
+    private static final String QUEUE_SECRET_ENV = "RESERVATION_QUEUE_SECRET";
+    // A waiting fan who stops polling for this long loses their place.
+    private static final long QUEUE_ABANDON_MILLIS = 60_000;
+    // An admitted fan has this long to place a hold before the slot goes to the next in line.
+    private static final long QUEUE_CHECKOUT_WINDOW_MILLIS = 2 * 60_000;
+    // Same timings as the app's limiter, but sized for every client of the node rather than one device:
+    // five quick bad tokens, then one every 30 s, and a cool-down doubling from 30 s to 15 min.
+    private static final int SIGN_IN_CAPACITY = 5;
+    private static final long SIGN_IN_REFILL_MILLIS = 30_000;
+    private static final int SIGN_IN_FREE_FAILURES = 3;
+    private static final long SIGN_IN_BASE_COOLDOWN_MILLIS = 30_000;
+    private static final long SIGN_IN_MAX_COOLDOWN_MILLIS = 15 * 60_000;
+    private static final int SIGN_IN_TRACKED_CLIENTS = 65_536;
+    private static final int SIGN_IN_SKETCH_WIDTH = 65_536;
+    // Waiting this long for more commits to share an fsync costs little next to the fsync itself.
+    private static final long JOURNAL_BATCH_WINDOW_NANOS = 200_000;
+    private static final long SNAPSHOT_CHECK_SECONDS = 30;
+    // Recovery replays at most about this many records after the newest snapshot.
+    private static final long SNAPSHOT_EVERY_RECORDS = 10_000;
+    // Reconciling scans every reservation with changes paused, so it runs rarely.
+    private static final long SALES_CHECK_HOURS = 6;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ReservationServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static ReservationServer start(InetSocketAddress address, HttpHandler api) throws IOException {
+        if (api == null) {
+            throw new IllegalArgumentException("api cannot be null");
+        }
+        if (System.getProperty(MAX_IDLE_CONNECTIONS_PROPERTY) == null) {
+            System.setProperty(MAX_IDLE_CONNECTIONS_PROPERTY, String.valueOf(BACKLOG));
+        }
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        HttpServer server = HttpServer.create(address, BACKLOG);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.createContext("/", api);
+        server.setExecutor(executor);
+        server.start();
+        return new ReservationServer(server, executor);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        String secret = System.getenv(SECRET_ENV);
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalStateException(SECRET_ENV + " must be set");
+        }
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String nodeId = System.getenv(NODE_ID_ENV);
+        boolean clustered = nodeId != null && !nodeId.isEmpty();
+        String dataDir = System.getenv(DATA_DIR_ENV);
+        ReservationStore store = ReservationStore.open(
+                new File(dataDir == null || dataDir.isEmpty() ? DEFAULT_DATA_DIR : dataDir),
+                Clock.SYSTEM, DEFAULT_HOLD_MILLIS, JOURNAL_BATCH_WINDOW_NANOS, clustered ? nodeId + "-" : "");
+        ScheduledExecutorService snapshots = Executors.newSingleThreadScheduledExecutor();
+        snapshots.scheduleWithFixedDelay(() -> {
+            try {
+                store.snapshotIfDue(SNAPSHOT_EVERY_RECORDS);
+            } catch (IOException e) {
+                // The journal still has every change; the next attempt retries.
+                System.err.println("Snapshot failed: " + e);
+            }
+        }, SNAPSHOT_CHECK_SECONDS, SNAPSHOT_CHECK_SECONDS, TimeUnit.SECONDS);
+        snapshots.scheduleWithFixedDelay(() -> {
+            for (String difference : store.getCore().reconcileSales()) {
+                System.err.println("Sales counters repaired: " + difference);
+            }
+        }, SALES_CHECK_HOURS, SALES_CHECK_HOURS, TimeUnit.HOURS);
+        SessionTokens tokens = new SessionTokens(secret.getBytes(StandardCharsets.UTF_8), Clock.SYSTEM);
+        String queueSecret = System.getenv(QUEUE_SECRET_ENV);
+        WaitingRooms waitingRooms = queueSecret == null || queueSecret.isEmpty() ? null : new WaitingRooms(
+                new QueueTokenSigner(queueSecret.getBytes(StandardCharsets.UTF_8)), Clock.SYSTEM,
+                QUEUE_ABANDON_MILLIS, QUEUE_CHECKOUT_WINDOW_MILLIS);
+        TokenBucketSignInLimiter signInLimiter = new TokenBucketSignInLimiter(Clock.SYSTEM,
+                SIGN_IN_CAPACITY, SIGN_IN_REFILL_MILLIS, SIGN_IN_FREE_FAILURES,
+                SIGN_IN_BASE_COOLDOWN_MILLIS, SIGN_IN_MAX_COOLDOWN_MILLIS, SIGN_IN_TRACKED_CLIENTS, SIGN_IN_SKETCH_WIDTH);
+        HttpHandler api = new ReservationHttpApi(store.getCore(), tokens, waitingRooms, signInLimiter);
+        if (clustered) {
+            String clusterSecret = System.getenv(CLUSTER_SECRET_ENV);
+            if (clusterSecret == null || clusterSecret.isEmpty()) {
+                throw new IllegalStateException(CLUSTER_SECRET_ENV + " must be set when " + NODE_ID_ENV + " is");
+            }
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            api = new ClusterRouter(nodeId, store.getCore(), api, clusterSecret.getBytes(StandardCharsets.UTF_8), http);
+        }
+        ReservationServer server = start(new InetSocketAddress(port), api);
+        System.out.println("Reservation server listening on port " + server.getPort());
+    }
+}
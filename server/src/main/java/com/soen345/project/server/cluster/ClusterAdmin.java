@@ -0,0 +1,82 @@
+package com.soen345.project.server.cluster;
+
+import com.soen345.project.server.http.ClusterRouter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Drives a membership change: every node involved installs the new view and hands off the events it
+// no longer owns, and only once all of them have done so is the change committed everywhere.
+//   RESERVATION_CLUSTER_SECRET=... java ...ClusterAdmin "<old id=url,...>" "<new id=url,...>"
+// An empty old membership bootstraps a new cluster.
+public final class ClusterAdmin {
+    private static final String SECRET_ENV = "RESERVATION_CLUSTER_SECRET";
+    // Installing a view waits for every handed-off event to be journaled on its new owner.
+    private static final Duration INSTALL_TIMEOUT = Duration.ofMinutes(5);
+
+    private final HttpClient http;
+    private final String clusterSecret;
+
+    public ClusterAdmin(HttpClient http, String clusterSecret) {
+        if (http == null) {
+            throw new IllegalArgumentException("http cannot be null");
+        }
+        if (clusterSecret == null || clusterSecret.isEmpty()) {
+            throw new IllegalArgumentException("clusterSecret cannot be empty");
+        }
+        this.http = http;
+        this.clusterSecret = clusterSecret;
+    }
+
+    // If this fails part way, run it again with the same arguments: installs are idempotent and
+    // nodes keep routing through the previous owners until the commit.
+    public void changeMembership(Map<String, URI> previous, Map<String, URI> next) throws IOException, InterruptedException {
+        ClusterView view = new ClusterView(next, previous);
+        Set<URI> nodes = new LinkedHashSet<>(next.values());
+        nodes.addAll(previous.values());
+        for (URI node : nodes) {
+            HttpResponse<String> response = http.send(request(node, ClusterRouter.VIEW_PATH)
+                    .PUT(HttpRequest.BodyPublishers.ofString(view.format(), StandardCharsets.UTF_8))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Node " + node + " could not install the view: " + response.body());
+            }
+        }
+        for (URI node : nodes) {
+            HttpResponse<String> response = http.send(request(node, ClusterRouter.COMMIT_PATH)
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 204) {
+                throw new IOException("Node " + node + " could not commit the view: " + response.body());
+            }
+        }
+    }
+
+    private HttpRequest.Builder request(URI node, String path) {
+        String base = node.toString().endsWith("/") ? node.toString().substring(0, node.toString().length() - 1) : node.toString();
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .timeout(INSTALL_TIMEOUT)
+                .header(ClusterRouter.SECRET_HEADER, clusterSecret);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String secret = System.getenv(SECRET_ENV);
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalStateException(SECRET_ENV + " must be set");
+        }
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ClusterAdmin <old id=url,...> <new id=url,...>");
+        }
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        new ClusterAdmin(http, secret).changeMembership(ClusterView.parseMembers(args[0]), ClusterView.parseMembers(args[1]));
+        System.out.println("Cluster membership is now " + args[1]);
+    }
+}
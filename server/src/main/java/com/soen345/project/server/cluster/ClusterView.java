@@ -0,0 +1,108 @@
+package com.soen345.project.server.cluster;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// The members a node routes by. While a membership change is in progress the view also keeps the
+// previous members, because events may still sit on their old owners until the change is committed.
+// Text form, one line each: "member <id> <url>" and "previous <id> <url>".
+public final class ClusterView {
+    private static final String MEMBER = "member";
+    private static final String PREVIOUS = "previous";
+
+    private final Map<String, URI> members;
+    private final Map<String, URI> previousMembers;
+    private final HashRing ring;
+    private final HashRing previousRing;
+
+    public ClusterView(Map<String, URI> members, Map<String, URI> previousMembers) {
+        if (members == null || members.isEmpty()) {
+            throw new IllegalArgumentException("members cannot be empty");
+        }
+        this.members = Collections.unmodifiableMap(new LinkedHashMap<>(members));
+        this.previousMembers = previousMembers == null
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new LinkedHashMap<>(previousMembers));
+        this.ring = new HashRing(members.keySet(), HashRing.DEFAULT_VIRTUAL_NODES);
+        this.previousRing = this.previousMembers.isEmpty()
+                ? null
+                : new HashRing(this.previousMembers.keySet(), HashRing.DEFAULT_VIRTUAL_NODES);
+    }
+
+    public static ClusterView parse(String text) {
+        Map<String, URI> members = new LinkedHashMap<>();
+        Map<String, URI> previous = new LinkedHashMap<>();
+        for (String line : text.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+");
+            if (parts.length != 3 || !(parts[0].equals(MEMBER) || parts[0].equals(PREVIOUS))) {
+                throw new IllegalArgumentException("Bad cluster view line: " + trimmed);
+            }
+            (parts[0].equals(MEMBER) ? members : previous).put(parts[1], URI.create(parts[2]));
+        }
+        return new ClusterView(members, previous);
+    }
+
+    // "n1=http://host:8081,n2=http://host:8082", as given on the command line.
+    public static Map<String, URI> parseMembers(String spec) {
+        Map<String, URI> members = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int equals = trimmed.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Expected id=url, got " + trimmed);
+            }
+            members.put(trimmed.substring(0, equals), URI.create(trimmed.substring(equals + 1)));
+        }
+        return members;
+    }
+
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, URI> member : members.entrySet()) {
+            text.append(MEMBER).append(' ').append(member.getKey()).append(' ').append(member.getValue()).append('\n');
+        }
+        for (Map.Entry<String, URI> member : previousMembers.entrySet()) {
+            text.append(PREVIOUS).append(' ').append(member.getKey()).append(' ').append(member.getValue()).append('\n');
+        }
+        return text.toString();
+    }
+
+    public ClusterView committed() {
+        return new ClusterView(members, null);
+    }
+
+    public boolean isChanging() {
+        return previousRing != null;
+    }
+
+    public Map<String, URI> getMembers() {
+        return members;
+    }
+
+    public Map<String, URI> getPreviousMembers() {
+        return previousMembers;
+    }
+
+    public String ownerOf(String eventId) {
+        return ring.ownerOf(eventId);
+    }
+
+    // Owner before the change in progress, or null when there is none.
+    public String previousOwnerOf(String eventId) {
+        return previousRing == null ? null : previousRing.ownerOf(eventId);
+    }
+
+    public URI addressOf(String nodeId) {
+        URI address = members.get(nodeId);
+        return address != null ? address : previousMembers.get(nodeId);
+    }
+}
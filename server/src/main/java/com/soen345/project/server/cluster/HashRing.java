@@ -0,0 +1,94 @@
+package com.soen345.project.server.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Consistent hashing with virtual nodes. Each node owns many short arcs of a 64-bit ring, so adding
+// or removing a node moves only about 1/n of the events, taken evenly from or given to every other node.
+public final class HashRing {
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final List<String> nodeIds;
+    private final long[] points;
+    private final String[] owners;
+
+    public HashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds == null || nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("nodeIds cannot be empty");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        List<String> sorted = new ArrayList<>(nodeIds);
+        Collections.sort(sorted);
+        Point[] all = new Point[sorted.size() * virtualNodes];
+        int index = 0;
+        for (String nodeId : sorted) {
+            if (nodeId == null || nodeId.isEmpty()) {
+                throw new IllegalArgumentException("node id cannot be empty");
+            }
+            for (int v = 0; v < virtualNodes; v++) {
+                all[index++] = new Point(hash(nodeId + "#" + v), nodeId);
+            }
+        }
+        // Ties are broken by node id so every process builds the same ring from the same members.
+        Arrays.sort(all, (a, b) -> a.hash != b.hash ? Long.compareUnsigned(a.hash, b.hash) : a.nodeId.compareTo(b.nodeId));
+        this.nodeIds = Collections.unmodifiableList(sorted);
+        this.points = new long[all.length];
+        this.owners = new String[all.length];
+        for (int i = 0; i < all.length; i++) {
+            points[i] = all[i].hash;
+            owners[i] = all[i].nodeId;
+        }
+    }
+
+    public List<String> getNodeIds() {
+        return nodeIds;
+    }
+
+    // The node whose next point clockwise from the key's hash is first.
+    public String ownerOf(String key) {
+        long hash = hash(key);
+        int low = 0;
+        int high = points.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[mid], hash) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return owners[low == points.length ? 0 : low];
+    }
+
+    // FNV-1a over UTF-8 followed by the MurmurHash3 finalizer: stable across JVMs, unlike String.hashCode
+    // it spreads similar ids ("event-1", "event-2") over the whole ring.
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb3fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Point {
+        private final long hash;
+        private final String nodeId;
+
+        private Point(long hash, String nodeId) {
+            this.hash = hash;
+            this.nodeId = nodeId;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.soen345.project.server.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Ticket counts for one event. Callers hold the lock for every read and write; a ReentrantLock rather
+// than synchronized because a virtual thread waiting on a monitor pins its carrier thread on JDK 21.
+final class EventInventory {
+    final ReentrantLock lock = new ReentrantLock();
+    final String eventId;
+    // Every hold lasts the same time, so insertion order is expiry order.
+    final LinkedHashMap<String, Hold> holds = new LinkedHashMap<>();
+    int capacity;
+    int held;
+    int reserved;
+    String category = "";
+    int priceCents;
+    // Read without the lock by routing checks; changed only under it.
+    volatile boolean importing;
+    volatile boolean removed;
+
+    EventInventory(String eventId) {
+        this.eventId = eventId;
+    }
+
+    int available() {
+        return capacity - held - reserved;
+    }
+
+    InventorySnapshot snapshot() {
+        return new InventorySnapshot(eventId, capacity, held, reserved);
+    }
+
+    // Returns tickets from lapsed holds and removes them from holdsById as well.
+    void expireHolds(long nowMillis, Map<String, Hold> holdsById) {
+        Iterator<Hold> iterator = holds.values().iterator();
+        while (iterator.hasNext()) {
+            Hold hold = iterator.next();
+            if (hold.getExpiresAtMillis() > nowMillis) {
+                return;
+            }
+            iterator.remove();
+            holdsById.remove(hold.getId());
+            held -= hold.getTickets();
+        }
+    }
+}
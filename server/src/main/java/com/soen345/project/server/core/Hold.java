@@ -0,0 +1,37 @@
+package com.soen345.project.server.core;
+
+public final class Hold {
+    private final String id;
+    private final String eventId;
+    private final String userEmail;
+    private final int tickets;
+    private final long expiresAtMillis;
+
+    Hold(String id, String eventId, String userEmail, int tickets, long expiresAtMillis) {
+        this.id = id;
+        this.eventId = eventId;
+        this.userEmail = userEmail;
+        this.tickets = tickets;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public int getTickets() {
+        return tickets;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+}
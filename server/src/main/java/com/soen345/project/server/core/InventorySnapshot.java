@@ -0,0 +1,35 @@
+package com.soen345.project.server.core;
+
+public final class InventorySnapshot {
+    private final String eventId;
+    private final int capacity;
+    private final int held;
+    private final int reserved;
+
+    InventorySnapshot(String eventId, int capacity, int held, int reserved) {
+        this.eventId = eventId;
+        this.capacity = capacity;
+        this.held = held;
+        this.reserved = reserved;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getHeld() {
+        return held;
+    }
+
+    public int getReserved() {
+        return reserved;
+    }
+
+    public int getAvailable() {
+        return capacity - held - reserved;
+    }
+}
@@ -0,0 +1,136 @@
+package com.soen345.project.server.core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// One state change. Records carry their outcome (ids, timestamps, counts) rather than the request,
+// so replay never consults the clock or re-runs validation.
+public final class JournalRecord {
+    public enum Type {
+        CAPACITY,
+        HOLD,
+        RESERVE,
+        RELEASE,
+        CANCEL,
+        // Cluster rebalancing: an event leaves this node, or arrives from another one. An import is
+        // only complete once IMPORT_END is journaled.
+        DROP_EVENT,
+        IMPORT_BEGIN,
+        ADOPT,
+        IMPORT_END,
+        // Category and unit price an event's sales are reported under.
+        DETAILS
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private final Type type;
+    private final String eventId;
+    private final String holdId;
+    private final String reservationId;
+    private final String userEmail;
+    private final int count;
+    private final long timeMillis;
+
+    private JournalRecord(Type type, String eventId, String holdId, String reservationId, String userEmail, int count, long timeMillis) {
+        this.type = type;
+        this.eventId = eventId;
+        this.holdId = holdId;
+        this.reservationId = reservationId;
+        this.userEmail = userEmail;
+        this.count = count;
+        this.timeMillis = timeMillis;
+    }
+
+    static JournalRecord capacity(String eventId, int capacity) {
+        return new JournalRecord(Type.CAPACITY, eventId, "", "", "", capacity, 0);
+    }
+
+    static JournalRecord hold(String eventId, String holdId, String userEmail, int tickets, long expiresAtMillis) {
+        return new JournalRecord(Type.HOLD, eventId, holdId, "", userEmail, tickets, expiresAtMillis);
+    }
+
+    static JournalRecord reserve(String eventId, String holdId, String reservationId, long nowMillis) {
+        return new JournalRecord(Type.RESERVE, eventId, holdId, reservationId, "", 0, nowMillis);
+    }
+
+    static JournalRecord release(String eventId, String holdId) {
+        return new JournalRecord(Type.RELEASE, eventId, holdId, "", "", 0, 0);
+    }
+
+    static JournalRecord cancel(String eventId, String reservationId, long nowMillis) {
+        return new JournalRecord(Type.CANCEL, eventId, "", reservationId, "", 0, nowMillis);
+    }
+
+    static JournalRecord dropEvent(String eventId) {
+        return new JournalRecord(Type.DROP_EVENT, eventId, "", "", "", 0, 0);
+    }
+
+    static JournalRecord importBegin(String eventId) {
+        return new JournalRecord(Type.IMPORT_BEGIN, eventId, "", "", "", 0, 0);
+    }
+
+    static JournalRecord adopt(String eventId, String reservationId, String userEmail, int tickets, long updatedAtMillis) {
+        return new JournalRecord(Type.ADOPT, eventId, "", reservationId, userEmail, tickets, updatedAtMillis);
+    }
+
+    static JournalRecord importEnd(String eventId) {
+        return new JournalRecord(Type.IMPORT_END, eventId, "", "", "", 0, 0);
+    }
+
+    // Carries the category in the text slot holds and reservations use for the user email.
+    static JournalRecord details(String eventId, String category, int priceCents) {
+        return new JournalRecord(Type.DETAILS, eventId, "", "", category, priceCents, 0);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    String getEventId() {
+        return eventId;
+    }
+
+    String getHoldId() {
+        return holdId;
+    }
+
+    String getReservationId() {
+        return reservationId;
+    }
+
+    String getUserEmail() {
+        return userEmail;
+    }
+
+    String getCategory() {
+        return userEmail;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(type.ordinal());
+        out.writeUTF(eventId);
+        out.writeUTF(holdId);
+        out.writeUTF(reservationId);
+        out.writeUTF(userEmail);
+        out.writeInt(count);
+        out.writeLong(timeMillis);
+    }
+
+    public static JournalRecord readFrom(DataInput in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= TYPES.length) {
+            throw new IOException("Unknown journal record type " + ordinal);
+        }
+        return new JournalRecord(TYPES[ordinal], in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readInt(), in.readLong());
+    }
+}
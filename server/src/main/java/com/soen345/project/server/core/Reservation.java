@@ -0,0 +1,53 @@
+package com.soen345.project.server.core;
+
+import com.soen345.project.reservations.ReservationStatus;
+
+public final class Reservation {
+    private final String id;
+    private final String eventId;
+    private final String userEmail;
+    private final int tickets;
+    private final ReservationStatus status;
+    private final long updatedAtMillis;
+
+    Reservation(String id, String eventId, String userEmail, int tickets, ReservationStatus status, long updatedAtMillis) {
+        this.id = id;
+        this.eventId = eventId;
+        this.userEmail = userEmail;
+        this.tickets = tickets;
+        this.status = status;
+        this.updatedAtMillis = updatedAtMillis;
+    }
+
+    Reservation cancelled(long nowMillis) {
+        return new Reservation(id, eventId, userEmail, tickets, ReservationStatus.CANCELLED, nowMillis);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public int getTickets() {
+        return tickets;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+
+    public boolean isCancelled() {
+        return status == ReservationStatus.CANCELLED;
+    }
+}
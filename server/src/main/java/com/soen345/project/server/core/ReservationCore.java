@@ -0,0 +1,696 @@
+package com.soen345.project.server.core;
+
+import com.soen345.project.auth.AuthRules;
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.common.Clock;
+import com.soen345.project.reservations.ReservationStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inventory, holds and reservations for every event. Each event is guarded by its own lock, so
+// requests for different events never contend, and a hold or confirm can never oversell: the
+// availability check and the count update happen under the same lock. Every change is journaled
+// before the call returns; replaying the journal over a snapshot rebuilds the same state.
+public class ReservationCore {
+    public static final int MAX_TICKETS_PER_HOLD = 10;
+
+    public static final int MAX_CATEGORY_LENGTH = 64;
+
+    // Format 2 added each event's category and price; format 1 snapshots still load, with neither set.
+    private static final int SNAPSHOT_FORMAT = 2;
+    private static final int TRANSFER_FORMAT = 2;
+    private static final String NOT_FOUND_HOLD = "Hold not found or expired";
+
+    private final Clock clock;
+    private final long holdMillis;
+    private final ReservationJournal journal;
+    // Cluster nodes use their node id so hold and reservation ids stay unique when events move between nodes.
+    private final String idPrefix;
+    // Changes share the read side; a snapshot takes the write side so it sees every event at one journal position.
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final Map<String, EventInventory> inventories = new ConcurrentHashMap<>();
+    private final Map<String, Hold> holdsById = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservationsById = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Reservation>> reservationsByUser = new ConcurrentHashMap<>();
+    private final SalesCounters sales = new SalesCounters();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final ReentrantLock importLock = new ReentrantLock();
+
+    public ReservationCore(Clock clock, long holdMillis) {
+        this(clock, holdMillis, ReservationJournal.NONE);
+    }
+
+    public ReservationCore(Clock clock, long holdMillis, ReservationJournal journal) {
+        this(clock, holdMillis, journal, "");
+    }
+
+    public ReservationCore(Clock clock, long holdMillis, ReservationJournal journal, String idPrefix) {
+        if (clock == null) {
+            throw new IllegalArgumentException("clock cannot be null");
+        }
+        if (holdMillis <= 0) {
+            throw new IllegalArgumentException("holdMillis must be positive");
+        }
+        if (journal == null) {
+            throw new IllegalArgumentException("journal cannot be null");
+        }
+        if (idPrefix == null) {
+            throw new IllegalArgumentException("idPrefix cannot be null");
+        }
+        this.clock = clock;
+        this.holdMillis = holdMillis;
+        this.journal = journal;
+        this.idPrefix = idPrefix;
+    }
+
+    public InventorySnapshot setCapacity(AuthSession caller, String eventId, int capacity) throws ReservationException {
+        requireCaller(caller);
+        if (!AuthRules.canManageInventory(caller.getRole())) {
+            throw new ReservationException(ReservationException.Reason.FORBIDDEN, "Only admins can change inventory");
+        }
+        if (eventId == null || eventId.isEmpty() || capacity < 0) {
+            throw new ReservationException(ReservationException.Reason.INVALID, "Event id and a non-negative capacity are required");
+        }
+        EventInventory inventory = inventories.computeIfAbsent(eventId, EventInventory::new);
+        InventorySnapshot snapshot;
+        long position;
+        lockLive(inventory);
+        try {
+            inventory.expireHolds(clock.nowMillis(), holdsById);
+            if (capacity < inventory.held + inventory.reserved) {
+                throw new ReservationException(ReservationException.Reason.INVALID, "Capacity is below tickets already held or sold");
+            }
+            position = record(JournalRecord.capacity(eventId, capacity));
+            snapshot = inventory.snapshot();
+        } finally {
+            unlock(inventory);
+        }
+        journal.sync(position);
+        return snapshot;
+    }
+
+    public SalesTotals setDetails(AuthSession caller, String eventId, String category, int priceCents) throws ReservationException {
+        requireCaller(caller);
+        if (!AuthRules.canManageInventory(caller.getRole())) {
+            throw new ReservationException(ReservationException.Reason.FORBIDDEN, "Only admins can change event details");
+        }
+        if (category == null || category.isEmpty() || category.length() > MAX_CATEGORY_LENGTH || priceCents < 0) {
+            throw new ReservationException(ReservationException.Reason.INVALID, "A category and a non-negative price are required");
+        }
+        EventInventory inventory = requireInventory(eventId);
+        long position;
+        lockLive(inventory);
+        try {
+            position = record(JournalRecord.details(eventId, category, priceCents));
+        } finally {
+            unlock(inventory);
+        }
+        journal.sync(position);
+        return sales.eventTotals(eventId);
+    }
+
+    public SalesTotals getEventSales(AuthSession caller, String eventId) throws ReservationException {
+        requireSalesViewer(caller);
+        requireInventory(eventId);
+        SalesTotals totals = sales.eventTotals(eventId);
+        return totals == null ? SalesTotals.ZERO : totals;
+    }
+
+    // Only the events on this node; a cluster adds up every node's answer.
+    public SalesTotals getCategorySales(AuthSession caller, String category) throws ReservationException {
+        requireSalesViewer(caller);
+        return sales.categoryTotals(category);
+    }
+
+    public SalesTotals getDailySales(AuthSession caller, long epochDay) throws ReservationException {
+        requireSalesViewer(caller);
+        return sales.dayTotals(epochDay);
+    }
+
+    // Consistency check: recomputes every sales counter from the reservations themselves, adopts the
+    // recomputed values if the running ones drifted, and returns what differed. It is a full scan, so
+    // changes pause while it runs, as they do for a snapshot.
+    public List<String> reconcileSales() {
+        stateLock.writeLock().lock();
+        try {
+            SalesCounters recomputed = recomputeSales();
+            List<String> differences = sales.differences(recomputed);
+            if (!differences.isEmpty()) {
+                sales.replaceWith(recomputed);
+            }
+            return differences;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    // Tests reach the running counters to simulate drift.
+    SalesCounters salesCounters() {
+        return sales;
+    }
+
+    public InventorySnapshot getInventory(String eventId) throws ReservationException {
+        EventInventory inventory = requireInventory(eventId);
+        lockLive(inventory);
+        try {
+            inventory.expireHolds(clock.nowMillis(), holdsById);
+            return inventory.snapshot();
+        } finally {
+            unlock(inventory);
+        }
+    }
+
+    public Hold hold(AuthSession caller, String eventId, int tickets) throws ReservationException {
+        requireCaller(caller);
+        if (tickets <= 0 || tickets > MAX_TICKETS_PER_HOLD) {
+            throw new ReservationException(ReservationException.Reason.INVALID,
+                    "You can hold between 1 and " + MAX_TICKETS_PER_HOLD + " tickets");
+        }
+        EventInventory inventory = requireInventory(eventId);
+        String holdId = idPrefix + "h" + nextId.getAndIncrement();
+        Hold hold;
+        long position;
+        lockLive(inventory);
+        try {
+            long now = clock.nowMillis();
+            inventory.expireHolds(now, holdsById);
+            if (inventory.available() < tickets) {
+                throw new ReservationException(ReservationException.Reason.SOLD_OUT, "Not enough tickets left");
+            }
+            position = record(JournalRecord.hold(eventId, holdId, caller.getEmail(), tickets, now + holdMillis));
+            hold = inventory.holds.get(holdId);
+        } finally {
+            unlock(inventory);
+        }
+        journal.sync(position);
+        return hold;
+    }
+
+    public Reservation confirm(AuthSession caller, String holdId) throws ReservationException {
+        requireCaller(caller);
+        Hold hold = requireOwnHold(caller, holdId);
+        EventInventory inventory = movedIfAbsent(hold.getEventId());
+        String reservationId = idPrefix + "r" + nextId.getAndIncrement();
+        Reservation reservation;
+        long position;
+        lockLive(inventory);
+        try {
+            long now = clock.nowMillis();
+            inventory.expireHolds(now, holdsById);
+            if (!inventory.holds.containsKey(holdId)) {
+                throw new ReservationException(ReservationException.Reason.NOT_FOUND, NOT_FOUND_HOLD);
+            }
+            position = record(JournalRecord.reserve(hold.getEventId(), holdId, reservationId, now));
+            reservation = reservationsById.get(reservationId);
+        } finally {
+            unlock(inventory);
+        }
+        journal.sync(position);
+        return reservation;
+    }
+
+    public void release(AuthSession caller, String holdId) throws ReservationException {
+        requireCaller(caller);
+        Hold hold = requireOwnHold(caller, holdId);
+        EventInventory inventory = movedIfAbsent(hold.getEventId());
+        long position = 0;
+        lockLive(inventory);
+        try {
+            inventory.expireHolds(clock.nowMillis(), holdsById);
+            if (inventory.holds.containsKey(holdId)) {
+                position = record(JournalRecord.release(hold.getEventId(), holdId));
+            }
+        } finally {
+            unlock(inventory);
+        }
+        journal.sync(position);
+    }
+
+    // Cancelling twice is harmless and returns the existing tombstone.
+    public Reservation cancel(AuthSession caller, String reservationId) throws ReservationException {
+        requireCaller(caller);
+        Reservation existing = reservationId == null ? null : reservationsById.get(reservationId);
+        if (existing == null) {
+            throw new ReservationException(ReservationException.Reason.NOT_FOUND, "Reservation not found");
+        }
+        if (!existing.getUserEmail().equals(caller.getEmail()) && !AuthRules.canManageInventory(caller.getRole())) {
+            throw new ReservationException(ReservationException.Reason.FORBIDDEN, "This reservation belongs to another account");
+        }
+        EventInventory inventory = movedIfAbsent(existing.getEventId());
+        Reservation cancelled;
+        long position = 0;
+        lockLive(inventory);
+        try {
+            if (!reservationsById.get(reservationId).isCancelled()) {
+                position = record(JournalRecord.cancel(existing.getEventId(), reservationId, clock.nowMillis()));
+            }
+            cancelled = reservationsById.get(reservationId);
+        } finally {
+            unlock(inventory);
+        }
+        journal.sync(position);
+        return cancelled;
+    }
+
+    public List<Reservation> reservationsFor(AuthSession caller) throws ReservationException {
+        requireCaller(caller);
+        Map<String, Reservation> own = reservationsByUser.get(caller.getEmail());
+        List<Reservation> all = own == null ? new ArrayList<>() : new ArrayList<>(own.values());
+        Collections.sort(all, (a, b) -> Long.compare(b.getUpdatedAtMillis(), a.getUpdatedAtMillis()));
+        return all;
+    }
+
+    // True once the event is fully present here, whether created locally or imported.
+    public boolean hasEvent(String eventId) {
+        EventInventory inventory = eventId == null ? null : inventories.get(eventId);
+        return inventory != null && !inventory.importing;
+    }
+
+    public List<String> eventIds() {
+        return new ArrayList<>(inventories.keySet());
+    }
+
+    // Hands an event to another node. Changes to it are blocked while transfer.send runs; only if it
+    // returns normally is the event dropped here, so it is never lost and never has two writers.
+    public void transferEvent(String eventId, EventTransfer transfer) throws IOException, ReservationException {
+        EventInventory inventory = requireInventory(eventId);
+        long position;
+        lockLive(inventory);
+        try {
+            inventory.expireHolds(clock.nowMillis(), holdsById);
+            transfer.send(exportLocked(inventory));
+            position = record(JournalRecord.dropEvent(eventId));
+        } finally {
+            unlock(inventory);
+        }
+        journal.sync(position);
+    }
+
+    // Receives an event from transferEvent. An event this node already has in full is a conflict:
+    // the sender's copy is stale and should be dropped.
+    public void importEvent(byte[] state) throws IOException, ReservationException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(state));
+        if (in.readInt() != TRANSFER_FORMAT) {
+            throw new IOException("Unsupported transfer format");
+        }
+        String eventId = in.readUTF();
+        long position;
+        importLock.lock();
+        stateLock.readLock().lock();
+        try {
+            if (hasEvent(eventId)) {
+                throw new ReservationException(ReservationException.Reason.CONFLICT, "Event is already on this node");
+            }
+            position = journal.append(applied(JournalRecord.importBegin(eventId)));
+            EventInventory inventory = inventories.get(eventId);
+            inventory.lock.lock();
+            try {
+                position = record(JournalRecord.capacity(eventId, in.readInt()));
+                position = record(JournalRecord.details(eventId, in.readUTF(), in.readInt()));
+                int holds = in.readInt();
+                for (int h = 0; h < holds; h++) {
+                    String holdId = in.readUTF();
+                    position = record(JournalRecord.hold(eventId, holdId, in.readUTF(), in.readInt(), in.readLong()));
+                    bumpNextId(holdId);
+                }
+                int reservations = in.readInt();
+                for (int r = 0; r < reservations; r++) {
+                    String id = in.readUTF();
+                    String userEmail = in.readUTF();
+                    int tickets = in.readInt();
+                    boolean cancelled = in.readBoolean();
+                    long updatedAt = in.readLong();
+                    position = record(JournalRecord.adopt(eventId, id, userEmail, tickets, updatedAt));
+                    if (cancelled) {
+                        position = record(JournalRecord.cancel(eventId, id, updatedAt));
+                    }
+                    bumpNextId(id);
+                }
+                position = record(JournalRecord.importEnd(eventId));
+            } finally {
+                inventory.lock.unlock();
+            }
+        } finally {
+            stateLock.readLock().unlock();
+            importLock.unlock();
+        }
+        journal.sync(position);
+    }
+
+    // Recovery only: an import cut short by a crash is forgotten, since its sender never saw it
+    // succeed and still has the event.
+    public void discardIncompleteImports() {
+        for (EventInventory inventory : new ArrayList<>(inventories.values())) {
+            if (inventory.importing) {
+                drop(inventory);
+            }
+        }
+    }
+
+    // Recovery only: applies a journaled change without validation, exactly as it was first applied.
+    public void replay(JournalRecord record) {
+        EventInventory inventory = inventories.computeIfAbsent(record.getEventId(), EventInventory::new);
+        lock(inventory);
+        try {
+            apply(inventory, record);
+        } finally {
+            unlock(inventory);
+        }
+        bumpNextId(record.getHoldId());
+        bumpNextId(record.getReservationId());
+    }
+
+    // Serializes the whole state while changes are paused and returns it. onCaptured runs before
+    // changes resume, with the journal position the snapshot covers.
+    public byte[] captureSnapshot(SnapshotHook onCaptured) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        stateLock.writeLock().lock();
+        try {
+            discardIncompleteImports();
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeLong(nextId.get());
+            out.writeInt(inventories.size());
+            for (EventInventory inventory : inventories.values()) {
+                out.writeUTF(inventory.eventId);
+                out.writeInt(inventory.capacity);
+                out.writeUTF(inventory.category);
+                out.writeInt(inventory.priceCents);
+                out.writeInt(inventory.reserved);
+                out.writeInt(inventory.holds.size());
+                for (Hold hold : inventory.holds.values()) {
+                    out.writeUTF(hold.getId());
+                    out.writeUTF(hold.getUserEmail());
+                    out.writeInt(hold.getTickets());
+                    out.writeLong(hold.getExpiresAtMillis());
+                }
+            }
+            out.writeInt(reservationsById.size());
+            for (Reservation reservation : reservationsById.values()) {
+                out.writeUTF(reservation.getId());
+                out.writeUTF(reservation.getEventId());
+                out.writeUTF(reservation.getUserEmail());
+                out.writeInt(reservation.getTickets());
+                out.writeUTF(reservation.getStatus().value());
+                out.writeLong(reservation.getUpdatedAtMillis());
+            }
+            out.flush();
+            onCaptured.captured(journal.lastPosition());
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        return bytes.toByteArray();
+    }
+
+    // Recovery only: loads a snapshot into an empty core.
+    public void restoreSnapshot(DataInput in) throws IOException {
+        int format = in.readInt();
+        if (format != 1 && format != SNAPSHOT_FORMAT) {
+            throw new IOException("Unsupported snapshot format");
+        }
+        nextId.set(in.readLong());
+        int events = in.readInt();
+        for (int e = 0; e < events; e++) {
+            EventInventory inventory = new EventInventory(in.readUTF());
+            inventory.capacity = in.readInt();
+            if (format >= 2) {
+                inventory.category = in.readUTF();
+                inventory.priceCents = in.readInt();
+            }
+            inventory.reserved = in.readInt();
+            int holds = in.readInt();
+            for (int h = 0; h < holds; h++) {
+                Hold hold = new Hold(in.readUTF(), inventory.eventId, in.readUTF(), in.readInt(), in.readLong());
+                inventory.holds.put(hold.getId(), hold);
+                inventory.held += hold.getTickets();
+                holdsById.put(hold.getId(), hold);
+            }
+            inventories.put(inventory.eventId, inventory);
+        }
+        int reservations = in.readInt();
+        for (int r = 0; r < reservations; r++) {
+            String id = in.readUTF();
+            String eventId = in.readUTF();
+            String userEmail = in.readUTF();
+            int tickets = in.readInt();
+            ReservationStatus status = ReservationStatus.fromValue(in.readUTF());
+            if (status == null) {
+                throw new IOException("Unknown reservation status in snapshot");
+            }
+            store(new Reservation(id, eventId, userEmail, tickets, status, in.readLong()));
+        }
+        sales.replaceWith(recomputeSales());
+    }
+
+    // Caller holds the event lock.
+    private long record(JournalRecord record) {
+        return journal.append(applied(record));
+    }
+
+    private JournalRecord applied(JournalRecord record) {
+        apply(inventories.get(record.getEventId()), record);
+        return record;
+    }
+
+    private byte[] exportLocked(EventInventory inventory) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(TRANSFER_FORMAT);
+        out.writeUTF(inventory.eventId);
+        out.writeInt(inventory.capacity);
+        out.writeUTF(inventory.category);
+        out.writeInt(inventory.priceCents);
+        out.writeInt(inventory.holds.size());
+        for (Hold hold : inventory.holds.values()) {
+            out.writeUTF(hold.getId());
+            out.writeUTF(hold.getUserEmail());
+            out.writeInt(hold.getTickets());
+            out.writeLong(hold.getExpiresAtMillis());
+        }
+        List<Reservation> reservations = new ArrayList<>();
+        for (Reservation reservation : reservationsById.values()) {
+            if (reservation.getEventId().equals(inventory.eventId)) {
+                reservations.add(reservation);
+            }
+        }
+        out.writeInt(reservations.size());
+        for (Reservation reservation : reservations) {
+            out.writeUTF(reservation.getId());
+            out.writeUTF(reservation.getUserEmail());
+            out.writeInt(reservation.getTickets());
+            out.writeBoolean(reservation.isCancelled());
+            out.writeLong(reservation.getUpdatedAtMillis());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void drop(EventInventory inventory) {
+        inventory.removed = true;
+        inventories.remove(inventory.eventId, inventory);
+        sales.drop(inventory.eventId);
+        for (Hold hold : inventory.holds.values()) {
+            holdsById.remove(hold.getId());
+        }
+        Iterator<Reservation> iterator = reservationsById.values().iterator();
+        while (iterator.hasNext()) {
+            Reservation reservation = iterator.next();
+            if (reservation.getEventId().equals(inventory.eventId)) {
+                iterator.remove();
+                Map<String, Reservation> own = reservationsByUser.get(reservation.getUserEmail());
+                if (own != null) {
+                    own.remove(reservation.getId());
+                }
+            }
+        }
+    }
+
+    private void apply(EventInventory inventory, JournalRecord record) {
+        switch (record.getType()) {
+            case CAPACITY:
+                inventory.capacity = record.getCount();
+                sales.capacity(inventory.eventId, inventory.capacity);
+                break;
+            case HOLD: {
+                Hold hold = new Hold(record.getHoldId(), inventory.eventId, record.getUserEmail(), record.getCount(), record.getTimeMillis());
+                inventory.holds.put(hold.getId(), hold);
+                inventory.held += hold.getTickets();
+                holdsById.put(hold.getId(), hold);
+                break;
+            }
+            case RESERVE: {
+                Hold hold = inventory.holds.remove(record.getHoldId());
+                holdsById.remove(record.getHoldId());
+                if (hold != null) {
+                    inventory.held -= hold.getTickets();
+                    inventory.reserved += hold.getTickets();
+                    store(new Reservation(record.getReservationId(), inventory.eventId, hold.getUserEmail(),
+                            hold.getTickets(), ReservationStatus.CONFIRMED, record.getTimeMillis()));
+                    sales.sold(inventory.eventId, record.getTimeMillis(), hold.getTickets());
+                }
+                break;
+            }
+            case RELEASE: {
+                Hold hold = inventory.holds.remove(record.getHoldId());
+                holdsById.remove(record.getHoldId());
+                if (hold != null) {
+                    inventory.held -= hold.getTickets();
+                }
+                break;
+            }
+            case CANCEL: {
+                Reservation current = reservationsById.get(record.getReservationId());
+                if (current != null && !current.isCancelled()) {
+                    inventory.reserved -= current.getTickets();
+                    sales.cancelled(inventory.eventId, current.getUpdatedAtMillis(), current.getTickets());
+                    store(current.cancelled(record.getTimeMillis()));
+                }
+                break;
+            }
+            case DROP_EVENT:
+                drop(inventory);
+                break;
+            case IMPORT_BEGIN: {
+                if (inventory != null) {
+                    drop(inventory);
+                }
+                EventInventory fresh = new EventInventory(record.getEventId());
+                fresh.importing = true;
+                inventories.put(fresh.eventId, fresh);
+                break;
+            }
+            case ADOPT:
+                inventory.reserved += record.getCount();
+                store(new Reservation(record.getReservationId(), inventory.eventId, record.getUserEmail(),
+                        record.getCount(), ReservationStatus.CONFIRMED, record.getTimeMillis()));
+                sales.sold(inventory.eventId, record.getTimeMillis(), record.getCount());
+                break;
+            case IMPORT_END:
+                inventory.importing = false;
+                break;
+            case DETAILS:
+                inventory.category = record.getCategory();
+                inventory.priceCents = record.getCount();
+                sales.details(inventory.eventId, inventory.category, inventory.priceCents);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled record " + record.getType());
+        }
+    }
+
+    private void store(Reservation reservation) {
+        reservationsById.put(reservation.getId(), reservation);
+        reservationsByUser
+                .computeIfAbsent(reservation.getUserEmail(), email -> new ConcurrentHashMap<>())
+                .put(reservation.getId(), reservation);
+    }
+
+    // Ids minted by other nodes arrive with imported events and never collide with ours.
+    private void bumpNextId(String id) {
+        if (id.length() <= idPrefix.length() + 1 || !id.startsWith(idPrefix)) {
+            return;
+        }
+        try {
+            long value = Long.parseLong(id.substring(idPrefix.length() + 1));
+            nextId.accumulateAndGet(value + 1, Math::max);
+        } catch (NumberFormatException e) {
+            // Another node's id that happens to share our prefix's first characters.
+        }
+    }
+
+    private void lock(EventInventory inventory) {
+        stateLock.readLock().lock();
+        inventory.lock.lock();
+    }
+
+    // Locks an event for a request. An event that has just moved away, or is still arriving, is not served here.
+    private void lockLive(EventInventory inventory) throws ReservationException {
+        lock(inventory);
+        if (inventory.removed || inventory.importing) {
+            unlock(inventory);
+            throw new ReservationException(ReservationException.Reason.MOVED, "Event is moving between nodes; retry shortly");
+        }
+    }
+
+    private void unlock(EventInventory inventory) {
+        inventory.lock.unlock();
+        stateLock.readLock().unlock();
+    }
+
+    private EventInventory requireInventory(String eventId) throws ReservationException {
+        EventInventory inventory = eventId == null ? null : inventories.get(eventId);
+        if (inventory == null) {
+            throw new ReservationException(ReservationException.Reason.NOT_FOUND, "Event not found");
+        }
+        return inventory;
+    }
+
+    private EventInventory movedIfAbsent(String eventId) throws ReservationException {
+        EventInventory inventory = inventories.get(eventId);
+        if (inventory == null) {
+            throw new ReservationException(ReservationException.Reason.MOVED, "Event is moving between nodes; retry shortly");
+        }
+        return inventory;
+    }
+
+    private Hold requireOwnHold(AuthSession caller, String holdId) throws ReservationException {
+        Hold hold = holdId == null ? null : holdsById.get(holdId);
+        if (hold == null) {
+            throw new ReservationException(ReservationException.Reason.NOT_FOUND, NOT_FOUND_HOLD);
+        }
+        if (!hold.getUserEmail().equals(caller.getEmail())) {
+            throw new ReservationException(ReservationException.Reason.FORBIDDEN, "This hold belongs to another account");
+        }
+        return hold;
+    }
+
+    // Rebuilds the counters from current state; callers hold the write side of stateLock or own the core alone.
+    private SalesCounters recomputeSales() {
+        SalesCounters recomputed = new SalesCounters();
+        for (EventInventory inventory : inventories.values()) {
+            recomputed.capacity(inventory.eventId, inventory.capacity);
+            recomputed.details(inventory.eventId, inventory.category, inventory.priceCents);
+        }
+        for (Reservation reservation : reservationsById.values()) {
+            if (!reservation.isCancelled()) {
+                recomputed.sold(reservation.getEventId(), reservation.getUpdatedAtMillis(), reservation.getTickets());
+            }
+        }
+        return recomputed;
+    }
+
+    private static void requireSalesViewer(AuthSession caller) throws ReservationException {
+        requireCaller(caller);
+        if (!AuthRules.canManageInventory(caller.getRole())) {
+            throw new ReservationException(ReservationException.Reason.FORBIDDEN, "Only admins can see sales");
+        }
+    }
+
+    private static void requireCaller(AuthSession caller) throws ReservationException {
+        if (caller == null || caller.getRole() == null || !AuthRules.isValidEmail(caller.getEmail())) {
+            throw new ReservationException(ReservationException.Reason.FORBIDDEN, "Sign in required");
+        }
+    }
+
+    public interface SnapshotHook {
+        void captured(long position) throws IOException;
+    }
+
+    public interface EventTransfer {
+        void send(byte[] state) throws IOException, ReservationException;
+    }
+}
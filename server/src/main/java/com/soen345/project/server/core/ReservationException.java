@@ -0,0 +1,25 @@
+package com.soen345.project.server.core;
+
+public class ReservationException extends Exception {
+    public enum Reason {
+        INVALID,
+        FORBIDDEN,
+        NOT_FOUND,
+        SOLD_OUT,
+        // Another writer owns the resource, e.g. an event that already exists on this node.
+        CONFLICT,
+        // The event is moving to or from another node; the request can be retried.
+        MOVED
+    }
+
+    private final Reason reason;
+
+    public ReservationException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
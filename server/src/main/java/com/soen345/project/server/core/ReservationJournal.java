@@ -0,0 +1,28 @@
+package com.soen345.project.server.core;
+
+// Where ReservationCore records each state change. append runs under the event's lock so per-event
+// order in the journal matches the order changes were made; sync runs after the lock is released and
+// blocks until the record is durable. Failures surface as UncheckedIOException.
+public interface ReservationJournal {
+    ReservationJournal NONE = new ReservationJournal() {
+        @Override
+        public long append(JournalRecord record) {
+            return 0;
+        }
+
+        @Override
+        public void sync(long position) {
+        }
+
+        @Override
+        public long lastPosition() {
+            return 0;
+        }
+    };
+
+    long append(JournalRecord record);
+
+    void sync(long position);
+
+    long lastPosition();
+}
@@ -0,0 +1,223 @@
+package com.soen345.project.server.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Streaming reducer over applied journal records: confirmed tickets, reservations, revenue and capacity per
+// event, per category and per UTC day of purchase, so a dashboard reads a few counters instead of scanning
+// every reservation. Revenue is tickets at the event's current price, so repricing an event restates it
+// everywhere. Events apply under their own locks, so the shared category and day tallies take this one.
+final class SalesCounters {
+    static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, EventSales> events = new HashMap<>();
+    private final Map<String, Tally> categories = new HashMap<>();
+    private final Map<Long, Tally> days = new HashMap<>();
+
+    static long dayOf(long timeMillis) {
+        return Math.floorDiv(timeMillis, MILLIS_PER_DAY);
+    }
+
+    void capacity(String eventId, int capacity) {
+        lock.lock();
+        try {
+            EventSales event = eventSales(eventId);
+            category(event.category).capacity += capacity - event.capacity;
+            event.capacity = capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void details(String eventId, String category, int priceCents) {
+        lock.lock();
+        try {
+            EventSales event = eventSales(eventId);
+            Tally previous = category(event.category);
+            previous.tickets -= event.tickets;
+            previous.reservations -= event.reservations;
+            previous.revenueCents -= event.tickets * event.priceCents;
+            previous.capacity -= event.capacity;
+            for (Map.Entry<Long, long[]> day : event.byDay.entrySet()) {
+                days.get(day.getKey()).revenueCents += day.getValue()[0] * (priceCents - event.priceCents);
+            }
+            event.category = category;
+            event.priceCents = priceCents;
+            Tally next = category(category);
+            next.tickets += event.tickets;
+            next.reservations += event.reservations;
+            next.revenueCents += event.tickets * priceCents;
+            next.capacity += event.capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void sold(String eventId, long dayMillis, int tickets) {
+        add(eventId, dayOf(dayMillis), tickets, 1);
+    }
+
+    // dayMillis is when the reservation was confirmed, so the cancellation comes off the day it was sold.
+    void cancelled(String eventId, long dayMillis, int tickets) {
+        add(eventId, dayOf(dayMillis), -tickets, -1);
+    }
+
+    void drop(String eventId) {
+        lock.lock();
+        try {
+            EventSales event = events.get(eventId);
+            if (event == null) {
+                return;
+            }
+            for (Map.Entry<Long, long[]> day : new ArrayList<>(event.byDay.entrySet())) {
+                addLocked(event, day.getKey(), -day.getValue()[0], -day.getValue()[1]);
+            }
+            category(event.category).capacity -= event.capacity;
+            events.remove(eventId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    SalesTotals eventTotals(String eventId) {
+        lock.lock();
+        try {
+            EventSales event = events.get(eventId);
+            return event == null ? null
+                    : new SalesTotals(event.tickets, event.reservations, event.tickets * event.priceCents, event.capacity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    SalesTotals categoryTotals(String category) {
+        lock.lock();
+        try {
+            return totals(categories.get(category));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    SalesTotals dayTotals(long epochDay) {
+        lock.lock();
+        try {
+            return totals(days.get(epochDay));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Takes over a recomputed copy's state; the copy must not be used afterwards.
+    void replaceWith(SalesCounters other) {
+        lock.lock();
+        try {
+            events.clear();
+            categories.clear();
+            days.clear();
+            events.putAll(other.events);
+            categories.putAll(other.categories);
+            days.putAll(other.days);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Readable differences from a recomputed copy; a missing counter and an all-zero one are the same.
+    List<String> differences(SalesCounters expected) {
+        List<String> differences = new ArrayList<>();
+        lock.lock();
+        try {
+            for (String eventId : union(events.keySet(), expected.events.keySet())) {
+                compare(differences, "event " + eventId, eventTotals(eventId), expected.eventTotals(eventId));
+            }
+            for (String category : union(categories.keySet(), expected.categories.keySet())) {
+                compare(differences, "category " + category, totals(categories.get(category)), totals(expected.categories.get(category)));
+            }
+            for (Long day : union(days.keySet(), expected.days.keySet())) {
+                compare(differences, "day " + day, totals(days.get(day)), totals(expected.days.get(day)));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return differences;
+    }
+
+    private void add(String eventId, long epochDay, long tickets, long reservations) {
+        lock.lock();
+        try {
+            addLocked(eventSales(eventId), epochDay, tickets, reservations);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addLocked(EventSales event, long epochDay, long tickets, long reservations) {
+        event.tickets += tickets;
+        event.reservations += reservations;
+        long[] byDay = event.byDay.computeIfAbsent(epochDay, day -> new long[2]);
+        byDay[0] += tickets;
+        byDay[1] += reservations;
+        if (byDay[0] == 0 && byDay[1] == 0) {
+            event.byDay.remove(epochDay);
+        }
+        long revenue = tickets * event.priceCents;
+        Tally category = category(event.category);
+        category.tickets += tickets;
+        category.reservations += reservations;
+        category.revenueCents += revenue;
+        Tally day = days.computeIfAbsent(epochDay, key -> new Tally());
+        day.tickets += tickets;
+        day.reservations += reservations;
+        day.revenueCents += revenue;
+    }
+
+    private EventSales eventSales(String eventId) {
+        return events.computeIfAbsent(eventId, id -> new EventSales());
+    }
+
+    private Tally category(String category) {
+        return categories.computeIfAbsent(category, key -> new Tally());
+    }
+
+    private static SalesTotals totals(Tally tally) {
+        return tally == null ? SalesTotals.ZERO
+                : new SalesTotals(tally.tickets, tally.reservations, tally.revenueCents, tally.capacity);
+    }
+
+    private static void compare(List<String> differences, String name, SalesTotals actual, SalesTotals expected) {
+        SalesTotals left = actual == null ? SalesTotals.ZERO : actual;
+        SalesTotals right = expected == null ? SalesTotals.ZERO : expected;
+        if (!left.equals(right)) {
+            differences.add(name + ": counted " + left + " but recomputed " + right);
+        }
+    }
+
+    private static <T extends Comparable<T>> TreeSet<T> union(Iterable<T> first, Iterable<T> second) {
+        TreeSet<T> all = new TreeSet<>();
+        first.forEach(all::add);
+        second.forEach(all::add);
+        return all;
+    }
+
+    private static final class EventSales {
+        final Map<Long, long[]> byDay = new HashMap<>();
+        String category = "";
+        int priceCents;
+        int capacity;
+        long tickets;
+        long reservations;
+    }
+
+    private static final class Tally {
+        long tickets;
+        long reservations;
+        long revenueCents;
+        long capacity;
+    }
+}
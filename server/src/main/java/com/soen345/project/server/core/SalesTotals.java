@@ -0,0 +1,64 @@
+package com.soen345.project.server.core;
+
+public final class SalesTotals {
+    public static final SalesTotals ZERO = new SalesTotals(0, 0, 0, 0);
+
+    private final long tickets;
+    private final long reservations;
+    private final long revenueCents;
+    private final long capacity;
+
+    public SalesTotals(long tickets, long reservations, long revenueCents, long capacity) {
+        this.tickets = tickets;
+        this.reservations = reservations;
+        this.revenueCents = revenueCents;
+        this.capacity = capacity;
+    }
+
+    public long getTickets() {
+        return tickets;
+    }
+
+    public long getReservations() {
+        return reservations;
+    }
+
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+
+    // Zero for a day, since capacity belongs to events rather than to the day tickets were bought.
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public double getOccupancy() {
+        return capacity == 0 ? 0 : (double) tickets / capacity;
+    }
+
+    // Totals from different nodes add up, since every event lives on exactly one node.
+    public SalesTotals plus(SalesTotals other) {
+        return new SalesTotals(tickets + other.tickets, reservations + other.reservations,
+                revenueCents + other.revenueCents, capacity + other.capacity);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof SalesTotals)) {
+            return false;
+        }
+        SalesTotals that = (SalesTotals) other;
+        return tickets == that.tickets && reservations == that.reservations
+                && revenueCents == that.revenueCents && capacity == that.capacity;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(tickets) * 31 + Long.hashCode(revenueCents);
+    }
+
+    @Override
+    public String toString() {
+        return "tickets=" + tickets + " reservations=" + reservations + " revenueCents=" + revenueCents + " capacity=" + capacity;
+    }
+}
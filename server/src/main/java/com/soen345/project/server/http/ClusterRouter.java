@@ -0,0 +1,406 @@
+package com.soen345.project.server.http;
+
+import com.soen345.project.server.cluster.ClusterView;
+import com.soen345.project.server.core.ReservationCore;
+import com.soen345.project.server.core.ReservationException;
+import com.soen345.project.server.core.SalesTotals;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Partitions events across nodes. A request that names an event is served by the event's owner on the
+// hash ring; hold and reservation routes name it with ?eventId=. A node forwards a request it does not
+// own at most once, and a forwarded request is never forwarded again.
+// Membership changes are two-phase, driven by ClusterAdmin. PUT /cluster/view installs the new members
+// and hands every event this node no longer owns to its new owner; POST /cluster/commit then lets owners
+// create events again. Until the commit, an owner that does not have an event yet asks the event's
+// previous owner and answers 503 if neither has it, so an event never has two writers.
+public class ClusterRouter implements HttpHandler {
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+    public static final String VIEW_PATH = "/cluster/view";
+    public static final String COMMIT_PATH = "/cluster/commit";
+
+    private static final String EVENTS_PATH = "/cluster/events/";
+    private static final String FORWARDED_HEADER = "X-Cluster-Forwarded";
+    private static final int MISDIRECTED = 421;
+    private static final int MAX_FORWARD_BODY_BYTES = 64 * 1024;
+    private static final int MAX_TRANSFER_BYTES = 256 * 1024 * 1024;
+    private static final Duration FORWARD_TIMEOUT = Duration.ofSeconds(10);
+    private static final String MOVING = "Event is moving between nodes; retry shortly";
+
+    private final String nodeId;
+    private final ReservationCore core;
+    private final HttpHandler local;
+    private final byte[] clusterSecret;
+    private final HttpClient http;
+    private volatile ClusterView view;
+
+    public ClusterRouter(String nodeId, ReservationCore core, HttpHandler local, byte[] clusterSecret, HttpClient http) {
+        if (nodeId == null || nodeId.isEmpty()) {
+            throw new IllegalArgumentException("nodeId cannot be empty");
+        }
+        if (core == null || local == null || http == null) {
+            throw new IllegalArgumentException("core, local and http cannot be null");
+        }
+        if (clusterSecret == null || clusterSecret.length < 16) {
+            throw new IllegalArgumentException("clusterSecret must be at least 16 bytes");
+        }
+        this.nodeId = nodeId;
+        this.core = core;
+        this.local = local;
+        this.clusterSecret = clusterSecret.clone();
+        this.http = http;
+    }
+
+    public ClusterView getView() {
+        return view;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String[] path = ReservationHttpApi.segments(exchange.getRequestURI().getPath());
+        if (path.length > 0 && path[0].equals("cluster")) {
+            try {
+                handleAdmin(exchange, path);
+            } finally {
+                exchange.close();
+            }
+            return;
+        }
+        String eventId;
+        try {
+            eventId = eventIdOf(exchange, path);
+        } catch (IllegalArgumentException e) {
+            respondAndClose(exchange, 400, ReservationHttpApi.error(e.getMessage()));
+            return;
+        }
+        ClusterView current = view;
+        if (exchange.getRequestHeaders().containsKey(FORWARDED_HEADER)) {
+            serveForwarded(exchange, current, eventId);
+        } else if (current == null) {
+            respondAndClose(exchange, 503, ReservationHttpApi.error("This node has not joined the cluster yet"));
+        } else if (path.length == 1 && path[0].equals("reservations") && exchange.getRequestMethod().equals("GET")) {
+            gatherReservations(exchange, current);
+        } else if (path.length > 0 && path[0].equals("sales") && exchange.getRequestMethod().equals("GET")) {
+            gatherSales(exchange, current);
+        } else if (eventId == null) {
+            local.handle(exchange);
+        } else {
+            route(exchange, current, eventId);
+        }
+    }
+
+    private void route(HttpExchange exchange, ClusterView current, String eventId) throws IOException {
+        byte[] body = readBody(exchange, MAX_FORWARD_BODY_BYTES);
+        String owner = current.ownerOf(eventId);
+        List<String> candidates = new ArrayList<>();
+        candidates.add(owner);
+        String previousOwner = current.previousOwnerOf(eventId);
+        if (previousOwner != null && !previousOwner.equals(owner)) {
+            candidates.add(previousOwner);
+        }
+        for (String candidate : candidates) {
+            if (candidate.equals(nodeId)) {
+                if (core.hasEvent(eventId) || ownsOutright(current, eventId)) {
+                    serveLocally(exchange, body);
+                    return;
+                }
+                continue;
+            }
+            HttpResponse<byte[]> response;
+            try {
+                response = forward(exchange, current.addressOf(candidate), body);
+            } catch (IOException e) {
+                respondAndClose(exchange, 503, ReservationHttpApi.error("Node " + candidate + " is unavailable"));
+                return;
+            }
+            if (response.statusCode() != MISDIRECTED) {
+                relay(exchange, response);
+                return;
+            }
+        }
+        // The event may have arrived here while the other node was being asked.
+        if (core.hasEvent(eventId)) {
+            serveLocally(exchange, body);
+            return;
+        }
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        respondAndClose(exchange, 503, ReservationHttpApi.error(MOVING));
+    }
+
+    // Another node decided this one owns the event; serve it only if that is still true here.
+    private void serveForwarded(HttpExchange exchange, ClusterView current, String eventId) throws IOException {
+        boolean owned = eventId == null
+                || core.hasEvent(eventId)
+                || (current != null && ownsOutright(current, eventId));
+        if (owned) {
+            local.handle(exchange);
+        } else {
+            respondAndClose(exchange, MISDIRECTED, ReservationHttpApi.error("Event is not on this node"));
+        }
+    }
+
+    // Only a node that owns the event before and after any change in progress may create it.
+    private boolean ownsOutright(ClusterView current, String eventId) {
+        return nodeId.equals(current.ownerOf(eventId))
+                && (!current.isChanging() || nodeId.equals(current.previousOwnerOf(eventId)));
+    }
+
+    // A customer's reservations are spread over every node, so each one is asked for its share.
+    private void gatherReservations(HttpExchange exchange, ClusterView current) throws IOException {
+        Set<URI> addresses = new LinkedHashSet<>();
+        // During a membership change a leaving node may still hold events.
+        addresses.addAll(current.getMembers().values());
+        addresses.addAll(current.getPreviousMembers().values());
+        StringBuilder items = new StringBuilder();
+        for (URI address : addresses) {
+            HttpResponse<byte[]> response;
+            try {
+                response = forward(exchange, address, new byte[0]);
+            } catch (IOException e) {
+                respondAndClose(exchange, 503, ReservationHttpApi.error("Some reservations are unavailable"));
+                return;
+            }
+            if (response.statusCode() != 200) {
+                relay(exchange, response);
+                return;
+            }
+            String json = new String(response.body(), StandardCharsets.UTF_8);
+            String array = json.substring(json.indexOf('[') + 1, json.lastIndexOf(']')).trim();
+            if (!array.isEmpty()) {
+                items.append(items.length() == 0 ? "" : ",").append(array);
+            }
+        }
+        respondAndClose(exchange, 200, "{\"reservations\":[" + items + "]}");
+    }
+
+    // Category and day totals are per node, and every event is counted on exactly one node, so they add up.
+    private void gatherSales(HttpExchange exchange, ClusterView current) throws IOException {
+        Set<URI> addresses = new LinkedHashSet<>();
+        addresses.addAll(current.getMembers().values());
+        addresses.addAll(current.getPreviousMembers().values());
+        SalesTotals total = SalesTotals.ZERO;
+        for (URI address : addresses) {
+            HttpResponse<byte[]> response;
+            try {
+                response = forward(exchange, address, new byte[0]);
+            } catch (IOException e) {
+                respondAndClose(exchange, 503, ReservationHttpApi.error("Some sales are unavailable"));
+                return;
+            }
+            if (response.statusCode() != 200) {
+                relay(exchange, response);
+                return;
+            }
+            Map<String, Object> json = Json.parseObject(new String(response.body(), StandardCharsets.UTF_8));
+            total = total.plus(new SalesTotals(
+                    (Long) json.get("tickets"),
+                    (Long) json.get("reservations"),
+                    (Long) json.get("revenueCents"),
+                    (Long) json.get("capacity")));
+        }
+        respondAndClose(exchange, 200, ReservationHttpApi.salesJson(total));
+    }
+
+    private void handleAdmin(HttpExchange exchange, String[] path) throws IOException {
+        String presented = exchange.getRequestHeaders().getFirst(SECRET_HEADER);
+        if (presented == null || !MessageDigest.isEqual(clusterSecret, presented.getBytes(StandardCharsets.UTF_8))) {
+            ReservationHttpApi.respond(exchange, 403, ReservationHttpApi.error("Cluster secret required"));
+            return;
+        }
+        String method = exchange.getRequestMethod();
+        String fullPath = "/" + String.join("/", path);
+        if (fullPath.equals(VIEW_PATH) && method.equals("PUT")) {
+            ClusterView next;
+            try {
+                next = ClusterView.parse(new String(readBody(exchange, MAX_FORWARD_BODY_BYTES), StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                ReservationHttpApi.respond(exchange, 400, ReservationHttpApi.error(e.getMessage()));
+                return;
+            }
+            int[] result = install(next);
+            ReservationHttpApi.respond(exchange, result[1] == 0 ? 200 : 503,
+                    Json.object("moved", result[0], "failed", result[1]));
+        } else if (fullPath.equals(COMMIT_PATH) && method.equals("POST")) {
+            ClusterView current = view;
+            if (current == null) {
+                ReservationHttpApi.respond(exchange, 409, ReservationHttpApi.error("No cluster view installed"));
+                return;
+            }
+            view = current.committed();
+            ReservationHttpApi.respond(exchange, 204, null);
+        } else if (path.length == 3 && path[1].equals("events") && method.equals("PUT")) {
+            try {
+                core.importEvent(readBody(exchange, MAX_TRANSFER_BYTES));
+                ReservationHttpApi.respond(exchange, 204, null);
+            } catch (ReservationException e) {
+                ReservationHttpApi.respond(exchange, 409, ReservationHttpApi.error(e.getMessage()));
+            } catch (IOException | IllegalArgumentException e) {
+                ReservationHttpApi.respond(exchange, 400, ReservationHttpApi.error("Unreadable event transfer"));
+            }
+        } else {
+            ReservationHttpApi.respond(exchange, 404, ReservationHttpApi.error("Not found"));
+        }
+    }
+
+    // Returns {moved, failed}. Events that could not be handed off stay here and keep being served
+    // through the previous owner route; installing the view again retries them.
+    private int[] install(ClusterView next) {
+        view = next;
+        int moved = 0;
+        int failed = 0;
+        for (String eventId : core.eventIds()) {
+            String owner = next.ownerOf(eventId);
+            if (owner.equals(nodeId)) {
+                continue;
+            }
+            try {
+                core.transferEvent(eventId, state -> push(next.addressOf(owner), eventId, state));
+                moved++;
+            } catch (ReservationException e) {
+                // Already gone or still arriving; nothing to hand off.
+            } catch (IOException | RuntimeException e) {
+                failed++;
+            }
+        }
+        return new int[]{moved, failed};
+    }
+
+    private void push(URI address, String eventId, byte[] state) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(resolve(address, EVENTS_PATH + eventId))
+                .timeout(FORWARD_TIMEOUT)
+                .header(SECRET_HEADER, new String(clusterSecret, StandardCharsets.UTF_8))
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(state))
+                .build();
+        int status = send(request).statusCode();
+        // 409: the receiver already has the event in full, so this copy is a stale leftover.
+        if (status != 204 && status != 409) {
+            throw new IOException("Node at " + address + " rejected event " + eventId + " with " + status);
+        }
+    }
+
+    private HttpResponse<byte[]> forward(HttpExchange exchange, URI address, byte[] body) throws IOException {
+        URI uri = exchange.getRequestURI();
+        String target = stripSlash(address.toString()) + uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target))
+                .timeout(FORWARD_TIMEOUT)
+                .header(FORWARDED_HEADER, nodeId)
+                .method(exchange.getRequestMethod(), HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String header : new String[]{"Authorization", "Content-Type"}) {
+            String value = exchange.getRequestHeaders().getFirst(header);
+            if (value != null) {
+                request.header(header, value);
+            }
+        }
+        return send(request.build());
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calling another node", e);
+        }
+    }
+
+    private static void relay(HttpExchange exchange, HttpResponse<byte[]> response) throws IOException {
+        try {
+            response.headers().firstValue("Content-Type").ifPresent(value -> exchange.getResponseHeaders().set("Content-Type", value));
+            response.headers().firstValue("Retry-After").ifPresent(value -> exchange.getResponseHeaders().set("Retry-After", value));
+            byte[] body = response.body();
+            exchange.getRequestBody().close();
+            exchange.sendResponseHeaders(response.statusCode(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void serveLocally(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.setStreams(new ByteArrayInputStream(body), null);
+        local.handle(exchange);
+    }
+
+    private static String eventIdOf(HttpExchange exchange, String[] path) {
+        if (path.length < 2) {
+            return null;
+        }
+        if (path[0].equals("events")) {
+            return path[1];
+        }
+        if (path[0].equals("holds") || path[0].equals("reservations")) {
+            String eventId = queryParameter(exchange.getRequestURI().getRawQuery(), "eventId");
+            if (eventId == null || eventId.isEmpty()) {
+                throw new IllegalArgumentException("eventId query parameter is required");
+            }
+            return eventId;
+        }
+        return null;
+    }
+
+    private static String queryParameter(String rawQuery, String name) {
+        if (rawQuery == null) {
+            return null;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0 && pair.substring(0, equals).equals(name)) {
+                return URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static byte[] readBody(HttpExchange exchange, int maxBytes) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(maxBytes + 1);
+            if (body.length > maxBytes) {
+                throw new IOException("Request body is too large");
+            }
+            return body;
+        }
+    }
+
+    private static URI resolve(URI address, String path) throws IOException {
+        try {
+            return new URI(address.getScheme(), address.getAuthority(), path, null, null);
+        } catch (URISyntaxException e) {
+            throw new IOException("Bad node address " + address, e);
+        }
+    }
+
+    private static String stripSlash(String address) {
+        return address.endsWith("/") ? address.substring(0, address.length() - 1) : address;
+    }
+
+    private static void respondAndClose(HttpExchange exchange, int status, String json) throws IOException {
+        try {
+            ReservationHttpApi.respond(exchange, status, json);
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.soen345.project.server.http;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.SignInLimiter;
+import com.soen345.project.server.core.Hold;
+import com.soen345.project.server.core.InventorySnapshot;
+import com.soen345.project.server.core.Reservation;
+import com.soen345.project.server.core.ReservationCore;
+import com.soen345.project.server.core.ReservationException;
+import com.soen345.project.server.core.SalesTotals;
+import com.soen345.project.server.waitingroom.WaitingRooms;
+import com.soen345.project.waitingroom.QueueStatus;
+import com.soen345.project.waitingroom.QueueToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Routes:
+//   PUT    /events/{eventId}/inventory   {"capacity": n}   admins only
+//   GET    /events/{eventId}/inventory
+//   PUT    /events/{eventId}/details     {"category": c, "priceCents": n}   admins only
+//   GET    /events/{eventId}/sales                                          admins only
+//   GET    /sales/categories/{category}                                     admins only
+//   GET    /sales/days/{yyyy-mm-dd}      UTC day tickets were bought        admins only
+//   PUT    /events/{eventId}/queue       {"admitsPerSecond": n}   admins only
+//   DELETE /events/{eventId}/queue                                 admins only
+//   POST   /events/{eventId}/queue       join; returns a signed token
+//   GET    /events/{eventId}/queue/{token}
+//   POST   /events/{eventId}/holds       {"tickets": n, "queueToken": t}   token needed while a queue is open
+//   POST   /holds/{holdId}/confirm
+//   DELETE /holds/{holdId}
+//   GET    /reservations
+//   DELETE /reservations/{reservationId}
+// Every request needs "Authorization: Bearer <session token>". A client address that keeps presenting
+// bad tokens gets 429 with Retry-After; valid tokens are never throttled.
+public class ReservationHttpApi implements HttpHandler {
+    private static final int MAX_BODY_BYTES = 4 * 1024;
+    private static final String BEARER = "Bearer ";
+
+    private final ReservationCore core;
+    private final SessionTokens sessionTokens;
+    private final WaitingRooms waitingRooms;
+    private final SignInLimiter signInLimiter;
+
+    public ReservationHttpApi(ReservationCore core, SessionTokens sessionTokens) {
+        this(core, sessionTokens, null);
+    }
+
+    public ReservationHttpApi(ReservationCore core, SessionTokens sessionTokens, WaitingRooms waitingRooms) {
+        this(core, sessionTokens, waitingRooms, SignInLimiter.UNLIMITED);
+    }
+
+    // Without waiting rooms the queue routes are not found and holds are never gated.
+    public ReservationHttpApi(ReservationCore core, SessionTokens sessionTokens, WaitingRooms waitingRooms,
+                              SignInLimiter signInLimiter) {
+        if (core == null) {
+            throw new IllegalArgumentException("core cannot be null");
+        }
+        if (sessionTokens == null) {
+            throw new IllegalArgumentException("sessionTokens cannot be null");
+        }
+        if (signInLimiter == null) {
+            throw new IllegalArgumentException("signInLimiter cannot be null");
+        }
+        this.core = core;
+        this.sessionTokens = sessionTokens;
+        this.waitingRooms = waitingRooms;
+        this.signInLimiter = signInLimiter;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String token = bearerToken(exchange);
+            AuthSession caller = token == null ? null : sessionTokens.verify(token);
+            if (caller == null) {
+                rejectCredentials(exchange, token != null);
+                return;
+            }
+            route(exchange, caller);
+        } catch (ReservationException e) {
+            respond(exchange, statusFor(e.getReason()), error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, error(e.getMessage()));
+        } catch (UncheckedIOException e) {
+            // The journal could not make the change durable, so it must not be acknowledged.
+            respond(exchange, 503, error("Storage unavailable"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, AuthSession caller) throws IOException, ReservationException {
+        String method = exchange.getRequestMethod();
+        String[] path = segments(exchange.getRequestURI().getPath());
+
+        if (path.length == 3 && path[0].equals("events") && path[2].equals("inventory")) {
+            if (method.equals("GET")) {
+                respond(exchange, 200, inventoryJson(core.getInventory(path[1])));
+            } else if (method.equals("PUT")) {
+                int capacity = intField(readBody(exchange), "capacity");
+                respond(exchange, 200, inventoryJson(core.setCapacity(caller, path[1], capacity)));
+            } else {
+                respond(exchange, 405, error("Method not allowed"));
+            }
+        } else if (path.length == 3 && path[0].equals("events") && path[2].equals("details") && method.equals("PUT")) {
+            Map<String, Object> body = readBody(exchange);
+            respond(exchange, 200, salesJson(core.setDetails(caller, path[1], stringField(body, "category"), intField(body, "priceCents"))));
+        } else if (path.length == 3 && path[0].equals("events") && path[2].equals("sales") && method.equals("GET")) {
+            respond(exchange, 200, salesJson(core.getEventSales(caller, path[1])));
+        } else if (path.length == 3 && path[0].equals("sales") && path[1].equals("categories") && method.equals("GET")) {
+            respond(exchange, 200, salesJson(core.getCategorySales(caller, path[2])));
+        } else if (path.length == 3 && path[0].equals("sales") && path[1].equals("days") && method.equals("GET")) {
+            respond(exchange, 200, salesJson(core.getDailySales(caller, epochDay(path[2]))));
+        } else if (path.length == 3 && path[0].equals("events") && path[2].equals("queue") && waitingRooms != null) {
+            if (method.equals("PUT")) {
+                waitingRooms.open(caller, path[1], numberField(readBody(exchange), "admitsPerSecond"));
+                respond(exchange, 204, null);
+            } else if (method.equals("DELETE")) {
+                waitingRooms.close(caller, path[1]);
+                respond(exchange, 204, null);
+            } else if (method.equals("POST")) {
+                QueueToken token = waitingRooms.join(caller, path[1]);
+                respond(exchange, 201, queueJson(token.encode(), waitingRooms.getStatus(caller, path[1], token.encode())));
+            } else {
+                respond(exchange, 405, error("Method not allowed"));
+            }
+        } else if (path.length == 4 && path[0].equals("events") && path[2].equals("queue") && method.equals("GET") && waitingRooms != null) {
+            respond(exchange, 200, queueJson(path[3], waitingRooms.getStatus(caller, path[1], path[3])));
+        } else if (path.length == 3 && path[0].equals("events") && path[2].equals("holds") && method.equals("POST")) {
+            Map<String, Object> body = readBody(exchange);
+            int tickets = intField(body, "tickets");
+            Object queueToken = body.get("queueToken");
+            String encodedToken = queueToken instanceof String ? (String) queueToken : null;
+            if (waitingRooms == null) {
+                respond(exchange, 201, holdJson(core.hold(caller, path[1], tickets)));
+                return;
+            }
+            waitingRooms.claimCheckout(caller, path[1], encodedToken);
+            Hold hold;
+            try {
+                hold = core.hold(caller, path[1], tickets);
+            } catch (ReservationException | RuntimeException e) {
+                waitingRooms.releaseCheckout(caller, path[1], encodedToken);
+                throw e;
+            }
+            waitingRooms.completeCheckout(caller, path[1], encodedToken);
+            respond(exchange, 201, holdJson(hold));
+        } else if (path.length == 3 && path[0].equals("holds") && path[2].equals("confirm") && method.equals("POST")) {
+            respond(exchange, 201, reservationJson(core.confirm(caller, path[1])));
+        } else if (path.length == 2 && path[0].equals("holds") && method.equals("DELETE")) {
+            core.release(caller, path[1]);
+            respond(exchange, 204, null);
+        } else if (path.length == 1 && path[0].equals("reservations") && method.equals("GET")) {
+            List<String> items = new ArrayList<>();
+            for (Reservation reservation : core.reservationsFor(caller)) {
+                items.add(reservationJson(reservation));
+            }
+            respond(exchange, 200, Json.object("reservations", Json.array(items)));
+        } else if (path.length == 2 && path[0].equals("reservations") && method.equals("DELETE")) {
+            respond(exchange, 200, reservationJson(core.cancel(caller, path[1])));
+        } else {
+            respond(exchange, 404, error("Not found"));
+        }
+    }
+
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith(BEARER)) {
+            return null;
+        }
+        return header.substring(BEARER.length()).trim();
+    }
+
+    // Passwords are checked by Firebase Auth, so a token is the only credential this server sees. Tokens
+    // cannot be guessed, but keying failures by address still cuts off a client replaying stolen or
+    // expired ones. Only a presented token counts as an attempt.
+    private void rejectCredentials(HttpExchange exchange, boolean presentedToken) throws IOException {
+        if (presentedToken) {
+            String client = exchange.getRemoteAddress().getAddress().getHostAddress();
+            long retryAfterMillis = signInLimiter.acquire(client);
+            if (retryAfterMillis > 0) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf((retryAfterMillis + 999) / 1000));
+                respond(exchange, 429, error("Too many failed sign-ins. Try again later."));
+                return;
+            }
+            signInLimiter.onInvalidCredentials(client);
+        }
+        respond(exchange, 401, error("Sign in required"));
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("Request body is too large");
+            }
+            return Json.parseObject(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static int intField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof Long) || (Long) value < Integer.MIN_VALUE || (Long) value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(name + " must be a whole number");
+        }
+        return ((Long) value).intValue();
+    }
+
+    private static double numberField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    private static String stringField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        return (String) value;
+    }
+
+    private static long epochDay(String day) {
+        try {
+            return LocalDate.parse(day).toEpochDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Day must be written as yyyy-mm-dd");
+        }
+    }
+
+    static String[] segments(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private static int statusFor(ReservationException.Reason reason) {
+        switch (reason) {
+            case FORBIDDEN:
+                return 403;
+            case NOT_FOUND:
+                return 404;
+            case SOLD_OUT:
+            case CONFLICT:
+                return 409;
+            case MOVED:
+                return 503;
+            default:
+                return 400;
+        }
+    }
+
+    private static String inventoryJson(InventorySnapshot snapshot) {
+        return Json.object(
+                "eventId", snapshot.getEventId(),
+                "capacity", snapshot.getCapacity(),
+                "held", snapshot.getHeld(),
+                "reserved", snapshot.getReserved(),
+                "available", snapshot.getAvailable());
+    }
+
+    static String salesJson(SalesTotals totals) {
+        return Json.object(
+                "tickets", totals.getTickets(),
+                "reservations", totals.getReservations(),
+                "revenueCents", totals.getRevenueCents(),
+                "capacity", totals.getCapacity(),
+                "occupancy", totals.getOccupancy());
+    }
+
+    private static String queueJson(String token, QueueStatus status) {
+        return Json.object(
+                "token", token,
+                "state", status.getState().name(),
+                "position", status.getPosition(),
+                "estimatedWaitMillis", status.getEstimatedWaitMillis());
+    }
+
+    private static String holdJson(Hold hold) {
+        return Json.object(
+                "holdId", hold.getId(),
+                "eventId", hold.getEventId(),
+                "tickets", hold.getTickets(),
+                "expiresAtMillis", hold.getExpiresAtMillis());
+    }
+
+    private static String reservationJson(Reservation reservation) {
+        return Json.object(
+                "reservationId", reservation.getId(),
+                "eventId", reservation.getEventId(),
+                "userEmail", reservation.getUserEmail(),
+                "tickets", reservation.getTickets(),
+                "status", reservation.getStatus().value(),
+                "updatedAtMillis", reservation.getUpdatedAtMillis());
+    }
+
+    static String error(String message) {
+        return Json.object("error", message);
+    }
+
+    static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        // Closing drains any unread request body; otherwise the JDK server drops the keep-alive connection.
+        exchange.getRequestBody().close();
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.soen345.project.server.http;
+
+import com.soen345.project.auth.AuthRules;
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// Bearer tokens of the form email|ROLE|expiresAtMillis|hmac, issued by whatever signs users in and
+// checked here with the shared secret. The email rule rejects '|' so the payload cannot be forged.
+public class SessionTokens {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final SecretKeySpec key;
+    private final Clock clock;
+
+    public SessionTokens(byte[] secret, Clock clock) {
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("secret cannot be empty");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("clock cannot be null");
+        }
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+        this.clock = clock;
+    }
+
+    public String issue(String email, UserRole role, long expiresAtMillis) {
+        String normalized = AuthRules.normalizeEmail(email);
+        if (!AuthRules.isValidEmail(normalized) || role == null) {
+            throw new IllegalArgumentException("a valid email and role are required");
+        }
+        String payload = normalized + "|" + role.value() + "|" + expiresAtMillis;
+        return payload + "|" + sign(payload);
+    }
+
+    // Null when the token is malformed, tampered with or expired.
+    public AuthSession verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int signatureStart = token.lastIndexOf('|');
+        if (signatureStart < 0) {
+            return null;
+        }
+        String payload = token.substring(0, signatureStart);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(signatureStart + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 3) {
+            return null;
+        }
+        UserRole role = UserRole.fromValue(parts[1]);
+        long expiresAtMillis;
+        try {
+            expiresAtMillis = Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (role == null || !AuthRules.isValidEmail(parts[0]) || expiresAtMillis <= clock.nowMillis()) {
+            return null;
+        }
+        return new AuthSession(parts[0], role);
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            char[] chars = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                chars[i * 2] = HEX[(digest[i] >>> 4) & 0x0F];
+                chars[i * 2 + 1] = HEX[digest[i] & 0x0F];
+            }
+            return new String(chars);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign session token", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.soen345.project.server.storage;
+
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.core.JournalRecord;
+import com.soen345.project.server.core.ReservationCore;
+import com.soen345.project.server.core.ReservationJournal;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+// A ReservationCore that survives restarts: open loads the newest snapshot and replays the journal
+// after it; snapshot writes a new one and drops the journal files it covers.
+public final class ReservationStore implements Closeable {
+    private final ReservationCore core;
+    private final DeferredJournal journal;
+    private final SnapshotFiles snapshots;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile long snapshotPosition;
+
+    private ReservationStore(ReservationCore core, DeferredJournal journal, SnapshotFiles snapshots, long snapshotPosition) {
+        this.core = core;
+        this.journal = journal;
+        this.snapshots = snapshots;
+        this.snapshotPosition = snapshotPosition;
+    }
+
+    public static ReservationStore open(File directory, Clock clock, long holdMillis, long batchWindowNanos) throws IOException {
+        return open(directory, clock, holdMillis, batchWindowNanos, "");
+    }
+
+    public static ReservationStore open(File directory, Clock clock, long holdMillis, long batchWindowNanos, String idPrefix)
+            throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        DeferredJournal journal = new DeferredJournal();
+        ReservationCore core = new ReservationCore(clock, holdMillis, journal, idPrefix);
+        SnapshotFiles snapshots = new SnapshotFiles(directory);
+        long snapshotPosition = 0;
+        SnapshotFiles.Loaded latest = snapshots.latest();
+        if (latest != null) {
+            core.restoreSnapshot(new DataInputStream(new ByteArrayInputStream(latest.state)));
+            snapshotPosition = latest.position;
+        }
+        long lastPosition = WriteAheadLog.replay(directory, snapshotPosition, core::replay);
+        core.discardIncompleteImports();
+        journal.log = WriteAheadLog.open(directory, lastPosition, batchWindowNanos);
+        return new ReservationStore(core, journal, snapshots, snapshotPosition);
+    }
+
+    public ReservationCore getCore() {
+        return core;
+    }
+
+    public long getSnapshotPosition() {
+        return snapshotPosition;
+    }
+
+    public long recordsSinceSnapshot() {
+        return journal.lastPosition() - snapshotPosition;
+    }
+
+    public long snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            long[] position = new long[1];
+            byte[] state = core.captureSnapshot(at -> {
+                position[0] = at;
+                journal.log.rotate();
+            });
+            snapshots.write(position[0], state);
+            journal.log.deleteOlderFiles();
+            snapshots.deleteOlderThan(position[0]);
+            snapshotPosition = position[0];
+            return position[0];
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    public boolean snapshotIfDue(long minRecords) throws IOException {
+        if (recordsSinceSnapshot() < minRecords) {
+            return false;
+        }
+        snapshot();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.log.close();
+    }
+
+    // The core needs its journal at construction, but the log can only be opened once replay has
+    // found the last position; replay itself never appends.
+    private static final class DeferredJournal implements ReservationJournal {
+        private volatile WriteAheadLog log;
+
+        @Override
+        public long append(JournalRecord record) {
+            return log.append(record);
+        }
+
+        @Override
+        public void sync(long position) {
+            if (position > 0) {
+                log.sync(position);
+            }
+        }
+
+        @Override
+        public long lastPosition() {
+            return log.lastPosition();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.soen345.project.server.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// snapshot-<position>.bin holds the core's state as of a journal position: [magic][position][length][crc32][state].
+// Written to a temp file, fsynced and renamed, so a crash mid-write leaves only an ignored .tmp file.
+final class SnapshotFiles {
+    private static final int MAGIC = 0x52534E31;
+    private static final int HEADER_BYTES = 20;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private final File directory;
+
+    SnapshotFiles(File directory) {
+        this.directory = directory;
+    }
+
+    void write(long position, byte[] state) throws IOException {
+        File temp = new File(directory, PREFIX + position + SUFFIX + ".tmp");
+        CRC32 crc = new CRC32();
+        crc.update(state);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putLong(position)
+                .putInt(state.length)
+                .putInt((int) crc.getValue());
+        header.flip();
+        try (FileChannel channel = FileChannel.open(temp.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer body = ByteBuffer.wrap(state);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+            channel.force(true);
+        }
+        Files.move(temp.toPath(), new File(directory, PREFIX + position + SUFFIX).toPath(), StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+    }
+
+    // Newest complete snapshot, or null if there is none. A damaged one is an error rather than a
+    // reason to fall back: the journal before it may already be deleted.
+    Loaded latest() throws IOException {
+        File newest = null;
+        long newestPosition = -1;
+        File[] listed = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (listed != null) {
+            for (File file : listed) {
+                long position = position(file);
+                if (position > newestPosition) {
+                    newest = file;
+                    newestPosition = position;
+                }
+            }
+        }
+        if (newest == null) {
+            return null;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(newest.toPath()));
+        if (bytes.remaining() < HEADER_BYTES || bytes.getInt() != MAGIC || bytes.getLong() != newestPosition) {
+            throw new IOException("Corrupt snapshot " + newest.getName());
+        }
+        int length = bytes.getInt();
+        int expectedCrc = bytes.getInt();
+        if (length != bytes.remaining()) {
+            throw new IOException("Corrupt snapshot " + newest.getName());
+        }
+        byte[] state = new byte[length];
+        bytes.get(state);
+        CRC32 crc = new CRC32();
+        crc.update(state);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Corrupt snapshot " + newest.getName());
+        }
+        return new Loaded(newestPosition, state);
+    }
+
+    void deleteOlderThan(long position) throws IOException {
+        File[] listed = directory.listFiles((dir, name) -> name.startsWith(PREFIX));
+        if (listed == null) {
+            return;
+        }
+        for (File file : listed) {
+            boolean stale = file.getName().endsWith(".tmp") || position(file) < position;
+            if (stale && !file.delete()) {
+                throw new IOException("Could not delete " + file);
+            }
+        }
+    }
+
+    // Makes a rename or new file durable. Not every platform can open a directory; there it is best effort.
+    static void syncDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // Unsupported on this platform.
+        }
+    }
+
+    private static long position(File file) {
+        String name = file.getName();
+        if (!name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    static final class Loaded {
+        final long position;
+        final byte[] state;
+
+        Loaded(long position, byte[] state) {
+            this.position = position;
+            this.state = state;
+        }
+    }
+}
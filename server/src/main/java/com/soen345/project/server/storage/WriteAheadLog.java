@@ -0,0 +1,310 @@
+package com.soen345.project.server.storage;
+
+import com.soen345.project.server.core.JournalRecord;
+import com.soen345.project.server.core.ReservationJournal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Append-only journal with group commit. Appends only copy a frame into memory; the first caller of
+// sync becomes the flusher, optionally waits batchWindowNanos for more appends, then writes everything
+// pending with one write and one fsync while later callers wait for it. Frames are
+// [position][length][crc32][payload], so a torn final write is detected and cut off on recovery.
+// Files are named by the first position they hold and a new file starts at every snapshot.
+public final class WriteAheadLog implements ReservationJournal, Closeable {
+    static final String FILE_PREFIX = "journal-";
+    static final String FILE_SUFFIX = ".log";
+
+    private static final int FRAME_HEADER_BYTES = 16;
+    private static final int MAX_PAYLOAD_BYTES = 64 * 1024;
+
+    private final File directory;
+    private final long batchWindowNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition durable = lock.newCondition();
+    private final Condition batchTimer = lock.newCondition();
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private FileChannel channel;
+    private long firstPositionInFile;
+    private long lastAppended;
+    private long lastDurable;
+    private boolean flushing;
+    private IOException failure;
+    private long syncCount;
+
+    private WriteAheadLog(File directory, long lastPosition, long batchWindowNanos) throws IOException {
+        this.directory = directory;
+        this.batchWindowNanos = batchWindowNanos;
+        this.lastAppended = lastPosition;
+        this.lastDurable = lastPosition;
+        openFile(lastPosition + 1);
+    }
+
+    // Continues after lastPosition, as returned by replay, in a fresh file.
+    public static WriteAheadLog open(File directory, long lastPosition, long batchWindowNanos) throws IOException {
+        if (batchWindowNanos < 0) {
+            throw new IllegalArgumentException("batchWindowNanos cannot be negative");
+        }
+        return new WriteAheadLog(directory, lastPosition, batchWindowNanos);
+    }
+
+    // Feeds every record after afterPosition to consumer in order and returns the last position seen
+    // (afterPosition if there are none). A torn tail in the newest file is truncated away.
+    public static long replay(File directory, long afterPosition, Consumer<JournalRecord> consumer) throws IOException {
+        List<File> files = journalFiles(directory);
+        long last = afterPosition;
+        for (int i = 0; i < files.size(); i++) {
+            boolean newest = i == files.size() - 1;
+            try (FileChannel file = FileChannel.open(files.get(i).toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = ByteBuffer.allocate((int) file.size());
+                while (bytes.hasRemaining() && file.read(bytes) >= 0) {
+                    // Read the whole file; journals are bounded by the snapshot interval.
+                }
+                bytes.flip();
+                long validEnd = 0;
+                while (bytes.remaining() >= FRAME_HEADER_BYTES) {
+                    int start = bytes.position();
+                    long position = bytes.getLong();
+                    int length = bytes.getInt();
+                    int crc = bytes.getInt();
+                    if (length < 0 || length > MAX_PAYLOAD_BYTES || length > bytes.remaining()) {
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    bytes.get(payload);
+                    if (crc != checksum(position, payload, 0, length) || (position > last + 1 && last > afterPosition)) {
+                        bytes.position(start);
+                        break;
+                    }
+                    if (position > last) {
+                        consumer.accept(JournalRecord.readFrom(new DataInputStream(new ByteArrayInputStream(payload))));
+                        last = position;
+                    }
+                    validEnd = bytes.position();
+                }
+                if (validEnd < file.size()) {
+                    if (!newest) {
+                        throw new IOException("Journal " + files.get(i).getName() + " is corrupt before its end");
+                    }
+                    file.truncate(validEnd);
+                    file.force(true);
+                }
+            }
+        }
+        return last;
+    }
+
+    @Override
+    public long append(JournalRecord record) {
+        byte[] payload = encode(record);
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException("Journal is unavailable", failure);
+            }
+            long position = ++lastAppended;
+            ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+            header.putLong(position).putInt(payload.length).putInt(checksum(position, payload, 0, payload.length));
+            pending.write(header.array(), 0, FRAME_HEADER_BYTES);
+            pending.write(payload, 0, payload.length);
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void sync(long position) {
+        lock.lock();
+        try {
+            while (lastDurable < position) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Journal is unavailable", failure);
+                }
+                if (flushing) {
+                    durable.awaitUninterruptibly();
+                    continue;
+                }
+                flushing = true;
+                waitForBatch();
+                byte[] batch = pending.toByteArray();
+                pending = new ByteArrayOutputStream();
+                long target = lastAppended;
+                lock.unlock();
+                IOException error = null;
+                try {
+                    write(batch);
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    lock.lock();
+                }
+                if (error != null) {
+                    failure = error;
+                } else {
+                    lastDurable = target;
+                    syncCount++;
+                }
+                flushing = false;
+                durable.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long lastPosition() {
+        lock.lock();
+        try {
+            return lastAppended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Makes everything appended so far durable and continues in a new file. Called while appends are
+    // paused, so the new file starts exactly after the snapshot position.
+    public void rotate() throws IOException {
+        lock.lock();
+        try {
+            flushAllLocked();
+            channel.close();
+            openFile(lastAppended + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Deletes files that only hold positions before the current file.
+    public void deleteOlderFiles() throws IOException {
+        for (File file : journalFiles(directory)) {
+            if (firstPosition(file) < firstPositionInFile && !file.delete()) {
+                throw new IOException("Could not delete " + file);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (failure == null) {
+                flushAllLocked();
+            }
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushAllLocked() throws IOException {
+        while (flushing) {
+            durable.awaitUninterruptibly();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        byte[] batch = pending.toByteArray();
+        pending = new ByteArrayOutputStream();
+        write(batch);
+        lastDurable = lastAppended;
+        durable.signalAll();
+    }
+
+    private void waitForBatch() {
+        long remaining = batchWindowNanos;
+        while (remaining > 0) {
+            try {
+                remaining = batchTimer.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(byte[] batch) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(batch);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        // Data only: the file length changes are covered because every frame carries its own length and CRC.
+        channel.force(false);
+    }
+
+    private void openFile(long firstPosition) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        File file = new File(directory, FILE_PREFIX + firstPosition + FILE_SUFFIX);
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        firstPositionInFile = firstPosition;
+        SnapshotFiles.syncDirectory(directory);
+    }
+
+    private static byte[] encode(JournalRecord record) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            record.writeTo(new DataOutputStream(bytes));
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int checksum(long position, byte[] payload, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(8).putLong(position).array());
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+
+    static List<File> journalFiles(File directory) {
+        List<File> files = new ArrayList<>();
+        File[] listed = directory.listFiles((dir, name) -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX));
+        if (listed != null) {
+            for (File file : listed) {
+                if (firstPosition(file) > 0) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort((a, b) -> Long.compare(firstPosition(a), firstPosition(b)));
+        return files;
+    }
+
+    private static long firstPosition(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
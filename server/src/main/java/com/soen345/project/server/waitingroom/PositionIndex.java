@@ -0,0 +1,36 @@
+package com.soen345.project.server.waitingroom;
+
+import java.util.Arrays;
+
+// Fenwick tree over queue sequence numbers so a live position is a prefix count in O(log n).
+final class PositionIndex {
+    private long[] tree = new long[1024];
+
+    void add(long sequence, int delta) {
+        ensureCapacity(sequence);
+        for (int i = (int) sequence; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    long countUpTo(long sequence) {
+        long count = 0;
+        for (int i = (int) Math.min(sequence, tree.length - 1); i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private void ensureCapacity(long sequence) {
+        if (sequence >= Integer.MAX_VALUE / 2) {
+            throw new IllegalStateException("Queue sequence overflow");
+        }
+        while (sequence >= tree.length) {
+            int oldLength = tree.length;
+            long total = countUpTo(oldLength - 1);
+            tree = Arrays.copyOf(tree, oldLength * 2);
+            // Existing nodes keep their ranges; the new node at oldLength covers every old slot.
+            tree[oldLength] = total;
+        }
+    }
+}
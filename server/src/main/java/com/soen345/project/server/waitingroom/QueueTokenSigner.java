@@ -0,0 +1,48 @@
+package com.soen345.project.server.waitingroom;
+
+import com.soen345.project.waitingroom.Hex;
+import com.soen345.project.waitingroom.QueueToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+public class QueueTokenSigner {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public QueueTokenSigner(byte[] secret) {
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("secret cannot be empty");
+        }
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+    }
+
+    public QueueToken sign(String eventId, String email, long sequence, long issuedAtMillis) {
+        QueueToken unsigned = new QueueToken(eventId, email, sequence, issuedAtMillis, "");
+        return new QueueToken(eventId, email, sequence, issuedAtMillis, computeSignature(unsigned.payload()));
+    }
+
+    public boolean verify(QueueToken token) {
+        if (token == null || token.getSignature() == null) {
+            return false;
+        }
+        byte[] expected = computeSignature(token.payload()).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.getSignature().getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private String computeSignature(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Hex.encode(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign queue token", e);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.soen345.project.server.waitingroom;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.common.Clock;
+import com.soen345.project.waitingroom.QueueStatus;
+import com.soen345.project.waitingroom.QueueToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class WaitingRoom {
+    private final String eventId;
+    private final QueueTokenSigner signer;
+    private final Clock clock;
+    private final double admitsPerMilli;
+    private final double maxBurst;
+    private final long abandonTimeoutMillis;
+    private final long checkoutWindowMillis;
+
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    private final Map<String, Entry> entriesByEmail = new HashMap<>();
+    // Access-ordered so the least recently seen waiting entry is always first.
+    private final LinkedHashMap<String, Entry> waitingBySeen = new LinkedHashMap<>(16, 0.75f, true);
+    // Insertion-ordered by admission time so expired checkout slots are always first.
+    private final LinkedHashMap<String, Entry> admittedBySlot = new LinkedHashMap<>();
+    private final PositionIndex positionIndex = new PositionIndex();
+
+    private long nextSequence = 1;
+    private long lastRefillMillis;
+    private double admissionCredit;
+    private long admittedTotal;
+    private long expiredTotal;
+
+    public WaitingRoom(String eventId,
+                       QueueTokenSigner signer,
+                       Clock clock,
+                       double admitsPerSecond,
+                       long abandonTimeoutMillis,
+                       long checkoutWindowMillis) {
+        if (eventId == null || eventId.isEmpty()) {
+            throw new IllegalArgumentException("eventId cannot be empty");
+        }
+        if (signer == null) {
+            throw new IllegalArgumentException("signer cannot be null");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("clock cannot be null");
+        }
+        if (admitsPerSecond <= 0) {
+            throw new IllegalArgumentException("admitsPerSecond must be positive");
+        }
+        if (abandonTimeoutMillis <= 0 || checkoutWindowMillis <= 0) {
+            throw new IllegalArgumentException("timeouts must be positive");
+        }
+        this.eventId = eventId;
+        this.signer = signer;
+        this.clock = clock;
+        this.admitsPerMilli = admitsPerSecond / 1000.0;
+        this.maxBurst = Math.max(1.0, admitsPerSecond);
+        this.abandonTimeoutMillis = abandonTimeoutMillis;
+        this.checkoutWindowMillis = checkoutWindowMillis;
+        this.lastRefillMillis = clock.nowMillis();
+    }
+
+    public synchronized QueueToken join(AuthSession session) {
+        String email = requireEmail(session);
+        long now = clock.nowMillis();
+        advance(now);
+        Entry existing = entriesByEmail.get(email);
+        if (existing != null) {
+            touch(existing, now);
+            return existing.token;
+        }
+        long sequence = nextSequence++;
+        Entry entry = new Entry(signer.sign(eventId, email, sequence, now), now);
+        queue.addLast(entry);
+        entriesByEmail.put(email, entry);
+        waitingBySeen.put(email, entry);
+        positionIndex.add(sequence, 1);
+        advance(now);
+        return entry.token;
+    }
+
+    public synchronized QueueStatus getStatus(QueueToken token, AuthSession session) {
+        long now = clock.nowMillis();
+        advance(now);
+        Entry entry = resolve(token, session);
+        if (entry == null) {
+            return isAuthentic(token, session) ? QueueStatus.expired() : QueueStatus.invalid();
+        }
+        touch(entry, now);
+        if (entry.admittedAtMillis >= 0) {
+            return QueueStatus.admitted();
+        }
+        int position = (int) positionIndex.countUpTo(entry.token.getSequence());
+        long estimatedWaitMillis = (long) Math.ceil(position / admitsPerMilli);
+        return QueueStatus.waiting(position, estimatedWaitMillis);
+    }
+
+    // Claims the admitted slot for one hold at a time, so concurrent holds presenting the same token
+    // cannot both get through before either completes.
+    public synchronized boolean tryClaimCheckout(QueueToken token, AuthSession session) {
+        advance(clock.nowMillis());
+        Entry entry = resolve(token, session);
+        if (entry == null || entry.admittedAtMillis < 0 || entry.checkingOut) {
+            return false;
+        }
+        entry.checkingOut = true;
+        return true;
+    }
+
+    // A failed hold hands the slot back for a retry within the checkout window.
+    public synchronized void releaseCheckout(QueueToken token, AuthSession session) {
+        Entry entry = resolve(token, session);
+        if (entry != null) {
+            entry.checkingOut = false;
+        }
+    }
+
+    public synchronized void completeCheckout(QueueToken token, AuthSession session) {
+        Entry entry = resolve(token, session);
+        if (entry == null || entry.admittedAtMillis < 0) {
+            return;
+        }
+        String email = entry.token.getEmail();
+        admittedBySlot.remove(email);
+        entriesByEmail.remove(email);
+    }
+
+    public synchronized int getWaitingCount() {
+        advance(clock.nowMillis());
+        return waitingBySeen.size();
+    }
+
+    public synchronized int getAdmittedCount() {
+        advance(clock.nowMillis());
+        return admittedBySlot.size();
+    }
+
+    public synchronized long getAdmittedTotal() {
+        return admittedTotal;
+    }
+
+    public synchronized long getExpiredTotal() {
+        return expiredTotal;
+    }
+
+    private void advance(long now) {
+        expireAbandonedWaiting(now);
+        expireUnusedSlots(now);
+        admit(now);
+    }
+
+    private void expireAbandonedWaiting(long now) {
+        Iterator<Entry> iterator = waitingBySeen.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (now - entry.lastSeenMillis < abandonTimeoutMillis) {
+                return;
+            }
+            iterator.remove();
+            entriesByEmail.remove(entry.token.getEmail());
+            positionIndex.add(entry.token.getSequence(), -1);
+            entry.removed = true;
+            expiredTotal++;
+        }
+    }
+
+    private void expireUnusedSlots(long now) {
+        Iterator<Entry> iterator = admittedBySlot.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (now - entry.admittedAtMillis < checkoutWindowMillis) {
+                return;
+            }
+            iterator.remove();
+            entriesByEmail.remove(entry.token.getEmail());
+            expiredTotal++;
+        }
+    }
+
+    private void admit(long now) {
+        long elapsed = now - lastRefillMillis;
+        if (elapsed > 0) {
+            // Idle capacity is capped at one second's worth so a quiet room cannot flood checkout later.
+            admissionCredit = Math.min(maxBurst, admissionCredit + elapsed * admitsPerMilli);
+            lastRefillMillis = now;
+        }
+        while (admissionCredit >= 1.0 && !queue.isEmpty()) {
+            Entry entry = queue.pollFirst();
+            if (entry.removed) {
+                continue;
+            }
+            String email = entry.token.getEmail();
+            waitingBySeen.remove(email);
+            positionIndex.add(entry.token.getSequence(), -1);
+            entry.admittedAtMillis = now;
+            admittedBySlot.put(email, entry);
+            admissionCredit -= 1.0;
+            admittedTotal++;
+        }
+    }
+
+    private void touch(Entry entry, long now) {
+        entry.lastSeenMillis = now;
+        if (entry.admittedAtMillis < 0) {
+            waitingBySeen.get(entry.token.getEmail());
+        }
+    }
+
+    private Entry resolve(QueueToken token, AuthSession session) {
+        if (token == null || session == null || !token.getEmail().equals(session.getEmail())) {
+            return null;
+        }
+        Entry entry = entriesByEmail.get(token.getEmail());
+        if (entry == null || !isSameToken(entry.token, token)) {
+            return null;
+        }
+        return entry;
+    }
+
+    // Live entries hold the token we signed, so a constant-time comparison replaces an HMAC per poll.
+    private boolean isSameToken(QueueToken issued, QueueToken presented) {
+        return issued.getSequence() == presented.getSequence()
+                && issued.getIssuedAtMillis() == presented.getIssuedAtMillis()
+                && issued.getEventId().equals(presented.getEventId())
+                && presented.getSignature() != null
+                && MessageDigest.isEqual(
+                        issued.getSignature().getBytes(StandardCharsets.US_ASCII),
+                        presented.getSignature().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private boolean isAuthentic(QueueToken token, AuthSession session) {
+        return token != null
+                && session != null
+                && eventId.equals(token.getEventId())
+                && token.getEmail().equals(session.getEmail())
+                && signer.verify(token);
+    }
+
+    private String requireEmail(AuthSession session) {
+        if (session == null || session.getEmail() == null || session.getEmail().isEmpty()) {
+            throw new IllegalArgumentException("session must have an email");
+        }
+        return session.getEmail();
+    }
+
+    private static final class Entry {
+        private final QueueToken token;
+        private long lastSeenMillis;
+        private long admittedAtMillis = -1;
+        private boolean checkingOut;
+        private boolean removed;
+
+        private Entry(QueueToken token, long lastSeenMillis) {
+            this.token = token;
+            this.lastSeenMillis = lastSeenMillis;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.soen345.project.server.waitingroom;
+
+import com.soen345.project.auth.AuthRules;
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.core.ReservationException;
+import com.soen345.project.waitingroom.QueueStatus;
+import com.soen345.project.waitingroom.QueueToken;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Queues exist only for events an admin has opened one for; holds on any other event are not gated.
+// Tokens are signed here, so the key never leaves the server and the app can only store and show them.
+public class WaitingRooms {
+    private final QueueTokenSigner signer;
+    private final Clock clock;
+    private final long abandonTimeoutMillis;
+    private final long checkoutWindowMillis;
+    private final ConcurrentHashMap<String, WaitingRoom> rooms = new ConcurrentHashMap<>();
+
+    public WaitingRooms(QueueTokenSigner signer, Clock clock, long abandonTimeoutMillis, long checkoutWindowMillis) {
+        if (signer == null || clock == null) {
+            throw new IllegalArgumentException("signer and clock are required");
+        }
+        if (abandonTimeoutMillis <= 0 || checkoutWindowMillis <= 0) {
+            throw new IllegalArgumentException("timeouts must be positive");
+        }
+        this.signer = signer;
+        this.clock = clock;
+        this.abandonTimeoutMillis = abandonTimeoutMillis;
+        this.checkoutWindowMillis = checkoutWindowMillis;
+    }
+
+    // Opening an already open queue keeps it, so nobody loses their place.
+    public void open(AuthSession caller, String eventId, double admitsPerSecond) throws ReservationException {
+        requireAdmin(caller);
+        if (eventId == null || eventId.isEmpty() || !(admitsPerSecond > 0)) {
+            throw new ReservationException(ReservationException.Reason.INVALID, "Event id and a positive admission rate are required");
+        }
+        rooms.computeIfAbsent(eventId, id -> new WaitingRoom(id, signer, clock, admitsPerSecond, abandonTimeoutMillis, checkoutWindowMillis));
+    }
+
+    public void close(AuthSession caller, String eventId) throws ReservationException {
+        requireAdmin(caller);
+        rooms.remove(eventId);
+    }
+
+    public QueueToken join(AuthSession caller, String eventId) throws ReservationException {
+        requireCaller(caller);
+        return room(eventId).join(caller);
+    }
+
+    public QueueStatus getStatus(AuthSession caller, String eventId, String encodedToken) throws ReservationException {
+        requireCaller(caller);
+        return room(eventId).getStatus(QueueToken.decode(encodedToken), caller);
+    }
+
+    // Claimed before the hold and released or completed after it, so one admission backs one hold at a time.
+    public void claimCheckout(AuthSession caller, String eventId, String encodedToken) throws ReservationException {
+        WaitingRoom room = rooms.get(eventId);
+        if (room != null && !room.tryClaimCheckout(QueueToken.decode(encodedToken), caller)) {
+            throw new ReservationException(ReservationException.Reason.FORBIDDEN, "Wait for your turn in the queue");
+        }
+    }
+
+    public void releaseCheckout(AuthSession caller, String eventId, String encodedToken) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room != null) {
+            room.releaseCheckout(QueueToken.decode(encodedToken), caller);
+        }
+    }
+
+    // A successful hold uses up the checkout slot so one admission cannot be replayed for more holds.
+    public void completeCheckout(AuthSession caller, String eventId, String encodedToken) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room != null) {
+            room.completeCheckout(QueueToken.decode(encodedToken), caller);
+        }
+    }
+
+    private WaitingRoom room(String eventId) throws ReservationException {
+        WaitingRoom room = eventId == null ? null : rooms.get(eventId);
+        if (room == null) {
+            throw new ReservationException(ReservationException.Reason.NOT_FOUND, "This event has no queue");
+        }
+        return room;
+    }
+
+    private static void requireAdmin(AuthSession caller) throws ReservationException {
+        requireCaller(caller);
+        if (!AuthRules.canManageInventory(caller.getRole())) {
+            throw new ReservationException(ReservationException.Reason.FORBIDDEN, "Only admins can manage queues");
+        }
+    }
+
+    private static void requireCaller(AuthSession caller) throws ReservationException {
+        if (caller == null || caller.getRole() == null || !AuthRules.isValidEmail(caller.getEmail())) {
+            throw new ReservationException(ReservationException.Reason.FORBIDDEN, "Sign in required");
+        }
+    }
+}
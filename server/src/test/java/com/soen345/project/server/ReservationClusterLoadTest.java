@@ -0,0 +1,227 @@
+package com.soen345.project.server;
+
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.cluster.ClusterAdmin;
+import com.soen345.project.server.cluster.ClusterView;
+import com.soen345.project.server.http.SessionTokens;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Local cluster load test, not part of the unit suite: ./gradlew :server:clusterLoadTest -Pnodes=1,2,4
+// Starts every node as its own JVM on this machine, then grows the cluster step by step through
+// ClusterAdmin, so each step also measures how long rebalancing takes. Clients send each request to a
+// random node, as a load balancer would, so most requests pay one forwarding hop; with
+// -Prouting=owner they use the hash ring themselves and go straight to the owner.
+public final class ReservationClusterLoadTest {
+    private static final int EVENTS = 200;
+    private static final int CAPACITY = 10_000_000;
+    private static final Pattern HOLD_ID = Pattern.compile("\"holdId\":\"([^\"]+)\"");
+    private static final Pattern RESERVED = Pattern.compile("\"reserved\":(\\d+)");
+    private static final Pattern HELD = Pattern.compile("\"held\":(\\d+)");
+    private static final String LISTENING = "Reservation server listening on port ";
+
+    private ReservationClusterLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] steps = Arrays.stream((args.length > 0 ? args[0] : "1,2,4").split(",")).mapToInt(Integer::parseInt).toArray();
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int requestsPerClient = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        boolean ownerRouting = args.length > 3 && args[3].equals("owner");
+
+        byte[] secretBytes = new byte[32];
+        new SecureRandom().nextBytes(secretBytes);
+        String tokenSecret = HexFormat.of().formatHex(secretBytes);
+        new SecureRandom().nextBytes(secretBytes);
+        String clusterSecret = HexFormat.of().formatHex(secretBytes);
+        SessionTokens tokens = new SessionTokens(tokenSecret.getBytes(StandardCharsets.UTF_8), Clock.SYSTEM);
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(2);
+        String adminToken = "Bearer " + tokens.issue("admin@example.com", UserRole.ADMIN, expiresAt);
+
+        ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientThreads).build();
+        ClusterAdmin clusterAdmin = new ClusterAdmin(http, clusterSecret);
+        File dataRoot = Files.createTempDirectory("reservation-cluster").toFile();
+        List<Process> processes = new ArrayList<>();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> processes.forEach(Process::destroyForcibly)));
+
+        Map<String, URI> members = new LinkedHashMap<>();
+        int confirmedTotal = 0;
+        try {
+            for (int step : steps) {
+                Map<String, URI> previous = new LinkedHashMap<>(members);
+                while (members.size() < step) {
+                    String nodeId = "n" + (members.size() + 1);
+                    members.put(nodeId, startNode(nodeId, tokenSecret, clusterSecret, new File(dataRoot, nodeId), processes));
+                }
+                long rebalanceStart = System.nanoTime();
+                clusterAdmin.changeMembership(previous, members);
+                long rebalanceMillis = (System.nanoTime() - rebalanceStart) / 1_000_000;
+                if (previous.isEmpty()) {
+                    for (int event = 0; event < EVENTS; event++) {
+                        HttpResponse<String> created = send(http, members.get("n1"), "PUT", "/events/event-" + event + "/inventory",
+                                adminToken, "{\"capacity\":" + CAPACITY + "}");
+                        if (created.statusCode() != 200) {
+                            throw new IllegalStateException("Could not create event-" + event + ": " + created.body());
+                        }
+                    }
+                }
+
+                ClusterView view = new ClusterView(members, null);
+                List<URI> entryPoints = new ArrayList<>(members.values());
+                long[] latencies = new long[clients * requestsPerClient];
+                AtomicInteger recorded = new AtomicInteger();
+                AtomicInteger confirmed = new AtomicInteger();
+                AtomicInteger failed = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(clients);
+                for (int c = 0; c < clients; c++) {
+                    String token = "Bearer " + tokens.issue("client" + c + "@example.com", UserRole.CUSTOMER, expiresAt);
+                    clientThreads.execute(() -> {
+                        try {
+                            start.await();
+                            ThreadLocalRandom random = ThreadLocalRandom.current();
+                            String holdId = null;
+                            String event = null;
+                            for (int i = 0; i < requestsPerClient; i++) {
+                                if (holdId == null) {
+                                    event = "event-" + random.nextInt(EVENTS);
+                                }
+                                URI node = ownerRouting
+                                        ? view.addressOf(view.ownerOf(event))
+                                        : entryPoints.get(random.nextInt(entryPoints.size()));
+                                long begin = System.nanoTime();
+                                HttpResponse<String> response = holdId == null
+                                        ? send(http, node, "POST", "/events/" + event + "/holds", token, "{\"tickets\":1}")
+                                        : send(http, node, "POST", "/holds/" + holdId + "/confirm?eventId="
+                                                + URLEncoder.encode(event, StandardCharsets.UTF_8), token, null);
+                                latencies[recorded.getAndIncrement()] = System.nanoTime() - begin;
+                                if (response.statusCode() != 201) {
+                                    failed.incrementAndGet();
+                                    holdId = null;
+                                } else if (holdId == null) {
+                                    Matcher matcher = HOLD_ID.matcher(response.body());
+                                    holdId = matcher.find() ? matcher.group(1) : null;
+                                } else {
+                                    holdId = null;
+                                    confirmed.incrementAndGet();
+                                }
+                            }
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+                long begin = System.nanoTime();
+                start.countDown();
+                done.await();
+                long elapsed = System.nanoTime() - begin;
+                confirmedTotal += confirmed.get();
+                verify(http, members.get("n1"), adminToken, confirmedTotal);
+
+                int count = recorded.get();
+                long[] sorted = Arrays.copyOf(latencies, count);
+                Arrays.sort(sorted);
+                System.out.printf("Cluster load test nodes=%d routing=%s clients=%d requests=%d: %.0f req/s p50=%.2fms p99=%.2fms"
+                                + " rebalance=%dms confirmed=%d failed=%d%n",
+                        members.size(), ownerRouting ? "owner" : "any", clients, count, count / (elapsed / 1e9),
+                        percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                        rebalanceMillis, confirmed.get(), failed.get());
+            }
+        } finally {
+            processes.forEach(Process::destroyForcibly);
+            clientThreads.shutdownNow();
+        }
+    }
+
+    // Every sold ticket is on exactly one node after all the moves, and no event is oversold.
+    private static void verify(HttpClient http, URI node, String adminToken, int confirmedTotal) throws Exception {
+        int reserved = 0;
+        for (int event = 0; event < EVENTS; event++) {
+            String body = send(http, node, "GET", "/events/event-" + event + "/inventory", adminToken, null).body();
+            int eventReserved = number(RESERVED, body);
+            if (eventReserved + number(HELD, body) > CAPACITY) {
+                throw new IllegalStateException("Oversold event-" + event);
+            }
+            reserved += eventReserved;
+        }
+        if (reserved != confirmedTotal) {
+            throw new IllegalStateException("Reserved " + reserved + " tickets but confirmed " + confirmedTotal);
+        }
+    }
+
+    private static URI startNode(String nodeId, String tokenSecret, String clusterSecret, File dataDir, List<Process> processes)
+            throws IOException {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        ProcessBuilder builder = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                ReservationServer.class.getName(), String.valueOf(port))
+                .redirectError(ProcessBuilder.Redirect.INHERIT);
+        builder.environment().put("RESERVATION_TOKEN_SECRET", tokenSecret);
+        builder.environment().put("RESERVATION_CLUSTER_SECRET", clusterSecret);
+        builder.environment().put("RESERVATION_NODE_ID", nodeId);
+        builder.environment().put("RESERVATION_DATA_DIR", dataDir.getAbsolutePath());
+        Process process = builder.start();
+        processes.add(process);
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = out.readLine();
+        if (line == null || !line.startsWith(LISTENING)) {
+            throw new IOException("Node " + nodeId + " did not start: " + line);
+        }
+        return URI.create("http://127.0.0.1:" + line.substring(LISTENING.length()).trim());
+    }
+
+    private static HttpResponse<String> send(HttpClient http, URI node, String method, String path, String token, String body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node + path))
+                .header("Authorization", token)
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int number(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected response " + body);
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,152 @@
+package com.soen345.project.server;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.core.InventorySnapshot;
+import com.soen345.project.server.core.ReservationCore;
+import com.soen345.project.server.http.ReservationHttpApi;
+import com.soen345.project.server.http.SessionTokens;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Local load test, not part of the unit suite: ./gradlew :server:loadTest -Pclients=10000
+// Each client is a virtual thread that alternates hold and confirm requests against an in-process
+// server over loopback. Inventory is sized so roughly a fifth of holds find the event sold out,
+// which keeps the per-event locks contended. Needs a file descriptor limit above 2x clients.
+public final class ReservationLoadTest {
+    private static final int EVENTS = 100;
+    private static final Pattern HOLD_ID = Pattern.compile("\"holdId\":\"([^\"]+)\"");
+
+    private ReservationLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SessionTokens tokens = new SessionTokens(secret, Clock.SYSTEM);
+        ReservationCore core = new ReservationCore(Clock.SYSTEM, ReservationServer.DEFAULT_HOLD_MILLIS);
+        int capacity = Math.max(1, clients * requestsPerClient / 2 * 4 / 5 / EVENTS);
+        AuthSession admin = new AuthSession("admin@example.com", UserRole.ADMIN);
+        for (int event = 0; event < EVENTS; event++) {
+            core.setCapacity(admin, "event-" + event, capacity);
+        }
+        ReservationServer server = ReservationServer.start(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), new ReservationHttpApi(core, tokens));
+        String base = "http://127.0.0.1:" + server.getPort();
+
+        ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientThreads)
+                .build();
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(clients);
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+
+        for (int c = 0; c < clients; c++) {
+            String token = "Bearer " + tokens.issue("client" + c + "@example.com", UserRole.CUSTOMER, expiresAt);
+            clientThreads.execute(() -> {
+                try {
+                    ready.countDown();
+                    start.await();
+                    String holdId = null;
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        HttpRequest request;
+                        if (holdId == null) {
+                            String event = "event-" + ThreadLocalRandom.current().nextInt(EVENTS);
+                            request = HttpRequest.newBuilder(URI.create(base + "/events/" + event + "/holds"))
+                                    .header("Authorization", token)
+                                    .POST(HttpRequest.BodyPublishers.ofString("{\"tickets\":1}"))
+                                    .build();
+                        } else {
+                            request = HttpRequest.newBuilder(URI.create(base + "/holds/" + holdId + "/confirm"))
+                                    .header("Authorization", token)
+                                    .POST(HttpRequest.BodyPublishers.noBody())
+                                    .build();
+                        }
+                        long begin = System.nanoTime();
+                        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                        latencies[recorded.getAndIncrement()] = System.nanoTime() - begin;
+                        int status = response.statusCode();
+                        if (holdId != null) {
+                            holdId = null;
+                            if (status == 201) {
+                                confirmed.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        } else if (status == 201) {
+                            Matcher matcher = HOLD_ID.matcher(response.body());
+                            holdId = matcher.find() ? matcher.group(1) : null;
+                        } else if (status == 409) {
+                            soldOut.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        server.stop();
+        clientThreads.shutdownNow();
+
+        int reserved = 0;
+        for (int event = 0; event < EVENTS; event++) {
+            InventorySnapshot inventory = core.getInventory("event-" + event);
+            reserved += inventory.getReserved();
+            if (inventory.getReserved() + inventory.getHeld() > inventory.getCapacity()) {
+                throw new IllegalStateException("Oversold " + inventory.getEventId());
+            }
+        }
+        if (reserved != confirmed.get()) {
+            throw new IllegalStateException("Reserved " + reserved + " tickets but confirmed " + confirmed.get());
+        }
+
+        int count = recorded.get();
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("Reservation load test clients=%d requests=%d: %.0f req/s p50=%.2fms p99=%.2fms max=%.2fms"
+                        + " confirmed=%d soldOut=%d failed=%d%n",
+                clients, count, count / (elapsed / 1e9),
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, sorted[count - 1] / 1e6,
+                confirmed.get(), soldOut.get(), failed.get());
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,72 @@
+package com.soen345.project.server.cluster;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HashRingTest {
+    private static final int KEYS = 100_000;
+
+    @Test
+    public void ownerOf_isTheSameForTheSameMembersInAnyOrder() {
+        HashRing first = new HashRing(Arrays.asList("n1", "n2", "n3"), HashRing.DEFAULT_VIRTUAL_NODES);
+        HashRing second = new HashRing(Arrays.asList("n3", "n1", "n2"), HashRing.DEFAULT_VIRTUAL_NODES);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(first.ownerOf("event-" + i), second.ownerOf("event-" + i));
+        }
+    }
+
+    @Test
+    public void virtualNodes_spreadEventsEvenly() {
+        HashRing ring = new HashRing(Arrays.asList("n1", "n2", "n3", "n4"), HashRing.DEFAULT_VIRTUAL_NODES);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf("event-" + i), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue("share was " + count, Math.abs(count - KEYS / 4) < KEYS / 4 * 0.2);
+        }
+    }
+
+    @Test
+    public void addingANode_onlyMovesEventsToIt() {
+        HashRing before = new HashRing(Arrays.asList("n1", "n2", "n3"), HashRing.DEFAULT_VIRTUAL_NODES);
+        HashRing after = new HashRing(Arrays.asList("n1", "n2", "n3", "n4"), HashRing.DEFAULT_VIRTUAL_NODES);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "event-" + i;
+            if (!before.ownerOf(key).equals(after.ownerOf(key))) {
+                assertEquals("n4", after.ownerOf(key));
+                moved++;
+            }
+        }
+
+        assertTrue("moved " + moved, Math.abs(moved - KEYS / 4) < KEYS / 4 * 0.2);
+    }
+
+    @Test
+    public void removingANode_onlyMovesItsEvents() {
+        HashRing before = new HashRing(Arrays.asList("n1", "n2", "n3", "n4"), HashRing.DEFAULT_VIRTUAL_NODES);
+        HashRing after = new HashRing(Arrays.asList("n1", "n2", "n4"), HashRing.DEFAULT_VIRTUAL_NODES);
+
+        for (int i = 0; i < KEYS; i++) {
+            String key = "event-" + i;
+            if (!before.ownerOf(key).equals("n3")) {
+                assertEquals(before.ownerOf(key), after.ownerOf(key));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyMembership_isRejected() {
+        new HashRing(Arrays.<String>asList(), HashRing.DEFAULT_VIRTUAL_NODES);
+    }
+}
@@ -0,0 +1,230 @@
+package com.soen345.project.server.core;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.reservations.ReservationStatus;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ReservationCoreTest {
+    private static final AuthSession ADMIN = new AuthSession("admin@example.com", UserRole.ADMIN);
+    private static final AuthSession ALICE = new AuthSession("alice@example.com", UserRole.CUSTOMER);
+    private static final AuthSession BOB = new AuthSession("bob@example.com", UserRole.CUSTOMER);
+
+    private final long[] now = {1_000L};
+    private final Clock clock = () -> now[0];
+    private ReservationCore core;
+
+    @Before
+    public void setUp() throws ReservationException {
+        core = new ReservationCore(clock, 60_000);
+        core.setCapacity(ADMIN, "concert", 5);
+    }
+
+    @Test
+    public void holdThenConfirm_movesTicketsFromHeldToReserved() throws ReservationException {
+        Hold hold = core.hold(ALICE, "concert", 2);
+        assertEquals(2, core.getInventory("concert").getHeld());
+        assertEquals(61_000L, hold.getExpiresAtMillis());
+
+        Reservation reservation = core.confirm(ALICE, hold.getId());
+
+        InventorySnapshot inventory = core.getInventory("concert");
+        assertEquals(0, inventory.getHeld());
+        assertEquals(2, inventory.getReserved());
+        assertEquals(3, inventory.getAvailable());
+        assertEquals(ReservationStatus.CONFIRMED, reservation.getStatus());
+        assertEquals(1, core.reservationsFor(ALICE).size());
+        assertEquals(0, core.reservationsFor(BOB).size());
+    }
+
+    @Test
+    public void hold_beyondAvailability_isSoldOut() throws ReservationException {
+        core.hold(ALICE, "concert", 4);
+
+        expect(ReservationException.Reason.SOLD_OUT, () -> core.hold(BOB, "concert", 2));
+    }
+
+    @Test
+    public void expiredHold_returnsTicketsAndCannotBeConfirmed() throws ReservationException {
+        Hold hold = core.hold(ALICE, "concert", 5);
+        now[0] += 60_000;
+
+        assertEquals(5, core.getInventory("concert").getAvailable());
+        expect(ReservationException.Reason.NOT_FOUND, () -> core.confirm(ALICE, hold.getId()));
+    }
+
+    @Test
+    public void release_returnsTickets() throws ReservationException {
+        Hold hold = core.hold(ALICE, "concert", 3);
+
+        core.release(ALICE, hold.getId());
+
+        assertEquals(5, core.getInventory("concert").getAvailable());
+    }
+
+    @Test
+    public void othersHold_cannotBeConfirmedOrReleased() throws ReservationException {
+        Hold hold = core.hold(ALICE, "concert", 1);
+
+        expect(ReservationException.Reason.FORBIDDEN, () -> core.confirm(BOB, hold.getId()));
+        expect(ReservationException.Reason.FORBIDDEN, () -> core.release(BOB, hold.getId()));
+    }
+
+    @Test
+    public void cancel_byOwnerOrAdmin_returnsTicketsOnce() throws ReservationException {
+        Reservation first = core.confirm(ALICE, core.hold(ALICE, "concert", 2).getId());
+        Reservation second = core.confirm(BOB, core.hold(BOB, "concert", 2).getId());
+
+        expect(ReservationException.Reason.FORBIDDEN, () -> core.cancel(BOB, first.getId()));
+        assertTrue(core.cancel(ALICE, first.getId()).isCancelled());
+        core.cancel(ALICE, first.getId());
+        core.cancel(ADMIN, second.getId());
+
+        assertEquals(5, core.getInventory("concert").getAvailable());
+        assertEquals(ReservationStatus.CANCELLED, core.reservationsFor(ALICE).get(0).getStatus());
+    }
+
+    @Test
+    public void setCapacity_requiresAdminAndCoversSoldTickets() throws ReservationException {
+        core.confirm(ALICE, core.hold(ALICE, "concert", 3).getId());
+
+        expect(ReservationException.Reason.FORBIDDEN, () -> core.setCapacity(ALICE, "concert", 50));
+        expect(ReservationException.Reason.INVALID, () -> core.setCapacity(ADMIN, "concert", 2));
+        assertEquals(7, core.setCapacity(ADMIN, "concert", 10).getAvailable());
+    }
+
+    @Test
+    public void invalidRequests_areRejected() {
+        expect(ReservationException.Reason.INVALID, () -> core.hold(ALICE, "concert", 0));
+        expect(ReservationException.Reason.INVALID, () -> core.hold(ALICE, "concert", ReservationCore.MAX_TICKETS_PER_HOLD + 1));
+        expect(ReservationException.Reason.NOT_FOUND, () -> core.hold(ALICE, "unknown", 1));
+        expect(ReservationException.Reason.FORBIDDEN, () -> core.hold(new AuthSession("not-an-email", UserRole.CUSTOMER), "concert", 1));
+        expect(ReservationException.Reason.FORBIDDEN, () -> core.hold(null, "concert", 1));
+    }
+
+    @Test
+    public void concurrentHolds_neverOversell() throws Exception {
+        core.setCapacity(ADMIN, "concert", 1_000);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger confirmed = new AtomicInteger();
+        for (int i = 0; i < 2_000; i++) {
+            AuthSession caller = new AuthSession("user" + i + "@example.com", UserRole.CUSTOMER);
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    core.confirm(caller, core.hold(caller, "concert", 1).getId());
+                    confirmed.incrementAndGet();
+                } catch (ReservationException | InterruptedException expected) {
+                    // Sold out.
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1_000, confirmed.get());
+        assertEquals(0, core.getInventory("concert").getAvailable());
+        assertEquals(1_000, core.getInventory("concert").getReserved());
+    }
+
+    @Test
+    public void transferEvent_movesHoldsAndReservationsToTheReceiver() throws Exception {
+        ReservationCore source = new ReservationCore(clock, 60_000, ReservationJournal.NONE, "n1-");
+        ReservationCore target = new ReservationCore(clock, 60_000, ReservationJournal.NONE, "n2-");
+        source.setCapacity(ADMIN, "concert", 10);
+        Reservation kept = source.confirm(ALICE, source.hold(ALICE, "concert", 3).getId());
+        Reservation cancelled = source.confirm(BOB, source.hold(BOB, "concert", 1).getId());
+        source.cancel(BOB, cancelled.getId());
+        Hold pending = source.hold(BOB, "concert", 2);
+        target.setCapacity(ADMIN, "other", 1);
+
+        source.transferEvent("concert", target::importEvent);
+
+        assertFalse(source.hasEvent("concert"));
+        expect(ReservationException.Reason.NOT_FOUND, () -> source.getInventory("concert"));
+        assertTrue(source.reservationsFor(ALICE).isEmpty());
+        assertTrue(target.hasEvent("concert"));
+        InventorySnapshot inventory = target.getInventory("concert");
+        assertEquals(10, inventory.getCapacity());
+        assertEquals(2, inventory.getHeld());
+        assertEquals(3, inventory.getReserved());
+        assertEquals(kept.getId(), target.reservationsFor(ALICE).get(0).getId());
+        assertTrue(target.reservationsFor(BOB).get(0).isCancelled());
+        // The hold keeps working on its new node, and new ids never reuse the sender's.
+        Reservation moved = target.confirm(BOB, pending.getId());
+        assertTrue(moved.getId().startsWith("n2-"));
+        assertTrue(kept.getId().startsWith("n1-"));
+    }
+
+    @Test
+    public void transferEvent_failedSend_keepsTheEvent() throws Exception {
+        core.hold(ALICE, "concert", 2);
+
+        try {
+            core.transferEvent("concert", state -> {
+                throw new IOException("receiver is down");
+            });
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // The sender keeps serving the event.
+        }
+
+        assertTrue(core.hasEvent("concert"));
+        assertEquals(2, core.getInventory("concert").getHeld());
+    }
+
+    @Test
+    public void importEvent_alreadyPresent_isAConflict() throws Exception {
+        ReservationCore other = new ReservationCore(clock, 60_000);
+        other.setCapacity(ADMIN, "concert", 3);
+
+        try {
+            core.transferEvent("concert", other::importEvent);
+            fail("Expected CONFLICT");
+        } catch (ReservationException e) {
+            assertEquals(ReservationException.Reason.CONFLICT, e.getReason());
+        }
+        assertTrue(core.hasEvent("concert"));
+    }
+
+    @Test
+    public void requestsForATransferredEvent_areNotFoundHere() throws Exception {
+        Hold hold = core.hold(ALICE, "concert", 1);
+        byte[][] sent = new byte[1][];
+        core.transferEvent("concert", state -> sent[0] = state);
+
+        expect(ReservationException.Reason.NOT_FOUND, () -> core.confirm(ALICE, hold.getId()));
+        expect(ReservationException.Reason.NOT_FOUND, () -> core.hold(ALICE, "concert", 1));
+        assertTrue(sent[0].length > 0);
+    }
+
+    private static void expect(ReservationException.Reason reason, Call call) {
+        try {
+            call.run();
+            fail("Expected " + reason);
+        } catch (ReservationException e) {
+            assertEquals(reason, e.getReason());
+        }
+    }
+
+    private interface Call {
+        void run() throws ReservationException;
+    }
+}
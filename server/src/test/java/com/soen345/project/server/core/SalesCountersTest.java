@@ -0,0 +1,135 @@
+package com.soen345.project.server.core;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SalesCountersTest {
+    private static final AuthSession ADMIN = new AuthSession("admin@example.com", UserRole.ADMIN);
+    private static final AuthSession ALICE = new AuthSession("alice@example.com", UserRole.CUSTOMER);
+    private static final long DAY = SalesCounters.MILLIS_PER_DAY;
+
+    private final long[] now = {10 * DAY + 1_000L};
+    private final Clock clock = () -> now[0];
+    private ReservationCore core;
+
+    @Before
+    public void setUp() throws ReservationException {
+        core = new ReservationCore(clock, 60_000);
+        core.setCapacity(ADMIN, "concert", 100);
+        core.setDetails(ADMIN, "concert", "MUSIC", 2_500);
+        core.setCapacity(ADMIN, "recital", 50);
+        core.setDetails(ADMIN, "recital", "MUSIC", 1_000);
+    }
+
+    @Test
+    public void sales_areCountedPerEventCategoryAndDayOfPurchase() throws ReservationException {
+        buy("concert", 4);
+        buy("recital", 2);
+        now[0] += DAY;
+        Reservation later = buy("concert", 3);
+
+        SalesTotals concert = core.getEventSales(ADMIN, "concert");
+        assertEquals(7, concert.getTickets());
+        assertEquals(2, concert.getReservations());
+        assertEquals(17_500, concert.getRevenueCents());
+        assertEquals(0.07, concert.getOccupancy(), 1e-9);
+        SalesTotals music = core.getCategorySales(ADMIN, "MUSIC");
+        assertEquals(9, music.getTickets());
+        assertEquals(150, music.getCapacity());
+        assertEquals(19_500, music.getRevenueCents());
+        assertEquals(6, core.getDailySales(ADMIN, 10).getTickets());
+        assertEquals(3, core.getDailySales(ADMIN, 11).getTickets());
+
+        // A cancellation comes off the day the tickets were bought, not the day it happened.
+        now[0] += DAY;
+        core.cancel(ALICE, later.getId());
+        assertEquals(0, core.getDailySales(ADMIN, 11).getTickets());
+        assertEquals(0, core.getDailySales(ADMIN, 12).getTickets());
+        assertEquals(4, core.getEventSales(ADMIN, "concert").getTickets());
+        assertTrue(core.reconcileSales().isEmpty());
+    }
+
+    @Test
+    public void setDetails_movesEventBetweenCategoriesAndReprices() throws ReservationException {
+        buy("concert", 4);
+
+        core.setDetails(ADMIN, "concert", "COMEDY", 3_000);
+
+        assertEquals(0, core.getCategorySales(ADMIN, "MUSIC").getTickets());
+        assertEquals(50, core.getCategorySales(ADMIN, "MUSIC").getCapacity());
+        assertEquals(4, core.getCategorySales(ADMIN, "COMEDY").getTickets());
+        assertEquals(12_000, core.getCategorySales(ADMIN, "COMEDY").getRevenueCents());
+        assertEquals(12_000, core.getDailySales(ADMIN, 10).getRevenueCents());
+        assertTrue(core.reconcileSales().isEmpty());
+    }
+
+    @Test
+    public void transferEvent_movesItsSalesWithIt() throws Exception {
+        buy("concert", 4);
+        ReservationCore target = new ReservationCore(clock, 60_000, ReservationJournal.NONE, "n2-");
+
+        core.transferEvent("concert", target::importEvent);
+
+        assertEquals(0, core.getCategorySales(ADMIN, "MUSIC").getTickets());
+        assertEquals(4, target.getCategorySales(ADMIN, "MUSIC").getTickets());
+        assertEquals(10_000, target.getEventSales(ADMIN, "concert").getRevenueCents());
+        assertTrue(core.reconcileSales().isEmpty());
+        assertTrue(target.reconcileSales().isEmpty());
+    }
+
+    @Test
+    public void restoreSnapshot_rebuildsCounters() throws Exception {
+        buy("concert", 4);
+        buy("recital", 1);
+        byte[] state = core.captureSnapshot(position -> { });
+
+        ReservationCore restored = new ReservationCore(clock, 60_000);
+        restored.restoreSnapshot(new DataInputStream(new ByteArrayInputStream(state)));
+
+        assertEquals(core.getCategorySales(ADMIN, "MUSIC"), restored.getCategorySales(ADMIN, "MUSIC"));
+        assertEquals(core.getDailySales(ADMIN, 10), restored.getDailySales(ADMIN, 10));
+    }
+
+    @Test
+    public void reconcileSales_repairsDriftedCounters() throws ReservationException {
+        buy("concert", 4);
+        // Simulates a lost update: the counters see a sale the reservations never recorded.
+        core.salesCounters().sold("concert", now[0], 5);
+
+        assertEquals(9, core.getEventSales(ADMIN, "concert").getTickets());
+        assertEquals(3, core.reconcileSales().size());
+        assertEquals(4, core.getEventSales(ADMIN, "concert").getTickets());
+        assertTrue(core.reconcileSales().isEmpty());
+    }
+
+    @Test
+    public void sales_areForAdminsOnly() throws ReservationException {
+        try {
+            core.getCategorySales(ALICE, "MUSIC");
+            fail();
+        } catch (ReservationException e) {
+            assertEquals(ReservationException.Reason.FORBIDDEN, e.getReason());
+        }
+        try {
+            core.setDetails(ADMIN, "concert", "", 100);
+            fail();
+        } catch (ReservationException e) {
+            assertEquals(ReservationException.Reason.INVALID, e.getReason());
+        }
+    }
+
+    private Reservation buy(String eventId, int tickets) throws ReservationException {
+        return core.confirm(ALICE, core.hold(ALICE, eventId, tickets).getId());
+    }
+}
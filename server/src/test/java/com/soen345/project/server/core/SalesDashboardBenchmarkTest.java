@@ -0,0 +1,140 @@
+package com.soen345.project.server.core;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SalesDashboardBenchmarkTest {
+    private static final AuthSession ADMIN = new AuthSession("admin@example.com", UserRole.ADMIN);
+    private static final AuthSession ALICE = new AuthSession("alice@example.com", UserRole.CUSTOMER);
+    private static final String[] CATEGORIES = {"MUSIC", "SPORTS", "COMEDY", "THEATRE", "FAMILY", "FILM", "ART", "TALKS"};
+    private static final int EVENTS = 200;
+    private static final int RESERVATIONS = 200_000;
+    private static final int DAYS = 30;
+    private static final int EVENT_TILES = 20;
+    private static final int LOADS = 50;
+
+    @Test
+    public void dashboardLoadReadsCountersInsteadOfEveryReservation() throws ReservationException {
+        Assume.assumeTrue("Run with ./gradlew :server:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        long[] now = {100 * SalesCounters.MILLIS_PER_DAY};
+        Clock clock = () -> now[0];
+        ReservationCore core = new ReservationCore(clock, 60_000);
+        for (int e = 0; e < EVENTS; e++) {
+            core.setCapacity(ADMIN, "event-" + e, 10_000);
+            core.setDetails(ADMIN, "event-" + e, CATEGORIES[e % CATEGORIES.length], 500 + 250 * (e % 9));
+        }
+        Random random = new Random(49);
+        List<Reservation> all = new ArrayList<>(RESERVATIONS);
+        long step = DAYS * SalesCounters.MILLIS_PER_DAY / RESERVATIONS;
+        for (int i = 0; i < RESERVATIONS; i++) {
+            now[0] += step;
+            String eventId = "event-" + random.nextInt(EVENTS);
+            Reservation reservation = core.confirm(ALICE, core.hold(ALICE, eventId, 1 + random.nextInt(4)).getId());
+            all.add(random.nextInt(10) == 0 ? core.cancel(ALICE, reservation.getId()) : reservation);
+        }
+        long firstDay = SalesCounters.dayOf(100 * SalesCounters.MILLIS_PER_DAY);
+
+        long scanNanos = 0;
+        long counterNanos = 0;
+        long counterReads = 0;
+        for (int load = 0; load < LOADS; load++) {
+            long start = System.nanoTime();
+            Dashboard scanned = scan(all, firstDay);
+            long middle = System.nanoTime();
+            Dashboard counted = read(core, firstDay);
+            long end = System.nanoTime();
+            scanNanos += middle - start;
+            counterNanos += end - middle;
+            counterReads = counted.reads;
+            assertEquals(scanned.tickets, counted.tickets);
+            assertEquals(scanned.revenueCents, counted.revenueCents);
+        }
+        long reconcileStart = System.nanoTime();
+        assertTrue(core.reconcileSales().isEmpty());
+        long reconcileNanos = System.nanoTime() - reconcileStart;
+
+        System.out.printf("Sales dashboard reservations=%d: scan reads=%d %.2fms/load, counters reads=%d %.1fus/load, "
+                        + "reconcile=%.1fms%n",
+                RESERVATIONS, all.size(), scanNanos / 1e6 / LOADS, counterReads, counterNanos / 1000.0 / LOADS,
+                reconcileNanos / 1e6);
+    }
+
+    // Baseline: every reservation read and bucketed each time the dashboard opens.
+    private static Dashboard scan(List<Reservation> all, long firstDay) {
+        Dashboard dashboard = new Dashboard();
+        for (Reservation reservation : all) {
+            dashboard.reads++;
+            if (reservation.isCancelled()) {
+                continue;
+            }
+            int e = Integer.parseInt(reservation.getEventId().substring("event-".length()));
+            long revenue = (long) reservation.getTickets() * (500 + 250 * (e % 9));
+            int category = e % CATEGORIES.length;
+            dashboard.categoryTickets[category] += reservation.getTickets();
+            dashboard.categoryRevenue[category] += revenue;
+            int day = (int) (SalesCounters.dayOf(reservation.getUpdatedAtMillis()) - firstDay);
+            if (day < dashboard.dayTickets.length) {
+                dashboard.dayTickets[day] += reservation.getTickets();
+            }
+            if (e < EVENT_TILES) {
+                dashboard.eventTickets[e] += reservation.getTickets();
+            }
+        }
+        return dashboard.finish();
+    }
+
+    private static Dashboard read(ReservationCore core, long firstDay) throws ReservationException {
+        Dashboard dashboard = new Dashboard();
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            SalesTotals totals = core.getCategorySales(ADMIN, CATEGORIES[c]);
+            dashboard.categoryTickets[c] = totals.getTickets();
+            dashboard.categoryRevenue[c] = totals.getRevenueCents();
+            dashboard.reads++;
+        }
+        for (int d = 0; d < dashboard.dayTickets.length; d++) {
+            dashboard.dayTickets[d] = core.getDailySales(ADMIN, firstDay + d).getTickets();
+            dashboard.reads++;
+        }
+        for (int e = 0; e < EVENT_TILES; e++) {
+            dashboard.eventTickets[e] = core.getEventSales(ADMIN, "event-" + e).getTickets();
+            dashboard.reads++;
+        }
+        return dashboard.finish();
+    }
+
+    private static final class Dashboard {
+        final long[] categoryTickets = new long[CATEGORIES.length];
+        final long[] categoryRevenue = new long[CATEGORIES.length];
+        final long[] dayTickets = new long[DAYS + 1];
+        final long[] eventTickets = new long[EVENT_TILES];
+        long reads;
+        long tickets;
+        long revenueCents;
+
+        // Folds every tile into two checksums so the scan and the counters can be compared in one go.
+        Dashboard finish() {
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                tickets += categoryTickets[c] * (c + 1);
+                revenueCents += categoryRevenue[c];
+            }
+            for (int d = 0; d < dayTickets.length; d++) {
+                tickets += dayTickets[d] * 31 * (d + 1);
+            }
+            for (int e = 0; e < EVENT_TILES; e++) {
+                tickets += eventTickets[e] * 1_009 * (e + 1);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.soen345.project.server.http;
+
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.ReservationServer;
+import com.soen345.project.server.cluster.ClusterAdmin;
+import com.soen345.project.server.cluster.ClusterView;
+import com.soen345.project.server.core.ReservationCore;
+import com.soen345.project.server.core.ReservationJournal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ClusterRouterTest {
+    private static final String CLUSTER_SECRET = "cluster-secret-for-tests";
+    private static final int EVENTS = 40;
+
+    private final SessionTokens tokens = new SessionTokens("secret".getBytes(StandardCharsets.UTF_8), Clock.SYSTEM);
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ClusterAdmin clusterAdmin = new ClusterAdmin(client, CLUSTER_SECRET);
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private String admin;
+    private String alice;
+
+    @Before
+    public void setUp() throws Exception {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        admin = tokens.issue("admin@example.com", UserRole.ADMIN, expiresAt);
+        alice = tokens.issue("alice@example.com", UserRole.CUSTOMER, expiresAt);
+        for (String id : new String[]{"n1", "n2", "n3"}) {
+            startNode(id);
+        }
+        clusterAdmin.changeMembership(new LinkedHashMap<>(), members("n1", "n2", "n3"));
+    }
+
+    @After
+    public void tearDown() {
+        for (Node node : nodes.values()) {
+            node.server.stop();
+        }
+    }
+
+    @Test
+    public void requestsThroughAnyNode_reachTheEventOwner() throws Exception {
+        createEvents();
+        String holdId = (String) Json.parseObject(
+                send("n2", "POST", "/events/event-7/holds", alice, "{\"tickets\": 2}").body()).get("holdId");
+
+        HttpResponse<String> confirmed = send("n3", "POST", "/holds/" + holdId + "/confirm?eventId=event-7", alice, null);
+        assertEquals(201, confirmed.statusCode());
+
+        String owner = nodes.get("n1").router.getView().ownerOf("event-7");
+        for (Map.Entry<String, Node> node : nodes.entrySet()) {
+            assertEquals(node.getKey().equals(owner), node.getValue().core.hasEvent("event-7"));
+        }
+        assertEquals(2L, Json.parseObject(send("n1", "GET", "/events/event-7/inventory", alice, null).body()).get("reserved"));
+    }
+
+    @Test
+    public void reservations_areGatheredFromEveryNode() throws Exception {
+        createEvents();
+        List<String> ids = reserveOneTicketPerEvent();
+
+        String body = send("n2", "GET", "/reservations", alice, null).body();
+        for (String id : ids) {
+            assertTrue(body.contains("\"reservationId\":\"" + id + "\""));
+        }
+    }
+
+    @Test
+    public void sales_areSummedAcrossNodes() throws Exception {
+        createEvents();
+        for (int e = 0; e < EVENTS; e++) {
+            send("n" + (1 + e % 3), "PUT", "/events/event-" + e + "/details", admin, "{\"category\": \"MUSIC\", \"priceCents\": 100}");
+        }
+        reserveOneTicketPerEvent();
+
+        Map<String, Object> music = Json.parseObject(send("n3", "GET", "/sales/categories/MUSIC", admin, null).body());
+
+        assertEquals((long) EVENTS, music.get("tickets"));
+        assertEquals(EVENTS * 100L, music.get("revenueCents"));
+        assertEquals(EVENTS * 5L, music.get("capacity"));
+        assertEquals(403, send("n1", "GET", "/sales/categories/MUSIC", alice, null).statusCode());
+    }
+
+    @Test
+    public void holdRoutes_needTheEventId() throws Exception {
+        assertEquals(400, send("n1", "POST", "/holds/n1-h1/confirm", alice, null).statusCode());
+        assertEquals(400, send("n1", "DELETE", "/reservations/n1-r1", alice, null).statusCode());
+    }
+
+    @Test
+    public void addingAndRemovingNodes_movesEventsWithoutLosingReservations() throws Exception {
+        createEvents();
+        List<String> ids = reserveOneTicketPerEvent();
+
+        startNode("n4");
+        clusterAdmin.changeMembership(members("n1", "n2", "n3"), members("n1", "n2", "n3", "n4"));
+        assertEachEventOnItsOwnerOnly();
+        assertTrue(nodes.get("n4").core.eventIds().size() > 0);
+
+        clusterAdmin.changeMembership(members("n1", "n2", "n3", "n4"), members("n1", "n3", "n4"));
+        assertEachEventOnItsOwnerOnly();
+        assertTrue(nodes.get("n2").core.eventIds().isEmpty());
+
+        String body = send("n1", "GET", "/reservations", alice, null).body();
+        for (String id : ids) {
+            assertTrue("lost " + id, body.contains("\"reservationId\":\"" + id + "\""));
+        }
+        for (int e = 0; e < EVENTS; e++) {
+            assertEquals(1L, Json.parseObject(send("n3", "GET", "/events/event-" + e + "/inventory", alice, null).body()).get("reserved"));
+        }
+        // Tickets sold before the moves can still be cancelled through any node.
+        String firstEvent = "event-0";
+        assertEquals(200, send("n4", "DELETE", "/reservations/" + ids.get(0) + "?eventId=" + firstEvent, alice, null).statusCode());
+    }
+
+    @Test
+    public void duringAChange_theNewOwnerAsksThePreviousOwner() throws Exception {
+        createEvents();
+        startNode("n4");
+        ClusterView changing = new ClusterView(members("n1", "n2", "n3", "n4"), members("n1", "n2", "n3"));
+        // Only the new node has the new view so far; nothing has moved to it yet.
+        HttpResponse<String> installed = sendAdmin("n4", "PUT", ClusterRouter.VIEW_PATH, changing.format());
+        assertEquals(200, installed.statusCode());
+
+        List<String> moving = new ArrayList<>();
+        List<String> unborn = new ArrayList<>();
+        for (int e = 0; e < 1_000 && (moving.isEmpty() || unborn.size() < 2); e++) {
+            if (changing.ownerOf("event-" + e).equals("n4")) {
+                (e < EVENTS ? moving : unborn).add("event-" + e);
+            }
+        }
+
+        assertEquals(200, send("n4", "GET", "/events/" + moving.get(0) + "/inventory", alice, null).statusCode());
+        assertFalse(nodes.get("n4").core.hasEvent(moving.get(0)));
+        // A new event is created by its previous owner, which has not seen the change and will hand it over.
+        String previousOwner = changing.previousOwnerOf(unborn.get(0));
+        assertEquals(200, send("n4", "PUT", "/events/" + unborn.get(0) + "/inventory", admin, "{\"capacity\": 1}").statusCode());
+        assertTrue(nodes.get(previousOwner).core.hasEvent(unborn.get(0)));
+
+        // Once every node has the new view, nobody may create an event that changes hands until the commit.
+        for (String id : new String[]{"n1", "n2", "n3"}) {
+            assertEquals(200, sendAdmin(id, "PUT", ClusterRouter.VIEW_PATH, changing.format()).statusCode());
+        }
+        assertTrue(nodes.get("n4").core.hasEvent(unborn.get(0)));
+        assertEquals(503, send("n4", "PUT", "/events/" + unborn.get(1) + "/inventory", admin, "{\"capacity\": 1}").statusCode());
+        for (String id : nodes.keySet()) {
+            assertEquals(204, sendAdmin(id, "POST", ClusterRouter.COMMIT_PATH, "").statusCode());
+        }
+        HttpResponse<String> created = send("n2", "PUT", "/events/" + unborn.get(1) + "/inventory", admin, "{\"capacity\": 1}");
+        assertEquals(created.body(), 200, created.statusCode());
+        assertTrue(nodes.get("n4").core.hasEvent(unborn.get(1)));
+    }
+
+    @Test
+    public void adminRoutes_needTheClusterSecret() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(nodes.get("n1").base + ClusterRouter.COMMIT_PATH))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(403, response.statusCode());
+    }
+
+    private void createEvents() throws Exception {
+        for (int e = 0; e < EVENTS; e++) {
+            String node = "n" + (1 + e % 3);
+            assertEquals(200, send(node, "PUT", "/events/event-" + e + "/inventory", admin, "{\"capacity\": 5}").statusCode());
+        }
+    }
+
+    private List<String> reserveOneTicketPerEvent() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int e = 0; e < EVENTS; e++) {
+            String eventId = "event-" + e;
+            String holdId = (String) Json.parseObject(
+                    send("n1", "POST", "/events/" + eventId + "/holds", alice, "{\"tickets\": 1}").body()).get("holdId");
+            String path = "/holds/" + holdId + "/confirm?eventId=" + URLEncoder.encode(eventId, StandardCharsets.UTF_8);
+            ids.add((String) Json.parseObject(send("n2", "POST", path, alice, null).body()).get("reservationId"));
+        }
+        return ids;
+    }
+
+    private void assertEachEventOnItsOwnerOnly() {
+        ClusterView view = nodes.get("n1").router.getView();
+        assertFalse(view.isChanging());
+        for (int e = 0; e < EVENTS; e++) {
+            String eventId = "event-" + e;
+            for (Map.Entry<String, Node> node : nodes.entrySet()) {
+                assertEquals(eventId + " on " + node.getKey(),
+                        node.getKey().equals(view.ownerOf(eventId)), node.getValue().core.hasEvent(eventId));
+            }
+        }
+    }
+
+    private void startNode(String id) throws IOException {
+        ReservationCore core = new ReservationCore(Clock.SYSTEM, ReservationServer.DEFAULT_HOLD_MILLIS, ReservationJournal.NONE, id + "-");
+        ClusterRouter router = new ClusterRouter(id, core, new ReservationHttpApi(core, tokens),
+                CLUSTER_SECRET.getBytes(StandardCharsets.UTF_8), client);
+        ReservationServer server = ReservationServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), router);
+        nodes.put(id, new Node(core, router, server, URI.create("http://127.0.0.1:" + server.getPort())));
+    }
+
+    private Map<String, URI> members(String... ids) {
+        Map<String, URI> members = new LinkedHashMap<>();
+        for (String id : ids) {
+            members.put(id, nodes.get(id).base);
+        }
+        return members;
+    }
+
+    private HttpResponse<String> send(String node, String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(nodes.get(node).base + path))
+                .header("Authorization", "Bearer " + token)
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> sendAdmin(String node, String method, String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(nodes.get(node).base + path))
+                .header(ClusterRouter.SECRET_HEADER, CLUSTER_SECRET)
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static final class Node {
+        private final ReservationCore core;
+        private final ClusterRouter router;
+        private final ReservationServer server;
+        private final URI base;
+
+        private Node(ReservationCore core, ClusterRouter router, ReservationServer server, URI base) {
+            this.core = core;
+            this.router = router;
+            this.server = server;
+            this.base = base;
+        }
+    }
+}
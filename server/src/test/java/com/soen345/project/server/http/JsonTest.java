@@ -0,0 +1,50 @@
+package com.soen345.project.server.http;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class JsonTest {
+    @Test
+    public void object_writesValuesAndEscapesStrings() {
+        String json = Json.object("name", "a \"quoted\"\nvalue", "count", 3, "ok", true, "missing", null,
+                "items", Json.array(Arrays.asList("1", "2")));
+
+        assertEquals("{\"name\":\"a \\\"quoted\\\"\\u000avalue\",\"count\":3,\"ok\":true,\"missing\":null,\"items\":[1,2]}", json);
+    }
+
+    @Test
+    public void parseObject_readsFlatObject() {
+        Map<String, Object> values = Json.parseObject(" {\"tickets\": 2, \"price\": 1.5, \"note\": \"caf\\u00e9\", \"vip\": false, \"x\": null} ");
+
+        assertEquals(2L, values.get("tickets"));
+        assertEquals(1.5, values.get("price"));
+        assertEquals("caf\u00e9", values.get("note"));
+        assertEquals(Boolean.FALSE, values.get("vip"));
+        assertNull(values.get("x"));
+    }
+
+    @Test
+    public void parseObject_roundTripsWrittenObject() {
+        Map<String, Object> values = Json.parseObject(Json.object("error", "line1\nline2 \\ \"q\""));
+
+        assertEquals("line1\nline2 \\ \"q\"", values.get("error"));
+    }
+
+    @Test
+    public void parseObject_rejectsMalformedInput() {
+        for (String bad : new String[]{"", "[]", "{\"a\":}", "{\"a\":1", "{\"a\":1} x", "{\"a\":{}}"}) {
+            try {
+                Json.parseObject(bad);
+                fail("Expected IllegalArgumentException for " + bad);
+            } catch (IllegalArgumentException expected) {
+                // Malformed.
+            }
+        }
+    }
+}
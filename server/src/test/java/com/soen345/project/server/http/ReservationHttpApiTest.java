@@ -0,0 +1,201 @@
+package com.soen345.project.server.http;
+
+import com.soen345.project.auth.TokenBucketSignInLimiter;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.ReservationServer;
+import com.soen345.project.server.core.ReservationCore;
+import com.soen345.project.server.waitingroom.QueueTokenSigner;
+import com.soen345.project.server.waitingroom.WaitingRooms;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReservationHttpApiTest {
+    private final SessionTokens tokens = new SessionTokens("secret".getBytes(StandardCharsets.UTF_8), Clock.SYSTEM);
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private ReservationServer server;
+    private String admin;
+    private String alice;
+    private String bob;
+
+    @Before
+    public void setUp() throws IOException {
+        ReservationCore core = new ReservationCore(Clock.SYSTEM, ReservationServer.DEFAULT_HOLD_MILLIS);
+        server = ReservationServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                new ReservationHttpApi(core, tokens, new WaitingRooms(
+                        new QueueTokenSigner("queue-secret".getBytes(StandardCharsets.UTF_8)), Clock.SYSTEM, 60_000, 60_000)));
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        admin = tokens.issue("admin@example.com", UserRole.ADMIN, expiresAt);
+        alice = tokens.issue("alice@example.com", UserRole.CUSTOMER, expiresAt);
+        bob = tokens.issue("bob@example.com", UserRole.CUSTOMER, expiresAt);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void holdConfirmAndCancel_overHttp() throws Exception {
+        assertEquals(200, send("PUT", "/events/concert/inventory", admin, "{\"capacity\": 3}").statusCode());
+
+        HttpResponse<String> hold = send("POST", "/events/concert/holds", alice, "{\"tickets\": 2}");
+        assertEquals(201, hold.statusCode());
+        String holdId = (String) Json.parseObject(hold.body()).get("holdId");
+
+        HttpResponse<String> confirmed = send("POST", "/holds/" + holdId + "/confirm", alice, null);
+        assertEquals(201, confirmed.statusCode());
+        Map<String, Object> reservation = Json.parseObject(confirmed.body());
+        assertEquals("CONFIRMED", reservation.get("status"));
+
+        assertEquals(409, send("POST", "/events/concert/holds", bob, "{\"tickets\": 2}").statusCode());
+        assertTrue(send("GET", "/reservations", alice, null).body().contains("\"status\":\"CONFIRMED\""));
+
+        HttpResponse<String> cancelled = send("DELETE", "/reservations/" + reservation.get("reservationId"), alice, null);
+        assertEquals("CANCELLED", Json.parseObject(cancelled.body()).get("status"));
+        assertEquals(3L, Json.parseObject(send("GET", "/events/concert/inventory", bob, null).body()).get("available"));
+    }
+
+    @Test
+    public void releaseHold_returnsNoContent() throws Exception {
+        send("PUT", "/events/concert/inventory", admin, "{\"capacity\": 3}");
+        String holdId = (String) Json.parseObject(send("POST", "/events/concert/holds", alice, "{\"tickets\": 1}").body()).get("holdId");
+
+        assertEquals(403, send("DELETE", "/holds/" + holdId, bob, null).statusCode());
+        assertEquals(204, send("DELETE", "/holds/" + holdId, alice, null).statusCode());
+    }
+
+    @Test
+    public void errors_mapToStatusCodes() throws Exception {
+        assertEquals(401, send("GET", "/reservations", null, null).statusCode());
+        assertEquals(401, send("GET", "/reservations", alice + "x", null).statusCode());
+        assertEquals(403, send("PUT", "/events/concert/inventory", alice, "{\"capacity\": 3}").statusCode());
+        assertEquals(404, send("GET", "/events/unknown/inventory", alice, null).statusCode());
+        assertEquals(404, send("GET", "/nowhere", alice, null).statusCode());
+        assertEquals(400, send("PUT", "/events/concert/inventory", admin, "{\"capacity\": \"lots\"}").statusCode());
+        assertEquals(400, send("PUT", "/events/concert/inventory", admin, "not json").statusCode());
+        assertEquals(405, send("POST", "/events/concert/inventory", admin, "{}").statusCode());
+
+        HttpResponse<String> error = send("POST", "/events/unknown/holds", alice, "{\"tickets\": 1}");
+        assertEquals("Event not found", Json.parseObject(error.body()).get("error"));
+    }
+
+    @Test
+    public void salesDashboard_overHttp() throws Exception {
+        send("PUT", "/events/concert/inventory", admin, "{\"capacity\": 10}");
+        assertEquals(200, send("PUT", "/events/concert/details", admin, "{\"category\": \"MUSIC\", \"priceCents\": 2500}").statusCode());
+        String holdId = (String) Json.parseObject(send("POST", "/events/concert/holds", alice, "{\"tickets\": 2}").body()).get("holdId");
+        send("POST", "/holds/" + holdId + "/confirm", alice, null);
+
+        Map<String, Object> event = Json.parseObject(send("GET", "/events/concert/sales", admin, null).body());
+        Map<String, Object> category = Json.parseObject(send("GET", "/sales/categories/MUSIC", admin, null).body());
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+        Map<String, Object> day = Json.parseObject(send("GET", "/sales/days/" + today, admin, null).body());
+
+        assertEquals(5_000L, event.get("revenueCents"));
+        assertEquals(0.2, event.get("occupancy"));
+        assertEquals(2L, category.get("tickets"));
+        assertEquals(1L, day.get("reservations"));
+        assertEquals(403, send("GET", "/sales/categories/MUSIC", alice, null).statusCode());
+        assertEquals(400, send("GET", "/sales/days/yesterday", admin, null).statusCode());
+        assertEquals(400, send("PUT", "/events/concert/details", admin, "{\"category\": 3, \"priceCents\": 1}").statusCode());
+    }
+
+    @Test
+    public void openQueue_gatesHoldsUntilTheServerAdmitsTheToken() throws Exception {
+        send("PUT", "/events/concert/inventory", admin, "{\"capacity\": 10}");
+        send("PUT", "/events/slow/inventory", admin, "{\"capacity\": 10}");
+        assertEquals(403, send("PUT", "/events/concert/queue", alice, "{\"admitsPerSecond\": 1000}").statusCode());
+        assertEquals(204, send("PUT", "/events/concert/queue", admin, "{\"admitsPerSecond\": 1000}").statusCode());
+        assertEquals(204, send("PUT", "/events/slow/queue", admin, "{\"admitsPerSecond\": 0.001}").statusCode());
+
+        String slowToken = (String) Json.parseObject(send("POST", "/events/slow/queue", bob, null).body()).get("token");
+        assertEquals("WAITING", Json.parseObject(send("GET", "/events/slow/queue/" + slowToken, bob, null).body()).get("state"));
+        assertEquals(403, send("POST", "/events/slow/holds", bob, "{\"tickets\": 1, \"queueToken\": \"" + slowToken + "\"}").statusCode());
+
+        HttpResponse<String> joined = send("POST", "/events/concert/queue", alice, null);
+        assertEquals(201, joined.statusCode());
+        String token = (String) Json.parseObject(joined.body()).get("token");
+        assertEquals(403, send("POST", "/events/concert/holds", alice, "{\"tickets\": 1}").statusCode());
+        // A token only works for the account it was issued to.
+        assertEquals("INVALID", Json.parseObject(send("GET", "/events/concert/queue/" + token, bob, null).body()).get("state"));
+        Thread.sleep(50);
+        assertEquals("ADMITTED", Json.parseObject(send("GET", "/events/concert/queue/" + token, alice, null).body()).get("state"));
+        // A hold that fails hands the admission back for a retry.
+        assertEquals(400, send("POST", "/events/concert/holds", alice, "{\"tickets\": 0, \"queueToken\": \"" + token + "\"}").statusCode());
+        String hold = "{\"tickets\": 1, \"queueToken\": \"" + token + "\"}";
+        assertEquals(201, send("POST", "/events/concert/holds", alice, hold).statusCode());
+        // The admission is used up by the hold it let through.
+        assertEquals(403, send("POST", "/events/concert/holds", alice, hold).statusCode());
+
+        assertEquals(204, send("DELETE", "/events/concert/queue", admin, null).statusCode());
+        assertEquals(201, send("POST", "/events/concert/holds", alice, "{\"tickets\": 1}").statusCode());
+        assertEquals(404, send("GET", "/events/concert/queue/" + token, alice, null).statusCode());
+    }
+
+    @Test
+    public void badTokens_throttleTheClientAddressButValidTokensStillPass() throws Exception {
+        long[] now = {1_000};
+        ReservationCore core = new ReservationCore(Clock.SYSTEM, ReservationServer.DEFAULT_HOLD_MILLIS);
+        ReservationServer limited = ReservationServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                new ReservationHttpApi(core, tokens, null,
+                        new TokenBucketSignInLimiter(() -> now[0], 2, 30_000, 1, 30_000, 60_000, 16, 64)));
+        try {
+            String forged = "alice@example.com|ADMIN|9999999999999|0000";
+            assertEquals(401, send(limited, "GET", "/reservations", forged, null).statusCode());
+            assertEquals(401, send(limited, "GET", "/reservations", forged, null).statusCode());
+
+            HttpResponse<String> throttled = send(limited, "GET", "/reservations", forged, null);
+            assertEquals(429, throttled.statusCode());
+            assertEquals("30", throttled.headers().firstValue("Retry-After").orElse(null));
+            assertEquals(200, send(limited, "GET", "/reservations", alice, null).statusCode());
+            // No token at all is not a guess, so it still gets the plain sign-in prompt.
+            assertEquals(401, send(limited, "GET", "/reservations", null, null).statusCode());
+
+            now[0] += 30_000;
+            assertEquals(401, send(limited, "GET", "/reservations", forged, null).statusCode());
+        } finally {
+            limited.stop();
+        }
+    }
+
+    @Test
+    public void badTokens_withoutALimiter_areNeverThrottled() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            HttpResponse<String> response = send("GET", "/reservations", "not-a-token", null);
+            assertEquals(401, response.statusCode());
+            assertFalse(response.headers().firstValue("Retry-After").isPresent());
+        }
+    }
+
+    private HttpResponse<String> send(String method, String path, String token, String body) throws Exception {
+        return send(server, method, path, token, body);
+    }
+
+    private HttpResponse<String> send(ReservationServer target, String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + target.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
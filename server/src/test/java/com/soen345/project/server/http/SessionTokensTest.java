@@ -0,0 +1,52 @@
+package com.soen345.project.server.http;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class SessionTokensTest {
+    private final long[] now = {1_000L};
+    private final Clock clock = () -> now[0];
+    private final SessionTokens tokens = new SessionTokens("secret".getBytes(StandardCharsets.UTF_8), clock);
+
+    @Test
+    public void verify_acceptsIssuedTokenUntilExpiry() {
+        String token = tokens.issue(" Alice@Example.com ", UserRole.ADMIN, 5_000L);
+
+        AuthSession session = tokens.verify(token);
+        assertEquals("alice@example.com", session.getEmail());
+        assertEquals(UserRole.ADMIN, session.getRole());
+
+        now[0] = 5_000L;
+        assertNull(tokens.verify(token));
+    }
+
+    @Test
+    public void verify_rejectsTamperedOrForeignTokens() {
+        String token = tokens.issue("alice@example.com", UserRole.CUSTOMER, 5_000L);
+        SessionTokens other = new SessionTokens("other".getBytes(StandardCharsets.UTF_8), clock);
+
+        assertNull(tokens.verify(token.replace("CUSTOMER", "ADMIN")));
+        assertNull(other.verify(token));
+        assertNull(tokens.verify("garbage"));
+        assertNull(tokens.verify(null));
+    }
+
+    @Test
+    public void issue_requiresValidEmail() {
+        try {
+            tokens.issue("not-an-email", UserRole.CUSTOMER, 5_000L);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("a valid email and role are required", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.soen345.project.server.storage;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.core.InventorySnapshot;
+import com.soen345.project.server.core.Reservation;
+import com.soen345.project.server.core.ReservationCore;
+import com.soen345.project.server.core.ReservationException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+// Kills a real server process at random moments and checks that every reservation it acknowledged
+// is still there after recovery, and that the books still balance.
+public class CrashRecoveryTest {
+    private static final String EVENT_ID = "concert";
+    private static final int CAPACITY = 1_000_000;
+    private static final int USERS = 20;
+    private static final int WORKER_THREADS = 4;
+    private static final int ROUNDS = 4;
+    private static final long HOLD_MILLIS = 10 * 60_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void killedMidWrite_acknowledgedReservationsSurvive() throws Exception {
+        File dir = folder.newFolder();
+        Random random = new Random(345);
+        Map<String, Integer> confirmed = new HashMap<>();
+        Set<String> cancelled = new HashSet<>();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Process worker = new ProcessBuilder(
+                    javaExecutable(), "-cp", System.getProperty("java.class.path"),
+                    Worker.class.getName(), dir.getAbsolutePath())
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            BufferedReader out = new BufferedReader(new InputStreamReader(worker.getInputStream(), StandardCharsets.UTF_8));
+            assertEquals("READY", out.readLine());
+            Thread reader = new Thread(() -> readAcknowledgements(out, confirmed, cancelled));
+            reader.start();
+            Thread.sleep(150 + random.nextInt(400));
+            worker.destroyForcibly();
+            worker.waitFor();
+            reader.join();
+
+            ReservationStore store = ReservationStore.open(dir, Clock.SYSTEM, HOLD_MILLIS, 0);
+            verify(store.getCore(), confirmed, cancelled);
+            store.close();
+        }
+        assertFalse("the worker never acknowledged anything", confirmed.isEmpty());
+    }
+
+    private static void verify(ReservationCore core, Map<String, Integer> confirmed, Set<String> cancelled) throws ReservationException {
+        Map<String, Reservation> recovered = new HashMap<>();
+        int activeTickets = 0;
+        for (int u = 0; u < USERS; u++) {
+            for (Reservation reservation : core.reservationsFor(user(u))) {
+                recovered.put(reservation.getId(), reservation);
+                if (!reservation.isCancelled()) {
+                    activeTickets += reservation.getTickets();
+                }
+            }
+        }
+        synchronized (confirmed) {
+            for (Map.Entry<String, Integer> entry : confirmed.entrySet()) {
+                Reservation reservation = recovered.get(entry.getKey());
+                assertNotNull("lost acknowledged reservation " + entry.getKey(), reservation);
+                assertEquals(entry.getValue().intValue(), reservation.getTickets());
+            }
+            for (String id : cancelled) {
+                assertTrue("lost acknowledged cancellation " + id, recovered.get(id).isCancelled());
+            }
+        }
+        InventorySnapshot inventory = core.getInventory(EVENT_ID);
+        assertEquals(activeTickets, inventory.getReserved());
+        assertTrue(inventory.getHeld() >= 0);
+        assertTrue(inventory.getHeld() + inventory.getReserved() <= inventory.getCapacity());
+    }
+
+    private static void readAcknowledgements(BufferedReader out, Map<String, Integer> confirmed, Set<String> cancelled) {
+        try {
+            String line;
+            while ((line = out.readLine()) != null) {
+                String[] parts = line.split(" ");
+                synchronized (confirmed) {
+                    if (parts[0].equals("CONFIRMED") && parts.length == 3) {
+                        confirmed.put(parts[1], Integer.parseInt(parts[2]));
+                    } else if (parts[0].equals("CANCELLED") && parts.length == 2) {
+                        cancelled.add(parts[1]);
+                    }
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // The process died mid-line; that acknowledgement was never complete.
+        }
+    }
+
+    private static String javaExecutable() {
+        return System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    }
+
+    private static AuthSession user(int index) {
+        return new AuthSession("user" + index + "@example.com", UserRole.CUSTOMER);
+    }
+
+    // Runs until killed. A line is printed only after the call returned, which means the change is durable.
+    public static final class Worker {
+        public static void main(String[] args) throws Exception {
+            ReservationStore store = ReservationStore.open(new File(args[0]), Clock.SYSTEM, HOLD_MILLIS, 100_000);
+            ReservationCore core = store.getCore();
+            AuthSession admin = new AuthSession("admin@example.com", UserRole.ADMIN);
+            try {
+                core.getInventory(EVENT_ID);
+            } catch (ReservationException e) {
+                core.setCapacity(admin, EVENT_ID, CAPACITY);
+            }
+            System.out.println("READY");
+            System.out.flush();
+            for (int t = 0; t < WORKER_THREADS; t++) {
+                new Thread(() -> run(store)).start();
+            }
+        }
+
+        private static void run(ReservationStore store) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            ReservationCore core = store.getCore();
+            while (true) {
+                AuthSession user = user(random.nextInt(USERS));
+                try {
+                    String holdId = core.hold(user, EVENT_ID, 1 + random.nextInt(4)).getId();
+                    int roll = random.nextInt(10);
+                    if (roll == 0) {
+                        core.release(user, holdId);
+                        continue;
+                    }
+                    if (roll == 1) {
+                        // Left for recovery to restore as a live hold.
+                        continue;
+                    }
+                    Reservation reservation = core.confirm(user, holdId);
+                    acknowledge("CONFIRMED " + reservation.getId() + " " + reservation.getTickets());
+                    if (roll == 2) {
+                        core.cancel(user, reservation.getId());
+                        acknowledge("CANCELLED " + reservation.getId());
+                    }
+                    if (roll == 3 && random.nextInt(50) == 0) {
+                        store.snapshot();
+                    }
+                } catch (ReservationException | IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        private static synchronized void acknowledge(String line) {
+            System.out.println(line);
+            System.out.flush();
+        }
+    }
+}
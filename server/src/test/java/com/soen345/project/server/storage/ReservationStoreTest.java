@@ -0,0 +1,236 @@
+package com.soen345.project.server.storage;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.core.Hold;
+import com.soen345.project.server.core.InventorySnapshot;
+import com.soen345.project.server.core.Reservation;
+import com.soen345.project.server.core.ReservationCore;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ReservationStoreTest {
+    private static final AuthSession ADMIN = new AuthSession("admin@example.com", UserRole.ADMIN);
+    private static final AuthSession ALICE = new AuthSession("alice@example.com", UserRole.CUSTOMER);
+    private static final AuthSession BOB = new AuthSession("bob@example.com", UserRole.CUSTOMER);
+    private static final long HOLD_MILLIS = 60_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final long[] now = {1_000L};
+    private final Clock clock = () -> now[0];
+
+    @Test
+    public void reopen_restoresStateFromTheJournal() throws Exception {
+        File dir = folder.newFolder();
+        ReservationStore store = open(dir);
+        ReservationCore core = store.getCore();
+        core.setCapacity(ADMIN, "concert", 8);
+        Reservation reservation = core.confirm(ALICE, core.hold(ALICE, "concert", 3).getId());
+        Hold pending = core.hold(BOB, "concert", 2);
+        store.close();
+
+        ReservationStore reopened = open(dir);
+        InventorySnapshot inventory = reopened.getCore().getInventory("concert");
+        assertEquals(8, inventory.getCapacity());
+        assertEquals(2, inventory.getHeld());
+        assertEquals(3, inventory.getReserved());
+        assertEquals(reservation.getId(), reopened.getCore().reservationsFor(ALICE).get(0).getId());
+        // The hold survives too and can still be confirmed by its owner.
+        assertEquals(2, reopened.getCore().confirm(BOB, pending.getId()).getTickets());
+        reopened.close();
+    }
+
+    @Test
+    public void reopen_afterSnapshot_loadsSnapshotPlusJournalTail() throws Exception {
+        File dir = folder.newFolder();
+        ReservationStore store = open(dir);
+        ReservationCore core = store.getCore();
+        core.setCapacity(ADMIN, "concert", 10);
+        Reservation first = core.confirm(ALICE, core.hold(ALICE, "concert", 2).getId());
+        long position = store.snapshot();
+        Reservation second = core.confirm(BOB, core.hold(BOB, "concert", 4).getId());
+        core.cancel(ALICE, first.getId());
+        store.close();
+
+        assertEquals(3, position);
+        assertEquals(1, WriteAheadLog.journalFiles(dir).size());
+
+        ReservationStore reopened = open(dir);
+        assertEquals(position, reopened.getSnapshotPosition());
+        InventorySnapshot inventory = reopened.getCore().getInventory("concert");
+        assertEquals(4, inventory.getReserved());
+        assertEquals(0, inventory.getHeld());
+        assertTrue(reopened.getCore().reservationsFor(ALICE).get(0).isCancelled());
+        assertEquals(second.getId(), reopened.getCore().reservationsFor(BOB).get(0).getId());
+        reopened.close();
+    }
+
+    @Test
+    public void reopen_continuesIdsWithoutReusingThem() throws Exception {
+        File dir = folder.newFolder();
+        ReservationStore store = open(dir);
+        store.getCore().setCapacity(ADMIN, "concert", 10);
+        Hold first = store.getCore().hold(ALICE, "concert", 1);
+        store.snapshot();
+        Hold second = store.getCore().hold(ALICE, "concert", 1);
+        store.close();
+
+        ReservationStore reopened = open(dir);
+        Hold third = reopened.getCore().hold(BOB, "concert", 1);
+        assertNotEquals(first.getId(), third.getId());
+        assertNotEquals(second.getId(), third.getId());
+        reopened.close();
+    }
+
+    @Test
+    public void snapshot_replacesTheOlderSnapshotAndJournal() throws Exception {
+        File dir = folder.newFolder();
+        ReservationStore store = open(dir);
+        store.getCore().setCapacity(ADMIN, "concert", 10);
+        store.snapshot();
+        store.getCore().hold(ALICE, "concert", 1);
+        assertFalse(store.snapshotIfDue(2));
+        store.getCore().hold(ALICE, "concert", 1);
+        assertTrue(store.snapshotIfDue(2));
+        store.close();
+
+        String[] snapshots = dir.list((d, name) -> name.startsWith("snapshot-"));
+        assertEquals(1, snapshots.length);
+        assertEquals("snapshot-3.bin", snapshots[0]);
+        assertEquals(1, WriteAheadLog.journalFiles(dir).size());
+    }
+
+    @Test
+    public void open_ignoresAnUnfinishedSnapshot() throws Exception {
+        File dir = folder.newFolder();
+        ReservationStore store = open(dir);
+        store.getCore().setCapacity(ADMIN, "concert", 10);
+        store.getCore().hold(ALICE, "concert", 2);
+        store.close();
+        // A crash between writing the temporary file and renaming it leaves this behind.
+        Files.write(new File(dir, "snapshot-99.bin.tmp").toPath(), new byte[]{1, 2, 3});
+
+        ReservationStore reopened = open(dir);
+        assertEquals(0, reopened.getSnapshotPosition());
+        assertEquals(2, reopened.getCore().getInventory("concert").getHeld());
+        reopened.close();
+    }
+
+    @Test
+    public void open_corruptSnapshot_isAnError() throws Exception {
+        File dir = folder.newFolder();
+        ReservationStore store = open(dir);
+        store.getCore().setCapacity(ADMIN, "concert", 10);
+        store.snapshot();
+        store.close();
+        try (RandomAccessFile file = new RandomAccessFile(new File(dir, "snapshot-1.bin"), "rw")) {
+            file.seek(file.length() - 1);
+            file.write(file.readByte() ^ 0xFF);
+        }
+
+        try {
+            open(dir);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // Falling back to nothing would silently lose every reservation the snapshot held.
+        }
+    }
+
+    @Test
+    public void expiredHolds_stayExpiredAfterRecovery() throws Exception {
+        File dir = folder.newFolder();
+        ReservationStore store = open(dir);
+        store.getCore().setCapacity(ADMIN, "concert", 3);
+        store.getCore().hold(ALICE, "concert", 3);
+        store.close();
+
+        now[0] += HOLD_MILLIS;
+        ReservationStore reopened = open(dir);
+        InventorySnapshot inventory = reopened.getCore().getInventory("concert");
+        assertEquals(0, inventory.getHeld());
+        assertEquals(3, inventory.getAvailable());
+        List<Reservation> none = reopened.getCore().reservationsFor(ALICE);
+        assertTrue(none.isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    public void transfers_surviveReopenOnBothNodes() throws Exception {
+        File sourceDir = folder.newFolder();
+        File targetDir = folder.newFolder();
+        ReservationStore source = ReservationStore.open(sourceDir, clock, HOLD_MILLIS, 0, "n1-");
+        ReservationStore target = ReservationStore.open(targetDir, clock, HOLD_MILLIS, 0, "n2-");
+        source.getCore().setCapacity(ADMIN, "concert", 10);
+        Reservation reservation = source.getCore().confirm(ALICE, source.getCore().hold(ALICE, "concert", 2).getId());
+        source.getCore().transferEvent("concert", target.getCore()::importEvent);
+        source.close();
+        target.close();
+
+        ReservationStore reopenedSource = ReservationStore.open(sourceDir, clock, HOLD_MILLIS, 0, "n1-");
+        ReservationStore reopenedTarget = ReservationStore.open(targetDir, clock, HOLD_MILLIS, 0, "n2-");
+        assertFalse(reopenedSource.getCore().hasEvent("concert"));
+        assertEquals(2, reopenedTarget.getCore().getInventory("concert").getReserved());
+        assertEquals(reservation.getId(), reopenedTarget.getCore().reservationsFor(ALICE).get(0).getId());
+        reopenedSource.close();
+        reopenedTarget.close();
+    }
+
+    @Test
+    public void open_discardsAnImportCutShortByACrash() throws Exception {
+        File sourceDir = folder.newFolder();
+        File targetDir = folder.newFolder();
+        ReservationStore source = ReservationStore.open(sourceDir, clock, HOLD_MILLIS, 0, "n1-");
+        ReservationStore target = ReservationStore.open(targetDir, clock, HOLD_MILLIS, 0, "n2-");
+        source.getCore().setCapacity(ADMIN, "concert", 10);
+        source.getCore().confirm(ALICE, source.getCore().hold(ALICE, "concert", 2).getId());
+        byte[][] state = new byte[1][];
+        try {
+            source.getCore().transferEvent("concert", bytes -> {
+                state[0] = bytes;
+                throw new IOException("connection reset");
+            });
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // The sender keeps the event.
+        }
+        // The receiver journals only the first half of the transfer before dying.
+        try {
+            target.getCore().importEvent(Arrays.copyOf(state[0], state[0].length / 2));
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // Truncated transfer.
+        }
+        target.close();
+
+        ReservationStore reopened = ReservationStore.open(targetDir, clock, HOLD_MILLIS, 0, "n2-");
+        assertFalse(reopened.getCore().hasEvent("concert"));
+        assertTrue(reopened.getCore().reservationsFor(ALICE).isEmpty());
+        // The sender can retry and the receiver accepts the full copy.
+        source.getCore().transferEvent("concert", reopened.getCore()::importEvent);
+        assertEquals(2, reopened.getCore().getInventory("concert").getReserved());
+        reopened.close();
+        source.close();
+    }
+
+    private ReservationStore open(File dir) throws IOException {
+        return ReservationStore.open(dir, clock, HOLD_MILLIS, 0);
+    }
+}
@@ -0,0 +1,87 @@
+package com.soen345.project.server.storage;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.core.ReservationCore;
+import com.soen345.project.server.core.ReservationException;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class WriteAheadLogBenchmarkTest {
+    private static final AuthSession ADMIN = new AuthSession("admin@example.com", UserRole.ADMIN);
+    private static final int THREADS = 32;
+    private static final int COMMITS_PER_THREAD = 60;
+    private static final int SERIAL_COMMITS = 300;
+    private static final long[] BATCH_WINDOWS_NANOS = {0, 100_000, 500_000, 2_000_000};
+    private static final int WARMUP_ROUNDS = 1;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void groupCommitThroughputByBatchWindow() throws Exception {
+        Assume.assumeTrue("Run with ./gradlew :server:benchmarkTest", Boolean.getBoolean("benchmarks"));
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            boolean report = round == WARMUP_ROUNDS;
+            run("serial", 0, 1, SERIAL_COMMITS, report);
+            for (long window : BATCH_WINDOWS_NANOS) {
+                run("window=" + window / 1000 + "us", window, THREADS, COMMITS_PER_THREAD, report);
+            }
+        }
+    }
+
+    private void run(String label, long batchWindowNanos, int threads, int commitsPerThread, boolean report) throws Exception {
+        File dir = folder.newFolder();
+        WriteAheadLog log = WriteAheadLog.open(dir, 0, batchWindowNanos);
+        ReservationCore core = new ReservationCore(Clock.SYSTEM, 60_000, log);
+        core.setCapacity(ADMIN, "concert", threads * commitsPerThread);
+        long syncsBefore = log.getSyncCount();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            AuthSession user = new AuthSession("user" + t + "@example.com", UserRole.CUSTOMER);
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < commitsPerThread; i++) {
+                        core.hold(user, "concert", 1);
+                    }
+                } catch (InterruptedException | ReservationException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        done.await(5, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+        long syncs = log.getSyncCount() - syncsBefore;
+        log.close();
+
+        int commits = threads * commitsPerThread;
+        ReservationCore recovered = new ReservationCore(Clock.SYSTEM, 60_000);
+        WriteAheadLog.replay(dir, 0, recovered::replay);
+        assertEquals(commits, recovered.getInventory("concert").getHeld());
+        if (report) {
+            System.out.printf("WAL benchmark %s threads=%d: %.0f commits/s, %.1f records/fsync, %.1fus/commit latency%n",
+                    label, threads, commits * 1e9 / elapsedNanos, (double) commits / Math.max(1, syncs),
+                    elapsedNanos / 1000.0 * threads / commits);
+        }
+    }
+}
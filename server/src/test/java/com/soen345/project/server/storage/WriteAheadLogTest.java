@@ -0,0 +1,253 @@
+package com.soen345.project.server.storage;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.server.core.Hold;
+import com.soen345.project.server.core.InventorySnapshot;
+import com.soen345.project.server.core.Reservation;
+import com.soen345.project.server.core.ReservationCore;
+import com.soen345.project.server.core.ReservationException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WriteAheadLogTest {
+    private static final AuthSession ADMIN = new AuthSession("admin@example.com", UserRole.ADMIN);
+    private static final AuthSession ALICE = new AuthSession("alice@example.com", UserRole.CUSTOMER);
+    private static final long HOLD_MILLIS = 60_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final long[] now = {1_000L};
+    private final Clock clock = () -> now[0];
+
+    @Test
+    public void replay_rebuildsTheStateThatWasJournaled() throws Exception {
+        File dir = folder.newFolder();
+        WriteAheadLog log = WriteAheadLog.open(dir, 0, 0);
+        ReservationCore core = new ReservationCore(clock, HOLD_MILLIS, log);
+        core.setCapacity(ADMIN, "concert", 10);
+        Hold kept = core.hold(ALICE, "concert", 3);
+        Hold dropped = core.hold(ALICE, "concert", 2);
+        Reservation confirmed = core.confirm(ALICE, kept.getId());
+        core.release(ALICE, dropped.getId());
+        Reservation cancelled = core.confirm(ALICE, core.hold(ALICE, "concert", 1).getId());
+        core.cancel(ALICE, cancelled.getId());
+        core.hold(ALICE, "concert", 4);
+        long last = log.lastPosition();
+        log.close();
+
+        ReservationCore recovered = new ReservationCore(clock, HOLD_MILLIS);
+        assertEquals(last, WriteAheadLog.replay(dir, 0, recovered::replay));
+
+        assertSameInventory(core.getInventory("concert"), recovered.getInventory("concert"));
+        List<Reservation> reservations = recovered.reservationsFor(ALICE);
+        assertEquals(2, reservations.size());
+        assertEquals(confirmed.getTickets(), find(reservations, confirmed.getId()).getTickets());
+        assertTrue(find(reservations, cancelled.getId()).isCancelled());
+    }
+
+    @Test
+    public void replay_afterPosition_skipsRecordsAlreadyInASnapshot() throws Exception {
+        File dir = folder.newFolder();
+        WriteAheadLog log = WriteAheadLog.open(dir, 0, 0);
+        ReservationCore core = new ReservationCore(clock, HOLD_MILLIS, log);
+        core.setCapacity(ADMIN, "concert", 10);
+        core.hold(ALICE, "concert", 1);
+        core.hold(ALICE, "concert", 2);
+        log.close();
+
+        int[] seen = {0};
+        assertEquals(3, WriteAheadLog.replay(dir, 2, record -> seen[0]++));
+        assertEquals(1, seen[0]);
+    }
+
+    @Test
+    public void replay_tornTail_keepsTheLongestValidPrefix() throws Exception {
+        File source = folder.newFolder();
+        WriteAheadLog log = WriteAheadLog.open(source, 0, 0);
+        ReservationCore core = new ReservationCore(clock, HOLD_MILLIS, log);
+        core.setCapacity(ADMIN, "concert", 1_000);
+        for (int i = 0; i < 50; i++) {
+            core.hold(new AuthSession("user" + i + "@example.com", UserRole.CUSTOMER), "concert", 1);
+        }
+        log.close();
+        File journal = WriteAheadLog.journalFiles(source).get(0);
+        long fullLength = journal.length();
+
+        Random random = new Random(42);
+        for (int trial = 0; trial < 40; trial++) {
+            long cut = trial == 0 ? fullLength : random.nextInt((int) fullLength);
+            File dir = copyOf(source);
+            File copy = new File(dir, journal.getName());
+            try (RandomAccessFile file = new RandomAccessFile(copy, "rw")) {
+                file.setLength(cut);
+            }
+
+            ReservationCore recovered = new ReservationCore(clock, HOLD_MILLIS);
+            long last = WriteAheadLog.replay(dir, 0, recovered::replay);
+
+            // Every surviving record is a whole hold of one ticket, in the order they were made.
+            int held = last == 0 ? 0 : recovered.getInventory("concert").getHeld();
+            assertEquals(Math.max(0, last - 1), held);
+            assertTrue(copy.length() <= cut);
+            if (trial == 0) {
+                assertEquals(50, held);
+            }
+
+            // The truncated journal accepts new records right after the surviving prefix.
+            if (last > 0) {
+                WriteAheadLog reopened = WriteAheadLog.open(dir, last, 0);
+                ReservationCore continued = new ReservationCore(clock, HOLD_MILLIS, reopened);
+                WriteAheadLog.replay(dir, 0, continued::replay);
+                continued.hold(ALICE, "concert", 1);
+                reopened.close();
+                assertEquals(last + 1, WriteAheadLog.replay(dir, 0, record -> { }));
+            }
+        }
+    }
+
+    @Test
+    public void replay_garbageAfterTheLastFrame_isCutOff() throws Exception {
+        File dir = folder.newFolder();
+        WriteAheadLog log = WriteAheadLog.open(dir, 0, 0);
+        ReservationCore core = new ReservationCore(clock, HOLD_MILLIS, log);
+        core.setCapacity(ADMIN, "concert", 10);
+        core.hold(ALICE, "concert", 2);
+        log.close();
+        File journal = WriteAheadLog.journalFiles(dir).get(0);
+        long validLength = journal.length();
+        byte[] garbage = new byte[37];
+        new Random(7).nextBytes(garbage);
+        Files.write(journal.toPath(), garbage, StandardOpenOption.APPEND);
+
+        assertEquals(2, WriteAheadLog.replay(dir, 0, record -> { }));
+        assertEquals(validLength, journal.length());
+    }
+
+    @Test
+    public void replay_corruptionInAnOlderFile_isAnError() throws Exception {
+        File dir = folder.newFolder();
+        WriteAheadLog log = WriteAheadLog.open(dir, 0, 0);
+        ReservationCore core = new ReservationCore(clock, HOLD_MILLIS, log);
+        core.setCapacity(ADMIN, "concert", 10);
+        core.hold(ALICE, "concert", 2);
+        log.rotate();
+        core.hold(ALICE, "concert", 1);
+        log.close();
+        File older = WriteAheadLog.journalFiles(dir).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(older, "rw")) {
+            file.seek(20);
+            file.write(0xFF);
+        }
+
+        try {
+            WriteAheadLog.replay(dir, 0, record -> { });
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // Records after the damage cannot be trusted or skipped.
+        }
+    }
+
+    @Test
+    public void rotate_startsANewFileAndDeleteOlderFilesDropsTheCoveredOnes() throws Exception {
+        File dir = folder.newFolder();
+        WriteAheadLog log = WriteAheadLog.open(dir, 0, 0);
+        ReservationCore core = new ReservationCore(clock, HOLD_MILLIS, log);
+        core.setCapacity(ADMIN, "concert", 10);
+        core.hold(ALICE, "concert", 2);
+        log.rotate();
+        core.hold(ALICE, "concert", 1);
+
+        assertEquals(2, WriteAheadLog.journalFiles(dir).size());
+        log.deleteOlderFiles();
+        List<File> remaining = WriteAheadLog.journalFiles(dir);
+        assertEquals(1, remaining.size());
+        assertEquals("journal-3.log", remaining.get(0).getName());
+        log.close();
+
+        int[] seen = {0};
+        assertEquals(3, WriteAheadLog.replay(dir, 2, record -> seen[0]++));
+        assertEquals(1, seen[0]);
+    }
+
+    @Test
+    public void sync_concurrentCommits_shareFsyncs() throws Exception {
+        File dir = folder.newFolder();
+        WriteAheadLog log = WriteAheadLog.open(dir, 0, 1_000_000);
+        ReservationCore core = new ReservationCore(clock, HOLD_MILLIS, log);
+        core.setCapacity(ADMIN, "concert", 100_000);
+        long syncsBefore = log.getSyncCount();
+        int threads = 8;
+        int perThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger failures = new AtomicInteger();
+        Future<?>[] futures = new Future<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            AuthSession user = new AuthSession("user" + t + "@example.com", UserRole.CUSTOMER);
+            futures[t] = executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    try {
+                        core.hold(user, "concert", 1);
+                    } catch (ReservationException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        long syncs = log.getSyncCount() - syncsBefore;
+        log.close();
+
+        assertEquals(0, failures.get());
+        assertTrue("expected fewer fsyncs than commits, got " + syncs, syncs < threads * perThread);
+        ReservationCore recovered = new ReservationCore(clock, HOLD_MILLIS);
+        WriteAheadLog.replay(dir, 0, recovered::replay);
+        assertEquals(threads * perThread, recovered.getInventory("concert").getHeld());
+    }
+
+    private File copyOf(File source) throws IOException {
+        File dir = folder.newFolder();
+        for (File file : source.listFiles()) {
+            Files.copy(file.toPath(), new File(dir, file.getName()).toPath());
+        }
+        return dir;
+    }
+
+    private static Reservation find(List<Reservation> reservations, String id) {
+        for (Reservation reservation : reservations) {
+            if (reservation.getId().equals(id)) {
+                return reservation;
+            }
+        }
+        throw new AssertionError("Missing reservation " + id);
+    }
+
+    private static void assertSameInventory(InventorySnapshot expected, InventorySnapshot actual) {
+        assertEquals(expected.getCapacity(), actual.getCapacity());
+        assertEquals(expected.getHeld(), actual.getHeld());
+        assertEquals(expected.getReserved(), actual.getReserved());
+    }
+}
@@ -0,0 +1,69 @@
+package com.soen345.project.server.waitingroom;
+
+import com.soen345.project.waitingroom.QueueToken;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class QueueTokenSignerTest {
+    private final QueueTokenSigner signer = new QueueTokenSigner("secret".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    public void sign_producesVerifiableToken() {
+        QueueToken token = signer.sign("event-1", "user@example.com", 7, 1000L);
+
+        assertTrue(signer.verify(token));
+    }
+
+    @Test
+    public void encodeDecode_roundTripsAllFields() {
+        QueueToken token = signer.sign("event-1", "user@example.com", 7, 1000L);
+
+        QueueToken decoded = QueueToken.decode(token.encode());
+
+        assertEquals("event-1", decoded.getEventId());
+        assertEquals("user@example.com", decoded.getEmail());
+        assertEquals(7, decoded.getSequence());
+        assertEquals(1000L, decoded.getIssuedAtMillis());
+        assertTrue(signer.verify(decoded));
+    }
+
+    @Test
+    public void verify_withTamperedSequence_returnsFalse() {
+        String encoded = signer.sign("event-1", "user@example.com", 7, 1000L).encode();
+        String tampered = encoded.replace(".7.", ".1.");
+
+        assertFalse(signer.verify(QueueToken.decode(tampered)));
+    }
+
+    @Test
+    public void verify_withDifferentSecret_returnsFalse() {
+        QueueTokenSigner other = new QueueTokenSigner("other".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(other.verify(signer.sign("event-1", "user@example.com", 7, 1000L)));
+    }
+
+    @Test
+    public void decode_withMalformedInput_returnsNull() {
+        assertNull(QueueToken.decode(null));
+        assertNull(QueueToken.decode("abc"));
+        assertNull(QueueToken.decode("zz.zz.1.2.sig"));
+    }
+
+    @Test
+    public void constructor_withEmptySecret_throws() {
+        try {
+            new QueueTokenSigner(new byte[0]);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("secret cannot be empty", e.getMessage());
+        }
+    }
+}
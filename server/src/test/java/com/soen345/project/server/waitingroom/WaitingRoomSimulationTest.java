@@ -0,0 +1,102 @@
+package com.soen345.project.server.waitingroom;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.waitingroom.QueueStatus;
+import com.soen345.project.waitingroom.QueueToken;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WaitingRoomSimulationTest {
+    private static final int VIRTUAL_USERS = 100_000;
+    private static final double ADMITS_PER_SECOND = 500;
+    private static final long STEP_MILLIS = 100;
+    private static final long POLL_INTERVAL_MILLIS = 5_000;
+    private static final double ABANDON_RATE = 0.05;
+
+    @Test
+    public void onSaleSpike_keepsBackendLoadFlatAtTargetRate() {
+        long[] time = {0L};
+        Clock clock = () -> time[0];
+        WaitingRoom waitingRoom = new WaitingRoom(
+                "concert-1",
+                new QueueTokenSigner("simulation".getBytes(StandardCharsets.UTF_8)),
+                clock,
+                ADMITS_PER_SECOND,
+                3 * POLL_INTERVAL_MILLIS,
+                2 * POLL_INTERVAL_MILLIS
+        );
+        Random random = new Random(345);
+        AuthSession[] sessions = new AuthSession[VIRTUAL_USERS];
+        QueueToken[] tokens = new QueueToken[VIRTUAL_USERS];
+        long[] abandonAtMillis = new long[VIRTUAL_USERS];
+        boolean[] done = new boolean[VIRTUAL_USERS];
+
+        // Every virtual user arrives within the first second of the on-sale.
+        for (int i = 0; i < VIRTUAL_USERS; i++) {
+            time[0] = i * 1000L / VIRTUAL_USERS;
+            sessions[i] = new AuthSession("fan" + i + "@example.com", UserRole.CUSTOMER);
+            tokens[i] = waitingRoom.join(sessions[i]);
+            abandonAtMillis[i] = random.nextDouble() < ABANDON_RATE
+                    ? random.nextInt(60_000)
+                    : Long.MAX_VALUE;
+        }
+
+        int stepsPerPoll = (int) (POLL_INTERVAL_MILLIS / STEP_MILLIS);
+        int totalSeconds = (int) (VIRTUAL_USERS / ADMITS_PER_SECOND) + 60;
+        int[] backendCallsPerSecond = new int[totalSeconds];
+        int remaining = VIRTUAL_USERS;
+        for (long now = 1000; now < totalSeconds * 1000L && remaining > 0; now += STEP_MILLIS) {
+            time[0] = now;
+            int bucket = (int) ((now / STEP_MILLIS) % stepsPerPoll);
+            for (int i = bucket; i < VIRTUAL_USERS; i += stepsPerPoll) {
+                if (done[i]) {
+                    continue;
+                }
+                if (now >= abandonAtMillis[i]) {
+                    done[i] = true;
+                    remaining--;
+                    continue;
+                }
+                QueueStatus status = waitingRoom.getStatus(tokens[i], sessions[i]);
+                if (status.getState() == QueueStatus.State.ADMITTED
+                        && waitingRoom.tryClaimCheckout(tokens[i], sessions[i])) {
+                    backendCallsPerSecond[(int) (now / 1000)]++;
+                    waitingRoom.completeCheckout(tokens[i], sessions[i]);
+                    done[i] = true;
+                    remaining--;
+                } else if (status.getState() != QueueStatus.State.WAITING
+                        && status.getState() != QueueStatus.State.ADMITTED) {
+                    done[i] = true;
+                    remaining--;
+                }
+            }
+        }
+
+        // Skip the warm-up and drain seconds; in between the backend should see the target rate, not the spike.
+        int firstSteadySecond = (int) (POLL_INTERVAL_MILLIS / 1000) + 1;
+        int lastSteadySecond = (int) (VIRTUAL_USERS * (1 - ABANDON_RATE) / ADMITS_PER_SECOND) - 10;
+        long steadyTotal = 0;
+        int peak = 0;
+        for (int second = firstSteadySecond; second <= lastSteadySecond; second++) {
+            steadyTotal += backendCallsPerSecond[second];
+            peak = Math.max(peak, backendCallsPerSecond[second]);
+        }
+        double steadyAverage = steadyTotal / (double) (lastSteadySecond - firstSteadySecond + 1);
+
+        System.out.printf("WaitingRoom simulation: users=%d target=%.0f/s steadyAvg=%.1f/s peak=%d/s admitted=%d expired=%d%n",
+                VIRTUAL_USERS, ADMITS_PER_SECOND, steadyAverage, peak,
+                waitingRoom.getAdmittedTotal(), waitingRoom.getExpiredTotal());
+
+        assertEquals(0, remaining);
+        assertEquals(ADMITS_PER_SECOND, steadyAverage, ADMITS_PER_SECOND * 0.05);
+        assertTrue("peak backend load " + peak + "/s", peak <= ADMITS_PER_SECOND * 1.25);
+    }
+}
@@ -0,0 +1,180 @@
+package com.soen345.project.server.waitingroom;
+
+import com.soen345.project.auth.AuthSession;
+import com.soen345.project.auth.UserRole;
+import com.soen345.project.common.Clock;
+import com.soen345.project.waitingroom.QueueStatus;
+import com.soen345.project.waitingroom.QueueToken;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WaitingRoomTest {
+    private static final long ABANDON_TIMEOUT_MILLIS = 30_000;
+    private static final long CHECKOUT_WINDOW_MILLIS = 60_000;
+
+    private final long[] now = {0L};
+    private final Clock clock = () -> now[0];
+    private QueueTokenSigner signer;
+    private WaitingRoom waitingRoom;
+
+    @Before
+    public void setUp() {
+        signer = new QueueTokenSigner("secret".getBytes(StandardCharsets.UTF_8));
+        waitingRoom = new WaitingRoom("event-1", signer, clock, 2.0, ABANDON_TIMEOUT_MILLIS, CHECKOUT_WINDOW_MILLIS);
+    }
+
+    @Test
+    public void join_isIdempotentForSameSession() {
+        AuthSession session = session(1);
+
+        QueueToken first = waitingRoom.join(session);
+        QueueToken second = waitingRoom.join(session);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void getStatus_reportsLivePositionAndAdmitsAtConfiguredRate() {
+        QueueToken[] tokens = new QueueToken[5];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = waitingRoom.join(session(i));
+        }
+
+        assertEquals(5, waitingRoom.getStatus(tokens[4], session(4)).getPosition());
+
+        now[0] += 1000;
+
+        assertEquals(QueueStatus.State.ADMITTED, waitingRoom.getStatus(tokens[0], session(0)).getState());
+        assertEquals(QueueStatus.State.ADMITTED, waitingRoom.getStatus(tokens[1], session(1)).getState());
+        QueueStatus third = waitingRoom.getStatus(tokens[2], session(2));
+        assertEquals(QueueStatus.State.WAITING, third.getState());
+        assertEquals(1, third.getPosition());
+        assertEquals(500, third.getEstimatedWaitMillis());
+        assertEquals(3, waitingRoom.getStatus(tokens[4], session(4)).getPosition());
+    }
+
+    @Test
+    public void tryClaimCheckout_onlySucceedsOnceAdmitted() {
+        QueueToken[] tokens = new QueueToken[3];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = waitingRoom.join(session(i));
+        }
+
+        assertFalse(waitingRoom.tryClaimCheckout(tokens[0], session(0)));
+
+        now[0] += 500;
+
+        assertTrue(waitingRoom.tryClaimCheckout(tokens[0], session(0)));
+        assertFalse(waitingRoom.tryClaimCheckout(tokens[2], session(2)));
+    }
+
+    @Test
+    public void getStatus_withTokenForAnotherSession_isInvalid() {
+        QueueToken token = waitingRoom.join(session(1));
+
+        assertEquals(QueueStatus.State.INVALID, waitingRoom.getStatus(token, session(2)).getState());
+        assertFalse(waitingRoom.tryClaimCheckout(token, session(2)));
+    }
+
+    @Test
+    public void getStatus_withForgedToken_isInvalid() {
+        QueueTokenSigner forger = new QueueTokenSigner("forged".getBytes(StandardCharsets.UTF_8));
+        waitingRoom.join(session(1));
+
+        QueueToken forged = forger.sign("event-1", session(1).getEmail(), 1, 0);
+
+        assertEquals(QueueStatus.State.INVALID, waitingRoom.getStatus(forged, session(1)).getState());
+    }
+
+    @Test
+    public void abandonedWaitingEntries_expireAndFreePositions() {
+        QueueToken[] tokens = new QueueToken[6];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = waitingRoom.join(session(i));
+        }
+
+        now[0] += ABANDON_TIMEOUT_MILLIS - 1000;
+        waitingRoom.getStatus(tokens[5], session(5));
+        now[0] += 1000;
+
+        assertEquals(QueueStatus.State.EXPIRED, waitingRoom.getStatus(tokens[4], session(4)).getState());
+        assertEquals(QueueStatus.State.ADMITTED, waitingRoom.getStatus(tokens[5], session(5)).getState());
+    }
+
+    @Test
+    public void unusedCheckoutSlots_expireAfterWindow() {
+        QueueToken token = waitingRoom.join(session(1));
+        now[0] += 500;
+        assertEquals(QueueStatus.State.ADMITTED, waitingRoom.getStatus(token, session(1)).getState());
+
+        now[0] += CHECKOUT_WINDOW_MILLIS;
+
+        assertEquals(QueueStatus.State.EXPIRED, waitingRoom.getStatus(token, session(1)).getState());
+        assertEquals(0, waitingRoom.getAdmittedCount());
+        assertEquals(1, waitingRoom.getExpiredTotal());
+    }
+
+    @Test
+    public void completeCheckout_releasesSlot() {
+        QueueToken token = waitingRoom.join(session(1));
+        now[0] += 500;
+        assertTrue(waitingRoom.tryClaimCheckout(token, session(1)));
+
+        waitingRoom.completeCheckout(token, session(1));
+
+        assertEquals(0, waitingRoom.getAdmittedCount());
+        assertFalse(waitingRoom.tryClaimCheckout(token, session(1)));
+    }
+
+    @Test
+    public void tryClaimCheckout_letsOneHoldThroughUntilReleased() {
+        QueueToken token = waitingRoom.join(session(1));
+        now[0] += 500;
+
+        assertTrue(waitingRoom.tryClaimCheckout(token, session(1)));
+        assertFalse(waitingRoom.tryClaimCheckout(token, session(1)));
+
+        waitingRoom.releaseCheckout(token, session(1));
+
+        assertTrue(waitingRoom.tryClaimCheckout(token, session(1)));
+        assertEquals(1, waitingRoom.getAdmittedCount());
+    }
+
+    @Test
+    public void idleRoom_doesNotBankMoreThanOneSecondOfAdmissions() {
+        now[0] += 60_000;
+        for (int i = 0; i < 10; i++) {
+            waitingRoom.join(session(i));
+        }
+
+        assertEquals(2, waitingRoom.getAdmittedCount());
+        assertEquals(8, waitingRoom.getWaitingCount());
+    }
+
+    @Test
+    public void positions_remainCorrectPastInitialIndexCapacity() {
+        QueueToken last = null;
+        for (int i = 0; i < 5000; i++) {
+            last = waitingRoom.join(session(i));
+        }
+
+        assertEquals(5000, waitingRoom.getStatus(last, session(4999)).getPosition());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void join_withoutEmail_throws() {
+        waitingRoom.join(new AuthSession(null, UserRole.CUSTOMER));
+    }
+
+    private static AuthSession session(int index) {
+        return new AuthSession("user" + index + "@example.com", UserRole.CUSTOMER);
+    }
+}
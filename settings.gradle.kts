@@ -11,6 +11,10 @@ pluginManagement {
         gradlePluginPortal()
     }
 }
+plugins {
+    // Provisions the JDK 21 toolchain the server module needs when it is not installed locally.
+    id("org.gradle.toolchains.foojay-resolver-convention") version "1.0.0"
+}
 dependencyResolutionManagement {
     repositoriesMode.set(RepositoriesMode.FAIL_ON_PROJECT_REPOS)
     repositories {
@@ -21,3 +25,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "SOEN345-Project"
 include(":app")
+include(":server")
+include(":tools")
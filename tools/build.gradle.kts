@@ -0,0 +1,44 @@
+plugins {
+    java
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// Generators for the app's assets. They compile the app's own writers and names in, so a generated
+// asset always matches the code that reads it. Only Android-free files may be listed here.
+sourceSets {
+    main {
+        java {
+            srcDir("../app/src/main/java")
+            include(
+                "com/soen345/project/tools/**",
+                "com/soen345/project/auth/BreachedPasswordSet.java",
+                "com/soen345/project/events/EventFields.java",
+                "com/soen345/project/events/catalog/CatalogBundle.java"
+            )
+        }
+    }
+}
+
+dependencies {
+    implementation(libs.firebase.admin)
+    testImplementation(libs.junit)
+}
+
+// Release step, run against the production project with Admin credentials in GOOGLE_APPLICATION_CREDENTIALS:
+// ./gradlew :tools:eventCatalogBundle -PfirebaseProjectId=my-project
+// The bundle holds live event data, so it is written into the app's release assets and not checked in.
+tasks.register<JavaExec>("eventCatalogBundle") {
+    group = "distribution"
+    description = "Exports the events collection as the catalog bundle packaged by the app's release build."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "com.soen345.project.tools.EventCatalogBundleTool"
+    val projectId = project.findProperty("firebaseProjectId")?.toString()
+    doFirst {
+        require(projectId != null) { "Pass the Firebase project with -PfirebaseProjectId=<id>" }
+    }
+    args(projectId ?: "", rootProject.file("app/src/release/assets/event_catalog.bundle").absolutePath)
+}
@@ -0,0 +1,53 @@
+package com.soen345.project.tools;
+
+import com.soen345.project.auth.BreachedPasswordSet;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Compiles a breached-password list into the set BreachedPasswordPolicy maps. Run by the app's
+// breachedPasswordSet task: BreachedPasswordSetTool <list.txt> <topN> <output>
+public final class BreachedPasswordSetTool {
+    private BreachedPasswordSetTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("usage: BreachedPasswordSetTool <list.txt> <topN> <output>");
+        }
+        int limit = Integer.parseInt(args[1]);
+        List<String> passwords;
+        try (BufferedReader reader = Files.newBufferedReader(new File(args[0]).toPath(), StandardCharsets.UTF_8)) {
+            passwords = readTop(reader, limit);
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(new File(args[2]).toPath()))) {
+            BreachedPasswordSet.write(passwords, out);
+        }
+        System.out.printf("Wrote %d passwords to %s%n", passwords.size(), args[2]);
+    }
+
+    // Published lists are ordered most common first, so the first N distinct entries are the top N.
+    // Blank lines and lines starting with # are skipped.
+    static List<String> readTop(BufferedReader reader, int limit) throws IOException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        Set<String> passwords = new LinkedHashSet<>();
+        String line;
+        while (passwords.size() < limit && (line = reader.readLine()) != null) {
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                passwords.add(line);
+            }
+        }
+        return new ArrayList<>(passwords);
+    }
+}
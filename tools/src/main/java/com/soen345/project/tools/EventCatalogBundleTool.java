@@ -0,0 +1,68 @@
+package com.soen345.project.tools;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.cloud.FirestoreClient;
+import com.soen345.project.events.EventFields;
+import com.soen345.project.events.catalog.CatalogBundle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+
+// Builds the event catalog bundle a release ships as an asset, from the live events collection. Run by the
+// tools module's eventCatalogBundle task with Admin credentials:
+// EventCatalogBundleTool <firebaseProjectId> <output>
+public final class EventCatalogBundleTool {
+    private EventCatalogBundleTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("usage: EventCatalogBundleTool <firebaseProjectId> <output>");
+        }
+        FirebaseApp.initializeApp(FirebaseOptions.builder()
+                .setCredentials(GoogleCredentials.getApplicationDefault())
+                .setProjectId(args[0])
+                .build());
+        Firestore firestore = FirestoreClient.getFirestore();
+        try {
+            QuerySnapshot snapshot = catalogQuery(firestore);
+            // The SDK's bundle builder writes every stored field with the documents' own update times, and
+            // stamps the named query with this snapshot's read time, so a device resuming the query fetches
+            // exactly what changed after the export.
+            ByteBuffer bundle = firestore.bundleBuilder(CatalogBundle.BUNDLE_ID)
+                    .add(CatalogBundle.UPCOMING_EVENTS_QUERY, snapshot)
+                    .build()
+                    .toByteBuffer();
+            write(bundle, new File(args[1]));
+            System.out.printf("Wrote %d events read at %s to %s%n", snapshot.size(), snapshot.getReadTime(), args[1]);
+        } finally {
+            firestore.close();
+        }
+    }
+
+    // Must match EventCatalogBootstrapper's catalog query, which listens when the bundle is missing.
+    private static QuerySnapshot catalogQuery(Firestore firestore) throws InterruptedException, ExecutionException {
+        return firestore.collection(EventFields.EVENTS_COLLECTION).orderBy(EventFields.START_TIME).get().get();
+    }
+
+    private static void write(ByteBuffer bundle, File output) throws IOException {
+        File parent = output.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        try (FileChannel channel = FileChannel.open(output.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (bundle.hasRemaining()) {
+                channel.write(bundle);
+            }
+        }
+    }
+}
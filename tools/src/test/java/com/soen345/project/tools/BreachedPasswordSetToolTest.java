@@ -0,0 +1,51 @@
+package com.soen345.project.tools;
+
+import com.soen345.project.auth.BreachedPasswordSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BreachedPasswordSetToolTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readTop_keepsTheFirstDistinctEntriesInListOrder() throws IOException {
+        BufferedReader list = new BufferedReader(new StringReader("# top passwords\n123456\n\npassword\n123456\nqwerty\nletmein\n"));
+
+        assertEquals(Arrays.asList("123456", "password", "qwerty"), BreachedPasswordSetTool.readTop(list, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readTop_nonPositiveLimit_throws() throws IOException {
+        BreachedPasswordSetTool.readTop(new BufferedReader(new StringReader("123456\n")), 0);
+    }
+
+    @Test
+    public void main_writesASetHoldingOnlyTheTopN() throws IOException {
+        File list = folder.newFile("top.txt");
+        Files.write(list.toPath(), "123456\npassword\nqwerty\n".getBytes(StandardCharsets.UTF_8));
+        File output = new File(folder.getRoot(), "breached_passwords.bin");
+
+        BreachedPasswordSetTool.main(new String[]{list.getPath(), "2", output.getPath()});
+
+        BreachedPasswordSet set = BreachedPasswordSet.read(ByteBuffer.wrap(Files.readAllBytes(output.toPath())));
+        assertEquals(2, set.size());
+        assertTrue(set.contains("password"));
+        assertFalse(set.contains("qwerty"));
+    }
+}